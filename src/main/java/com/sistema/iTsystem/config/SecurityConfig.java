@@ -3,6 +3,7 @@ package com.sistema.iTsystem.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -55,6 +56,9 @@ public class SecurityConfig {
                 .requestMatchers("/login").permitAll()
                 
                 // ==================== ENDPOINTS DE API PARA PRUEBAS ====================
+                // Invalidar el cache de catálogos requiere sesión
+                .requestMatchers(HttpMethod.POST, "/api/catalogos/cache/**").authenticated()
+
                 // Permitir acceso sin autenticación a la API de catálogos (para Postman)
                 .requestMatchers("/api/catalogos/**").permitAll()
                 
@@ -4,6 +4,8 @@ import java.security.Principal;
 import java.time.LocalDate;
 import java.text.Normalizer;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -11,6 +13,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,8 +23,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.Garantia;
 import com.sistema.iTsystem.model.EstadoActivo;
@@ -32,14 +38,19 @@ import com.sistema.iTsystem.repository.ProveedoresRepository;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 import com.sistema.iTsystem.service.ActivoService;
 import com.sistema.iTsystem.service.EstadoTransicionService;
+import com.sistema.iTsystem.service.ExportacionActivosService;
 import com.sistema.iTsystem.service.HistorialActivoService;
 import com.sistema.iTsystem.service.HardwareInfoService;
+import com.sistema.iTsystem.service.BusquedaService;
 import com.sistema.iTsystem.service.MovimientosService;
 
 @Controller
 @RequestMapping("/activos")
 public class ActivoController {
 
+    private static final int TAMANO_PAGINA_HISTORIAL = 50;
+    private static final int EVENTOS_HISTORIAL_DETALLE = 20;
+
     @Autowired
     private ActivoService activoService;
 
@@ -52,9 +63,15 @@ public class ActivoController {
     @Autowired
     private MovimientosService movimientosService;
 
+    @Autowired
+    private BusquedaService busquedaService;
+
     @Autowired
     private HistorialActivoService historialActivoService;
 
+    @Autowired
+    private ExportacionActivosService exportacionActivosService;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -70,18 +87,31 @@ public class ActivoController {
             @RequestParam(value = "buscar", required = false) String buscar,
             @RequestParam(value = "categoria", required = false) Long categoria,
             @RequestParam(value = "estado", required = false) Long estado,
+            @RequestParam(value = "cursor", required = false) String cursor,
             Model model) {
 
         try {
-            Pageable pageable = PageRequest.of(pagina, 10, Sort.by("activoFechaIngreso").descending());
-            Page<Activo> paginaActivos = activoService.buscarConFiltros(
-                buscar, categoria, estado, null, pageable
-            );
+            if (cursor != null) {
+                // Modo cursor: paginacion por keyset, sin OFFSET y con total aproximado
+                PaginaCursorDTO<Activo> paginaCursor = activoService.buscarConFiltrosPorCursor(
+                    buscar, categoria, estado, null, cursor, 10
+                );
+                model.addAttribute("activos", paginaCursor.getContenido());
+                model.addAttribute("usaCursor", true);
+                model.addAttribute("siguienteCursor", paginaCursor.getSiguienteCursor());
+                model.addAttribute("totalElementos", paginaCursor.getTotalAproximado());
+            } else {
+                Pageable pageable = PageRequest.of(pagina, 10, Sort.by("activoFechaIngreso").descending());
+                Page<Activo> paginaActivos = activoService.buscarConFiltros(
+                    buscar, categoria, estado, null, pageable
+                );
 
-            model.addAttribute("activos", paginaActivos.getContent());
-            model.addAttribute("paginaActual", pagina);
-            model.addAttribute("totalPaginas", paginaActivos.getTotalPages());
-            model.addAttribute("totalElementos", paginaActivos.getTotalElements());
+                model.addAttribute("activos", paginaActivos.getContent());
+                model.addAttribute("paginaActual", pagina);
+                model.addAttribute("totalPaginas", paginaActivos.getTotalPages());
+                model.addAttribute("totalElementos", paginaActivos.getTotalElements());
+                model.addAttribute("usaCursor", false);
+            }
             model.addAttribute("categorias", activoService.obtenerTodasCategorias());
             model.addAttribute("estados", activoService.obtenerTodosEstados());
             model.addAttribute("buscar", buscar);
@@ -95,6 +125,45 @@ public class ActivoController {
         }
     }
 
+    /**
+     * Exporta el inventario filtrado (mismos filtros que el listado) en CSV o JSON Lines.
+     * La respuesta se escribe a medida que se leen las filas, sin cargar el inventario en memoria.
+     * La descarga corre como tarea asincrona con su propio tiempo maximo, sin alargar el del resto.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<ResponseEntity<String>> exportar(
+            @RequestParam(value = "format", defaultValue = "csv") String formato,
+            @RequestParam(value = "buscar", required = false) String buscar,
+            @RequestParam(value = "categoria", required = false) Long categoria,
+            @RequestParam(value = "estado", required = false) Long estado,
+            @RequestParam(value = "departamento", required = false) Long departamento,
+            HttpServletResponse response) {
+
+        long timeout = exportacionActivosService.getTimeoutMs();
+        String formatoNormalizado;
+        try {
+            formatoNormalizado = exportacionActivosService.normalizarFormato(formato);
+        } catch (IllegalArgumentException e) {
+            String mensaje = "Error: " + e.getMessage();
+            return new WebAsyncTask<>(timeout, () -> ResponseEntity.badRequest().body(mensaje));
+        }
+
+        boolean jsonl = ExportacionActivosService.FORMATO_JSONL.equals(formatoNormalizado);
+        String archivo = "activos-" + LocalDate.now() + "." + formatoNormalizado;
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + archivo + "\"");
+        response.setContentType(jsonl
+            ? "application/x-ndjson; charset=UTF-8"
+            : "text/csv; charset=UTF-8");
+
+        return new WebAsyncTask<>(timeout, () -> {
+            exportacionActivosService.exportar(
+                formatoNormalizado, buscar, categoria, estado, departamento, response.getOutputStream()
+            );
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @GetMapping("/{activoCodigo}")
     public String verDetalle(@PathVariable String activoCodigo, Model model) {
         try {
@@ -313,6 +382,7 @@ public class ActivoController {
             @RequestParam String activoNom,
             @RequestParam(required = false) String activoDescri,
             @RequestParam(required = false) Long proveedorId,
+            @RequestParam(required = false) Long activoVersion,
             RedirectAttributes flash) {
         try {
             Activo activoExistente = activoService.buscarPorCodigo(activoCodigo)
@@ -321,6 +391,7 @@ public class ActivoController {
             Activo activo = new Activo();
             activo.setActivoNom(activoNom);
             activo.setActivoDescri(activoDescri);
+            activo.setActivoVersion(activoVersion);
 
             if (proveedorId != null) {
                 activo.setProveedor(proveedoresRepository.findById(proveedorId)
@@ -413,13 +484,22 @@ public class ActivoController {
     }
 
     @GetMapping("/{activoCodigo}/historial")
-    public String verHistorial(@PathVariable String activoCodigo, Model model) {
+    public String verHistorial(@PathVariable String activoCodigo,
+                               @RequestParam(defaultValue = "0") int pagina,
+                               Model model) {
         try {
             Activo activo = activoService.buscarPorCodigo(activoCodigo)
                 .orElseThrow(() -> new RuntimeException("Activo no encontrado"));
 
+            int paginaActual = Math.max(pagina, 0);
             model.addAttribute("activo", activo);
-            model.addAttribute("historialOperativo", historialActivoService.obtenerHistorialOperativo(activo.getActivoId()));
+            model.addAttribute("historialOperativo", historialActivoService.obtenerHistorialOperativo(
+                activo.getActivoId(), paginaActual, TAMANO_PAGINA_HISTORIAL
+            ));
+            long totalEventos = historialActivoService.contarEventos(activo.getActivoId());
+            model.addAttribute("paginaActual", paginaActual);
+            model.addAttribute("totalEventos", totalEventos);
+            model.addAttribute("hayPaginaSiguiente", (long) (paginaActual + 1) * TAMANO_PAGINA_HISTORIAL < totalEventos);
 
             return "activos/historial";
         } catch (Exception e) {
@@ -536,7 +616,10 @@ public class ActivoController {
             model.addAttribute("error", errorGarantia);
         }
 
-        model.addAttribute("historialOperativo", historialActivoService.obtenerHistorialOperativo(activo.getActivoId()));
+        model.addAttribute("historialOperativo", historialActivoService.obtenerHistorialOperativo(
+            activo.getActivoId(), 0, EVENTOS_HISTORIAL_DETALLE
+        ));
+        model.addAttribute("totalEventosHistorial", historialActivoService.contarEventos(activo.getActivoId()));
         model.addAttribute("historialEstados", estadoTransicionService.obtenerHistorialEstados(activo.getActivoId()));
     }
 
@@ -545,7 +628,7 @@ public class ActivoController {
                                             String observacion, String error) {
         model.addAttribute("activo", activo);
         model.addAttribute("asignacionActiva", asignacionActiva);
-        model.addAttribute("usuarios", movimientosService.obtenerUsuariosActivos());
+        model.addAttribute("usuarioSeleccionado", busquedaService.obtenerUsuario(usuarioId).orElse(null));
         model.addAttribute("usuarioId", usuarioId);
         model.addAttribute("motivo", motivo);
         model.addAttribute("observacion", observacion);
@@ -1,20 +1,33 @@
 package com.sistema.iTsystem.controller;
 
+import java.io.InputStream;
+import java.security.Principal;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sistema.iTsystem.dto.activos.ActivoReferenciaDTO;
+import com.sistema.iTsystem.dto.activos.ActivoResumenDTO;
+import com.sistema.iTsystem.dto.activos.EventoHistorialActivoDTO;
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.HardwareInfo;
+import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.model.UsuarioAsignacion;
 import com.sistema.iTsystem.repository.ActivoRepository;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+import com.sistema.iTsystem.service.ActivoService;
 import com.sistema.iTsystem.service.HardwareInfoService;
+import com.sistema.iTsystem.service.HistorialActivoService;
+import com.sistema.iTsystem.service.ImportacionActivosService;
 import com.sistema.iTsystem.service.MovimientosService;
 
 @RestController
@@ -24,15 +37,43 @@ public class ActivosApiController {
     @Autowired
     private ActivoRepository activoRepository;
 
+    @Autowired
+    private ActivoService activoService;
+
     @Autowired
     private HardwareInfoService hardwareInfoService;
 
     @Autowired
     private MovimientosService movimientosService;
 
+    @Autowired
+    private HistorialActivoService historialActivoService;
+
+    @Autowired
+    private ImportacionActivosService importacionActivosService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    /** Listado paginado por keyset; se pide la pagina siguiente reenviando {@code siguienteCursor} */
+    @GetMapping
+    public ResponseEntity<PaginaCursorDTO<ActivoResumenDTO>> listar(
+            @RequestParam(required = false) String buscar,
+            @RequestParam(required = false) Long categoria,
+            @RequestParam(required = false) Long estado,
+            @RequestParam(required = false) Long departamento,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        int limiteAcotado = Math.max(1, Math.min(limite, 100));
+        PaginaCursorDTO<Activo> pagina = activoService.buscarConFiltrosPorCursor(
+            buscar, categoria, estado, departamento, cursor, limiteAcotado
+        );
+        return ResponseEntity.ok(pagina.map(this::aResumen));
+    }
+
     @GetMapping("/{id}/referencia")
     public ResponseEntity<ActivoReferenciaDTO> referencia(@PathVariable Long id) {
-        Optional<Activo> activoOpt = activoRepository.findById(id);
+        Optional<Activo> activoOpt = activoRepository.findParaReferencia(id);
         if (activoOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -69,4 +110,47 @@ public class ActivosApiController {
 
         return ResponseEntity.ok(dto);
     }
+
+    /**
+     * Historial (estados, asignaciones y devoluciones) del mas reciente al mas antiguo,
+     * paginado por keyset; se pide la pagina siguiente reenviando {@code siguienteCursor}.
+     * El total llega en la primera pagina; las siguientes traen -1 en {@code totalAproximado}.
+     */
+    @GetMapping("/{id}/historial")
+    public ResponseEntity<PaginaCursorDTO<EventoHistorialActivoDTO>> historial(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        if (!activoRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        int limiteAcotado = Math.max(1, Math.min(limite, 100));
+        return ResponseEntity.ok(historialActivoService.obtenerHistorialPorCursor(id, cursor, limiteAcotado));
+    }
+
+    /**
+     * Importa activos desde un CSV enviado como cuerpo (text/csv). El archivo se procesa
+     * a medida que llega; la respuesta trae totales, filas por segundo y errores por linea.
+     */
+    @PostMapping(value = "/importar", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> importar(InputStream cuerpo, Principal principal) {
+        try {
+            Usuario usuarioOperador = usuarioRepository.findByUsuLogin(principal.getName())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            return ResponseEntity.ok(importacionActivosService.importarCsv(cuerpo, usuarioOperador));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    private ActivoResumenDTO aResumen(Activo activo) {
+        ActivoResumenDTO dto = new ActivoResumenDTO();
+        dto.setId(activo.getActivoId());
+        dto.setCodigo(activo.getActivoCodigo());
+        dto.setNombre(activo.getActivoNom());
+        dto.setCategoria(activo.getCategoria() != null ? activo.getCategoria().getCatNom() : null);
+        dto.setEstado(activo.getEstado() != null ? activo.getEstado().getEstadoNom() : null);
+        dto.setFechaIngreso(activo.getActivoFechaIngreso());
+        return dto;
+    }
 }
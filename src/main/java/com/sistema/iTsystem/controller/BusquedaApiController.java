@@ -0,0 +1,37 @@
+package com.sistema.iTsystem.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sistema.iTsystem.dto.activos.ActivoOpcionDTO;
+import com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO;
+import com.sistema.iTsystem.service.BusquedaService;
+
+@RestController
+@RequestMapping("/api/buscar")
+public class BusquedaApiController {
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @GetMapping("/activos")
+    public ResponseEntity<List<ActivoOpcionDTO>> activos(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) String despues,
+            @RequestParam(required = false, defaultValue = "false") boolean disponibles) {
+        return ResponseEntity.ok(busquedaService.buscarActivos(q, despues, disponibles));
+    }
+
+    @GetMapping("/usuarios")
+    public ResponseEntity<List<UsuarioOpcionDTO>> usuarios(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) String despues) {
+        return ResponseEntity.ok(busquedaService.buscarUsuarios(q, despues));
+    }
+}
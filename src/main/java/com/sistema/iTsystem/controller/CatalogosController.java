@@ -3,11 +3,13 @@ package com.sistema.iTsystem.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sistema.iTsystem.service.ActivoService;
+import com.sistema.iTsystem.service.CatalogoCacheService;
 import com.sistema.iTsystem.service.HardwareInfoService;
 
 @RestController
@@ -20,6 +22,9 @@ public class CatalogosController {
     @Autowired
     private HardwareInfoService hardwareService;
     
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+    
     // ==================== CATEGORÍAS ====================
     
     @GetMapping("/categorias")
@@ -113,6 +118,19 @@ public class CatalogosController {
         }
     }
     
+    // ==================== CACHE ====================
+    
+    /** Descarta el cache de catalogos (todos o uno: estados-activo, categorias, marcas, ...) */
+    @PostMapping("/cache/invalidar")
+    public ResponseEntity<?> invalidarCache(@RequestParam(required = false) String catalogo) {
+        if (catalogo != null && !catalogo.isBlank()) {
+            catalogoCacheService.invalidar(catalogo.trim());
+        } else {
+            catalogoCacheService.invalidar();
+        }
+        return ResponseEntity.noContent().build();
+    }
+    
     // ==================== HEALTH CHECK ====================
     
     @GetMapping("/health")
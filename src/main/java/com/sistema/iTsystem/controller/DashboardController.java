@@ -1,12 +1,16 @@
 package com.sistema.iTsystem.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.sistema.iTsystem.service.DashboardService;
+import com.sistema.iTsystem.service.DashboardStreamService;
 
 @Controller
 @RequestMapping("/dashboard")
@@ -15,11 +19,20 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
     @GetMapping
     public String dashboard(Model model) {
         return renderDashboard(model);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream() {
+        return dashboardStreamService.suscribir();
+    }
+
     @GetMapping("/activos")
     public String dashboardActivos(Model model) {
         return renderDashboard(model);
@@ -16,10 +16,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sistema.iTsystem.dto.estadisticas.EventosEstadisticasDTO;
 import com.sistema.iTsystem.model.Eventos;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 import com.sistema.iTsystem.service.EventosService;
+import com.sistema.iTsystem.service.EventosEstadisticasService;
+import com.sistema.iTsystem.service.ProveedorEstadisticas;
 
 @Controller
 @RequestMapping("/eventos")
@@ -29,6 +32,9 @@ public class EventosController {
     
     @Autowired
     private EventosService eventosService;
+
+    @Autowired
+    private EventosEstadisticasService eventosEstadisticasService;
     
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -341,15 +347,19 @@ public class EventosController {
     @GetMapping("/estadisticas")
     public String estadisticas(Model model) {
         try {
-            model.addAttribute("totalEventos", eventosService.obtenerTodos().size());
-            model.addAttribute("criticos", eventosService.contarCriticos());
-            model.addAttribute("porNivel", eventosService.contarPorNivel());
-            model.addAttribute("porActivo", eventosService.contarPorActivo());
-            model.addAttribute("porMes", eventosService.contarPorMes());
-            
-            // Listas útiles
-            model.addAttribute("eventosCriticos", eventosService.buscarCriticos());
-            model.addAttribute("eventosDeHoy", eventosService.buscarDeHoy());
+            EventosEstadisticasDTO estadisticas = eventosEstadisticasService.obtener();
+            model.addAttribute("totalEventos", estadisticas.getTotal());
+            model.addAttribute("criticos", estadisticas.getCriticos());
+            model.addAttribute("deHoy", estadisticas.getDeHoy());
+            model.addAttribute("porNivel", estadisticas.getPorNivel());
+            model.addAttribute("porActivo", estadisticas.getPorActivo());
+            model.addAttribute("porMes", estadisticas.getPorMes());
+            
+            // Listas útiles (acotadas; las completas en /criticos y /hoy)
+            int limite = ProveedorEstadisticas.LIMITE_LISTAS;
+            model.addAttribute("limiteListas", limite);
+            model.addAttribute("eventosCriticos", eventosService.buscarCriticos(limite));
+            model.addAttribute("eventosDeHoy", eventosService.buscarDeHoy(limite));
             model.addAttribute("ultimosEventos", eventosService.obtenerUltimos(20));
             
             return "eventos/estadisticas";
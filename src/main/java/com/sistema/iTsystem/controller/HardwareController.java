@@ -2,6 +2,7 @@ package com.sistema.iTsystem.controller;
 
 import java.math.BigDecimal;
 import java.security.Principal;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -13,12 +14,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sistema.iTsystem.dto.activos.HardwareEstadisticasDTO;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.HardwareInfo;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 import com.sistema.iTsystem.service.ActivoService;
+import com.sistema.iTsystem.service.HardwareEstadisticasService;
 import com.sistema.iTsystem.service.HardwareInfoService;
+import com.sistema.iTsystem.service.MantenimientoService;
 
 @Controller
 @RequestMapping("/hardware")
@@ -28,9 +32,15 @@ public class HardwareController {
     
     @Autowired
     private HardwareInfoService hardwareService;
+
+    @Autowired
+    private HardwareEstadisticasService hardwareEstadisticasService;
     
     @Autowired
     private ActivoService activoService;
+
+    @Autowired
+    private MantenimientoService mantenimientoService;
     
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -41,7 +51,7 @@ public class HardwareController {
     public String listar(Model model) {
         try {
             //Obtener todos los hardware
-            model.addAttribute("hardwareList", hardwareService.obtenerTodos());
+            cargarListado(model, hardwareService.obtenerTodos());
             
             // Estadísticas básicas
             model.addAttribute("totalHardware", hardwareService.obtenerTodos().size());
@@ -253,7 +263,7 @@ public class HardwareController {
     @GetMapping("/por-modelo/{modeloId}")
     public String listarPorModelo(@PathVariable Long modeloId, Model model) {
         try {
-            model.addAttribute("hardwareList", hardwareService.buscarPorModelo(modeloId));
+            cargarListado(model, hardwareService.buscarPorModelo(modeloId));
             model.addAttribute("filtroActivo", "modelo");
             
             return "hardware/listar";
@@ -267,7 +277,7 @@ public class HardwareController {
     @GetMapping("/por-proveedor/{proveedorId}")
     public String listarPorProveedor(@PathVariable Long proveedorId, Model model) {
         try {
-            model.addAttribute("hardwareList", hardwareService.buscarPorProveedor(proveedorId));
+            cargarListado(model, hardwareService.buscarPorProveedor(proveedorId));
             model.addAttribute("filtroActivo", "proveedor");
             
             return "hardware/listar";
@@ -281,7 +291,7 @@ public class HardwareController {
     @GetMapping("/sin-proveedor")
     public String listarSinProveedor(Model model) {
         try {
-            model.addAttribute("hardwareList", hardwareService.buscarSinProveedor());
+            cargarListado(model, hardwareService.buscarSinProveedor());
             model.addAttribute("filtroActivo", "sin-proveedor");
             
             return "hardware/listar";
@@ -295,7 +305,7 @@ public class HardwareController {
     @GetMapping("/sin-valor-compra")
     public String listarSinValorCompra(Model model) {
         try {
-            model.addAttribute("hardwareList", hardwareService.buscarSinValorCompra());
+            cargarListado(model, hardwareService.buscarSinValorCompra());
             model.addAttribute("filtroActivo", "sin-valor");
             
             return "hardware/listar";
@@ -314,11 +324,11 @@ public class HardwareController {
         
         try {
             if (min != null && max != null) {
-                model.addAttribute("hardwareList", hardwareService.buscarPorValorEntre(min, max));
+                cargarListado(model, hardwareService.buscarPorValorEntre(min, max));
             } else if (min != null) {
-                model.addAttribute("hardwareList", hardwareService.buscarPorValorMayorA(min));
+                cargarListado(model, hardwareService.buscarPorValorMayorA(min));
             } else {
-                model.addAttribute("hardwareList", hardwareService.obtenerTodos());
+                cargarListado(model, hardwareService.obtenerTodos());
             }
             
             return "hardware/listar";
@@ -334,12 +344,15 @@ public class HardwareController {
     @GetMapping("/estadisticas")
     public String estadisticas(Model model) {
         try {
-            model.addAttribute("totalHardware", hardwareService.obtenerTodos().size());
-            model.addAttribute("valorTotal", hardwareService.calcularValorTotal());
-            model.addAttribute("valorPromedio", hardwareService.calcularValorPromedio());
-            model.addAttribute("porProveedor", hardwareService.contarPorProveedor());
-            model.addAttribute("porModelo", hardwareService.contarPorModelo());
-            model.addAttribute("sinValorCompra", hardwareService.contarSinValorCompra());
+            HardwareEstadisticasDTO estadisticas = hardwareEstadisticasService.obtener();
+            model.addAttribute("totalHardware", estadisticas.getTotalHardware());
+            model.addAttribute("valorTotal", estadisticas.getValorTotal());
+            model.addAttribute("valorPromedio", estadisticas.getValorPromedio());
+            model.addAttribute("porMarca", estadisticas.getPorMarca());
+            model.addAttribute("porProveedor", estadisticas.getPorProveedor());
+            model.addAttribute("porModelo", estadisticas.getPorModelo());
+            model.addAttribute("porAntiguedad", estadisticas.getPorAntiguedad());
+            model.addAttribute("sinValorCompra", estadisticas.getSinValorCompra());
             
             return "hardware/estadisticas";
             
@@ -362,4 +375,15 @@ public class HardwareController {
             throw new RuntimeException("Esta acción requiere privilegios de Administrador");
         }
     }
+
+    /**
+     * Lista de hardware mas los ids que estan en mantenimiento, resueltos en una sola consulta
+     * para toda la lista (la vista marca cada fila sin consultar por hardware).
+     */
+    private void cargarListado(Model model, List<HardwareInfo> hardwareList) {
+        model.addAttribute("hardwareList", hardwareList);
+        model.addAttribute("hardwareEnMantenimiento", mantenimientoService.obtenerHardwareConMantenimientoEnCurso(
+            hardwareList.stream().map(HardwareInfo::getHwId).toList()
+        ));
+    }
 }
\ No newline at end of file
@@ -12,10 +12,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sistema.iTsystem.dto.estadisticas.LicenciaEstadisticasDTO;
 import com.sistema.iTsystem.model.LicenciaInfo;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 import com.sistema.iTsystem.service.LicenciaInfoService;
+import com.sistema.iTsystem.service.LicenciaAlertasService;
+import com.sistema.iTsystem.service.LicenciaEstadisticasService;
+import com.sistema.iTsystem.service.ProveedorEstadisticas;
 import com.sistema.iTsystem.service.SoftwareInfoService;
 
 @Controller
@@ -26,6 +30,12 @@ public class LicenciaController {
     
     @Autowired
     private LicenciaInfoService licenciaService;
+
+    @Autowired
+    private LicenciaEstadisticasService licenciaEstadisticasService;
+
+    @Autowired
+    private LicenciaAlertasService licenciaAlertasService;
     
     @Autowired
     private SoftwareInfoService softwareService;
@@ -356,17 +366,21 @@ public class LicenciaController {
     @GetMapping("/estadisticas")
     public String estadisticas(Model model) {
         try {
-            model.addAttribute("totalLicencias", licenciaService.obtenerTodas().size());
-            model.addAttribute("porEstado", licenciaService.contarPorEstado());
-            model.addAttribute("costoTotal", licenciaService.calcularCostoTotal());
-            model.addAttribute("cuposDisponibles", licenciaService.contarCuposDisponibles());
-            model.addAttribute("vencidas", licenciaService.contarVencidas());
-            model.addAttribute("proximasVencer", licenciaService.contarProximasAVencer());
-            
-            // Listas para alertas
-            model.addAttribute("licenciasVencidas", licenciaService.buscarVencidas());
-            model.addAttribute("licenciasProximasVencer", licenciaService.buscarProximasAVencer());
-            model.addAttribute("licenciasSinCupos", licenciaService.buscarSinCupos());
+            LicenciaEstadisticasDTO estadisticas = licenciaEstadisticasService.obtener();
+            model.addAttribute("totalLicencias", estadisticas.getTotal());
+            model.addAttribute("porEstado", estadisticas.getPorEstado());
+            model.addAttribute("costoTotal", estadisticas.getCostoTotal());
+            model.addAttribute("cuposDisponibles", estadisticas.getCuposDisponibles());
+            model.addAttribute("vencidas", estadisticas.getVencidas());
+            model.addAttribute("proximasVencer", estadisticas.getProximasAVencer());
+            model.addAttribute("sinCupos", estadisticas.getSinCupos());
+            
+            // Listas para alertas (acotadas, desde licencia_alertas; completas en /alertas)
+            int limite = ProveedorEstadisticas.LIMITE_LISTAS;
+            model.addAttribute("limiteListas", limite);
+            model.addAttribute("licenciasVencidas", licenciaAlertasService.buscar(LicenciaAlertasService.TIPO_VENCIDA, limite));
+            model.addAttribute("licenciasProximasVencer", licenciaAlertasService.buscar(LicenciaAlertasService.TIPO_PROXIMA_A_VENCER, limite));
+            model.addAttribute("licenciasSinCupos", licenciaAlertasService.buscar(LicenciaAlertasService.TIPO_SIN_CUPOS, limite));
             
             return "licencias/estadisticas";
             
@@ -381,9 +395,10 @@ public class LicenciaController {
     @GetMapping("/alertas")
     public String alertas(Model model) {
         try {
-            model.addAttribute("vencidas", licenciaService.buscarVencidas());
-            model.addAttribute("proximasVencer", licenciaService.buscarProximasAVencer());
-            model.addAttribute("sinCupos", licenciaService.buscarSinCupos());
+            // Alertas precalculadas (LicenciaAlertasService), con severidad y fecha limite
+            model.addAttribute("vencidas", licenciaAlertasService.buscar(LicenciaAlertasService.TIPO_VENCIDA));
+            model.addAttribute("proximasVencer", licenciaAlertasService.buscar(LicenciaAlertasService.TIPO_PROXIMA_A_VENCER));
+            model.addAttribute("sinCupos", licenciaAlertasService.buscar(LicenciaAlertasService.TIPO_SIN_CUPOS));
             
             return "licencias/alertas";
             
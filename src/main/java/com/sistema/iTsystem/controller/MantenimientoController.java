@@ -17,10 +17,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sistema.iTsystem.dto.estadisticas.MantenimientoEstadisticasDTO;
 import com.sistema.iTsystem.model.Mantenimiento;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 import com.sistema.iTsystem.service.MantenimientoService;
+import com.sistema.iTsystem.service.MantenimientoEstadisticasService;
+import com.sistema.iTsystem.service.ProveedorEstadisticas;
 
 @Controller
 @RequestMapping("/mantenimientos")
@@ -30,6 +33,9 @@ public class MantenimientoController {
     
     @Autowired
     private MantenimientoService mantenimientoService;
+
+    @Autowired
+    private MantenimientoEstadisticasService mantenimientoEstadisticasService;
     
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -437,17 +443,20 @@ public class MantenimientoController {
     @GetMapping("/estadisticas")
     public String estadisticas(Model model) {
         try {
-            model.addAttribute("totalMantenimientos", mantenimientoService.obtenerTodos().size());
-            model.addAttribute("enCurso", mantenimientoService.contarEnCurso());
-            model.addAttribute("porTipo", mantenimientoService.contarPorTipo());
-            model.addAttribute("porHardware", mantenimientoService.contarPorHardware());
-            model.addAttribute("porMes", mantenimientoService.contarPorMes());
-            model.addAttribute("costoTotal", mantenimientoService.calcularCostoTotal());
-            model.addAttribute("costoPromedio", mantenimientoService.calcularCostoPromedio());
-            model.addAttribute("sinCosto", mantenimientoService.contarSinCosto());
-            
-            // Listas útiles
-            model.addAttribute("mantenimientosEnCurso", mantenimientoService.buscarEnCurso());
+            MantenimientoEstadisticasDTO estadisticas = mantenimientoEstadisticasService.obtener();
+            model.addAttribute("totalMantenimientos", estadisticas.getTotal());
+            model.addAttribute("enCurso", estadisticas.getEnCurso());
+            model.addAttribute("porTipo", estadisticas.getPorTipo());
+            model.addAttribute("porHardware", estadisticas.getPorHardware());
+            model.addAttribute("porMes", estadisticas.getPorMes());
+            model.addAttribute("costoTotal", estadisticas.getCostoTotal());
+            model.addAttribute("costoPromedio", estadisticas.getCostoPromedio());
+            model.addAttribute("sinCosto", estadisticas.getSinCosto());
+            
+            // Listas útiles (acotadas; la completa en /en-curso)
+            int limite = ProveedorEstadisticas.LIMITE_LISTAS;
+            model.addAttribute("limiteListas", limite);
+            model.addAttribute("mantenimientosEnCurso", mantenimientoService.buscarEnCurso(limite));
             model.addAttribute("ultimosMantenimientos", mantenimientoService.obtenerUltimos(10));
             model.addAttribute("masCostosos", mantenimientoService.buscarMasCostosos());
             
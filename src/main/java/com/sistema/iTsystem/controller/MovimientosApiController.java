@@ -0,0 +1,69 @@
+package com.sistema.iTsystem.controller;
+
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sistema.iTsystem.dto.movimientos.MovimientoLoteDTO;
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+import com.sistema.iTsystem.service.EstadoTransicionService;
+import com.sistema.iTsystem.service.MovimientosService;
+
+/**
+ * Asignaciones y devoluciones en lote. Cada fila se informa por separado:
+ * las invalidas no impiden aplicar el resto del lote.
+ */
+@RestController
+@RequestMapping("/api/movimientos")
+public class MovimientosApiController {
+
+    @Autowired
+    private MovimientosService movimientosService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    /** Items con (activoId, usuarioId) */
+    @PostMapping("/asignar-lote")
+    public ResponseEntity<?> asignarLote(@RequestBody MovimientoLoteDTO lote, Principal principal) {
+        try {
+            Usuario usuarioOperador = obtenerOperador(principal);
+            return ResponseEntity.ok(movimientosService.asignarLote(
+                lote.getItems(), lote.getMotivo(), lote.getObservacion(), usuarioOperador
+            ));
+        } catch (EstadoTransicionService.TransicionConcurrenteException
+                 | MovimientosService.AsignacionConcurrenteException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /** Items con asignacionId */
+    @PostMapping("/devolver-lote")
+    public ResponseEntity<?> devolverLote(@RequestBody MovimientoLoteDTO lote, Principal principal) {
+        try {
+            Usuario usuarioOperador = obtenerOperador(principal);
+            return ResponseEntity.ok(movimientosService.devolverLote(
+                lote.getItems(), lote.getMotivo(), lote.getObservacion(), usuarioOperador
+            ));
+        } catch (EstadoTransicionService.TransicionConcurrenteException
+                 | MovimientosService.AsignacionConcurrenteException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    private Usuario obtenerOperador(Principal principal) {
+        return usuarioRepository.findByUsuLogin(principal.getName())
+            .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+    }
+}
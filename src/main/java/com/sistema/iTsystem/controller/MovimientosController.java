@@ -29,8 +29,6 @@ public class MovimientosController {
     @GetMapping
     public String listar(Model model) {
         model.addAttribute("asignacionesActivas", movimientosService.obtenerAsignacionesActivas());
-        model.addAttribute("activosDisponibles", movimientosService.obtenerActivosDisponiblesParaAsignar());
-        model.addAttribute("usuarios", movimientosService.obtenerUsuariosActivos());
         return "movimientos";
     }
 
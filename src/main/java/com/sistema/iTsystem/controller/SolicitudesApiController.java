@@ -0,0 +1,54 @@
+package com.sistema.iTsystem.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
+import com.sistema.iTsystem.dto.solicitudes.SolicitudResumenDTO;
+import com.sistema.iTsystem.model.Solicitudes;
+import com.sistema.iTsystem.service.SolicitudesService;
+
+@RestController
+@RequestMapping("/api/solicitudes")
+public class SolicitudesApiController {
+
+    @Autowired
+    private SolicitudesService solicitudesService;
+
+    /** Listado paginado por keyset; se pide la pagina siguiente reenviando {@code siguienteCursor} */
+    @GetMapping
+    public ResponseEntity<PaginaCursorDTO<SolicitudResumenDTO>> listar(
+            @RequestParam(required = false) String texto,
+            @RequestParam(required = false) Long tipoId,
+            @RequestParam(required = false) Long estadoId,
+            @RequestParam(required = false) Long solicitanteId,
+            @RequestParam(required = false) Long responsableId,
+            @RequestParam(required = false) LocalDate fechaDesde,
+            @RequestParam(required = false) LocalDate fechaHasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        int limiteAcotado = Math.max(1, Math.min(limite, 100));
+        PaginaCursorDTO<Solicitudes> pagina = solicitudesService.buscarConFiltrosPorCursor(
+            texto, tipoId, estadoId, solicitanteId, responsableId, fechaDesde, fechaHasta, cursor, limiteAcotado
+        );
+        return ResponseEntity.ok(pagina.map(this::aResumen));
+    }
+
+    private SolicitudResumenDTO aResumen(Solicitudes solicitud) {
+        SolicitudResumenDTO dto = new SolicitudResumenDTO();
+        dto.setId(solicitud.getSoliId());
+        dto.setFecha(solicitud.getCreatedAt());
+        dto.setTipo(solicitud.getSoliTipo() != null ? solicitud.getSoliTipo().getSoliTipoNom() : null);
+        dto.setEstado(solicitud.getSoliEstado() != null ? solicitud.getSoliEstado().getSoliEstadoNom() : null);
+        dto.setSolicitante(solicitud.getUsuario() != null ? solicitud.getUsuario().getUsuLogin() : null);
+        dto.setResponsable(solicitud.getResponsable() != null ? solicitud.getResponsable().getUsuLogin() : null);
+        dto.setDescripcion(solicitud.getSoliDescri());
+        return dto;
+    }
+}
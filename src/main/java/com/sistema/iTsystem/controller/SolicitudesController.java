@@ -20,12 +20,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sistema.iTsystem.dto.estadisticas.SolicitudesEstadisticasDTO;
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
 import com.sistema.iTsystem.dto.solicitudes.SolicitudCambioEstadoDTO;
 import com.sistema.iTsystem.dto.solicitudes.SolicitudFormDTO;
 import com.sistema.iTsystem.model.Solicitudes;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 import com.sistema.iTsystem.service.SolicitudesService;
+import com.sistema.iTsystem.service.ProveedorEstadisticas;
+import com.sistema.iTsystem.service.SolicitudesEstadisticasService;
 
 @Controller
 @RequestMapping("/solicitudes")
@@ -34,6 +38,9 @@ public class SolicitudesController {
     @Autowired
     private SolicitudesService solicitudesService;
 
+    @Autowired
+    private SolicitudesEstadisticasService solicitudesEstadisticasService;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -47,28 +54,42 @@ public class SolicitudesController {
             @RequestParam(required = false) Long responsableId,
             @RequestParam(required = false) LocalDate fechaDesde,
             @RequestParam(required = false) LocalDate fechaHasta,
+            @RequestParam(required = false) String cursor,
             Principal principal,
             Model model) {
 
         Usuario usuarioActual = obtenerUsuarioActual(principal);
-        Pageable pageable = PageRequest.of(Math.max(pagina, 0), 10);
-        Page<Solicitudes> paginaSolicitudes = solicitudesService.buscarConFiltros(
-            texto,
-            tipoId,
-            estadoId,
-            solicitanteId,
-            responsableId,
-            fechaDesde,
-            fechaHasta,
-            usuarioActual,
-            pageable
-        );
-
         cargarFiltrosListado(model, texto, tipoId, estadoId, solicitanteId, responsableId, fechaDesde, fechaHasta);
-        model.addAttribute("solicitudes", paginaSolicitudes.getContent());
-        model.addAttribute("paginaActual", paginaSolicitudes.getNumber());
-        model.addAttribute("totalPaginas", paginaSolicitudes.getTotalPages());
-        model.addAttribute("totalElementos", paginaSolicitudes.getTotalElements());
+
+        if (cursor != null) {
+            // Modo cursor: paginacion por keyset, sin OFFSET y con total aproximado
+            PaginaCursorDTO<Solicitudes> paginaCursor = solicitudesService.buscarConFiltrosPorCursor(
+                texto, tipoId, estadoId, solicitanteId, responsableId, fechaDesde, fechaHasta, cursor, 10
+            );
+            model.addAttribute("solicitudes", paginaCursor.getContenido());
+            model.addAttribute("usaCursor", true);
+            model.addAttribute("siguienteCursor", paginaCursor.getSiguienteCursor());
+            model.addAttribute("totalElementos", paginaCursor.getTotalAproximado());
+        } else {
+            Pageable pageable = PageRequest.of(Math.max(pagina, 0), 10);
+            Page<Solicitudes> paginaSolicitudes = solicitudesService.buscarConFiltros(
+                texto,
+                tipoId,
+                estadoId,
+                solicitanteId,
+                responsableId,
+                fechaDesde,
+                fechaHasta,
+                usuarioActual,
+                pageable
+            );
+            model.addAttribute("solicitudes", paginaSolicitudes.getContent());
+            model.addAttribute("paginaActual", paginaSolicitudes.getNumber());
+            model.addAttribute("totalPaginas", paginaSolicitudes.getTotalPages());
+            model.addAttribute("totalElementos", paginaSolicitudes.getTotalElements());
+            model.addAttribute("usaCursor", false);
+        }
+
         model.addAttribute("usaLista", false);
         model.addAttribute("esSuperAdmin", solicitudesService.esSuperAdmin(usuarioActual));
         model.addAttribute("esTecnico", solicitudesService.esTecnico(usuarioActual));
@@ -292,11 +313,13 @@ public class SolicitudesController {
     public String estadisticas(Principal principal, Model model) {
         Usuario usuarioActual = obtenerUsuarioActual(principal);
 
-        model.addAttribute("totalSolicitudes", solicitudesService.obtenerTodas().size());
-        model.addAttribute("pendientes", solicitudesService.contarPendientes());
-        model.addAttribute("porEstado", solicitudesService.contarPorEstado());
-        model.addAttribute("porTipo", solicitudesService.contarPorTipo());
-        model.addAttribute("porUsuario", solicitudesService.contarPorUsuario());
+        SolicitudesEstadisticasDTO estadisticas = solicitudesEstadisticasService.obtener();
+        model.addAttribute("totalSolicitudes", estadisticas.getTotal());
+        model.addAttribute("pendientes", estadisticas.getPendientes());
+        model.addAttribute("porEstado", estadisticas.getPorEstado());
+        model.addAttribute("porTipo", estadisticas.getPorTipo());
+        model.addAttribute("porUsuario", estadisticas.getPorUsuario());
+        model.addAttribute("limiteListas", ProveedorEstadisticas.LIMITE_LISTAS);
         model.addAttribute("ultimasSolicitudes", solicitudesService.obtenerUltimas(10));
         return "solicitudes/estadisticas";
     }
@@ -339,12 +362,10 @@ public class SolicitudesController {
         model.addAttribute("solicitud", form);
         model.addAttribute("tipos", solicitudesService.obtenerTiposFlujo());
         model.addAttribute("estados", solicitudesService.obtenerEstadosFlujo());
-        model.addAttribute("activosDisponibles", solicitudesService.obtenerActivosDisponiblesParaSolicitud());
         model.addAttribute("activosReferencia", solicitudesService.obtenerActivosParaReferencia());
         model.addAttribute("activosReferenciaCompra", solicitudesService.obtenerActivosReferencialesConDatosTecnicos());
         model.addAttribute("activosAsignados", solicitudesService.obtenerActivosAsignadosConAsignacionActiva());
         model.addAttribute("marcas", solicitudesService.obtenerMarcasActivas());
-        model.addAttribute("usuariosDestinatarios", solicitudesService.obtenerUsuariosDestinatariosDisponibles());
         model.addAttribute("responsables", solicitudesService.obtenerResponsablesDisponibles());
         model.addAttribute("usuariosAsignadosPorActivo", construirMapaUsuariosAsignados());
         model.addAttribute("usuarioActual", usuarioActual);
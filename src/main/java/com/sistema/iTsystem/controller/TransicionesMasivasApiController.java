@@ -0,0 +1,73 @@
+package com.sistema.iTsystem.controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sistema.iTsystem.dto.activos.TransicionMasivaDTO;
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+import com.sistema.iTsystem.service.TransicionMasivaService;
+
+/**
+ * Cambios de estado masivos de activos. El alta responde 202 con el trabajo registrado;
+ * el avance se consulta con GET hasta que el estado pase a COMPLETADO (o FALLIDO, con el motivo en error).
+ */
+@RestController
+@RequestMapping("/api/activos/transiciones-masivas")
+public class TransicionesMasivasApiController {
+
+    @Autowired
+    private TransicionMasivaService transicionMasivaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> crear(@RequestBody TransicionMasivaDTO pedido, Principal principal) {
+        return crearTrabajo(pedido.getOperacion(), pedido.getCodigos(), pedido.getMotivo(),
+            pedido.getObservaciones(), principal);
+    }
+
+    /** Cuerpo CSV con el codigo de activo en la primera columna */
+    @PostMapping(value = "/csv", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> crearDesdeCsv(@RequestParam String operacion,
+                                           @RequestParam String motivo,
+                                           @RequestParam(required = false) String observaciones,
+                                           @RequestBody String csv,
+                                           Principal principal) {
+        return crearTrabajo(operacion, transicionMasivaService.leerCodigosCsv(csv), motivo, observaciones, principal);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> progreso(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(transicionMasivaService.obtenerProgreso(id));
+        } catch (TransicionMasivaService.TrabajoNoEncontradoException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private ResponseEntity<?> crearTrabajo(String operacion, List<String> codigos, String motivo,
+                                           String observaciones, Principal principal) {
+        try {
+            Usuario usuarioOperador = usuarioRepository.findByUsuLogin(principal.getName())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            Long trabajoId = transicionMasivaService.crear(operacion, codigos, motivo, observaciones, usuarioOperador);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(transicionMasivaService.obtenerProgreso(trabajoId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.sistema.iTsystem.dto.activos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivoOpcionDTO {
+    private Long id;
+    private String codigo;
+    private String nombre;
+}
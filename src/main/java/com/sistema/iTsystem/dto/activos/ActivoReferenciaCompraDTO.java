@@ -0,0 +1,18 @@
+package com.sistema.iTsystem.dto.activos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivoReferenciaCompraDTO {
+    private Long id;
+    private String codigo;
+    private String nombre;
+    private Long marcaId;
+    private String marca;
+    private Long modeloId;
+    private String modelo;
+}
@@ -0,0 +1,16 @@
+package com.sistema.iTsystem.dto.activos;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class ActivoResumenDTO {
+
+    private Long id;
+    private String codigo;
+    private String nombre;
+    private String categoria;
+    private String estado;
+    private LocalDateTime fechaIngreso;
+}
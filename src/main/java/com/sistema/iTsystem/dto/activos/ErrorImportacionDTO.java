@@ -0,0 +1,15 @@
+package com.sistema.iTsystem.dto.activos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacionDTO {
+
+    private long linea;
+    private String codigo;
+    private String mensaje;
+}
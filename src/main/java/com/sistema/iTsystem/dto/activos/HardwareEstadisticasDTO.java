@@ -0,0 +1,27 @@
+package com.sistema.iTsystem.dto.activos;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estadisticas de hardware calculadas en una sola consulta.
+ * Cada lista de conteos contiene pares {nombre, cantidad} ordenados de mayor a menor;
+ * {@code porAntiguedad} sigue el orden de los tramos.
+ */
+@Data
+@NoArgsConstructor
+public class HardwareEstadisticasDTO {
+
+    private long totalHardware;
+    private BigDecimal valorTotal = BigDecimal.ZERO;
+    private BigDecimal valorPromedio = BigDecimal.ZERO;
+    private long sinValorCompra;
+    private List<Object[]> porMarca = new ArrayList<>();
+    private List<Object[]> porModelo = new ArrayList<>();
+    private List<Object[]> porProveedor = new ArrayList<>();
+    private List<Object[]> porAntiguedad = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.sistema.iTsystem.dto.activos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de una importacion. {@code errores} se acota a las primeras filas;
+ * {@code erroresOmitidos} cuenta los que no se listaron.
+ */
+@Data
+@NoArgsConstructor
+public class ResultadoImportacionDTO {
+
+    private long total;
+    private long importados;
+    private long fallidos;
+    private long duracionMs;
+    private double filasPorSegundo;
+    private List<ErrorImportacionDTO> errores = new ArrayList<>();
+    private long erroresOmitidos;
+}
@@ -0,0 +1,21 @@
+package com.sistema.iTsystem.dto.activos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pedido de cambio de estado masivo. La operacion es la misma clave que usan las
+ * pantallas de un activo ("baja", "mantenimiento", "finalizar-mantenimiento").
+ */
+@Data
+@NoArgsConstructor
+public class TransicionMasivaDTO {
+
+    private String operacion;
+    private String motivo;
+    private String observaciones;
+    private List<String> codigos = new ArrayList<>();
+}
@@ -0,0 +1,27 @@
+package com.sistema.iTsystem.dto.activos;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Avance de un cambio de estado masivo; {@code fallos} se acota a las primeras filas */
+@Data
+@NoArgsConstructor
+public class TransicionMasivaProgresoDTO {
+
+    private Long trabajoId;
+    private String operacion;
+    private String estado;
+    /** Motivo cuando el estado es FALLIDO */
+    private String error;
+    private int total;
+    private int exitosos;
+    private int fallidos;
+    private int pendientes;
+    private LocalDateTime creado;
+    private LocalDateTime actualizado;
+    private List<FalloTransicionMasivaDTO> fallos = new ArrayList<>();
+}
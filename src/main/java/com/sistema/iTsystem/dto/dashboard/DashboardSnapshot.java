@@ -0,0 +1,28 @@
+package com.sistema.iTsystem.dto.dashboard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Foto inmutable de los contadores del dashboard.
+ * Se arma en una sola consulta agrupada y alimenta a DashboardDTO.
+ */
+@Value
+public class DashboardSnapshot {
+
+    List<Conteo> activosPorEstado;
+    List<Conteo> activosPorCategoria;
+    List<Conteo> solicitudesPorEstado;
+    long totalActivos;
+    long totalSolicitudes;
+    LocalDateTime generadoEn;
+
+    @Value
+    public static class Conteo {
+        Long id;
+        String nombre;
+        long cantidad;
+    }
+}
@@ -0,0 +1,23 @@
+package com.sistema.iTsystem.dto.estadisticas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de eventos. {@code porMes} cubre el anio en curso; {@code porActivo} trae solo
+ * los activos con mas eventos.
+ */
+@Data
+@NoArgsConstructor
+public class EventosEstadisticasDTO {
+
+    private long total;
+    private long criticos;
+    private long deHoy;
+    private List<Object[]> porNivel = new ArrayList<>();
+    private List<Object[]> porMes = new ArrayList<>();
+    private List<Object[]> porActivo = new ArrayList<>();
+}
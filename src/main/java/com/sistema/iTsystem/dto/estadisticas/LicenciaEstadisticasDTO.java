@@ -0,0 +1,22 @@
+package com.sistema.iTsystem.dto.estadisticas;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Contadores de licencias; {@code porEstado} son pares {estado, cantidad} */
+@Data
+@NoArgsConstructor
+public class LicenciaEstadisticasDTO {
+
+    private long total;
+    private long vencidas;
+    private long proximasAVencer;
+    private long sinCupos;
+    private long cuposDisponibles;
+    private BigDecimal costoTotal = BigDecimal.ZERO;
+    private List<Object[]> porEstado = new ArrayList<>();
+}
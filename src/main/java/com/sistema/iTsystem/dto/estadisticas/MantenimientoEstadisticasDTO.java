@@ -0,0 +1,26 @@
+package com.sistema.iTsystem.dto.estadisticas;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de mantenimientos. {@code porMes} cubre el anio en curso; {@code porHardware}
+ * trae solo los equipos con mas mantenimientos.
+ */
+@Data
+@NoArgsConstructor
+public class MantenimientoEstadisticasDTO {
+
+    private long total;
+    private long enCurso;
+    private long sinCosto;
+    private BigDecimal costoTotal = BigDecimal.ZERO;
+    private BigDecimal costoPromedio = BigDecimal.ZERO;
+    private List<Object[]> porTipo = new ArrayList<>();
+    private List<Object[]> porMes = new ArrayList<>();
+    private List<Object[]> porHardware = new ArrayList<>();
+}
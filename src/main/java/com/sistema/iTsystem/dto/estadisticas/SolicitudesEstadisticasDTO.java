@@ -0,0 +1,19 @@
+package com.sistema.iTsystem.dto.estadisticas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Contadores de solicitudes; {@code porUsuario} trae solo los usuarios con mas solicitudes */
+@Data
+@NoArgsConstructor
+public class SolicitudesEstadisticasDTO {
+
+    private long total;
+    private long pendientes;
+    private List<Object[]> porEstado = new ArrayList<>();
+    private List<Object[]> porTipo = new ArrayList<>();
+    private List<Object[]> porUsuario = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.sistema.iTsystem.dto.movimientos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pedido de asignacion o devolucion en lote. El motivo y la observacion
+ * se aplican a todas las filas.
+ */
+@Data
+@NoArgsConstructor
+public class MovimientoLoteDTO {
+
+    private String motivo;
+    private String observacion;
+    private List<MovimientoLoteItemDTO> items = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.sistema.iTsystem.dto.movimientos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de un lote: (activoId, usuarioId) para asignar o asignacionId para devolver.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimientoLoteItemDTO {
+
+    private Long activoId;
+    private Long usuarioId;
+    private Long asignacionId;
+}
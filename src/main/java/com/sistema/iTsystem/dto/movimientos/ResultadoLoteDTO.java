@@ -0,0 +1,23 @@
+package com.sistema.iTsystem.dto.movimientos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+    private int total;
+    private int exitosos;
+    private int fallidos;
+    private List<ResultadoMovimientoDTO> filas;
+
+    public static ResultadoLoteDTO de(List<ResultadoMovimientoDTO> filas) {
+        int exitosos = (int) filas.stream().filter(ResultadoMovimientoDTO::isExitoso).count();
+        return new ResultadoLoteDTO(filas.size(), exitosos, filas.size() - exitosos, filas);
+    }
+}
@@ -0,0 +1,21 @@
+package com.sistema.iTsystem.dto.movimientos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una fila del lote; {@code indice} es su posicion en el pedido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoMovimientoDTO {
+
+    private int indice;
+    private Long activoId;
+    private Long usuarioId;
+    private Long asignacionId;
+    private boolean exitoso;
+    private String mensaje;
+}
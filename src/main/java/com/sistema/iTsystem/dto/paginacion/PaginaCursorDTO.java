@@ -0,0 +1,28 @@
+package com.sistema.iTsystem.dto.paginacion;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pagina obtenida por keyset. {@code siguienteCursor} es opaco y se reenvia tal cual
+ * para pedir la pagina siguiente; {@code totalAproximado} proviene de un conteo cacheado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+
+    private List<T> contenido;
+    private String siguienteCursor;
+    private boolean hayMas;
+    private long totalAproximado;
+
+    public <R> PaginaCursorDTO<R> map(Function<? super T, ? extends R> conversor) {
+        List<R> convertido = contenido.stream().<R>map(conversor).toList();
+        return new PaginaCursorDTO<>(convertido, siguienteCursor, hayMas, totalAproximado);
+    }
+}
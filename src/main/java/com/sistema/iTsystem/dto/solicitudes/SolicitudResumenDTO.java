@@ -0,0 +1,17 @@
+package com.sistema.iTsystem.dto.solicitudes;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class SolicitudResumenDTO {
+
+    private Long id;
+    private LocalDateTime fecha;
+    private String tipo;
+    private String estado;
+    private String solicitante;
+    private String responsable;
+    private String descripcion;
+}
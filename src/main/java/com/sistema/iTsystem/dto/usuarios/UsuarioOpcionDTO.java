@@ -0,0 +1,14 @@
+package com.sistema.iTsystem.dto.usuarios;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioOpcionDTO {
+    private Long id;
+    private String login;
+    private String nombre;
+}
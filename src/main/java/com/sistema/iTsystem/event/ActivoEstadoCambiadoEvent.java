@@ -0,0 +1,18 @@
+package com.sistema.iTsystem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando un activo se crea, cambia de estado o se elimina.
+ * estadoAnteriorId es null en el alta y estadoNuevoId es null en la eliminacion.
+ */
+@Data
+@AllArgsConstructor
+public class ActivoEstadoCambiadoEvent {
+
+    private final Long activoId;
+    private final Long categoriaId;
+    private final Long estadoAnteriorId;
+    private final Long estadoNuevoId;
+}
@@ -0,0 +1,16 @@
+package com.sistema.iTsystem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando se crea, cierra o reasigna una asignacion de un activo.
+ * Las operaciones en lote no lo publican: ya emiten ActivoEstadoCambiadoEvent por fila.
+ */
+@Data
+@AllArgsConstructor
+public class AsignacionCambiadaEvent {
+
+    private final Long activoId;
+    private final Long asignacionId;
+}
@@ -0,0 +1,17 @@
+package com.sistema.iTsystem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando una solicitud se crea, cambia de estado o se elimina.
+ * estadoAnteriorId es null en la creacion y estadoNuevoId es null en la eliminacion.
+ */
+@Data
+@AllArgsConstructor
+public class SolicitudEstadoCambiadoEvent {
+
+    private final Long soliId;
+    private final Long estadoAnteriorId;
+    private final Long estadoNuevoId;
+}
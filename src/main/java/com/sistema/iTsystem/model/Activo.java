@@ -12,10 +12,14 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.EqualsAndHashCode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,6 +28,34 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "activo")
+// hardwareInfo va en todos los grafos: es el lado inverso del uno a uno y, sin enhancement,
+// Hibernate no puede dejarlo lazy; fuera del grafo costaria un SELECT por activo cargado.
+@NamedEntityGraphs({
+    // Listados y tablas: categoria y estado se muestran en cada fila
+    @NamedEntityGraph(name = "Activo.listado", attributeNodes = {
+        @NamedAttributeNode("categoria"),
+        @NamedAttributeNode("estado"),
+        @NamedAttributeNode("hardwareInfo")
+    }),
+    // Ficha del activo
+    @NamedEntityGraph(name = "Activo.detalle", attributeNodes = {
+        @NamedAttributeNode("proveedor"),
+        @NamedAttributeNode("categoria"),
+        @NamedAttributeNode("estado"),
+        @NamedAttributeNode("hardwareInfo")
+    }),
+    // Cambios de estado: se valida contra el estado actual
+    @NamedEntityGraph(name = "Activo.transicion", attributeNodes = {
+        @NamedAttributeNode("estado"),
+        @NamedAttributeNode("hardwareInfo")
+    }),
+    // API de referencia para solicitudes
+    @NamedEntityGraph(name = "Activo.referencia", attributeNodes = {
+        @NamedAttributeNode("categoria"),
+        @NamedAttributeNode("estado"),
+        @NamedAttributeNode("hardwareInfo")
+    })
+})
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(onlyExplicitlyIncluded = true)
@@ -42,15 +74,15 @@ public class Activo {
     @ToString.Include
     private String activoCodigo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "prov_id")
     private Proveedores proveedor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cat_id", nullable = false)
     private CategoriasActivo categoria;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "estado_id", nullable = false)
     private EstadoActivo estado;
 
@@ -72,6 +104,11 @@ public class Activo {
     @OneToOne(mappedBy = "activo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private HardwareInfo hardwareInfo;
 
+    /** Bloqueo optimista; el compare-and-set de estado tambien lo incrementa */
+    @Version
+    @Column(name = "activo_version", nullable = false)
+    private Long activoVersion;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,50 @@
+package com.sistema.iTsystem.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alerta precalculada de una licencia. Solo lectura desde JPA: las filas las escribe
+ * LicenciaAlertasService con SQL.
+ */
+@Entity
+@Table(name = "licencia_alertas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LicenciaAlerta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "alerta_id")
+    private Long alertaId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "licencia_id", nullable = false, insertable = false, updatable = false)
+    private LicenciaInfo licencia;
+
+    @Column(name = "alerta_tipo", length = 20, nullable = false, insertable = false, updatable = false)
+    private String alertaTipo;
+
+    @Column(name = "severidad", length = 10, nullable = false, insertable = false, updatable = false)
+    private String severidad;
+
+    @Column(name = "fecha_limite", insertable = false, updatable = false)
+    private LocalDate fechaLimite;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.AllArgsConstructor;
@@ -25,7 +26,8 @@ import lombok.NoArgsConstructor;
 public class SolicitudHistorialEstados {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitud_historial_estados_seq")
+    @SequenceGenerator(name = "solicitud_historial_estados_seq", sequenceName = "solicitud_historial_estados_seq", allocationSize = 50)
     @Column(name = "historial_id")
     @EqualsAndHashCode.Include
     private Long historialId;
@@ -81,6 +81,10 @@ public class Solicitudes {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Documento de busqueda mantenido por trigger en la base (V13), solo lectura desde JPA
+    @Column(name = "soli_busqueda", columnDefinition = "TEXT", insertable = false, updatable = false)
+    private String soliBusqueda;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
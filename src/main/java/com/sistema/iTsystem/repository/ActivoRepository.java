@@ -1,15 +1,20 @@
 package com.sistema.iTsystem.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.sistema.iTsystem.dto.activos.ActivoOpcionDTO;
+import com.sistema.iTsystem.dto.activos.ActivoReferenciaCompraDTO;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.CategoriasActivo;
 import com.sistema.iTsystem.model.EstadoActivo;
@@ -25,25 +30,111 @@ public interface ActivoRepository extends JpaRepository<Activo, Long> {
 
     Optional<Activo> findByActivoCodigo(String activoCodigo);
 
+    @EntityGraph("Activo.detalle")
     Optional<Activo> findByActivoCodigoIgnoreCase(String activoCodigo);
 
+    @Override
+    @EntityGraph("Activo.listado")
+    List<Activo> findAll();
+
+    @Override
+    @EntityGraph("Activo.listado")
+    Page<Activo> findAll(Pageable pageable);
+
+    /** Carga minima para validar y aplicar un cambio de estado */
+    @EntityGraph("Activo.transicion")
+    @Query("SELECT a FROM Activo a WHERE a.activoId = :activoId")
+    Optional<Activo> findParaTransicion(@Param("activoId") Long activoId);
+
+    @EntityGraph("Activo.transicion")
+    @Query("SELECT a FROM Activo a WHERE LOWER(a.activoCodigo) = LOWER(:activoCodigo)")
+    Optional<Activo> findParaTransicionPorCodigo(@Param("activoCodigo") String activoCodigo);
+
+    /**
+     * Compare-and-set del estado: solo actualiza si el activo sigue en el estado leido
+     * e incrementa la version. Devuelve 0 si otra transaccion lo cambio antes.
+     */
+    @Modifying
+    @Query("UPDATE Activo a SET a.estado = :nuevoEstado, a.activoActivo = :activoActivo, " +
+           "a.activoFechaEgreso = :fechaEgreso, a.updatedAt = :ahora, a.activoVersion = a.activoVersion + 1 " +
+           "WHERE a.activoId = :activoId AND a.estado.estadoId = :estadoEsperadoId")
+    int cambiarEstadoSiCoincide(@Param("activoId") Long activoId,
+                                @Param("estadoEsperadoId") Long estadoEsperadoId,
+                                @Param("nuevoEstado") EstadoActivo nuevoEstado,
+                                @Param("activoActivo") Boolean activoActivo,
+                                @Param("fechaEgreso") LocalDateTime fechaEgreso,
+                                @Param("ahora") LocalDateTime ahora);
+
+    @EntityGraph("Activo.referencia")
+    @Query("SELECT a FROM Activo a WHERE a.activoId = :activoId")
+    Optional<Activo> findParaReferencia(@Param("activoId") Long activoId);
+
     boolean existsByActivoCodigo(String activoCodigo);
 
-    @Query("SELECT DISTINCT a FROM Activo a " +
-           "LEFT JOIN UsuarioAsignacion ua ON ua.activo = a AND ua.asignacionActiva = true " +
-           "LEFT JOIN ua.usuario u " +
+    @EntityGraph("Activo.listado")
+    @Query(value = "SELECT a FROM Activo a " +
+           "WHERE (:texto IS NULL OR :texto = '' OR " +
+           "LOWER(a.activoNom) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
+           "LOWER(a.activoCodigo) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
+           "(:categoriaId IS NULL OR a.categoria.catId = :categoriaId) AND " +
+           "(:estadoId IS NULL OR a.estado.estadoId = :estadoId) AND " +
+           "(:departamentoId IS NULL OR EXISTS (SELECT 1 FROM UsuarioAsignacion ua " +
+           "WHERE ua.activo = a AND ua.asignacionActiva = true " +
+           "AND ua.usuario.departamento.deptId = :departamentoId))",
+           countQuery = "SELECT COUNT(a) FROM Activo a " +
            "WHERE (:texto IS NULL OR :texto = '' OR " +
            "LOWER(a.activoNom) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
            "LOWER(a.activoCodigo) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
            "(:categoriaId IS NULL OR a.categoria.catId = :categoriaId) AND " +
            "(:estadoId IS NULL OR a.estado.estadoId = :estadoId) AND " +
-           "(:departamentoId IS NULL OR u.departamento.deptId = :departamentoId)")
+           "(:departamentoId IS NULL OR EXISTS (SELECT 1 FROM UsuarioAsignacion ua " +
+           "WHERE ua.activo = a AND ua.asignacionActiva = true " +
+           "AND ua.usuario.departamento.deptId = :departamentoId))")
     Page<Activo> findByFiltros(@Param("texto") String texto,
                                @Param("categoriaId") Long categoriaId,
                                @Param("estadoId") Long estadoId,
                                @Param("departamentoId") Long departamentoId,
                                Pageable pageable);
 
+    /**
+     * Mismos filtros que findByFiltros, paginado por keyset sobre (activoFechaIngreso, activoId):
+     * devuelve las filas estrictamente anteriores al cursor, sin OFFSET ni conteo.
+     */
+    @EntityGraph("Activo.listado")
+    @Query("SELECT a FROM Activo a " +
+           "WHERE (:texto = '' OR " +
+           "LOWER(a.activoNom) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
+           "LOWER(a.activoCodigo) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
+           "(:categoriaId = -1 OR a.categoria.catId = :categoriaId) AND " +
+           "(:estadoId = -1 OR a.estado.estadoId = :estadoId) AND " +
+           "(:departamentoId = -1 OR EXISTS (SELECT 1 FROM UsuarioAsignacion ua " +
+           "WHERE ua.activo = a AND ua.asignacionActiva = true " +
+           "AND ua.usuario.departamento.deptId = :departamentoId)) AND " +
+           "(a.activoFechaIngreso < :cursorFecha OR " +
+           "(a.activoFechaIngreso = :cursorFecha AND a.activoId < :cursorId)) " +
+           "ORDER BY a.activoFechaIngreso DESC, a.activoId DESC")
+    List<Activo> findByFiltrosDespuesDe(@Param("texto") String texto,
+                                        @Param("categoriaId") Long categoriaId,
+                                        @Param("estadoId") Long estadoId,
+                                        @Param("departamentoId") Long departamentoId,
+                                        @Param("cursorFecha") LocalDateTime cursorFecha,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable limite);
+
+    @Query("SELECT COUNT(a) FROM Activo a " +
+           "WHERE (:texto = '' OR " +
+           "LOWER(a.activoNom) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
+           "LOWER(a.activoCodigo) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
+           "(:categoriaId = -1 OR a.categoria.catId = :categoriaId) AND " +
+           "(:estadoId = -1 OR a.estado.estadoId = :estadoId) AND " +
+           "(:departamentoId = -1 OR EXISTS (SELECT 1 FROM UsuarioAsignacion ua " +
+           "WHERE ua.activo = a AND ua.asignacionActiva = true " +
+           "AND ua.usuario.departamento.deptId = :departamentoId))")
+    long countByFiltros(@Param("texto") String texto,
+                        @Param("categoriaId") Long categoriaId,
+                        @Param("estadoId") Long estadoId,
+                        @Param("departamentoId") Long departamentoId);
+
     List<Activo> findByEstado(EstadoActivo estado);
 
     List<Activo> findByCategoria(CategoriasActivo categoria);
@@ -69,4 +160,82 @@ public interface ActivoRepository extends JpaRepository<Activo, Long> {
            "JOIN ua.usuario u " +
            "GROUP BY u.departamento.deptNom")
     List<Object[]> countActivosPorDepartamento();
+
+    // ==================== OPCIONES PARA FORMULARIOS ====================
+
+    /** Activos vigentes en el estado indicado y sin asignacion activa */
+    @Query("SELECT new com.sistema.iTsystem.dto.activos.ActivoOpcionDTO(a.activoId, a.activoCodigo, a.activoNom) " +
+           "FROM Activo a " +
+           "WHERE a.activoActivo = true " +
+           "AND LOWER(a.estado.estadoNom) = LOWER(:estadoNom) " +
+           "AND NOT EXISTS (SELECT 1 FROM UsuarioAsignacion ua WHERE ua.activo = a AND ua.asignacionActiva = true) " +
+           "ORDER BY LOWER(a.activoCodigo)")
+    List<ActivoOpcionDTO> findOpcionesPorEstadoSinAsignacion(@Param("estadoNom") String estadoNom);
+
+    /** Activos vigentes cuyo estado no sea el indicado */
+    @Query("SELECT new com.sistema.iTsystem.dto.activos.ActivoOpcionDTO(a.activoId, a.activoCodigo, a.activoNom) " +
+           "FROM Activo a " +
+           "WHERE a.activoActivo = true " +
+           "AND LOWER(a.estado.estadoNom) <> LOWER(:estadoNom) " +
+           "ORDER BY LOWER(a.activoCodigo)")
+    List<ActivoOpcionDTO> findOpcionesExcluyendoEstado(@Param("estadoNom") String estadoNom);
+
+    /**
+     * Busqueda por prefijo de codigo o nombre para typeahead, paginada por keyset
+     * sobre LOWER(activo_codigo). Usa los indices text_pattern_ops de V12.
+     */
+    @Query("SELECT new com.sistema.iTsystem.dto.activos.ActivoOpcionDTO(a.activoId, a.activoCodigo, a.activoNom) " +
+           "FROM Activo a " +
+           "WHERE a.activoActivo = true " +
+           "AND (LOWER(a.activoCodigo) LIKE :prefijo OR LOWER(a.activoNom) LIKE :prefijo) " +
+           "AND LOWER(a.activoCodigo) > :despues " +
+           "AND (:estadoNom = '' OR LOWER(a.estado.estadoNom) = LOWER(:estadoNom)) " +
+           "AND (:sinAsignacion = false OR NOT EXISTS (SELECT 1 FROM UsuarioAsignacion ua WHERE ua.activo = a AND ua.asignacionActiva = true)) " +
+           "ORDER BY LOWER(a.activoCodigo)")
+    List<ActivoOpcionDTO> buscarOpcionesPorPrefijo(@Param("prefijo") String prefijo,
+                                                  @Param("despues") String despues,
+                                                  @Param("estadoNom") String estadoNom,
+                                                  @Param("sinAsignacion") boolean sinAsignacion,
+                                                  Pageable pageable);
+
+    /** Todos los activos vigentes */
+    @Query("SELECT new com.sistema.iTsystem.dto.activos.ActivoOpcionDTO(a.activoId, a.activoCodigo, a.activoNom) " +
+           "FROM Activo a " +
+           "WHERE a.activoActivo = true " +
+           "ORDER BY LOWER(a.activoCodigo)")
+    List<ActivoOpcionDTO> findOpcionesVigentes();
+
+    /**
+     * Activos vigentes con hardware registrado, con su marca y modelo.
+     * hardware_info.activo_id es unico, por lo que el join actua como semi-join.
+     */
+    @Query("SELECT new com.sistema.iTsystem.dto.activos.ActivoReferenciaCompraDTO(" +
+           "a.activoId, a.activoCodigo, a.activoNom, ma.marcaId, ma.marcaNom, mo.modelId, mo.modelNom) " +
+           "FROM Activo a " +
+           "JOIN HardwareInfo h ON h.activo = a " +
+           "JOIN h.modelo mo " +
+           "JOIN mo.marca ma " +
+           "WHERE a.activoActivo = true " +
+           "ORDER BY LOWER(a.activoCodigo)")
+    List<ActivoReferenciaCompraDTO> findOpcionesConHardware();
+
+    // ==================== DASHBOARD ====================
+
+    /**
+     * Contadores del dashboard en una sola consulta: estados y categorias de activos
+     * y estados de solicitudes. Cada fila es (grupo, id, nombre, cantidad).
+     */
+    @Query(value = "SELECT 'ACTIVO_ESTADO' AS grupo, CAST(e.estado_id AS BIGINT) AS id, e.estado_nom AS nombre, COUNT(a.activo_id) AS cantidad " +
+           "FROM estado_activo e LEFT JOIN activo a ON a.estado_id = e.estado_id " +
+           "GROUP BY e.estado_id, e.estado_nom " +
+           "UNION ALL " +
+           "SELECT 'ACTIVO_CATEGORIA', CAST(c.cat_id AS BIGINT), c.cat_nom, COUNT(a.activo_id) " +
+           "FROM categorias_activo c LEFT JOIN activo a ON a.cat_id = c.cat_id " +
+           "GROUP BY c.cat_id, c.cat_nom " +
+           "UNION ALL " +
+           "SELECT 'SOLICITUD_ESTADO', CAST(se.soli_estado_id AS BIGINT), se.soli_estado_nom, COUNT(s.soli_id) " +
+           "FROM soli_estados se LEFT JOIN solicitudes s ON s.soli_estados_soli_estado_id = se.soli_estado_id " +
+           "GROUP BY se.soli_estado_id, se.soli_estado_nom",
+           nativeQuery = true)
+    List<Object[]> obtenerConteosDashboard();
 }
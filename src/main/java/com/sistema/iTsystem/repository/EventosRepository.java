@@ -56,6 +56,9 @@ public interface EventosRepository extends JpaRepository<Eventos, Long> {
     @Query("SELECT e FROM Eventos e WHERE e.eventosNivel.nivelNom = 'Crítico' ORDER BY e.eventFecha DESC")
     List<Eventos> findEventosCriticos();
     
+    @Query("SELECT e FROM Eventos e WHERE e.eventosNivel.nivelNom = 'Crítico' ORDER BY e.eventFecha DESC")
+    List<Eventos> findEventosCriticos(Pageable pageable);
+    
     // Buscar eventos con impacto
     @Query("SELECT e FROM Eventos e WHERE e.eventImpacto IS NOT NULL AND e.eventImpacto != '' ORDER BY e.eventFecha DESC")
     List<Eventos> findEventosConImpacto();
@@ -72,6 +75,9 @@ public interface EventosRepository extends JpaRepository<Eventos, Long> {
     @Query("SELECT e FROM Eventos e WHERE e.eventFecha = :fecha ORDER BY e.createdAt DESC")
     List<Eventos> findEventosDeHoy(@Param("fecha") LocalDate fecha);
     
+    @Query("SELECT e FROM Eventos e WHERE e.eventFecha = :fecha ORDER BY e.createdAt DESC")
+    List<Eventos> findEventosDeHoy(@Param("fecha") LocalDate fecha, Pageable pageable);
+    
     // Buscar eventos de la última semana
     @Query("SELECT e FROM Eventos e WHERE e.eventFecha >= :fechaInicio ORDER BY e.eventFecha DESC")
     List<Eventos> findEventosUltimaSemana(@Param("fechaInicio") LocalDate fechaInicio);
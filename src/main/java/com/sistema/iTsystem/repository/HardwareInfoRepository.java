@@ -55,6 +55,42 @@ public interface HardwareInfoRepository extends JpaRepository<HardwareInfo, Long
            "ORDER BY COUNT(h) DESC")
     List<Object[]> countHardwarePorModelo();
 
+    @Query("SELECT h FROM HardwareInfo h " +
+           "JOIN FETCH h.activo a " +
+           "JOIN FETCH a.estado " +
+           "LEFT JOIN FETCH a.categoria " +
+           "LEFT JOIN FETCH a.proveedor " +
+           "LEFT JOIN FETCH h.modelo m " +
+           "LEFT JOIN FETCH m.marca " +
+           "WHERE a.estado.estadoId = :estadoId " +
+           "ORDER BY h.hwId")
+    List<HardwareInfo> findByEstadoActivoId(@Param("estadoId") Long estadoId);
+
+    @Query("SELECT h FROM HardwareInfo h " +
+           "JOIN FETCH h.activo a " +
+           "JOIN FETCH a.proveedor p " +
+           "LEFT JOIN FETCH a.estado " +
+           "LEFT JOIN FETCH a.categoria " +
+           "LEFT JOIN FETCH h.modelo m " +
+           "LEFT JOIN FETCH m.marca " +
+           "WHERE p.provId = :provId " +
+           "ORDER BY h.hwId")
+    List<HardwareInfo> findByProveedorId(@Param("provId") Long provId);
+
+    @Query("SELECT ma.marcaNom, COUNT(h) FROM HardwareInfo h " +
+           "JOIN h.modelo m " +
+           "JOIN m.marca ma " +
+           "GROUP BY ma.marcaNom " +
+           "ORDER BY COUNT(h) DESC")
+    List<Object[]> countHardwarePorMarca();
+
+    @Query("SELECT e.estadoNom, COUNT(h) FROM HardwareInfo h " +
+           "JOIN h.activo a " +
+           "JOIN a.estado e " +
+           "GROUP BY e.estadoNom " +
+           "ORDER BY COUNT(h) DESC")
+    List<Object[]> countHardwarePorEstado();
+
     @Query("SELECT h FROM HardwareInfo h JOIN h.activo a WHERE a.proveedor IS NULL")
     List<HardwareInfo> findHardwareSinProveedor();
 }
@@ -0,0 +1,30 @@
+package com.sistema.iTsystem.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sistema.iTsystem.model.LicenciaAlerta;
+
+@Repository
+public interface LicenciaAlertaRepository extends JpaRepository<LicenciaAlerta, Long> {
+
+    // Alertas de un tipo con su licencia, por fecha limite (usa idx_licencia_alertas_tipo_fecha)
+    @Query("SELECT a FROM LicenciaAlerta a " +
+           "JOIN FETCH a.licencia l " +
+           "LEFT JOIN FETCH l.softwareInfo " +
+           "WHERE a.alertaTipo = :tipo " +
+           "ORDER BY a.fechaLimite ASC, l.licenciaId ASC")
+    List<LicenciaAlerta> findByTipoConLicencia(@Param("tipo") String tipo, Pageable pageable);
+
+    @Query("SELECT a FROM LicenciaAlerta a " +
+           "JOIN FETCH a.licencia l " +
+           "LEFT JOIN FETCH l.softwareInfo " +
+           "WHERE a.alertaTipo = :tipo " +
+           "ORDER BY a.fechaLimite ASC, l.licenciaId ASC")
+    List<LicenciaAlerta> findByTipoConLicencia(@Param("tipo") String tipo);
+}
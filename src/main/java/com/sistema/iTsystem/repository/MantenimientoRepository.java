@@ -2,6 +2,7 @@ package com.sistema.iTsystem.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -52,6 +53,23 @@ public interface MantenimientoRepository extends JpaRepository<Mantenimiento, Lo
     @Query("SELECT m FROM Mantenimiento m WHERE m.mantFechaFin IS NULL OR m.mantFechaFin >= :fecha ORDER BY m.mantFechaIni DESC")
     List<Mantenimiento> findMantenimientosEnCurso(@Param("fecha") LocalDate fecha);
     
+    @Query("SELECT m FROM Mantenimiento m WHERE m.mantFechaFin IS NULL OR m.mantFechaFin >= :fecha ORDER BY m.mantFechaIni DESC")
+    List<Mantenimiento> findMantenimientosEnCurso(@Param("fecha") LocalDate fecha, Pageable pageable);
+    
+    // Existe mantenimiento en curso para un hardware (corta en la primera fila)
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM mantenimiento m " +
+           "WHERE m.hardware_info_hw_id = :hwId " +
+           "AND (m.mant_fecha_fin IS NULL OR m.mant_fecha_fin >= :fecha))",
+           nativeQuery = true)
+    boolean existsMantenimientoEnCurso(@Param("hwId") Long hwId, @Param("fecha") LocalDate fecha);
+    
+    // Hardware con mantenimiento en curso, acotado a los ids indicados
+    @Query("SELECT DISTINCT m.hardwareInfo.hwId FROM Mantenimiento m " +
+           "WHERE m.hardwareInfo.hwId IN :hwIds " +
+           "AND (m.mantFechaFin IS NULL OR m.mantFechaFin >= :fecha)")
+    List<Long> findHardwareIdsConMantenimientoEnCurso(@Param("hwIds") Collection<Long> hwIds,
+                                                      @Param("fecha") LocalDate fecha);
+    
     // Buscar mantenimientos finalizados
     @Query("SELECT m FROM Mantenimiento m WHERE m.mantFechaFin IS NOT NULL AND m.mantFechaFin < :fecha ORDER BY m.mantFechaFin DESC")
     List<Mantenimiento> findMantenimientosFinalizados(@Param("fecha") LocalDate fecha);
@@ -49,36 +49,32 @@ public interface SolicitudesRepository extends JpaRepository<Solicitudes, Long>
     // Buscar por tipo con paginación
     Page<Solicitudes> findBySoliTipo_SoliTipoId(Long tipoId, Pageable pageable);
 
-    @Query(value = "SELECT DISTINCT s FROM Solicitudes s " +
-           "LEFT JOIN s.usuario u " +
-           "LEFT JOIN u.persona p " +
-           "LEFT JOIN s.responsable r " +
-           "LEFT JOIN r.persona rp " +
-           "LEFT JOIN s.usuarioDestino d " +
-           "LEFT JOIN d.persona dp " +
-           "LEFT JOIN s.soliEstado e " +
-           "LEFT JOIN s.soliTipo t " +
-           "LEFT JOIN s.activo a " +
-           "LEFT JOIN s.marca ma " +
-           "LEFT JOIN s.modelo mo " +
-           "WHERE (:texto = '' OR " +
-           "LOWER(COALESCE(s.soliDescri, '')) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(COALESCE(s.soliMotivo, '')) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(COALESCE(u.usuLogin, '')) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(CONCAT(COALESCE(p.perNom1, ''), ' ', COALESCE(p.perApe1, ''))) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(COALESCE(r.usuLogin, '')) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(CONCAT(COALESCE(rp.perNom1, ''), ' ', COALESCE(rp.perApe1, ''))) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(COALESCE(d.usuLogin, '')) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(CONCAT(COALESCE(dp.perNom1, ''), ' ', COALESCE(dp.perApe1, ''))) LIKE LOWER(CONCAT('%', :texto, '%')) OR " +
-           "LOWER(COALESCE(a.activoCodigo, '')) LIKE LOWER(CONCAT('%', :texto, '%'))) AND " +
-           "(:tipoId = -1 OR t.soliTipoId = :tipoId) AND " +
-           "(:estadoId = -1 OR e.soliEstadoId = :estadoId) AND " +
-           "(:solicitanteId = -1 OR u.usuId = :solicitanteId) AND " +
-           "(:responsableId = -1 OR r.usuId = :responsableId) AND " +
+    /**
+     * Listado filtrado. El texto se busca sobre soli_busqueda (documento en minusculas
+     * mantenido por trigger, indice GIN trigram en V13), por lo que se espera ya normalizado.
+     * Los filtros por id usan las FK directamente, sin joins ni DISTINCT.
+     */
+    @Query(value = "SELECT s FROM Solicitudes s " +
+           "WHERE (:texto = '' OR s.soliBusqueda LIKE CONCAT('%', :texto, '%')) AND " +
+           "(:tipoId = -1 OR s.soliTipo.soliTipoId = :tipoId) AND " +
+           "(:estadoId = -1 OR s.soliEstado.soliEstadoId = :estadoId) AND " +
+           "(:solicitanteId = -1 OR s.usuario.usuId = :solicitanteId) AND " +
+           "(:responsableId = -1 OR s.responsable.usuId = :responsableId) AND " +
            "s.createdAt >= :desde AND " +
            "s.createdAt <= :hasta AND " +
-           "(:scopeUsuarioId = -1 OR u.usuId = :scopeUsuarioId OR " +
-           "(:scopeResponsableId <> -1 AND r.usuId = :scopeResponsableId))")
+           "(:scopeUsuarioId = -1 OR s.usuario.usuId = :scopeUsuarioId OR " +
+           "(:scopeResponsableId <> -1 AND s.responsable.usuId = :scopeResponsableId)) " +
+           "ORDER BY s.createdAt DESC, s.soliId DESC",
+           countQuery = "SELECT COUNT(s) FROM Solicitudes s " +
+           "WHERE (:texto = '' OR s.soliBusqueda LIKE CONCAT('%', :texto, '%')) AND " +
+           "(:tipoId = -1 OR s.soliTipo.soliTipoId = :tipoId) AND " +
+           "(:estadoId = -1 OR s.soliEstado.soliEstadoId = :estadoId) AND " +
+           "(:solicitanteId = -1 OR s.usuario.usuId = :solicitanteId) AND " +
+           "(:responsableId = -1 OR s.responsable.usuId = :responsableId) AND " +
+           "s.createdAt >= :desde AND " +
+           "s.createdAt <= :hasta AND " +
+           "(:scopeUsuarioId = -1 OR s.usuario.usuId = :scopeUsuarioId OR " +
+           "(:scopeResponsableId <> -1 AND s.responsable.usuId = :scopeResponsableId))")
     Page<Solicitudes> findWithFilters(@Param("texto") String texto,
                                       @Param("tipoId") Long tipoId,
                                       @Param("estadoId") Long estadoId,
@@ -90,6 +86,55 @@ public interface SolicitudesRepository extends JpaRepository<Solicitudes, Long>
                                       @Param("scopeResponsableId") Long scopeResponsableId,
                                       Pageable pageable);
     
+    /**
+     * Misma busqueda que findWithFilters paginada por keyset sobre (createdAt, soliId):
+     * devuelve las filas estrictamente anteriores al cursor, sin OFFSET ni conteo.
+     */
+    @Query("SELECT s FROM Solicitudes s " +
+           "WHERE (:texto = '' OR s.soliBusqueda LIKE CONCAT('%', :texto, '%')) AND " +
+           "(:tipoId = -1 OR s.soliTipo.soliTipoId = :tipoId) AND " +
+           "(:estadoId = -1 OR s.soliEstado.soliEstadoId = :estadoId) AND " +
+           "(:solicitanteId = -1 OR s.usuario.usuId = :solicitanteId) AND " +
+           "(:responsableId = -1 OR s.responsable.usuId = :responsableId) AND " +
+           "s.createdAt >= :desde AND " +
+           "s.createdAt <= :hasta AND " +
+           "(:scopeUsuarioId = -1 OR s.usuario.usuId = :scopeUsuarioId OR " +
+           "(:scopeResponsableId <> -1 AND s.responsable.usuId = :scopeResponsableId)) AND " +
+           "(s.createdAt < :cursorFecha OR (s.createdAt = :cursorFecha AND s.soliId < :cursorId)) " +
+           "ORDER BY s.createdAt DESC, s.soliId DESC")
+    List<Solicitudes> findWithFiltersDespuesDe(@Param("texto") String texto,
+                                               @Param("tipoId") Long tipoId,
+                                               @Param("estadoId") Long estadoId,
+                                               @Param("solicitanteId") Long solicitanteId,
+                                               @Param("responsableId") Long responsableId,
+                                               @Param("desde") LocalDateTime desde,
+                                               @Param("hasta") LocalDateTime hasta,
+                                               @Param("scopeUsuarioId") Long scopeUsuarioId,
+                                               @Param("scopeResponsableId") Long scopeResponsableId,
+                                               @Param("cursorFecha") LocalDateTime cursorFecha,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable limite);
+
+    @Query("SELECT COUNT(s) FROM Solicitudes s " +
+           "WHERE (:texto = '' OR s.soliBusqueda LIKE CONCAT('%', :texto, '%')) AND " +
+           "(:tipoId = -1 OR s.soliTipo.soliTipoId = :tipoId) AND " +
+           "(:estadoId = -1 OR s.soliEstado.soliEstadoId = :estadoId) AND " +
+           "(:solicitanteId = -1 OR s.usuario.usuId = :solicitanteId) AND " +
+           "(:responsableId = -1 OR s.responsable.usuId = :responsableId) AND " +
+           "s.createdAt >= :desde AND " +
+           "s.createdAt <= :hasta AND " +
+           "(:scopeUsuarioId = -1 OR s.usuario.usuId = :scopeUsuarioId OR " +
+           "(:scopeResponsableId <> -1 AND s.responsable.usuId = :scopeResponsableId))")
+    long countWithFilters(@Param("texto") String texto,
+                          @Param("tipoId") Long tipoId,
+                          @Param("estadoId") Long estadoId,
+                          @Param("solicitanteId") Long solicitanteId,
+                          @Param("responsableId") Long responsableId,
+                          @Param("desde") LocalDateTime desde,
+                          @Param("hasta") LocalDateTime hasta,
+                          @Param("scopeUsuarioId") Long scopeUsuarioId,
+                          @Param("scopeResponsableId") Long scopeResponsableId);
+    
     // ==================== BÚSQUEDAS AVANZADAS ====================
     
     // Buscar solicitudes pendientes
@@ -1,5 +1,6 @@
 package com.sistema.iTsystem.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,4 +46,16 @@ public interface UsuarioAsignacionRepository extends JpaRepository<UsuarioAsigna
            "WHERE ua.activo.activoId = :activoId " +
            "ORDER BY ua.asignacionActiva DESC, ua.asignacionFecha DESC")
     List<UsuarioAsignacion> findByActivoIdWithUserDetails(@Param("activoId") Long activoId);
+
+    /** Asignaciones indicadas en orden de alta, para agregar al timeline los eventos que les faltan */
+    @Query("SELECT ua FROM UsuarioAsignacion ua " +
+           "LEFT JOIN FETCH ua.usuario u " +
+           "LEFT JOIN FETCH ua.usuarioEjecutor ue " +
+           "LEFT JOIN FETCH u.persona " +
+           "LEFT JOIN FETCH ue.persona " +
+           "LEFT JOIN FETCH ua.solicitud s " +
+           "LEFT JOIN FETCH s.soliTipo " +
+           "WHERE ua.asignacionId IN :asignacionIds " +
+           "ORDER BY ua.asignacionId")
+    List<UsuarioAsignacion> findByAsignacionIdsWithUserDetails(@Param("asignacionIds") Collection<Long> asignacionIds);
 }
@@ -3,9 +3,13 @@ package com.sistema.iTsystem.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO;
 import com.sistema.iTsystem.model.Usuario;
 
 @Repository
@@ -17,8 +21,32 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     // Buscar por email
     Optional<Usuario> findByUsuMail(String usuMail);
 
-    // Usuarios activos ordenados por login
-    List<Usuario> findByUsuActivoTrueOrderByUsuLoginAsc();
+    // Opciones livianas de usuarios activos para selects
+    @Query("SELECT new com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO(u.usuId, u.usuLogin, " +
+           "CONCAT(COALESCE(p.perNom1, ''), ' ', COALESCE(p.perApe1, ''))) " +
+           "FROM Usuario u LEFT JOIN u.persona p " +
+           "WHERE u.usuActivo = true " +
+           "ORDER BY LOWER(u.usuLogin)")
+    List<UsuarioOpcionDTO> findOpcionesActivas();
+
+    // Busqueda por prefijo de login, nombre o apellido para typeahead (keyset sobre LOWER(usu_login))
+    @Query("SELECT new com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO(u.usuId, u.usuLogin, " +
+           "CONCAT(COALESCE(p.perNom1, ''), ' ', COALESCE(p.perApe1, ''))) " +
+           "FROM Usuario u LEFT JOIN u.persona p " +
+           "WHERE u.usuActivo = true " +
+           "AND (LOWER(u.usuLogin) LIKE :prefijo OR LOWER(p.perNom1) LIKE :prefijo OR LOWER(p.perApe1) LIKE :prefijo) " +
+           "AND LOWER(u.usuLogin) > :despues " +
+           "ORDER BY LOWER(u.usuLogin)")
+    List<UsuarioOpcionDTO> buscarOpcionesPorPrefijo(@Param("prefijo") String prefijo,
+                                                   @Param("despues") String despues,
+                                                   Pageable pageable);
+
+    // Opcion puntual para preseleccionar un usuario en formularios con carga diferida
+    @Query("SELECT new com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO(u.usuId, u.usuLogin, " +
+           "CONCAT(COALESCE(p.perNom1, ''), ' ', COALESCE(p.perApe1, ''))) " +
+           "FROM Usuario u LEFT JOIN u.persona p " +
+           "WHERE u.usuId = :usuId")
+    Optional<UsuarioOpcionDTO> findOpcionById(@Param("usuId") Long usuId);
     
     // Validar existencia por login
     boolean existsByUsuLogin(String usuLogin);
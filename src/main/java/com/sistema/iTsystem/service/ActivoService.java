@@ -8,11 +8,18 @@ import java.util.Optional;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot;
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot.Conteo;
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.CategoriasActivo;
 import com.sistema.iTsystem.model.Departamentos;
@@ -23,11 +30,7 @@ import com.sistema.iTsystem.model.Modelo;
 import com.sistema.iTsystem.model.Proveedores;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.ActivoRepository;
-import com.sistema.iTsystem.repository.CategoriasActivoRepository;
 import com.sistema.iTsystem.repository.DepartamentosRepository;
-import com.sistema.iTsystem.repository.EstadoActivoRepository;
-import com.sistema.iTsystem.repository.MarcaRepository;
-import com.sistema.iTsystem.repository.ModeloRepository;
 import com.sistema.iTsystem.repository.ProveedoresRepository;
 
 @Service
@@ -35,6 +38,8 @@ public class ActivoService {
 
     private static final Pattern CODIGO_PATTERN = Pattern.compile("^[A-Z0-9-]{1,10}$");
     private static final Pattern SERIAL_PATTERN = Pattern.compile("^[A-Z0-9_-]{1,100}$");
+    private static final String MENSAJE_MODIFICADO =
+        "El activo fue modificado por otro usuario. Recargue el formulario e intente nuevamente.";
 
     public static class ActivoNoEncontradoException extends RuntimeException {
         public ActivoNoEncontradoException(String mensaje) {
@@ -58,10 +63,7 @@ public class ActivoService {
     private ActivoRepository activoRepository;
 
     @Autowired
-    private CategoriasActivoRepository categoriasRepository;
-
-    @Autowired
-    private EstadoActivoRepository estadoActivoRepository;
+    private CatalogoCacheService catalogoCacheService;
 
     @Autowired
     private DepartamentosRepository departamentosRepository;
@@ -70,16 +72,22 @@ public class ActivoService {
     private ProveedoresRepository proveedoresRepository;
 
     @Autowired
-    private MarcaRepository marcaRepository;
+    private HardwareInfoService hardwareInfoService;
 
     @Autowired
-    private ModeloRepository modeloRepository;
+    private HardwareEstadisticasService hardwareEstadisticasService;
 
     @Autowired
-    private HardwareInfoService hardwareInfoService;
+    private EstadoTransicionService estadoTransicionService;
 
     @Autowired
-    private EstadoTransicionService estadoTransicionService;
+    private DashboardContadoresService dashboardContadoresService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PaginacionService paginacionService;
 
     public List<Activo> obtenerTodos() {
         return activoRepository.findAll();
@@ -129,6 +137,13 @@ public class ActivoService {
             hardwareInfoService.crear(hardware);
         }
 
+        eventPublisher.publishEvent(new ActivoEstadoCambiadoEvent(
+            activoGuardado.getActivoId(),
+            activoGuardado.getCategoria() != null ? activoGuardado.getCategoria().getCatId() : null,
+            null,
+            activoGuardado.getEstado().getEstadoId()
+        ));
+
         return activoGuardado;
     }
 
@@ -139,11 +154,25 @@ public class ActivoService {
 
         validarActualizacion(activoActualizado);
 
+        // La version viaja en el formulario: si otro usuario guardo antes, no se pisan sus cambios
+        if (activoActualizado.getActivoVersion() != null
+                && !activoActualizado.getActivoVersion().equals(activoExistente.getActivoVersion())) {
+            throw new ActivoInvalidoException(MENSAJE_MODIFICADO);
+        }
+
         activoExistente.setActivoNom(activoActualizado.getActivoNom());
         activoExistente.setActivoDescri(activoActualizado.getActivoDescri());
         activoExistente.setProveedor(activoActualizado.getProveedor());
 
-        return activoRepository.save(activoExistente);
+        Activo activoGuardado;
+        try {
+            activoGuardado = activoRepository.saveAndFlush(activoExistente);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ActivoInvalidoException(MENSAJE_MODIFICADO);
+        }
+        // El proveedor del activo alimenta el desglose por proveedor de las estadisticas de hardware
+        hardwareEstadisticasService.invalidar();
+        return activoGuardado;
     }
 
     @Transactional
@@ -156,6 +185,14 @@ public class ActivoService {
         }
 
         activoRepository.delete(activo);
+        // El borrado arrastra su hardware_info en cascada
+        hardwareEstadisticasService.invalidar();
+        eventPublisher.publishEvent(new ActivoEstadoCambiadoEvent(
+            activo.getActivoId(),
+            activo.getCategoria() != null ? activo.getCategoria().getCatId() : null,
+            activo.getEstado().getEstadoId(),
+            null
+        ));
     }
 
     @Transactional
@@ -169,6 +206,33 @@ public class ActivoService {
         return activoRepository.findByFiltros(buscar, categoriaId, estadoId, departamentoId, pageable);
     }
 
+    /**
+     * Listado por keyset sobre (activoFechaIngreso, activoId), del mas reciente al mas antiguo.
+     * El total es aproximado: se cachea por combinacion de filtros.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<Activo> buscarConFiltrosPorCursor(String buscar, Long categoriaId, Long estadoId,
+                                                             Long departamentoId, String cursor, int limite) {
+        String texto = buscar != null ? buscar.trim() : "";
+        Long categoria = categoriaId != null ? categoriaId : -1L;
+        Long estado = estadoId != null ? estadoId : -1L;
+        Long departamento = departamentoId != null ? departamentoId : -1L;
+        PaginacionService.Cursor posicion = paginacionService.decodificarCursor(cursor);
+
+        List<Activo> filas = activoRepository.findByFiltrosDespuesDe(
+            texto, categoria, estado, departamento,
+            posicion.getFecha(), posicion.getId(),
+            PageRequest.of(0, limite + 1)
+        );
+        long total = paginacionService.contarConCache(
+            PaginacionService.GRUPO_ACTIVOS,
+            texto.toLowerCase() + "|" + categoria + "|" + estado + "|" + departamento,
+            () -> activoRepository.countByFiltros(texto, categoria, estado, departamento)
+        );
+
+        return paginacionService.armarPagina(filas, limite, Activo::getActivoFechaIngreso, Activo::getActivoId, total);
+    }
+
     public Page<Activo> buscarPorNombre(String nombre, Pageable pageable) {
         return activoRepository.findByActivoNomContainingIgnoreCase(nombre, pageable);
     }
@@ -202,19 +266,25 @@ public class ActivoService {
     }
 
     public long contarTodos() {
-        return activoRepository.count();
+        return dashboardContadoresService.obtenerSnapshot().getTotalActivos();
     }
 
     public List<Object[]> contarPorEstado() {
-        return activoRepository.countActivosPorEstado();
+        return dashboardContadoresService.obtenerSnapshot().getActivosPorEstado().stream()
+            .filter(conteo -> conteo.getCantidad() > 0)
+            .map(conteo -> new Object[] { conteo.getNombre(), conteo.getCantidad() })
+            .toList();
     }
 
     public List<Object[]> contarPorCategoria() {
+        DashboardSnapshot snapshot = dashboardContadoresService.obtenerSnapshot();
         Map<String, Long> acumulado = new LinkedHashMap<>();
-        for (Object[] fila : activoRepository.countActivosPorCategoria()) {
-            String categoriaNormalizada = normalizarCategoriaPrincipal(String.valueOf(fila[0]));
-            long cantidad = ((Number) fila[1]).longValue();
-            acumulado.merge(categoriaNormalizada, cantidad, Long::sum);
+        for (Conteo conteo : snapshot.getActivosPorCategoria()) {
+            if (conteo.getCantidad() <= 0) {
+                continue;
+            }
+            String categoriaNormalizada = normalizarCategoriaPrincipal(conteo.getNombre());
+            acumulado.merge(categoriaNormalizada, conteo.getCantidad(), Long::sum);
         }
 
         return acumulado.entrySet().stream()
@@ -235,8 +305,8 @@ public class ActivoService {
     }
 
     private EstadoActivo obtenerEstadoInicial() {
-        return estadoActivoRepository.findByEstadoNom("Disponible")
-            .or(() -> estadoActivoRepository.findByEstadoNom("Activo"))
+        return catalogoCacheService.buscarEstadoActivo("Disponible")
+            .or(() -> catalogoCacheService.buscarEstadoActivo("Activo"))
             .orElseThrow(() -> new ActivoInvalidoException("No existe estado inicial 'Disponible'"));
     }
 
@@ -280,11 +350,11 @@ public class ActivoService {
     }
 
     public List<CategoriasActivo> obtenerTodasCategorias() {
-        return categoriasRepository.findByCatActivoTrueOrderByCatNomAsc();
+        return catalogoCacheService.obtenerCategoriasActivas();
     }
 
     public List<EstadoActivo> obtenerTodosEstados() {
-        return estadoActivoRepository.findAllByOrderByEstadoNomAsc();
+        return catalogoCacheService.obtenerEstadosActivo();
     }
 
     public Long obtenerEstadoIdPorNombre(String nombre) {
@@ -292,13 +362,13 @@ public class ActivoService {
             return null;
         }
 
-        return estadoActivoRepository.findByEstadoNom(nombre)
+        return catalogoCacheService.buscarEstadoActivo(nombre)
             .map(EstadoActivo::getEstadoId)
             .orElse(null);
     }
 
     public List<EstadoActivo> obtenerEstadosInicialesPermitidos() {
-        return estadoActivoRepository.findAllByOrderByEstadoNomAsc().stream()
+        return catalogoCacheService.obtenerEstadosActivo().stream()
             .filter(estado -> "Disponible".equalsIgnoreCase(estado.getEstadoNom())
                 || "Asignado".equalsIgnoreCase(estado.getEstadoNom()))
             .toList();
@@ -313,11 +383,11 @@ public class ActivoService {
     }
 
     public List<Marca> obtenerTodasMarcas() {
-        return marcaRepository.findAllByOrderByMarcaNomAsc();
+        return catalogoCacheService.obtenerMarcas();
     }
 
     public List<Modelo> obtenerTodosModelos() {
-        return modeloRepository.findAllByOrderByModelNomAsc();
+        return catalogoCacheService.obtenerModelos();
     }
 
     public List<Modelo> obtenerModelosPorMarca(Long marcaId) {
@@ -325,7 +395,7 @@ public class ActivoService {
             return obtenerTodosModelos();
         }
 
-        return modeloRepository.findByMarca_MarcaIdOrderByModelNomAsc(marcaId);
+        return catalogoCacheService.obtenerModelosPorMarca(marcaId);
     }
 
     private String normalizarCategoriaPrincipal(String categoria) {
@@ -374,9 +444,9 @@ public class ActivoService {
             throw new ActivoInvalidoException("Marca, modelo y número de serie son obligatorios para un activo físico");
         }
 
-        Marca marca = marcaRepository.findById(marcaId)
+        Marca marca = catalogoCacheService.buscarMarca(marcaId)
             .orElseThrow(() -> new ActivoInvalidoException("Marca no encontrada"));
-        Modelo modelo = modeloRepository.findById(modeloId)
+        Modelo modelo = catalogoCacheService.buscarModelo(modeloId)
             .orElseThrow(() -> new ActivoInvalidoException("Modelo no encontrado"));
 
         if (modelo.getMarca() == null || modelo.getMarca().getMarcaId() == null
@@ -0,0 +1,236 @@
+package com.sistema.iTsystem.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Pipeline de auditoria tipo outbox para el historial de estados (opcional).
+ * Con {@code itsystem.auditoria.outbox.habilitado=true} las transiciones solo insertan una fila
+ * compacta en historial_outbox (sin claves foraneas) dentro de la transaccion de negocio, y un
+ * drenador programado la pasa a activo_historial_estados / solicitud_historial_estados con
+ * INSERT multi-fila. El paso al historial y el borrado del outbox ocurren en la misma transaccion,
+ * y las filas se toman con FOR UPDATE SKIP LOCKED: cada fila se entrega exactamente una vez
+ * aunque el drenador se caiga a mitad de un lote o corran varias instancias.
+ * Mientras el drenador no corre, el historial puede mostrar las ultimas transiciones con retraso.
+ */
+@Service
+public class AuditoriaOutboxService {
+
+    public static final String ORIGEN_ACTIVO = "activo";
+    public static final String ORIGEN_SOLICITUD = "solicitud";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HistorialActivoService historialActivoService;
+
+    @Value("${itsystem.auditoria.outbox.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${itsystem.auditoria.outbox.lote:500}")
+    private int tamanoLote;
+
+    public boolean estaHabilitado() {
+        return habilitado;
+    }
+
+    // ==================== ENCOLADO ====================
+
+    /** Debe llamarse dentro de la transaccion de la transicion para que ambas confirmen juntas */
+    public void encolar(String origen, Long entidadId, Long estadoAnteriorId, Long estadoNuevoId,
+                        Long usuarioId, LocalDateTime fechaCambio, String motivo, String observaciones) {
+        jdbcTemplate.update(
+            "INSERT INTO historial_outbox " +
+            "(origen, entidad_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            origen,
+            entidadId,
+            estadoAnteriorId,
+            estadoNuevoId,
+            usuarioId,
+            Timestamp.valueOf(fechaCambio),
+            motivo,
+            observaciones
+        );
+    }
+
+    /**
+     * Igual que {@link #encolar} para los lotes (transiciones masivas, asignaciones en lote):
+     * una fila por elemento en un solo batch, con estado nuevo, usuario, fecha y motivo comunes.
+     */
+    public <T> void encolarLote(String origen, List<T> elementos, Function<T, Long> entidadId,
+                                Function<T, Long> estadoAnteriorId, Long estadoNuevoId, Long usuarioId,
+                                LocalDateTime fechaCambio, String motivo, String observaciones) {
+        if (elementos.isEmpty()) {
+            return;
+        }
+        Timestamp fecha = Timestamp.valueOf(fechaCambio);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO historial_outbox " +
+            "(origen, entidad_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            elementos,
+            elementos.size(),
+            (ps, elemento) -> {
+                ps.setString(1, origen);
+                ps.setObject(2, entidadId.apply(elemento));
+                ps.setObject(3, estadoAnteriorId.apply(elemento));
+                ps.setObject(4, estadoNuevoId);
+                ps.setObject(5, usuarioId);
+                ps.setTimestamp(6, fecha);
+                ps.setString(7, motivo);
+                ps.setString(8, observaciones);
+            }
+        );
+    }
+
+    // ==================== DRENADO ====================
+
+    @Scheduled(fixedDelayString = "${itsystem.auditoria.outbox.drenado-ms:1000}")
+    public void drenar() {
+        if (!habilitado) {
+            return;
+        }
+        // Se siguen tomando lotes mientras vengan completos
+        Integer procesadas;
+        do {
+            procesadas = transactionTemplate.execute(status -> drenarLote());
+        } while (procesadas != null && procesadas >= tamanoLote);
+    }
+
+    private int drenarLote() {
+        List<FilaOutbox> filas = jdbcTemplate.query(
+            "SELECT outbox_id, origen, entidad_id, estado_anterior_id, estado_nuevo_id, usuario_id, " +
+            "fecha_cambio, motivo, observaciones " +
+            "FROM historial_outbox " +
+            "ORDER BY outbox_id " +
+            "LIMIT ? " +
+            "FOR UPDATE SKIP LOCKED",
+            (rs, i) -> {
+                FilaOutbox fila = new FilaOutbox();
+                fila.outboxId = rs.getLong("outbox_id");
+                fila.origen = rs.getString("origen");
+                fila.entidadId = rs.getObject("entidad_id", Long.class);
+                fila.estadoAnteriorId = rs.getObject("estado_anterior_id", Long.class);
+                fila.estadoNuevoId = rs.getObject("estado_nuevo_id", Long.class);
+                fila.usuarioId = rs.getObject("usuario_id", Long.class);
+                fila.fechaCambio = rs.getTimestamp("fecha_cambio");
+                fila.motivo = rs.getString("motivo");
+                fila.observaciones = rs.getString("observaciones");
+                return fila;
+            },
+            tamanoLote
+        );
+        if (filas.isEmpty()) {
+            return 0;
+        }
+
+        List<FilaOutbox> activos = new ArrayList<>();
+        List<FilaOutbox> solicitudes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (FilaOutbox fila : filas) {
+            if (ORIGEN_SOLICITUD.equals(fila.origen)) {
+                solicitudes.add(fila);
+            } else {
+                activos.add(fila);
+            }
+            ids.add(fila.outboxId);
+        }
+
+        insertarActivos(activos);
+        insertarSolicitudes(solicitudes);
+        actualizarTimelines(activos);
+        namedJdbcTemplate.update("DELETE FROM historial_outbox WHERE outbox_id IN (:ids)", Map.of("ids", ids));
+        return filas.size();
+    }
+
+    private void insertarActivos(List<FilaOutbox> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        List<Object> argumentos = new ArrayList<>();
+        for (FilaOutbox fila : filas) {
+            argumentos.add(fila.entidadId);
+            argumentos.add(fila.estadoAnteriorId);
+            argumentos.add(fila.estadoNuevoId);
+            argumentos.add(fila.usuarioId);
+            argumentos.add(fila.fechaCambio);
+            argumentos.add(fila.motivo);
+            argumentos.add(fila.observaciones);
+        }
+        // Un activo eliminado despues de encolar no debe bloquear el resto del lote
+        jdbcTemplate.update(
+            "INSERT INTO activo_historial_estados " +
+            "(activo_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "SELECT v.* FROM (VALUES " +
+            String.join(", ", Collections.nCopies(filas.size(), "(?::int, ?::int, ?::int, ?::int, ?::timestamp, ?::text, ?::text)")) +
+            ") AS v (activo_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "WHERE EXISTS (SELECT 1 FROM activo a WHERE a.activo_id = v.activo_id)",
+            argumentos.toArray()
+        );
+    }
+
+    /** Las filas recien pasadas al historial se agregan al timeline cuando confirma el lote */
+    private void actualizarTimelines(List<FilaOutbox> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        historialActivoService.programarTimeline(filas.stream().map(fila -> fila.entidadId).distinct().toList());
+    }
+
+    private void insertarSolicitudes(List<FilaOutbox> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        List<Object> argumentos = new ArrayList<>();
+        for (FilaOutbox fila : filas) {
+            argumentos.add(fila.entidadId);
+            argumentos.add(fila.estadoAnteriorId);
+            argumentos.add(fila.estadoNuevoId);
+            argumentos.add(fila.usuarioId);
+            argumentos.add(fila.fechaCambio);
+            argumentos.add(fila.observaciones);
+        }
+        jdbcTemplate.update(
+            "INSERT INTO solicitud_historial_estados " +
+            "(soli_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, observaciones) " +
+            "SELECT v.* FROM (VALUES " +
+            String.join(", ", Collections.nCopies(filas.size(), "(?::int, ?::int, ?::int, ?::int, ?::timestamp, ?::text)")) +
+            ") AS v (soli_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, observaciones) " +
+            "WHERE EXISTS (SELECT 1 FROM solicitudes s WHERE s.soli_id = v.soli_id)",
+            argumentos.toArray()
+        );
+    }
+
+    private static final class FilaOutbox {
+        private Long outboxId;
+        private String origen;
+        private Long entidadId;
+        private Long estadoAnteriorId;
+        private Long estadoNuevoId;
+        private Long usuarioId;
+        private Timestamp fechaCambio;
+        private String motivo;
+        private String observaciones;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sistema.iTsystem.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sistema.iTsystem.dto.activos.ActivoOpcionDTO;
+import com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.repository.ActivoRepository;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+
+/**
+ * Busquedas por prefijo para los selects con carga diferida (typeahead).
+ * Devuelve como maximo {@link #LIMITE} opciones por pagina, paginando por keyset,
+ * y mantiene un cache corto por prefijo para absorber las pulsaciones repetidas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BusquedaService {
+
+    public static final int LIMITE = 20;
+
+    private static final int MAX_ENTRADAS_CACHE = 500;
+
+    @Autowired
+    private ActivoRepository activoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${itsystem.busqueda.cache-ttl-ms:30000}")
+    private long ttlCacheMs;
+
+    private final Map<String, EntradaCache> cache = new ConcurrentHashMap<>();
+
+    // ==================== ACTIVOS ====================
+
+    /**
+     * Activos vigentes cuyo codigo o nombre empieza con el texto indicado.
+     * Con {@code disponibles} solo devuelve activos en estado Disponible y sin asignacion activa.
+     */
+    public List<ActivoOpcionDTO> buscarActivos(String texto, String despues, boolean disponibles) {
+        String prefijo = normalizar(texto);
+        String cursor = normalizar(despues);
+        String clave = "activos|" + disponibles + "|" + prefijo + "|" + cursor;
+
+        return obtenerDeCache(clave, () -> activoRepository.buscarOpcionesPorPrefijo(
+            comoPatronPrefijo(prefijo),
+            cursor,
+            disponibles ? "Disponible" : "",
+            disponibles,
+            PageRequest.of(0, LIMITE)
+        ));
+    }
+
+    // ==================== USUARIOS ====================
+
+    /** Usuarios activos cuyo login, nombre o apellido empieza con el texto indicado */
+    public List<UsuarioOpcionDTO> buscarUsuarios(String texto, String despues) {
+        String prefijo = normalizar(texto);
+        String cursor = normalizar(despues);
+        String clave = "usuarios|" + prefijo + "|" + cursor;
+
+        return obtenerDeCache(clave, () -> usuarioRepository.buscarOpcionesPorPrefijo(
+            comoPatronPrefijo(prefijo),
+            cursor,
+            PageRequest.of(0, LIMITE)
+        ));
+    }
+
+    public Optional<UsuarioOpcionDTO> obtenerUsuario(Long usuId) {
+        if (usuId == null) {
+            return Optional.empty();
+        }
+        return usuarioRepository.findOpcionById(usuId);
+    }
+
+    // ==================== CACHE ====================
+
+    public void limpiarCache() {
+        cache.clear();
+    }
+
+    /** Un cambio de estado altera la disponibilidad de un activo: se descartan las busquedas de activos */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivoEstadoCambiado(ActivoEstadoCambiadoEvent evento) {
+        cache.keySet().removeIf(clave -> clave.startsWith("activos|"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> obtenerDeCache(String clave, Supplier<List<T>> consulta) {
+        long ahora = System.currentTimeMillis();
+        EntradaCache entrada = cache.get(clave);
+        if (entrada != null && entrada.expiraEn > ahora) {
+            return (List<T>) entrada.resultados;
+        }
+
+        List<T> resultados = List.copyOf(consulta.get());
+        if (cache.size() >= MAX_ENTRADAS_CACHE) {
+            cache.values().removeIf(e -> e.expiraEn <= ahora);
+            if (cache.size() >= MAX_ENTRADAS_CACHE) {
+                cache.clear();
+            }
+        }
+        cache.put(clave, new EntradaCache(resultados, ahora + ttlCacheMs));
+        return resultados;
+    }
+
+    // ==================== UTILIDADES ====================
+
+    private String normalizar(String texto) {
+        return texto == null ? "" : texto.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Escapa los comodines de LIKE para que el texto se trate como prefijo literal */
+    private String comoPatronPrefijo(String prefijo) {
+        return prefijo
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+    }
+
+    private static final class EntradaCache {
+        private final List<?> resultados;
+        private final long expiraEn;
+
+        private EntradaCache(List<?> resultados, long expiraEn) {
+            this.resultados = resultados;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
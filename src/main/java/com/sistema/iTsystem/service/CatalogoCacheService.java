@@ -0,0 +1,311 @@
+package com.sistema.iTsystem.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.sistema.iTsystem.model.CategoriasActivo;
+import com.sistema.iTsystem.model.EstadoActivo;
+import com.sistema.iTsystem.model.Marca;
+import com.sistema.iTsystem.model.Modelo;
+import com.sistema.iTsystem.model.SoliEstados;
+import com.sistema.iTsystem.model.SoliTipos;
+import com.sistema.iTsystem.repository.CategoriasActivoRepository;
+import com.sistema.iTsystem.repository.EstadoActivoRepository;
+import com.sistema.iTsystem.repository.MarcaRepository;
+import com.sistema.iTsystem.repository.ModeloRepository;
+import com.sistema.iTsystem.repository.SoliEstadosRepository;
+import com.sistema.iTsystem.repository.SoliTiposRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache en memoria de las tablas de referencia (estados, categorias, tipos, marcas y modelos).
+ * Cada catalogo guarda su lista ordenada y los mapas id -> entidad y nombre -> entidad.
+ * Se precarga al arrancar y se invalida via /api/catalogos/cache/invalidar.
+ * Las entidades quedan desacopladas de la sesion: solo deben leerse o usarse como referencia.
+ */
+@Service
+public class CatalogoCacheService {
+
+    public static final String ESTADOS_ACTIVO = "estados-activo";
+    public static final String CATEGORIAS = "categorias";
+    public static final String ESTADOS_SOLICITUD = "estados-solicitud";
+    public static final String TIPOS_SOLICITUD = "tipos-solicitud";
+    public static final String MARCAS = "marcas";
+    public static final String MODELOS = "modelos";
+
+    private static final List<String> CATALOGOS =
+        List.of(ESTADOS_ACTIVO, CATEGORIAS, ESTADOS_SOLICITUD, TIPOS_SOLICITUD, MARCAS, MODELOS);
+
+    /** Evita recargar en bucle cuando se consulta un nombre que realmente no existe */
+    private static final long RECARGA_MINIMA_MS = 5000;
+
+    @Autowired
+    private EstadoActivoRepository estadoActivoRepository;
+
+    @Autowired
+    private CategoriasActivoRepository categoriasRepository;
+
+    @Autowired
+    private SoliEstadosRepository soliEstadosRepository;
+
+    @Autowired
+    private SoliTiposRepository soliTiposRepository;
+
+    @Autowired
+    private MarcaRepository marcaRepository;
+
+    @Autowired
+    private ModeloRepository modeloRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Catalogo<?>> catalogos = new ConcurrentHashMap<>();
+
+    /** Contadores de aciertos y fallos por catalogo, registrados una vez (el acceso solo incrementa) */
+    private Map<String, Counter> aciertos = Map.of();
+    private Map<String, Counter> fallos = Map.of();
+
+    // ==================== CICLO DE VIDA ====================
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Map<String, Counter> nuevosAciertos = new HashMap<>();
+        Map<String, Counter> nuevosFallos = new HashMap<>();
+        for (String nombre : CATALOGOS) {
+            nuevosAciertos.put(nombre, contador(nombre, "hit"));
+            nuevosFallos.put(nombre, contador(nombre, "miss"));
+        }
+        aciertos = Map.copyOf(nuevosAciertos);
+        fallos = Map.copyOf(nuevosFallos);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        for (String nombre : CATALOGOS) {
+            catalogos.put(nombre, cargar(nombre));
+        }
+    }
+
+    public void invalidar() {
+        catalogos.clear();
+    }
+
+    public void invalidar(String nombre) {
+        catalogos.remove(nombre);
+    }
+
+    // ==================== ESTADOS DE ACTIVO ====================
+
+    public List<EstadoActivo> obtenerEstadosActivo() {
+        return this.<EstadoActivo>catalogo(ESTADOS_ACTIVO).ordenados;
+    }
+
+    public Optional<EstadoActivo> buscarEstadoActivo(Long id) {
+        return porId(ESTADOS_ACTIVO, id);
+    }
+
+    public Optional<EstadoActivo> buscarEstadoActivo(String nombre) {
+        return porNombre(ESTADOS_ACTIVO, nombre);
+    }
+
+    // ==================== CATEGORIAS ====================
+
+    /** Categorias vigentes (catActivo = true) ordenadas por nombre */
+    public List<CategoriasActivo> obtenerCategoriasActivas() {
+        return this.<CategoriasActivo>catalogo(CATEGORIAS).ordenados.stream()
+            .filter(categoria -> Boolean.TRUE.equals(categoria.getCatActivo()))
+            .toList();
+    }
+
+    public Optional<CategoriasActivo> buscarCategoria(Long id) {
+        return porId(CATEGORIAS, id);
+    }
+
+    // ==================== SOLICITUDES ====================
+
+    public List<SoliEstados> obtenerEstadosSolicitud() {
+        return this.<SoliEstados>catalogo(ESTADOS_SOLICITUD).ordenados;
+    }
+
+    public Optional<SoliEstados> buscarEstadoSolicitud(Long id) {
+        return porId(ESTADOS_SOLICITUD, id);
+    }
+
+    public Optional<SoliEstados> buscarEstadoSolicitud(String nombre) {
+        return porNombre(ESTADOS_SOLICITUD, nombre);
+    }
+
+    public List<SoliTipos> obtenerTiposSolicitud() {
+        return this.<SoliTipos>catalogo(TIPOS_SOLICITUD).ordenados;
+    }
+
+    public Optional<SoliTipos> buscarTipoSolicitud(Long id) {
+        return porId(TIPOS_SOLICITUD, id);
+    }
+
+    public Optional<SoliTipos> buscarTipoSolicitud(String nombre) {
+        return porNombre(TIPOS_SOLICITUD, nombre);
+    }
+
+    // ==================== MARCAS Y MODELOS ====================
+
+    public List<Marca> obtenerMarcas() {
+        return this.<Marca>catalogo(MARCAS).ordenados;
+    }
+
+    public Optional<Marca> buscarMarca(Long id) {
+        return porId(MARCAS, id);
+    }
+
+    public List<Modelo> obtenerModelos() {
+        return this.<Modelo>catalogo(MODELOS).ordenados;
+    }
+
+    public List<Modelo> obtenerModelosPorMarca(Long marcaId) {
+        return obtenerModelos().stream()
+            .filter(modelo -> modelo.getMarca() != null && marcaId.equals(modelo.getMarca().getMarcaId()))
+            .toList();
+    }
+
+    public Optional<Modelo> buscarModelo(Long id) {
+        return porId(MODELOS, id);
+    }
+
+    // ==================== INSTANTANEAS ====================
+
+    /**
+     * Lista vigente de un catalogo sin contar el acceso en las metricas: para quien consulta
+     * en cada operacion solo para saber si la instantanea cambio (comparando la referencia).
+     * Una instantanea ausente se carga por el camino normal y cuenta como fallo.
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> instantanea(String nombre) {
+        Catalogo<?> catalogo = catalogos.get(nombre);
+        return catalogo != null ? (List<T>) catalogo.ordenados : this.<T>catalogo(nombre).ordenados;
+    }
+
+    // ==================== INTERNOS ====================
+
+    @SuppressWarnings("unchecked")
+    private <T> Catalogo<T> catalogo(String nombre) {
+        Catalogo<?> catalogo = catalogos.get(nombre);
+        if (catalogo != null) {
+            registrarAcceso(nombre, true);
+            return (Catalogo<T>) catalogo;
+        }
+        registrarAcceso(nombre, false);
+        return (Catalogo<T>) catalogos.computeIfAbsent(nombre, this::cargar);
+    }
+
+    private <T> Optional<T> porId(String nombre, Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Catalogo<T> catalogo = catalogo(nombre);
+        T valor = catalogo.porId.get(id);
+        if (valor == null && catalogo.admiteRecarga()) {
+            // Puede ser una fila nueva cargada por fuera de la aplicacion
+            catalogos.remove(nombre, catalogo);
+            valor = this.<T>catalogo(nombre).porId.get(id);
+        }
+        return Optional.ofNullable(valor);
+    }
+
+    private <T> Optional<T> porNombre(String nombre, String clave) {
+        if (clave == null) {
+            return Optional.empty();
+        }
+        Catalogo<T> catalogo = catalogo(nombre);
+        T valor = catalogo.porNombre.get(clave);
+        if (valor == null && catalogo.admiteRecarga()) {
+            catalogos.remove(nombre, catalogo);
+            valor = this.<T>catalogo(nombre).porNombre.get(clave);
+        }
+        return Optional.ofNullable(valor);
+    }
+
+    private void registrarAcceso(String catalogo, boolean acierto) {
+        Counter contador = (acierto ? aciertos : fallos).get(catalogo);
+        if (contador != null) {
+            contador.increment();
+        }
+    }
+
+    private Counter contador(String catalogo, String resultado) {
+        return Counter.builder("itsystem.catalogos.cache")
+            .tag("catalogo", catalogo)
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    private Catalogo<?> cargar(String nombre) {
+        switch (nombre) {
+            case ESTADOS_ACTIVO:
+                return new Catalogo<>(estadoActivoRepository::findAllByOrderByEstadoNomAsc,
+                    EstadoActivo::getEstadoId, EstadoActivo::getEstadoNom);
+            case CATEGORIAS:
+                return new Catalogo<>(() -> categoriasRepository.findAll(Sort.by("catNom")),
+                    CategoriasActivo::getCatId, CategoriasActivo::getCatNom);
+            case ESTADOS_SOLICITUD:
+                return new Catalogo<>(() -> soliEstadosRepository.findAll(Sort.by("soliEstadoNom")),
+                    SoliEstados::getSoliEstadoId, SoliEstados::getSoliEstadoNom);
+            case TIPOS_SOLICITUD:
+                return new Catalogo<>(() -> soliTiposRepository.findAll(Sort.by("soliTipoNom")),
+                    SoliTipos::getSoliTipoId, SoliTipos::getSoliTipoNom);
+            case MARCAS:
+                return new Catalogo<>(marcaRepository::findAllByOrderByMarcaNomAsc,
+                    Marca::getMarcaId, Marca::getMarcaNom);
+            case MODELOS:
+                return new Catalogo<>(modeloRepository::findAllByOrderByModelNomAsc,
+                    Modelo::getModelId, Modelo::getModelNom);
+            default:
+                throw new IllegalArgumentException("Catalogo desconocido: " + nombre);
+        }
+    }
+
+    /** Instantanea inmutable de un catalogo */
+    private static final class Catalogo<T> {
+        private final List<T> ordenados;
+        private final Map<Long, T> porId;
+        private final Map<String, T> porNombre;
+        private final long cargadoEn;
+
+        private Catalogo(Supplier<List<T>> cargador, Function<T, Long> id, Function<T, String> nombre) {
+            List<T> filas = cargador.get();
+            Map<Long, T> ids = new LinkedHashMap<>();
+            Map<String, T> nombres = new LinkedHashMap<>();
+            for (T fila : filas) {
+                ids.put(id.apply(fila), fila);
+                if (nombre.apply(fila) != null) {
+                    nombres.putIfAbsent(nombre.apply(fila), fila);
+                }
+            }
+            this.ordenados = List.copyOf(filas);
+            this.porId = Collections.unmodifiableMap(ids);
+            this.porNombre = Collections.unmodifiableMap(nombres);
+            this.cargadoEn = System.currentTimeMillis();
+        }
+
+        private boolean admiteRecarga() {
+            return System.currentTimeMillis() - cargadoEn > RECARGA_MINIMA_MS;
+        }
+    }
+}
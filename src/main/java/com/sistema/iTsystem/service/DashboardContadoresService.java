@@ -0,0 +1,203 @@
+package com.sistema.iTsystem.service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot;
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot.Conteo;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.event.SolicitudEstadoCambiadoEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contadores en memoria del dashboard (activos por estado y categoria, solicitudes por estado).
+ * Se actualizan con los eventos publicados al confirmar cada transaccion y se
+ * reconcilian periodicamente contra la base para corregir desvios.
+ */
+@Service
+public class DashboardContadoresService {
+
+    private final Map<Long, LongAdder> activosPorEstado = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> activosPorCategoria = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> solicitudesPorEstado = new ConcurrentHashMap<>();
+
+    private final AtomicLong ultimaDeriva = new AtomicLong();
+    private final AtomicLong derivaAcumulada = new AtomicLong();
+
+    // Ultima foto leida de la base: aporta ids, nombres y orden de los catalogos
+    private volatile DashboardSnapshot base;
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Autowired
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("itsystem.dashboard.contadores.deriva", ultimaDeriva, AtomicLong::get)
+            .description("Diferencia absoluta corregida en la ultima reconciliacion")
+            .register(registry);
+        Gauge.builder("itsystem.dashboard.contadores.deriva.acumulada", derivaAcumulada, AtomicLong::get)
+            .description("Diferencia absoluta corregida desde el arranque")
+            .register(registry);
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Foto actual de los contadores, sin consultar la base salvo en la primera
+     * llamada o cuando aparece un catalogo que todavia no se conoce.
+     */
+    public DashboardSnapshot obtenerSnapshot() {
+        DashboardSnapshot actual = base;
+        if (actual == null || hayClavesDesconocidas(actual)) {
+            reconciliar();
+            actual = base;
+        }
+
+        List<Conteo> estados = aplicarContadores(actual.getActivosPorEstado(), activosPorEstado);
+        List<Conteo> categorias = aplicarContadores(actual.getActivosPorCategoria(), activosPorCategoria);
+        List<Conteo> solicitudes = aplicarContadores(actual.getSolicitudesPorEstado(), solicitudesPorEstado);
+
+        return new DashboardSnapshot(
+            estados,
+            categorias,
+            solicitudes,
+            estados.stream().mapToLong(Conteo::getCantidad).sum(),
+            solicitudes.stream().mapToLong(Conteo::getCantidad).sum(),
+            LocalDateTime.now()
+        );
+    }
+
+    public long getUltimaDeriva() {
+        return ultimaDeriva.get();
+    }
+
+    // ==================== EVENTOS ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivoEstadoCambiado(ActivoEstadoCambiadoEvent evento) {
+        if (evento.getEstadoAnteriorId() != null) {
+            contador(activosPorEstado, evento.getEstadoAnteriorId()).decrement();
+        }
+        if (evento.getEstadoNuevoId() != null) {
+            contador(activosPorEstado, evento.getEstadoNuevoId()).increment();
+        }
+        if (evento.getCategoriaId() != null) {
+            if (evento.getEstadoAnteriorId() == null && evento.getEstadoNuevoId() != null) {
+                contador(activosPorCategoria, evento.getCategoriaId()).increment();
+            } else if (evento.getEstadoAnteriorId() != null && evento.getEstadoNuevoId() == null) {
+                contador(activosPorCategoria, evento.getCategoriaId()).decrement();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSolicitudEstadoCambiado(SolicitudEstadoCambiadoEvent evento) {
+        if (evento.getEstadoAnteriorId() != null) {
+            contador(solicitudesPorEstado, evento.getEstadoAnteriorId()).decrement();
+        }
+        if (evento.getEstadoNuevoId() != null) {
+            contador(solicitudesPorEstado, evento.getEstadoNuevoId()).increment();
+        }
+    }
+
+    // ==================== RECONCILIACION ====================
+
+    /**
+     * Recalcula desde la base y lleva cada contador al valor leido.
+     * Primero se consulta y despues se toma el valor de cada contador, sumando solo
+     * la diferencia: un evento que llega entre la lectura del contador y el ajuste se
+     * conserva, y uno ya incluido en la foto no se suma dos veces. Un cambio confirmado
+     * despues de la foto y notificado antes del ajuste se corrige en la pasada siguiente.
+     */
+    @Scheduled(
+        initialDelayString = "${itsystem.dashboard.reconciliacion-ms:300000}",
+        fixedDelayString = "${itsystem.dashboard.reconciliacion-ms:300000}"
+    )
+    public synchronized void reconciliar() {
+        boolean primeraCarga = base == null;
+
+        DashboardSnapshot desdeBase = dashboardSnapshotService.calcularDesdeBaseDeDatos();
+
+        long deriva = ajustar(activosPorEstado, desdeBase.getActivosPorEstado())
+            + ajustar(activosPorCategoria, desdeBase.getActivosPorCategoria())
+            + ajustar(solicitudesPorEstado, desdeBase.getSolicitudesPorEstado());
+
+        base = desdeBase;
+        if (primeraCarga) {
+            return;
+        }
+
+        ultimaDeriva.set(deriva);
+        derivaAcumulada.addAndGet(deriva);
+    }
+
+    // ==================== HELPERS ====================
+
+    private long ajustar(Map<Long, LongAdder> contadores, List<Conteo> reales) {
+        long deriva = 0L;
+        Set<Long> vistos = new HashSet<>();
+
+        for (Conteo conteo : reales) {
+            if (conteo.getId() == null) {
+                continue;
+            }
+            vistos.add(conteo.getId());
+            LongAdder contador = contador(contadores, conteo.getId());
+            long diferencia = conteo.getCantidad() - contador.sum();
+            if (diferencia != 0L) {
+                contador.add(diferencia);
+                deriva += Math.abs(diferencia);
+            }
+        }
+
+        // Claves que ya no existen en el catalogo
+        for (Long id : List.copyOf(contadores.keySet())) {
+            if (!vistos.contains(id)) {
+                LongAdder quitado = contadores.remove(id);
+                deriva += quitado != null ? Math.abs(quitado.sum()) : 0L;
+            }
+        }
+
+        return deriva;
+    }
+
+    private List<Conteo> aplicarContadores(List<Conteo> catalogo, Map<Long, LongAdder> contadores) {
+        return catalogo.stream()
+            .map(conteo -> new Conteo(conteo.getId(), conteo.getNombre(), valor(contadores, conteo.getId())))
+            .toList();
+    }
+
+    private boolean hayClavesDesconocidas(DashboardSnapshot actual) {
+        return tieneClaveDesconocida(activosPorEstado, actual.getActivosPorEstado())
+            || tieneClaveDesconocida(activosPorCategoria, actual.getActivosPorCategoria())
+            || tieneClaveDesconocida(solicitudesPorEstado, actual.getSolicitudesPorEstado());
+    }
+
+    private boolean tieneClaveDesconocida(Map<Long, LongAdder> contadores, List<Conteo> catalogo) {
+        return contadores.keySet().stream()
+            .anyMatch(id -> catalogo.stream().noneMatch(conteo -> id.equals(conteo.getId())));
+    }
+
+    private long valor(Map<Long, LongAdder> contadores, Long id) {
+        LongAdder adder = id != null ? contadores.get(id) : null;
+        return adder != null ? Math.max(adder.sum(), 0L) : 0L;
+    }
+
+    private LongAdder contador(Map<Long, LongAdder> contadores, Long id) {
+        return contadores.computeIfAbsent(id, clave -> new LongAdder());
+    }
+}
@@ -9,23 +9,17 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.sistema.iTsystem.dto.dashboard.DashboardDTO;
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot;
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot.Conteo;
 import com.sistema.iTsystem.dto.dashboard.MetricaDashboardDTO;
 import com.sistema.iTsystem.dto.dashboard.SolicitudRecienteDTO;
-import com.sistema.iTsystem.model.CategoriasActivo;
-import com.sistema.iTsystem.model.EstadoActivo;
-import com.sistema.iTsystem.model.SoliEstados;
 import com.sistema.iTsystem.model.Solicitudes;
-import com.sistema.iTsystem.repository.ActivoRepository;
-import com.sistema.iTsystem.repository.CategoriasActivoRepository;
-import com.sistema.iTsystem.repository.EstadoActivoRepository;
-import com.sistema.iTsystem.repository.SoliEstadosRepository;
 import com.sistema.iTsystem.repository.SolicitudesRepository;
 
 @Service
@@ -56,46 +50,35 @@ public class DashboardService {
     );
 
     @Autowired
-    private ActivoRepository activoRepository;
+    private DashboardContadoresService dashboardContadoresService;
 
     @Autowired
     private SolicitudesRepository solicitudesRepository;
 
-    @Autowired
-    private EstadoActivoRepository estadoActivoRepository;
+    public DashboardDTO obtenerDashboard() {
+        return construirDashboard(dashboardContadoresService.obtenerSnapshot());
+    }
 
-    @Autowired
-    private CategoriasActivoRepository categoriasActivoRepository;
+    public DashboardDTO construirDashboard(DashboardSnapshot snapshot) {
+        DashboardDTO dashboard = new DashboardDTO();
 
-    @Autowired
-    private SoliEstadosRepository soliEstadosRepository;
+        Map<String, Long> activosPorEstadoRaw = aMapa(snapshot.getActivosPorEstado(), false);
+        Map<String, Long> activosPorCategoriaRaw = aMapa(snapshot.getActivosPorCategoria(), true);
+        Map<String, Long> solicitudesPorEstadoRaw = normalizarEstadosSolicitudesVista(aMapa(snapshot.getSolicitudesPorEstado(), false));
+        Map<String, Long> estadosActivosIds = aMapaIds(snapshot.getActivosPorEstado());
+        Map<String, Long> estadosSolicitudesIds = aMapaIds(snapshot.getSolicitudesPorEstado());
+        Map<String, Long> categoriasIds = aMapaIds(snapshot.getActivosPorCategoria());
 
-    public DashboardDTO obtenerDashboard() {
-        DashboardDTO dashboard = new DashboardDTO();
+        long totalActivos = snapshot.getTotalActivos();
+        long totalSolicitudes = snapshot.getTotalSolicitudes();
 
-        Map<String, Long> activosPorEstadoRaw = aMapa(activoRepository.countActivosPorEstado());
-        Map<String, Long> activosPorCategoriaRaw = aMapa(activoRepository.countActivosPorCategoria());
-        Map<String, Long> solicitudesPorEstadoRaw = normalizarEstadosSolicitudesVista(aMapa(solicitudesRepository.countSolicitudesPorEstado()));
-        List<EstadoActivo> estadosActivos = estadoActivoRepository.findAll();
-        List<SoliEstados> estadosSolicitudes = soliEstadosRepository.findAll();
-        List<CategoriasActivo> categorias = categoriasActivoRepository.findAll();
-
-        long totalActivos = activoRepository.count();
-        long totalSolicitudes = solicitudesRepository.count();
-
-        Long idDisponible = buscarEstadoActivoId("Disponible", estadosActivos);
-        Long idAsignado = buscarEstadoActivoId("Asignado", estadosActivos);
-        Long idMantenimiento = buscarEstadoActivoId("En mantenimiento", estadosActivos);
-        Long idDadoDeBaja = buscarEstadoActivoId("Dado de baja", estadosActivos);
-        Long idPendiente = buscarSoliEstadoId("Pendiente", estadosSolicitudes);
-        Long idEnAnalisis = buscarSoliEstadoId("En analisis", estadosSolicitudes);
-        Long idEnEjecucion = buscarSoliEstadoId("En ejecucion", estadosSolicitudes);
-        Map<String, Long> categoriasIds = categorias.stream().collect(Collectors.toMap(
-            categoria -> normalizarTextoSeguro(categoria.getCatNom()),
-            CategoriasActivo::getCatId,
-            (a, b) -> a,
-            LinkedHashMap::new
-        ));
+        Long idDisponible = estadosActivosIds.get(normalizarTextoSeguro("Disponible"));
+        Long idAsignado = estadosActivosIds.get(normalizarTextoSeguro("Asignado"));
+        Long idMantenimiento = estadosActivosIds.get(normalizarTextoSeguro("En mantenimiento"));
+        Long idDadoDeBaja = estadosActivosIds.get(normalizarTextoSeguro("Dado de baja"));
+        Long idPendiente = estadosSolicitudesIds.get(normalizarTextoSeguro("Pendiente"));
+        Long idEnAnalisis = estadosSolicitudesIds.get(normalizarTextoSeguro("En analisis"));
+        Long idEnEjecucion = estadosSolicitudesIds.get(normalizarTextoSeguro("En ejecucion"));
 
         dashboard.setTotalActivos(totalActivos);
         dashboard.setTotalSolicitudes(totalSolicitudes);
@@ -115,22 +98,12 @@ public class DashboardService {
         ));
 
         dashboard.setActivosPorEstado(construirMetricasPorEstado(activosPorEstadoRaw, ESTADOS_ACTIVO_ORDEN, totalActivos,
-            estadosActivos.stream().collect(Collectors.toMap(
-                estado -> normalizarTextoSeguro(estado.getEstadoNom()),
-                estado -> estado.getEstadoId(),
-                (a, b) -> a,
-                LinkedHashMap::new
-            )), this::urlActivosPorEstado, this::colorClaseEstadoActivo, false));
+            estadosActivosIds, this::urlActivosPorEstado, this::colorClaseEstadoActivo, false));
 
         dashboard.setActivosPorCategoria(construirCategorias(activosPorCategoriaRaw, totalActivos, categoriasIds));
 
         dashboard.setSolicitudesPorEstado(construirMetricasPorEstado(solicitudesPorEstadoRaw, ESTADOS_SOLICITUD_ORDEN, totalSolicitudes,
-            estadosSolicitudes.stream().collect(Collectors.toMap(
-                estado -> normalizarTextoSeguro(estado.getSoliEstadoNom()),
-                estado -> estado.getSoliEstadoId(),
-                (a, b) -> a,
-                LinkedHashMap::new
-            )), this::urlSolicitudesPorEstado, this::colorClaseEstadoSolicitud, false));
+            estadosSolicitudesIds, this::urlSolicitudesPorEstado, this::colorClaseEstadoSolicitud, false));
 
         dashboard.setSolicitudesAtencion(construirSolicitudesAtencion(dashboard.getSolicitudesPorEstado()));
         dashboard.setIndicadoresSecundarios(construirIndicadoresSecundarios(
@@ -335,17 +308,31 @@ public class DashboardService {
         return dto;
     }
 
-    private Map<String, Long> aMapa(List<Object[]> filas) {
+    private Map<String, Long> aMapa(List<Conteo> conteos, boolean omitirVacios) {
         Map<String, Long> mapa = new LinkedHashMap<>();
-        if (filas == null) {
+        if (conteos == null) {
             return mapa;
         }
 
-        for (Object[] fila : filas) {
-            if (fila == null || fila.length < 2 || fila[0] == null) {
+        for (Conteo conteo : conteos) {
+            if (conteo == null || conteo.getNombre() == null || (omitirVacios && conteo.getCantidad() <= 0L)) {
                 continue;
             }
-            mapa.put(String.valueOf(fila[0]), ((Number) fila[1]).longValue());
+            mapa.put(conteo.getNombre(), conteo.getCantidad());
+        }
+        return mapa;
+    }
+
+    private Map<String, Long> aMapaIds(List<Conteo> conteos) {
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        if (conteos == null) {
+            return mapa;
+        }
+
+        for (Conteo conteo : conteos) {
+            if (conteo != null && conteo.getId() != null) {
+                mapa.putIfAbsent(normalizarTextoSeguro(conteo.getNombre()), conteo.getId());
+            }
         }
         return mapa;
     }
@@ -422,30 +409,6 @@ public class DashboardService {
         };
     }
 
-    private Long buscarEstadoActivoId(String nombre, List<EstadoActivo> estadosActivos) {
-        String buscado = normalizarTextoSeguro(nombre);
-        if (estadosActivos == null || estadosActivos.isEmpty()) {
-            return null;
-        }
-        return estadosActivos.stream()
-            .filter(estado -> normalizarTextoSeguro(estado.getEstadoNom()).equals(buscado))
-            .map(EstadoActivo::getEstadoId)
-            .findFirst()
-            .orElse(null);
-    }
-
-    private Long buscarSoliEstadoId(String nombre, List<SoliEstados> estadosSolicitudes) {
-        String buscado = normalizarTextoSeguro(nombre);
-        if (estadosSolicitudes == null || estadosSolicitudes.isEmpty()) {
-            return null;
-        }
-        return estadosSolicitudes.stream()
-            .filter(estado -> normalizarTextoSeguro(estado.getSoliEstadoNom()).equals(buscado))
-            .map(SoliEstados::getSoliEstadoId)
-            .findFirst()
-            .orElse(null);
-    }
-
     private boolean esCategoriaOtros(String valor) {
         return "otros".equals(normalizarTextoSeguro(valor));
     }
@@ -0,0 +1,67 @@
+package com.sistema.iTsystem.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot;
+import com.sistema.iTsystem.dto.dashboard.DashboardSnapshot.Conteo;
+import com.sistema.iTsystem.repository.ActivoRepository;
+
+@Service
+public class DashboardSnapshotService {
+
+    static final String GRUPO_ACTIVO_ESTADO = "ACTIVO_ESTADO";
+    static final String GRUPO_ACTIVO_CATEGORIA = "ACTIVO_CATEGORIA";
+    static final String GRUPO_SOLICITUD_ESTADO = "SOLICITUD_ESTADO";
+
+    @Autowired
+    private ActivoRepository activoRepository;
+
+    /**
+     * Calcula todos los contadores del dashboard en un solo viaje a la base.
+     * Incluye los catalogos sin registros (cantidad 0) para conservar sus ids.
+     */
+    @Transactional(readOnly = true)
+    public DashboardSnapshot calcularDesdeBaseDeDatos() {
+        List<Conteo> activosPorEstado = new ArrayList<>();
+        List<Conteo> activosPorCategoria = new ArrayList<>();
+        List<Conteo> solicitudesPorEstado = new ArrayList<>();
+
+        for (Object[] fila : activoRepository.obtenerConteosDashboard()) {
+            if (fila == null || fila.length < 4 || fila[0] == null) {
+                continue;
+            }
+
+            Conteo conteo = new Conteo(
+                fila[1] != null ? ((Number) fila[1]).longValue() : null,
+                fila[2] != null ? String.valueOf(fila[2]) : "",
+                fila[3] != null ? ((Number) fila[3]).longValue() : 0L
+            );
+
+            switch (String.valueOf(fila[0])) {
+                case GRUPO_ACTIVO_ESTADO -> activosPorEstado.add(conteo);
+                case GRUPO_ACTIVO_CATEGORIA -> activosPorCategoria.add(conteo);
+                case GRUPO_SOLICITUD_ESTADO -> solicitudesPorEstado.add(conteo);
+                default -> { }
+            }
+        }
+
+        return new DashboardSnapshot(
+            List.copyOf(activosPorEstado),
+            List.copyOf(activosPorCategoria),
+            List.copyOf(solicitudesPorEstado),
+            sumar(activosPorEstado),
+            sumar(solicitudesPorEstado),
+            LocalDateTime.now()
+        );
+    }
+
+    private long sumar(List<Conteo> conteos) {
+        return conteos.stream().mapToLong(Conteo::getCantidad).sum();
+    }
+}
@@ -0,0 +1,125 @@
+package com.sistema.iTsystem.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sistema.iTsystem.dto.dashboard.DashboardDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.event.SolicitudEstadoCambiadoEvent;
+
+/**
+ * Difunde por Server-Sent Events los cambios del dashboard.
+ * Los eventos de estado solo marcan el dashboard como pendiente; el recalculo
+ * se hace una vez por ventana de debounce y se comparte entre todos los clientes.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final long TIMEOUT_EMISOR_MS = 30L * 60L * 1000L;
+
+    private final List<SseEmitter> emisores = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean pendiente = new AtomicBoolean(false);
+
+    // Ultimo dashboard enviado, para calcular el delta
+    private volatile DashboardDTO ultimoEnviado;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    public SseEmitter suscribir() {
+        SseEmitter emisor = new SseEmitter(TIMEOUT_EMISOR_MS);
+        emisor.onCompletion(() -> emisores.remove(emisor));
+        emisor.onTimeout(() -> emisores.remove(emisor));
+        emisor.onError(error -> emisores.remove(emisor));
+        emisores.add(emisor);
+        return emisor;
+    }
+
+    public int getClientesConectados() {
+        return emisores.size();
+    }
+
+    // ==================== EVENTOS ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivoEstadoCambiado(ActivoEstadoCambiadoEvent evento) {
+        pendiente.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSolicitudEstadoCambiado(SolicitudEstadoCambiadoEvent evento) {
+        pendiente.set(true);
+    }
+
+    // ==================== DIFUSION ====================
+
+    @Scheduled(fixedDelayString = "${itsystem.dashboard.stream.debounce-ms:2000}")
+    public void difundirCambios() {
+        if (emisores.isEmpty()) {
+            // Sin clientes no se recalcula; el proximo que conecte recibe la pagina completa
+            pendiente.set(false);
+            ultimoEnviado = null;
+            return;
+        }
+        if (!pendiente.getAndSet(false)) {
+            return;
+        }
+
+        DashboardDTO actual = dashboardService.obtenerDashboard();
+        Map<String, Object> delta = calcularDelta(ultimoEnviado, actual);
+        ultimoEnviado = actual;
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        for (SseEmitter emisor : emisores) {
+            try {
+                emisor.send(SseEmitter.event().name("dashboard").data(delta));
+            } catch (IOException | IllegalStateException e) {
+                emisores.remove(emisor);
+            }
+        }
+    }
+
+    private Map<String, Object> calcularDelta(DashboardDTO anterior, DashboardDTO actual) {
+        Map<String, Object> valoresActuales = aMapa(actual);
+        if (anterior == null) {
+            return valoresActuales;
+        }
+
+        Map<String, Object> valoresAnteriores = aMapa(anterior);
+        Map<String, Object> delta = new LinkedHashMap<>();
+        valoresActuales.forEach((clave, valor) -> {
+            if (!Objects.equals(valor, valoresAnteriores.get(clave))) {
+                delta.put(clave, valor);
+            }
+        });
+        return delta;
+    }
+
+    private Map<String, Object> aMapa(DashboardDTO dashboard) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("totalActivos", dashboard.getTotalActivos());
+        valores.put("totalSolicitudes", dashboard.getTotalSolicitudes());
+        valores.put("tarjetas", dashboard.getTarjetas());
+        valores.put("activosPorEstado", dashboard.getActivosPorEstado());
+        valores.put("activosPorCategoria", dashboard.getActivosPorCategoria());
+        valores.put("solicitudesPorEstado", dashboard.getSolicitudesPorEstado());
+        valores.put("solicitudesAtencion", dashboard.getSolicitudesAtencion());
+        valores.put("indicadoresSecundarios", dashboard.getIndicadoresSecundarios());
+        valores.put("solicitudesRecientes", dashboard.getSolicitudesRecientes());
+        return valores;
+    }
+}
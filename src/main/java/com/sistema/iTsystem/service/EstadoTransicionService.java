@@ -1,23 +1,25 @@
 package com.sistema.iTsystem.service;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.ActivoHistorialEstados;
 import com.sistema.iTsystem.model.EstadoActivo;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.ActivoRepository;
 import com.sistema.iTsystem.repository.ActivoHistorialEstadosRepository;
-import com.sistema.iTsystem.repository.EstadoActivoRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class EstadoTransicionService {
@@ -34,62 +36,96 @@ public class EstadoTransicionService {
         }
     }
 
+    public static class TransicionConcurrenteException extends RuntimeException {
+        public TransicionConcurrenteException(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    /** Operaciones puntuales sobre un activo: estado destino y estados de origen admitidos */
+    public enum OperacionEstado {
+        MANTENIMIENTO("mantenimiento", "En mantenimiento", Set.of("Disponible")),
+        FIN_MANTENIMIENTO("finalizar-mantenimiento", "Disponible", Set.of("En mantenimiento")),
+        BAJA("baja", "Dado de baja", Set.of("Disponible", "En mantenimiento"));
+
+        private final String clave;
+        private final String estadoDestino;
+        private final Set<String> estadosOrigen;
+
+        OperacionEstado(String clave, String estadoDestino, Set<String> estadosOrigen) {
+            this.clave = clave;
+            this.estadoDestino = estadoDestino;
+            this.estadosOrigen = estadosOrigen;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public String getEstadoDestino() {
+            return estadoDestino;
+        }
+
+        public boolean admiteOrigen(String estado) {
+            return estadosOrigen.contains(estado);
+        }
+
+        public boolean esBaja() {
+            return this == BAJA;
+        }
+
+        /** Acepta la clave usada en las URLs ("baja", "mantenimiento", "finalizar-mantenimiento") */
+        public static OperacionEstado desdeClave(String clave) {
+            String normalizada = clave != null ? clave.trim().toLowerCase() : "";
+            for (OperacionEstado operacion : values()) {
+                if (operacion.clave.equals(normalizada)) {
+                    return operacion;
+                }
+            }
+            throw new TransicionInvalidaException("Operacion no reconocida");
+        }
+    }
+
     @Autowired
     private ActivoRepository activoRepository;
 
     @Autowired
-    private EstadoActivoRepository estadoActivoRepository;
+    private CatalogoCacheService catalogoCacheService;
 
     @Autowired
     private ActivoHistorialEstadosRepository historialEstadosRepository;
 
-    private static final Map<String, List<String>> TRANSICIONES_PERMITIDAS = new HashMap<>();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    static {
-        TRANSICIONES_PERMITIDAS.put("Disponible", List.of(
-            "Asignado",
-            "En mantenimiento",
-            "Dado de baja",
-            "Extraviado"
-        ));
-        TRANSICIONES_PERMITIDAS.put("Asignado", List.of(
-            "Disponible",
-            "En mantenimiento",
-            "Dado de baja",
-            "Extraviado"
-        ));
-        TRANSICIONES_PERMITIDAS.put("En mantenimiento", List.of(
-            "Disponible",
-            "Asignado",
-            "Dado de baja"
-        ));
-        TRANSICIONES_PERMITIDAS.put("Extraviado", List.of(
-            "Disponible",
-            "Dado de baja"
-        ));
-        TRANSICIONES_PERMITIDAS.put("Dado de baja", List.of());
-    }
+    @Autowired
+    private AuditoriaOutboxService auditoriaOutboxService;
+
+    @Autowired
+    private MaquinaEstadosService maquinaEstadosService;
+
+    @Autowired
+    private HistorialActivoService historialActivoService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional
     public boolean cambiarEstado(Long activoId, Long nuevoEstadoId, String motivo,
                                  String observaciones, Usuario usuario) {
-        Activo activo = activoRepository.findById(activoId)
+        Activo activo = activoRepository.findParaTransicion(activoId)
             .orElseThrow(() -> new ActivoNoEncontradoException("Activo con ID " + activoId + " no encontrado"));
 
         EstadoActivo estadoAnterior = activo.getEstado();
-        EstadoActivo nuevoEstado = estadoActivoRepository.findById(nuevoEstadoId)
+        EstadoActivo nuevoEstado = catalogoCacheService.buscarEstadoActivo(nuevoEstadoId)
             .orElseThrow(() -> new TransicionInvalidaException("Estado con ID " + nuevoEstadoId + " no encontrado"));
 
         validarTransicion(activo, nuevoEstado);
-        activo.setEstado(nuevoEstado);
-        if ("Dado de baja".equalsIgnoreCase(nuevoEstado.getEstadoNom())) {
-            activo.setActivoActivo(false);
-            activo.setActivoFechaEgreso(LocalDateTime.now());
-        } else {
-            activo.setActivoActivo(true);
-        }
-        activoRepository.save(activo);
+        boolean esBaja = "Dado de baja".equalsIgnoreCase(nuevoEstado.getEstadoNom());
+        aplicarCambioEstado(activo, estadoAnterior, nuevoEstado, !esBaja,
+            esBaja ? LocalDateTime.now() : activo.getActivoFechaEgreso());
         registrarHistorial(activo, estadoAnterior, nuevoEstado, usuario, motivo, observaciones);
+        publicarCambioEstado(activo, estadoAnterior, nuevoEstado);
 
         return true;
     }
@@ -97,43 +133,19 @@ public class EstadoTransicionService {
     @Transactional
     public ActivoHistorialEstados enviarAMantenimiento(String activoCodigo, String motivo,
                                                        String observaciones, Usuario usuario) {
-        return ejecutarOperacion(
-            activoCodigo,
-            "En mantenimiento",
-            Set.of("Disponible"),
-            motivo,
-            observaciones,
-            usuario,
-            false
-        );
+        return ejecutarOperacion(activoCodigo, OperacionEstado.MANTENIMIENTO, motivo, observaciones, usuario);
     }
 
     @Transactional
     public ActivoHistorialEstados finalizarMantenimiento(String activoCodigo, String motivo,
                                                          String observaciones, Usuario usuario) {
-        return ejecutarOperacion(
-            activoCodigo,
-            "Disponible",
-            Set.of("En mantenimiento"),
-            motivo,
-            observaciones,
-            usuario,
-            false
-        );
+        return ejecutarOperacion(activoCodigo, OperacionEstado.FIN_MANTENIMIENTO, motivo, observaciones, usuario);
     }
 
     @Transactional
     public ActivoHistorialEstados darDeBaja(String activoCodigo, String motivo,
                                             String observaciones, Usuario usuario) {
-        return ejecutarOperacion(
-            activoCodigo,
-            "Dado de baja",
-            Set.of("Disponible", "En mantenimiento"),
-            motivo,
-            observaciones,
-            usuario,
-            true
-        );
+        return ejecutarOperacion(activoCodigo, OperacionEstado.BAJA, motivo, observaciones, usuario);
     }
 
     @Transactional
@@ -144,7 +156,18 @@ public class EstadoTransicionService {
         if (activo.getEstado() == null) {
             throw new IllegalArgumentException("El activo debe tener un estado antes de registrar la creacion");
         }
-        return registrarHistorial(activo, null, activo.getEstado(), usuario, motivo, observaciones);
+        ActivoHistorialEstados historial = registrarHistorial(activo, null, activo.getEstado(), usuario, motivo, observaciones);
+        // El alta publica su evento antes de que exista esta fila: la fila de alta se agrega al timeline aqui
+        historialActivoService.programarTimeline(List.of(activo.getActivoId()));
+        return historial;
+    }
+
+    /** Consulta la tabla de transiciones sin cargar el activo (usado por las operaciones en lote) */
+    public boolean esTransicionPermitida(EstadoActivo estadoActual, EstadoActivo nuevoEstado) {
+        if (estadoActual == null) {
+            return true;
+        }
+        return maquinaEstadosService.puedeTransicionar(estadoActual, nuevoEstado);
     }
 
     private void validarTransicion(Activo activo, EstadoActivo nuevoEstado) {
@@ -154,16 +177,13 @@ public class EstadoTransicionService {
         }
 
         String nombreEstadoActual = estadoActual.getEstadoNom();
-        String nombreNuevoEstado = nuevoEstado.getEstadoNom();
-
-        if ("Dado de baja".equalsIgnoreCase(nombreEstadoActual)) {
-            throw new TransicionInvalidaException("No se puede cambiar el estado desde 'Dado de baja'");
+        if (maquinaEstadosService.esFinal(MaquinaEstadosService.Flujo.ACTIVO, nombreEstadoActual)) {
+            throw new TransicionInvalidaException("No se puede cambiar el estado desde '" + nombreEstadoActual + "'");
         }
 
-        List<String> transicionesPermitidas = TRANSICIONES_PERMITIDAS.get(nombreEstadoActual);
-        if (transicionesPermitidas == null || !transicionesPermitidas.contains(nombreNuevoEstado)) {
+        if (!maquinaEstadosService.puedeTransicionar(estadoActual, nuevoEstado)) {
             throw new TransicionInvalidaException(
-                "No se puede cambiar de '" + nombreEstadoActual + "' a '" + nombreNuevoEstado + "'"
+                "No se puede cambiar de '" + nombreEstadoActual + "' a '" + nuevoEstado.getEstadoNom() + "'"
             );
         }
     }
@@ -173,30 +193,25 @@ public class EstadoTransicionService {
     }
 
     public List<EstadoActivo> obtenerEstadosPosibles(Long activoId) {
-        Activo activo = activoRepository.findById(activoId)
+        Activo activo = activoRepository.findParaTransicion(activoId)
             .orElseThrow(() -> new ActivoNoEncontradoException("Activo con ID " + activoId + " no encontrado"));
 
         EstadoActivo estadoActual = activo.getEstado();
         if (estadoActual == null) {
-            return estadoActivoRepository.findAllByOrderByEstadoNomAsc();
-        }
-
-        List<String> nombresEstadosPosibles = TRANSICIONES_PERMITIDAS.get(estadoActual.getEstadoNom());
-        if (nombresEstadosPosibles == null || nombresEstadosPosibles.isEmpty()) {
-            return List.of();
+            return catalogoCacheService.obtenerEstadosActivo();
         }
 
-        return estadoActivoRepository.findAllByOrderByEstadoNomAsc().stream()
-            .filter(estado -> nombresEstadosPosibles.contains(estado.getEstadoNom()))
+        return catalogoCacheService.obtenerEstadosActivo().stream()
+            .filter(estado -> maquinaEstadosService.puedeTransicionar(estadoActual, estado))
             .collect(Collectors.toList());
     }
 
     public boolean esTransicionValida(Long activoId, Long nuevoEstadoId) {
         try {
-            Activo activo = activoRepository.findById(activoId)
+            Activo activo = activoRepository.findParaTransicion(activoId)
                 .orElseThrow(() -> new ActivoNoEncontradoException("Activo no encontrado"));
 
-            EstadoActivo nuevoEstado = estadoActivoRepository.findById(nuevoEstadoId)
+            EstadoActivo nuevoEstado = catalogoCacheService.buscarEstadoActivo(nuevoEstadoId)
                 .orElseThrow(() -> new TransicionInvalidaException("Estado no encontrado"));
 
             validarTransicion(activo, nuevoEstado);
@@ -206,39 +221,71 @@ public class EstadoTransicionService {
         }
     }
 
-    private ActivoHistorialEstados ejecutarOperacion(String activoCodigo, String estadoDestinoNombre,
-                                                     Set<String> estadosOrigenPermitidos, String motivo,
-                                                     String observaciones, Usuario usuario, boolean esBaja) {
+    private ActivoHistorialEstados ejecutarOperacion(String activoCodigo, OperacionEstado operacion, String motivo,
+                                                     String observaciones, Usuario usuario) {
         if (motivo == null || motivo.trim().isEmpty()) {
             throw new TransicionInvalidaException("El motivo es obligatorio");
         }
 
-        Activo activo = activoRepository.findByActivoCodigoIgnoreCase(normalizarCodigo(activoCodigo))
+        Activo activo = activoRepository.findParaTransicionPorCodigo(normalizarCodigo(activoCodigo))
             .orElseThrow(() -> new ActivoNoEncontradoException("Activo con codigo " + activoCodigo + " no encontrado"));
 
         EstadoActivo estadoActual = activo.getEstado();
         if (estadoActual == null) {
             throw new TransicionInvalidaException("El activo no tiene un estado actual definido");
         }
-        if (!estadosOrigenPermitidos.contains(estadoActual.getEstadoNom())) {
+        if (!operacion.admiteOrigen(estadoActual.getEstadoNom())) {
             throw new TransicionInvalidaException(
-                "No se puede pasar de '" + estadoActual.getEstadoNom() + "' a '" + estadoDestinoNombre + "'"
+                "No se puede pasar de '" + estadoActual.getEstadoNom() + "' a '" + operacion.getEstadoDestino() + "'"
             );
         }
 
-        EstadoActivo nuevoEstado = estadoActivoRepository.findByEstadoNom(estadoDestinoNombre)
-            .orElseThrow(() -> new TransicionInvalidaException("Estado '" + estadoDestinoNombre + "' no encontrado"));
+        EstadoActivo nuevoEstado = catalogoCacheService.buscarEstadoActivo(operacion.getEstadoDestino())
+            .orElseThrow(() -> new TransicionInvalidaException("Estado '" + operacion.getEstadoDestino() + "' no encontrado"));
+
+        boolean esBaja = operacion.esBaja();
+        aplicarCambioEstado(activo, estadoActual, nuevoEstado, !esBaja, esBaja ? LocalDateTime.now() : null);
+
+        ActivoHistorialEstados historial = registrarHistorial(activo, estadoActual, nuevoEstado, usuario, motivo, observaciones);
+        publicarCambioEstado(activo, estadoActual, nuevoEstado);
+        return historial;
+    }
+
+    /**
+     * Aplica la transicion con un UPDATE condicional sobre el estado leido (compare-and-set).
+     * Si dos operadores parten del mismo estado solo el primero actualiza; el segundo recibe
+     * {@link TransicionConcurrenteException} en lugar de pisar el cambio.
+     */
+    private void aplicarCambioEstado(Activo activo, EstadoActivo estadoEsperado, EstadoActivo nuevoEstado,
+                                     boolean activoActivo, LocalDateTime fechaEgreso) {
+        if (estadoEsperado == null) {
+            throw new TransicionInvalidaException("El activo no tiene un estado actual definido");
+        }
 
-        activo.setEstado(nuevoEstado);
-        activo.setActivoActivo(!esBaja);
-        if (esBaja) {
-            activo.setActivoFechaEgreso(LocalDateTime.now());
-        } else {
-            activo.setActivoFechaEgreso(null);
+        int actualizados = activoRepository.cambiarEstadoSiCoincide(
+            activo.getActivoId(),
+            estadoEsperado.getEstadoId(),
+            nuevoEstado,
+            activoActivo,
+            fechaEgreso,
+            LocalDateTime.now()
+        );
+        if (actualizados == 0) {
+            throw new TransicionConcurrenteException(
+                "El activo fue modificado por otra operación. Actualice la página e intente nuevamente."
+            );
         }
-        activoRepository.save(activo);
+        // El UPDATE masivo no toca la entidad administrada: se relee estado y version
+        entityManager.refresh(activo);
+    }
 
-        return registrarHistorial(activo, estadoActual, nuevoEstado, usuario, motivo, observaciones);
+    private void publicarCambioEstado(Activo activo, EstadoActivo estadoAnterior, EstadoActivo estadoNuevo) {
+        eventPublisher.publishEvent(new ActivoEstadoCambiadoEvent(
+            activo.getActivoId(),
+            activo.getCategoria() != null ? activo.getCategoria().getCatId() : null,
+            estadoAnterior != null ? estadoAnterior.getEstadoId() : null,
+            estadoNuevo != null ? estadoNuevo.getEstadoId() : null
+        ));
     }
 
     private ActivoHistorialEstados registrarHistorial(Activo activo, EstadoActivo estadoAnterior,
@@ -255,6 +302,22 @@ public class EstadoTransicionService {
         historial.setUsuario(usuario);
         historial.setMotivo(motivo);
         historial.setObservaciones(observaciones);
+
+        if (auditoriaOutboxService.estaHabilitado()) {
+            // La fila la inserta el drenador del outbox; se devuelve sin id
+            historial.setFechaCambio(LocalDateTime.now());
+            auditoriaOutboxService.encolar(
+                AuditoriaOutboxService.ORIGEN_ACTIVO,
+                activo.getActivoId(),
+                estadoAnterior != null ? estadoAnterior.getEstadoId() : null,
+                estadoNuevo.getEstadoId(),
+                usuario.getUsuId(),
+                historial.getFechaCambio(),
+                motivo,
+                observaciones
+            );
+            return historial;
+        }
         return historialEstadosRepository.save(historial);
     }
 
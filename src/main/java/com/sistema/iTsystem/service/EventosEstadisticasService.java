@@ -0,0 +1,75 @@
+package com.sistema.iTsystem.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sistema.iTsystem.dto.estadisticas.EventosEstadisticasDTO;
+
+/**
+ * Estadisticas de eventos: contadores y desgloses por nivel y por mes del anio en curso en una
+ * sola consulta (GROUPING SETS), mas el ranking acotado de activos con mas eventos.
+ */
+@Service
+public class EventosEstadisticasService extends ProveedorEstadisticas<EventosEstadisticasDTO> {
+
+    private static final String NIVEL_CRITICO = "Crítico";
+
+    private static final String SQL_ESTADISTICAS =
+        "SELECT GROUPING(b.nivel_nom) AS sin_nivel, GROUPING(b.mes) AS sin_mes, " +
+        "b.nivel_nom, b.mes, COUNT(*) AS cantidad, " +
+        "COUNT(*) FILTER (WHERE b.nivel_nom = ?) AS criticos, " +
+        "COUNT(*) FILTER (WHERE b.event_fecha = ?) AS de_hoy " +
+        "FROM (" +
+        "  SELECT n.nivel_nom, ev.event_fecha, " +
+        "         CASE WHEN EXTRACT(YEAR FROM ev.event_fecha) = ? " +
+        "              THEN CAST(EXTRACT(MONTH FROM ev.event_fecha) AS INT) END AS mes " +
+        "  FROM eventos ev " +
+        "  JOIN eventos_niveles n ON n.nivel_id = ev.eventos_niveles_nivel_id" +
+        ") b " +
+        "GROUP BY GROUPING SETS ((b.nivel_nom), (b.mes), ()) " +
+        "ORDER BY b.mes, cantidad DESC";
+
+    private static final String SQL_POR_ACTIVO =
+        "SELECT a.activo_nom, COUNT(*) AS cantidad " +
+        "FROM eventos ev " +
+        "JOIN activo a ON a.activo_id = ev.activo_activo_id " +
+        "GROUP BY a.activo_nom " +
+        "ORDER BY cantidad DESC " +
+        "LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected EventosEstadisticasDTO calcular() {
+        EventosEstadisticasDTO estadisticas = new EventosEstadisticasDTO();
+        LocalDate hoy = LocalDate.now();
+
+        jdbcTemplate.query(SQL_ESTADISTICAS, rs -> {
+            long cantidad = rs.getLong("cantidad");
+            if (rs.getInt("sin_nivel") == 0) {
+                estadisticas.getPorNivel().add(new Object[]{rs.getString("nivel_nom"), cantidad});
+            } else if (rs.getInt("sin_mes") == 0) {
+                // Eventos de otros anios quedan con mes NULL y no se listan
+                int mes = rs.getInt("mes");
+                if (!rs.wasNull()) {
+                    estadisticas.getPorMes().add(new Object[]{mes, cantidad});
+                }
+            } else {
+                estadisticas.setTotal(cantidad);
+                estadisticas.setCriticos(rs.getLong("criticos"));
+                estadisticas.setDeHoy(rs.getLong("de_hoy"));
+            }
+        }, NIVEL_CRITICO, Date.valueOf(hoy), hoy.getYear());
+
+        jdbcTemplate.query(SQL_POR_ACTIVO, rs -> {
+            estadisticas.getPorActivo().add(new Object[]{rs.getString("activo_nom"), rs.getLong("cantidad")});
+        }, LIMITE_LISTAS);
+
+        return estadisticas;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +30,9 @@ public class EventosService {
     @Autowired
     private ActivoRepository activoRepository;
 
+    @Autowired
+    private EventosEstadisticasService eventosEstadisticasService;
+
     // ==================== CRUD BÁSICO ====================
 
     /**
@@ -71,7 +75,9 @@ public class EventosService {
             evento.setEventFecha(LocalDate.now());
         }
         
-        return eventosRepository.save(evento);
+        Eventos guardado = eventosRepository.save(evento);
+        eventosEstadisticasService.invalidar();
+        return guardado;
     }
 
     /**
@@ -92,7 +98,9 @@ public class EventosService {
         eventoExistente.setEventImpacto(eventoActualizado.getEventImpacto());
         eventoExistente.setEventosNivel(eventoActualizado.getEventosNivel());
         
-        return eventosRepository.save(eventoExistente);
+        Eventos guardado = eventosRepository.save(eventoExistente);
+        eventosEstadisticasService.invalidar();
+        return guardado;
     }
 
     /**
@@ -106,6 +114,7 @@ public class EventosService {
             ));
         
         eventosRepository.delete(evento);
+        eventosEstadisticasService.invalidar();
     }
 
     // ==================== BÚSQUEDAS POR ACTIVO ====================
@@ -164,6 +173,13 @@ public class EventosService {
         return eventosRepository.findEventosCriticos();
     }
 
+    /**
+     * Últimos eventos críticos, acotados para listas de alertas
+     */
+    public List<Eventos> buscarCriticos(int limite) {
+        return eventosRepository.findEventosCriticos(PageRequest.of(0, limite));
+    }
+
     // ==================== BÚSQUEDAS POR FECHA ====================
 
     /**
@@ -180,6 +196,13 @@ public class EventosService {
         return eventosRepository.findEventosDeHoy(LocalDate.now());
     }
 
+    /**
+     * Eventos de hoy, acotados para listas de alertas
+     */
+    public List<Eventos> buscarDeHoy(int limite) {
+        return eventosRepository.findEventosDeHoy(LocalDate.now(), PageRequest.of(0, limite));
+    }
+
     /**
      * Buscar eventos de la última semana
      */
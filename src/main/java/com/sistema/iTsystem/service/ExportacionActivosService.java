@@ -0,0 +1,279 @@
+package com.sistema.iTsystem.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Exportacion del inventario de activos en CSV o JSON Lines.
+ * La consulta se recorre con un cursor de solo avance (fetchSize dentro de una transaccion de
+ * solo lectura, que es lo que hace que el driver de PostgreSQL no traiga todo el resultado) y cada
+ * fila se escribe directo a la respuesta: la memoria usada no depende del tamano del inventario.
+ * Acepta los mismos filtros que el listado (ActivoRepository.findByFiltros).
+ */
+@Service
+public class ExportacionActivosService {
+
+    public static final String FORMATO_CSV = "csv";
+    public static final String FORMATO_JSONL = "jsonl";
+
+    /** Filas entre cada flush hacia el cliente */
+    private static final int FILAS_POR_FLUSH = 1000;
+
+    private static final List<String> COLUMNAS = List.of(
+        "id", "codigo", "nombre", "descripcion", "categoria", "estado", "proveedor",
+        "fecha_ingreso", "fecha_egreso", "marca", "modelo", "serie",
+        "usuario_asignado", "nombre_asignado", "departamento", "fecha_asignacion"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${itsystem.exportacion.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${itsystem.exportacion.timeout-ms:600000}")
+    private long timeoutMs;
+
+    /** Tiempo maximo de una descarga; solo aplica a la peticion de exportacion. */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public String normalizarFormato(String formato) {
+        String normalizado = formato != null ? formato.trim().toLowerCase() : FORMATO_CSV;
+        if (!FORMATO_CSV.equals(normalizado) && !FORMATO_JSONL.equals(normalizado)) {
+            throw new IllegalArgumentException("Formato no soportado: " + formato + " (use csv o jsonl)");
+        }
+        return normalizado;
+    }
+
+    public void exportar(String formato, String buscar, Long categoriaId, Long estadoId, Long departamentoId,
+                         OutputStream salida) {
+        String formatoNormalizado = normalizarFormato(formato);
+
+        StringBuilder sql = new StringBuilder(
+            "SELECT a.activo_id, a.activo_codigo, a.activo_nom, a.activo_descri, c.cat_nom, e.estado_nom, " +
+            "p.prov_nom, a.activo_fecha_ingreso, a.activo_fecha_egreso, ma.marca_nom, mo.model_nom, " +
+            "hw.hw_serial_num, u.usu_login, per.per_nom_1, per.per_ape_1, d.dept_nom, ua.asignacion_fecha " +
+            "FROM activo a " +
+            "JOIN categorias_activo c ON c.cat_id = a.cat_id " +
+            "JOIN estado_activo e ON e.estado_id = a.estado_id " +
+            "LEFT JOIN proveedores p ON p.prov_id = a.prov_id " +
+            "LEFT JOIN hardware_info hw ON hw.activo_id = a.activo_id " +
+            "LEFT JOIN modelo mo ON mo.model_id = hw.model_id " +
+            "LEFT JOIN marcas ma ON ma.marca_id = mo.marca_id " +
+            "LEFT JOIN usuario_asignaciones ua ON ua.activo_id = a.activo_id AND ua.asignacion_activa = TRUE " +
+            "LEFT JOIN usuario u ON u.usu_id = ua.usu_id " +
+            "LEFT JOIN persona per ON per.per_id = u.per_id " +
+            "LEFT JOIN departamentos_organizacion d ON d.dept_id = u.dept_id " +
+            "WHERE 1 = 1"
+        );
+        Map<String, Object> parametros = new HashMap<>();
+        String texto = buscar != null ? buscar.trim() : "";
+        if (!texto.isEmpty()) {
+            sql.append(" AND (LOWER(a.activo_nom) LIKE :patron OR LOWER(a.activo_codigo) LIKE :patron)");
+            parametros.put("patron", "%" + texto.toLowerCase() + "%");
+        }
+        if (categoriaId != null) {
+            sql.append(" AND a.cat_id = :categoriaId");
+            parametros.put("categoriaId", categoriaId);
+        }
+        if (estadoId != null) {
+            sql.append(" AND a.estado_id = :estadoId");
+            parametros.put("estadoId", estadoId);
+        }
+        if (departamentoId != null) {
+            // Una sola asignacion activa por activo (ux_activo_asignacion_activa): equivale al EXISTS del listado
+            sql.append(" AND u.dept_id = :departamentoId");
+            parametros.put("departamentoId", departamentoId);
+        }
+        sql.append(" ORDER BY a.activo_id");
+
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursor.setFetchSize(fetchSize);
+        NamedParameterJdbcTemplate consulta = new NamedParameterJdbcTemplate(cursor);
+
+        TransactionTemplate soloLectura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        soloLectura.setReadOnly(true);
+
+        escribir(formatoNormalizado, salida, manejador ->
+            soloLectura.executeWithoutResult(status -> consulta.query(sql.toString(), parametros, manejador)));
+    }
+
+    /**
+     * Escribe cada fila que {@code recorrer} entrega al manejador, a medida que llega.
+     * Separado de la consulta para poder probar los formatos con un ResultSet en memoria.
+     */
+    void escribir(String formato, OutputStream salida, Consumer<RowCallbackHandler> recorrer) {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            Escritor filas = FORMATO_JSONL.equals(formato)
+                ? new EscritorJsonl(objectMapper.getFactory().createGenerator(escritor))
+                : new EscritorCsv(escritor);
+            filas.iniciar();
+            int[] escritas = {0};
+            recorrer.accept(rs -> {
+                try {
+                    filas.escribir(rs);
+                    if (++escritas[0] % FILAS_POR_FLUSH == 0) {
+                        filas.flush();
+                    }
+                } catch (IOException e) {
+                    // El cliente cerro la conexion: se corta la consulta
+                    throw new UncheckedIOException(e);
+                }
+            });
+            filas.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String nombreCompleto(ResultSet rs) throws SQLException {
+        String nombre = rs.getString("per_nom_1");
+        String apellido = rs.getString("per_ape_1");
+        if (nombre == null && apellido == null) {
+            return null;
+        }
+        return ((nombre != null ? nombre : "") + " " + (apellido != null ? apellido : "")).trim();
+    }
+
+    private static String fecha(Timestamp valor) {
+        return valor != null ? valor.toLocalDateTime().toString() : null;
+    }
+
+    private static Object[] valores(ResultSet rs) throws SQLException {
+        java.sql.Date asignacion = rs.getDate("asignacion_fecha");
+        return new Object[] {
+            rs.getLong("activo_id"),
+            rs.getString("activo_codigo"),
+            rs.getString("activo_nom"),
+            rs.getString("activo_descri"),
+            rs.getString("cat_nom"),
+            rs.getString("estado_nom"),
+            rs.getString("prov_nom"),
+            fecha(rs.getTimestamp("activo_fecha_ingreso")),
+            fecha(rs.getTimestamp("activo_fecha_egreso")),
+            rs.getString("marca_nom"),
+            rs.getString("model_nom"),
+            rs.getString("hw_serial_num"),
+            rs.getString("usu_login"),
+            nombreCompleto(rs),
+            rs.getString("dept_nom"),
+            asignacion != null ? asignacion.toLocalDate().toString() : null
+        };
+    }
+
+    private interface Escritor {
+        void iniciar() throws IOException;
+
+        void escribir(ResultSet rs) throws IOException, SQLException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class EscritorCsv implements Escritor {
+        private final Writer escritor;
+
+        private EscritorCsv(Writer escritor) {
+            this.escritor = escritor;
+        }
+
+        @Override
+        public void iniciar() throws IOException {
+            escritor.write(String.join(",", COLUMNAS));
+            escritor.write("\r\n");
+        }
+
+        @Override
+        public void escribir(ResultSet rs) throws IOException, SQLException {
+            Object[] valores = valores(rs);
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                if (valores[i] != null) {
+                    escribirCampo(valores[i].toString());
+                }
+            }
+            escritor.write("\r\n");
+        }
+
+        private void escribirCampo(String valor) throws IOException {
+            boolean requiereComillas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+            if (!requiereComillas) {
+                escritor.write(valor);
+                return;
+            }
+            escritor.write('"');
+            escritor.write(valor.replace("\"", "\"\""));
+            escritor.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            escritor.flush();
+        }
+    }
+
+    private static final class EscritorJsonl implements Escritor {
+        private final JsonGenerator generador;
+
+        private EscritorJsonl(JsonGenerator generador) {
+            this.generador = generador;
+            // Sin separador entre valores raiz: cada objeto termina con su propio salto de linea
+            this.generador.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void iniciar() {
+        }
+
+        @Override
+        public void escribir(ResultSet rs) throws IOException, SQLException {
+            Object[] valores = valores(rs);
+            generador.writeStartObject();
+            generador.writeNumberField(COLUMNAS.get(0), (Long) valores[0]);
+            for (int i = 1; i < valores.length; i++) {
+                generador.writeStringField(COLUMNAS.get(i), (String) valores[i]);
+            }
+            generador.writeEndObject();
+            generador.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generador.flush();
+        }
+    }
+}
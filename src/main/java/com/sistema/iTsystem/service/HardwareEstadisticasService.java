@@ -0,0 +1,89 @@
+package com.sistema.iTsystem.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sistema.iTsystem.dto.activos.HardwareEstadisticasDTO;
+
+/**
+ * Estadisticas de /hardware/estadisticas: conteos por marca, modelo, proveedor y antiguedad
+ * en una sola pasada sobre hardware_info (GROUPING SETS), sin cargar entidades.
+ * Los modelos se agrupan por id: dos marcas con un modelo del mismo nombre son filas distintas.
+ * El resultado se cachea con un TTL propio y se descarta cuando se escribe hardware.
+ * El esquema no guarda valor de compra (V2 elimino costos y presupuesto): la valorizacion
+ * queda en cero y todo el hardware cuenta como sin valor de compra.
+ */
+@Service
+public class HardwareEstadisticasService extends ProveedorEstadisticas<HardwareEstadisticasDTO> {
+
+    /** Etiquetas de los tramos de antiguedad, en el orden del CASE de la consulta */
+    private static final String[] TRAMOS_ANTIGUEDAD = {
+        "Menos de 1 año", "De 1 a 3 años", "De 3 a 5 años", "Más de 5 años"
+    };
+
+    private static final String SQL_ESTADISTICAS =
+        "SELECT GROUPING(b.marca_nom) AS sin_marca, GROUPING(b.model_id) AS sin_modelo, " +
+        "GROUPING(b.prov_nom) AS sin_proveedor, GROUPING(b.tramo) AS sin_tramo, " +
+        "b.marca_nom, b.model_nom, b.prov_nom, b.tramo, COUNT(*) AS cantidad " +
+        "FROM (" +
+        "  SELECT ma.marca_nom, mo.model_id, mo.model_nom, p.prov_nom, " +
+        "         CASE WHEN a.activo_fecha_ingreso >= CURRENT_DATE - INTERVAL '1 year' THEN 0 " +
+        "              WHEN a.activo_fecha_ingreso >= CURRENT_DATE - INTERVAL '3 years' THEN 1 " +
+        "              WHEN a.activo_fecha_ingreso >= CURRENT_DATE - INTERVAL '5 years' THEN 2 " +
+        "              ELSE 3 END AS tramo " +
+        "  FROM hardware_info h " +
+        "  JOIN activo a ON a.activo_id = h.activo_id " +
+        "  JOIN modelo mo ON mo.model_id = h.model_id " +
+        "  JOIN marcas ma ON ma.marca_id = mo.marca_id " +
+        "  LEFT JOIN proveedores p ON p.prov_id = a.prov_id" +
+        ") b " +
+        "GROUP BY GROUPING SETS ((b.marca_nom), (b.model_id, b.model_nom), (b.prov_nom), (b.tramo), ()) " +
+        "ORDER BY cantidad DESC";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${itsystem.hardware.estadisticas-ttl-ms:60000}")
+    private long ttlMs;
+
+    @Override
+    protected long ttlMs() {
+        return ttlMs;
+    }
+
+    @Override
+    protected HardwareEstadisticasDTO calcular() {
+        HardwareEstadisticasDTO estadisticas = new HardwareEstadisticasDTO();
+        long[] porTramo = new long[TRAMOS_ANTIGUEDAD.length];
+
+        jdbcTemplate.query(SQL_ESTADISTICAS, rs -> {
+            long cantidad = rs.getLong("cantidad");
+            if (rs.getInt("sin_marca") == 0) {
+                estadisticas.getPorMarca().add(new Object[]{rs.getString("marca_nom"), cantidad});
+            } else if (rs.getInt("sin_modelo") == 0) {
+                estadisticas.getPorModelo().add(new Object[]{rs.getString("model_nom"), cantidad});
+            } else if (rs.getInt("sin_proveedor") == 0) {
+                // Hardware sin proveedor no suma en el desglose por proveedor
+                if (rs.getString("prov_nom") != null) {
+                    estadisticas.getPorProveedor().add(new Object[]{rs.getString("prov_nom"), cantidad});
+                }
+            } else if (rs.getInt("sin_tramo") == 0) {
+                porTramo[rs.getInt("tramo")] = cantidad;
+            } else {
+                estadisticas.setTotalHardware(cantidad);
+            }
+        });
+
+        for (int i = 0; i < TRAMOS_ANTIGUEDAD.length; i++) {
+            estadisticas.getPorAntiguedad().add(new Object[]{TRAMOS_ANTIGUEDAD[i], porTramo[i]});
+        }
+        estadisticas.setValorTotal(BigDecimal.ZERO);
+        estadisticas.setValorPromedio(BigDecimal.ZERO);
+        estadisticas.setSinValorCompra(estadisticas.getTotalHardware());
+        return estadisticas;
+    }
+}
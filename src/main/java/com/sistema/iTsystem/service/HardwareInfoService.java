@@ -2,11 +2,8 @@ package com.sistema.iTsystem.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,8 +17,6 @@ import com.sistema.iTsystem.model.Garantia;
 import com.sistema.iTsystem.model.Proveedores;
 import com.sistema.iTsystem.repository.GarantiaRepository;
 import com.sistema.iTsystem.repository.HardwareInfoRepository;
-import com.sistema.iTsystem.repository.MarcaRepository;
-import com.sistema.iTsystem.repository.ModeloRepository;
 import com.sistema.iTsystem.repository.ProveedoresRepository;
 
 @Service
@@ -33,16 +28,16 @@ public class HardwareInfoService {
     private HardwareInfoRepository hardwareRepository;
 
     @Autowired
-    private ModeloRepository modeloRepository;
+    private CatalogoCacheService catalogoCacheService;
 
     @Autowired
     private ProveedoresRepository proveedoresRepository;
 
     @Autowired
-    private MarcaRepository marcaRepository;
+    private GarantiaRepository garantiaRepository;
 
     @Autowired
-    private GarantiaRepository garantiaRepository;
+    private HardwareEstadisticasService hardwareEstadisticasService;
 
     public List<HardwareInfo> obtenerTodos() {
         return hardwareRepository.findAll();
@@ -81,7 +76,9 @@ public class HardwareInfoService {
             throw new SerialDuplicadoException("Ya existe un activo con ese número de serie.");
         }
 
-        return hardwareRepository.save(hardware);
+        HardwareInfo guardado = hardwareRepository.save(hardware);
+        hardwareEstadisticasService.invalidar();
+        return guardado;
     }
 
     @Transactional
@@ -101,7 +98,9 @@ public class HardwareInfoService {
         hardwareExistente.setHwDescri(hardwareActualizado.getHwDescri());
         hardwareExistente.setModelo(hardwareActualizado.getModelo());
 
-        return hardwareRepository.save(hardwareExistente);
+        HardwareInfo guardado = hardwareRepository.save(hardwareExistente);
+        hardwareEstadisticasService.invalidar();
+        return guardado;
     }
 
     @Transactional
@@ -109,6 +108,7 @@ public class HardwareInfoService {
         HardwareInfo hardware = hardwareRepository.findById(id)
             .orElseThrow(() -> new HardwareNoEncontradoException("Hardware con ID " + id + " no encontrado"));
         hardwareRepository.delete(hardware);
+        hardwareEstadisticasService.invalidar();
     }
 
     public List<HardwareInfo> buscarPorModelo(Long modeloId) {
@@ -116,11 +116,10 @@ public class HardwareInfoService {
     }
 
     public List<HardwareInfo> buscarPorProveedor(Long provId) {
-        return hardwareRepository.findAll().stream()
-            .filter(hw -> hw.getActivo() != null)
-            .filter(hw -> hw.getActivo().getProveedor() != null)
-            .filter(hw -> hw.getActivo().getProveedor().getProvId().equals(provId))
-            .toList();
+        if (provId == null) {
+            return List.of();
+        }
+        return hardwareRepository.findByProveedorId(provId);
     }
 
     public List<HardwareInfo> buscarSinProveedor() {
@@ -163,20 +162,22 @@ public class HardwareInfoService {
         return buscarPorEstadoActivo("Extraviado");
     }
 
+    /**
+     * El nombre se resuelve a estado_id contra el catalogo en memoria; la consulta filtra
+     * por activo.estado_id y trae activo, estado, modelo y marca en la misma sentencia.
+     */
     private List<HardwareInfo> buscarPorEstadoActivo(String estadoNombre) {
-        return hardwareRepository.findAll().stream()
-            .filter(hw -> hw.getActivo() != null)
-            .filter(hw -> hw.getActivo().getEstado() != null)
-            .filter(hw -> estadoNombre.equalsIgnoreCase(hw.getActivo().getEstado().getEstadoNom()))
-            .toList();
+        return catalogoCacheService.buscarEstadoActivo(estadoNombre)
+            .map(estado -> hardwareRepository.findByEstadoActivoId(estado.getEstadoId()))
+            .orElse(List.of());
     }
 
     public BigDecimal calcularValorTotal() {
-        return BigDecimal.ZERO;
+        return hardwareEstadisticasService.obtener().getValorTotal();
     }
 
     public BigDecimal calcularValorPromedio() {
-        return BigDecimal.ZERO;
+        return hardwareEstadisticasService.obtener().getValorPromedio();
     }
 
     public List<Object[]> contarPorProveedor() {
@@ -188,32 +189,16 @@ public class HardwareInfoService {
     }
 
     public long contarSinValorCompra() {
-        return 0L;
+        return hardwareEstadisticasService.obtener().getSinValorCompra();
     }
 
+    /** Cantidad de equipos por marca */
     public List<Object[]> contarPorTipo() {
-        Map<String, Long> conteo = new HashMap<>();
-        for (HardwareInfo hw : hardwareRepository.findAll()) {
-            if (hw.getModelo() != null && hw.getModelo().getMarca() != null) {
-                String marcaNombre = hw.getModelo().getMarca().getMarcaNom();
-                conteo.put(marcaNombre, conteo.getOrDefault(marcaNombre, 0L) + 1);
-            }
-        }
-        return conteo.entrySet().stream()
-            .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
-            .collect(Collectors.toList());
+        return hardwareRepository.countHardwarePorMarca();
     }
 
     public List<Object[]> contarPorEstado() {
-        return hardwareRepository.findAll().stream()
-            .filter(hw -> hw.getActivo() != null && hw.getActivo().getEstado() != null)
-            .collect(Collectors.groupingBy(
-                hw -> hw.getActivo().getEstado().getEstadoNom(),
-                Collectors.counting()
-            ))
-            .entrySet().stream()
-            .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
-            .toList();
+        return hardwareRepository.countHardwarePorEstado();
     }
 
     public boolean existeSerial(String serial) {
@@ -258,11 +243,11 @@ public class HardwareInfoService {
     }
 
     public List<Modelo> obtenerTodosModelos() {
-        return modeloRepository.findAll();
+        return catalogoCacheService.obtenerModelos();
     }
 
     public List<Marca> obtenerTodasMarcas() {
-        return marcaRepository.findAllByOrderByMarcaNomAsc();
+        return catalogoCacheService.obtenerMarcas();
     }
 
     public List<Proveedores> obtenerTodosProveedores() {
@@ -1,220 +1,807 @@
 package com.sistema.iTsystem.service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeSet;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.sistema.iTsystem.dto.activos.EventoHistorialActivoDTO;
-import com.sistema.iTsystem.model.Activo;
-import com.sistema.iTsystem.model.ActivoHistorialEstados;
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.event.AsignacionCambiadaEvent;
+import com.sistema.iTsystem.model.EstadoActivo;
+import com.sistema.iTsystem.model.SoliTipos;
 import com.sistema.iTsystem.model.Solicitudes;
+import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.model.UsuarioAsignacion;
-import com.sistema.iTsystem.repository.ActivoHistorialEstadosRepository;
-import com.sistema.iTsystem.repository.ActivoRepository;
 import com.sistema.iTsystem.repository.UsuarioAsignacionRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class HistorialActivoService {
 
+    private static final Logger log = LoggerFactory.getLogger(HistorialActivoService.class);
+
+    private static final int FUENTE_ESTADOS = 0;
+    private static final int FUENTE_ASIGNACIONES = 1;
+    private static final int FUENTE_DEVOLUCIONES = 2;
+
+    /** Claves de orden de asignaciones y devoluciones; coinciden con los indices de V18 */
+    private static final String CLAVE_ASIGNACION = "COALESCE(ua.created_at, ua.asignacion_fecha::timestamp)";
+    private static final String CLAVE_DEVOLUCION = "COALESCE(ua.updated_at, ua.devolucion_fecha::timestamp)";
+
+    /** Fila de origen de cada evento del timeline (columnas fuente / fuente_id de V25) */
+    private static final String TIMELINE_ESTADO = "ESTADO";
+    private static final String TIMELINE_ASIGNACION = "ASIGNACION";
+    private static final String TIMELINE_DEVOLUCION = "DEVOLUCION";
+
+    /** Total de las paginas del historial por cursor posteriores a la primera */
+    public static final long TOTAL_NO_CALCULADO = -1L;
+
+    /** Activos por transaccion al agregar eventos al timeline */
+    private static final int ACTIVOS_POR_TRAMO = 200;
+
+    /** Orden de agregado dentro de un mismo pedido: del evento mas antiguo al mas reciente */
+    private static final Comparator<FilaTimeline> ORDEN_CRONOLOGICO = Comparator
+        .comparing((FilaTimeline fila) -> fila.evento.getFecha(), Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparingInt(fila -> fila.evento.getPrioridadOrden() != null ? fila.evento.getPrioridadOrden() : 0);
+
+    /**
+     * Asignaciones de los activos del tramo con algun evento faltante en el timeline, mas la asignacion
+     * anterior de cada reasignacion pendiente (la reasignacion se muestra desde ella). Una asignacion
+     * reemplazada dentro de su reasignacion no genera devolucion, asi que no queda pendiente por eso.
+     */
+    private static final String SQL_ASIGNACIONES_PENDIENTES =
+        "WITH candidatas AS (" +
+        "  SELECT ua.asignacion_id, ua.activo_id, ua.solicitud_id, s.soli_id IS NOT NULL AS en_reasignacion, " +
+        "         NOT EXISTS (SELECT 1 FROM activo_timeline t WHERE t.activo_id = ua.activo_id " +
+        "             AND t.fuente = :asignacion AND t.fuente_id = ua.asignacion_id) AS falta_asignacion, " +
+        "         ua.devolucion_fecha IS NOT NULL AND NOT EXISTS (SELECT 1 FROM activo_timeline t " +
+        "             WHERE t.activo_id = ua.activo_id AND t.fuente = :devolucion " +
+        "             AND t.fuente_id = ua.asignacion_id) AS falta_devolucion, " +
+        "         s.soli_id IS NOT NULL AND EXISTS (SELECT 1 FROM usuario_asignaciones posterior " +
+        "             WHERE posterior.activo_id = ua.activo_id AND posterior.solicitud_id = ua.solicitud_id " +
+        "             AND posterior.asignacion_id > ua.asignacion_id) AS reemplazada " +
+        "  FROM usuario_asignaciones ua " +
+        "  LEFT JOIN solicitudes s ON s.soli_id = ua.solicitud_id " +
+        "       AND s.soli_tipos_soli_tipo_id IN (:tiposReasignacion) " +
+        "  WHERE ua.activo_id IN (:ids)" +
+        "), pendientes AS (" +
+        "  SELECT * FROM candidatas WHERE falta_asignacion OR (falta_devolucion AND NOT reemplazada)" +
+        ") " +
+        "SELECT asignacion_id, falta_asignacion, falta_devolucion, reemplazada FROM pendientes " +
+        "UNION " +
+        "SELECT c.asignacion_id, c.falta_asignacion, c.falta_devolucion, c.reemplazada " +
+        "FROM pendientes p " +
+        "JOIN candidatas c ON c.asignacion_id = (SELECT MAX(a.asignacion_id) FROM candidatas a " +
+        "    WHERE a.activo_id = p.activo_id AND a.solicitud_id = p.solicitud_id " +
+        "    AND a.asignacion_id < p.asignacion_id) " +
+        "WHERE p.en_reasignacion";
+
     @Autowired
-    private ActivoRepository activoRepository;
+    private UsuarioAsignacionRepository usuarioAsignacionRepository;
 
     @Autowired
-    private ActivoHistorialEstadosRepository historialEstadosRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private UsuarioAsignacionRepository usuarioAsignacionRepository;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PaginacionService paginacionService;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    private Counter fallosTimeline;
+
+    @Autowired
+    public void registrarMetricas(MeterRegistry registry) {
+        fallosTimeline = Counter.builder("itsystem.timeline.agregado.fallos")
+            .description("Tramos de activos cuyo agregado al timeline fallo")
+            .register(registry);
+    }
 
+    // ==================== LECTURA DEL TIMELINE ====================
+
+    /** Timeline completo, del evento mas reciente al mas antiguo */
+    @Transactional(readOnly = true)
     public List<EventoHistorialActivoDTO> obtenerHistorialOperativo(Long activoId) {
-        Activo activo = activoRepository.findById(activoId)
-            .orElseThrow(() -> new RuntimeException("Activo no encontrado"));
-
-        List<EventoHistorialActivoDTO> eventos = new ArrayList<>();
-        agregarEventosDeEstados(activo, eventos);
-        agregarEventosDeAsignaciones(activo, eventos);
-
-        return eventos.stream()
-            .sorted(Comparator.comparing(EventoHistorialActivoDTO::getFecha,
-                    Comparator.nullsLast(Comparator.naturalOrder()))
-                .reversed()
-                .thenComparing(
-                    (EventoHistorialActivoDTO evento) -> evento.getPrioridadOrden() != null ? evento.getPrioridadOrden() : 0,
-                    Comparator.reverseOrder()
-                ))
-            .toList();
+        return obtenerHistorialOperativo(activoId, 0, Integer.MAX_VALUE);
     }
 
-    private void agregarEventosDeEstados(Activo activo, List<EventoHistorialActivoDTO> eventos) {
-        List<ActivoHistorialEstados> historialEstados = historialEstadosRepository.findByActivoIdWithDetails(activo.getActivoId());
-        for (ActivoHistorialEstados historial : historialEstados) {
-            if (historial == null || historial.getEstadoNuevo() == null) {
-                continue;
-            }
+    /**
+     * Pagina del timeline materializado (activo_timeline), del evento mas reciente al mas antiguo.
+     * "orden" crece con cada evento agregado y no tiene huecos: la pagina es un rango del indice
+     * (activo_id, orden) contado hacia atras desde el ultimo. Solo lee; el timeline lo completan
+     * los eventos de cambio y el arranque.
+     */
+    @Transactional(readOnly = true)
+    public List<EventoHistorialActivoDTO> obtenerHistorialOperativo(Long activoId, int pagina, int tamano) {
+        long desde = (long) Math.max(pagina, 0) * tamano;
+        return leerTimeline(activoId, desde, tamano);
+    }
 
-            String estadoNuevo = historial.getEstadoNuevoNombre();
-            String estadoAnterior = historial.getEstadoAnteriorNombre();
-            EventoHistorialActivoDTO dto = new EventoHistorialActivoDTO();
-            dto.setFecha(historial.getFechaCambio());
-            dto.setEstadoAnterior(historial.getEstadoAnterior() != null ? estadoAnterior : null);
-            dto.setEstadoNuevo(estadoNuevo);
-            dto.setUsuarioEjecutor(historial.getUsuarioNombre());
-            dto.setMotivo(historial.getMotivo());
-            dto.setObservacion(historial.getObservaciones());
-            dto.setPrioridadOrden(10);
-
-            if (historial.esRegistroInicial()) {
-                dto.setTipoEvento("ALTA");
-                dto.setTitulo("Alta del activo");
-                dto.setDescripcion("Ingreso inicial al inventario.");
-                dto.setPrioridadOrden(90);
-                eventos.add(dto);
-                continue;
-            }
+    public long contarEventos(Long activoId) {
+        // orden va de 0 a n-1: el total sale del indice sin contar filas
+        Long total = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(orden) + 1, 0) FROM activo_timeline WHERE activo_id = ?",
+            Long.class,
+            activoId
+        );
+        return total != null ? total : 0;
+    }
 
-            if ("Asignado".equalsIgnoreCase(estadoNuevo)) {
-                continue;
-            }
+    private List<EventoHistorialActivoDTO> leerTimeline(Long activoId, long desde, int tamano) {
+        return jdbcTemplate.query(
+            "SELECT fecha, tipo_evento, titulo, descripcion, estado_anterior, estado_nuevo, " +
+            "usuario_anterior, usuario_nuevo, usuario_ejecutor, motivo, observacion, solicitud_id, prioridad_orden " +
+            "FROM activo_timeline " +
+            "WHERE activo_id = ? " +
+            "AND orden <= (SELECT MAX(orden) FROM activo_timeline WHERE activo_id = ?) - ? " +
+            "ORDER BY orden DESC " +
+            "LIMIT ?",
+            (rs, i) -> {
+                EventoHistorialActivoDTO dto = new EventoHistorialActivoDTO();
+                Timestamp fecha = rs.getTimestamp("fecha");
+                dto.setFecha(fecha != null ? fecha.toLocalDateTime() : null);
+                dto.setTipoEvento(rs.getString("tipo_evento"));
+                dto.setTitulo(rs.getString("titulo"));
+                dto.setDescripcion(rs.getString("descripcion"));
+                dto.setEstadoAnterior(rs.getString("estado_anterior"));
+                dto.setEstadoNuevo(rs.getString("estado_nuevo"));
+                dto.setUsuarioAnterior(rs.getString("usuario_anterior"));
+                dto.setUsuarioNuevo(rs.getString("usuario_nuevo"));
+                dto.setUsuarioEjecutor(rs.getString("usuario_ejecutor"));
+                dto.setMotivo(rs.getString("motivo"));
+                dto.setObservacion(rs.getString("observacion"));
+                dto.setSolicitudId(rs.getObject("solicitud_id", Long.class));
+                dto.setPrioridadOrden(rs.getObject("prioridad_orden", Integer.class));
+                return dto;
+            },
+            activoId,
+            activoId,
+            desde,
+            tamano
+        );
+    }
 
-            if ("En mantenimiento".equalsIgnoreCase(estadoNuevo)) {
-                dto.setTipoEvento("MANTENIMIENTO_INICIO");
-                dto.setTitulo("Inicio de mantenimiento");
-                dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
-                dto.setPrioridadOrden(80);
-                eventos.add(dto);
-                continue;
+    // ==================== MANTENIMIENTO DEL TIMELINE ====================
+
+    @EventListener
+    public void onActivoEstadoCambiado(ActivoEstadoCambiadoEvent evento) {
+        // La eliminacion del activo borra su timeline por ON DELETE CASCADE
+        if (evento.getActivoId() != null && evento.getEstadoNuevoId() != null) {
+            programarTimeline(List.of(evento.getActivoId()));
+        }
+    }
+
+    @EventListener
+    public void onAsignacionCambiada(AsignacionCambiadaEvent evento) {
+        if (evento.getActivoId() != null) {
+            programarTimeline(List.of(evento.getActivoId()));
+        }
+    }
+
+    /**
+     * Agrega al timeline los eventos nuevos de los activos indicados cuando confirma la transaccion
+     * en curso. Los pedidos de una misma transaccion se juntan: cada activo se procesa una vez aunque
+     * la transaccion publique varios eventos (una asignacion cambia estado y asignacion, un lote
+     * publica uno por fila). Sin transaccion activa se agregan en el momento.
+     */
+    public void programarTimeline(Collection<Long> activoIds) {
+        if (activoIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            agregarEventosNuevos(activoIds);
+            return;
+        }
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacion instanceof TimelinePendiente pendiente) {
+                pendiente.activoIds.addAll(activoIds);
+                return;
             }
+        }
+        TimelinePendiente pendiente = new TimelinePendiente();
+        pendiente.activoIds.addAll(activoIds);
+        TransactionSynchronizationManager.registerSynchronization(pendiente);
+    }
 
-            if ("Disponible".equalsIgnoreCase(estadoAnterior)
-                    && "Disponible".equalsIgnoreCase(estadoNuevo)) {
-                continue;
+    /**
+     * Completa una vez, al arrancar, los activos que todavia no tienen timeline
+     * (datos anteriores a la tabla o a V25). Las lecturas nunca construyen el timeline.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void completarTimelinesAlArrancar() {
+        long desde = 0;
+        List<Long> pendientes;
+        do {
+            pendientes = jdbcTemplate.queryForList(
+                "SELECT a.activo_id FROM activo a " +
+                "WHERE a.activo_id > ? " +
+                "AND NOT EXISTS (SELECT 1 FROM activo_timeline t WHERE t.activo_id = a.activo_id) " +
+                "ORDER BY a.activo_id " +
+                "LIMIT ?",
+                Long.class,
+                desde,
+                ACTIVOS_POR_TRAMO
+            );
+            if (!pendientes.isEmpty()) {
+                agregarEventosNuevos(pendientes);
+                desde = pendientes.get(pendientes.size() - 1);
             }
+        } while (pendientes.size() == ACTIVOS_POR_TRAMO);
+    }
 
-            if ("Disponible".equalsIgnoreCase(estadoAnterior)
-                    && "Dado de baja".equalsIgnoreCase(estadoNuevo)) {
-                dto.setTipoEvento("BAJA");
-                dto.setTitulo("Baja del activo");
-                dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
-                dto.setPrioridadOrden(70);
-                eventos.add(dto);
-                continue;
+    /**
+     * Agrega al final del timeline de cada activo solo los eventos cuya fila de origen (cambio de estado,
+     * asignacion o devolucion) todavia no esta; las filas ya agregadas no se tocan. Un activo sin timeline
+     * recibe su historia completa. Cada tramo de activos va en su propia transaccion.
+     */
+    public void agregarEventosNuevos(Collection<Long> activoIds) {
+        List<Long> ordenados = new ArrayList<>(new TreeSet<>(activoIds));
+        TransactionTemplate nueva = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        nueva.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < ordenados.size(); i += ACTIVOS_POR_TRAMO) {
+            List<Long> tramo = ordenados.subList(i, Math.min(i + ACTIVOS_POR_TRAMO, ordenados.size()));
+            try {
+                nueva.executeWithoutResult(status -> agregarTramo(tramo));
+            } catch (DataAccessException e) {
+                // Lo que no se agrego entra con el proximo cambio de cada activo del tramo
+                fallosTimeline.increment();
+                log.warn("No se pudo agregar al timeline de los activos {}", tramo, e);
             }
+        }
+    }
 
-            if ("En mantenimiento".equalsIgnoreCase(estadoAnterior)
-                    && "Disponible".equalsIgnoreCase(estadoNuevo)) {
-                dto.setTipoEvento("MANTENIMIENTO_FIN");
-                dto.setTitulo("Fin de mantenimiento");
-                dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
-                dto.setPrioridadOrden(75);
-                eventos.add(dto);
-                continue;
+    private void agregarTramo(List<Long> activoIds) {
+        // Serializa con otros agregados de los mismos activos; los bloqueos se toman en orden de id
+        List<Long> existentes = namedJdbcTemplate.query(
+            "SELECT a.activo_id, pg_advisory_xact_lock(hashtext('activo_timeline'), a.activo_id) " +
+            "FROM (SELECT activo_id FROM activo WHERE activo_id IN (:ids) ORDER BY activo_id) a",
+            Map.of("ids", activoIds),
+            (rs, i) -> rs.getLong("activo_id")
+        );
+        if (existentes.isEmpty()) {
+            return;
+        }
+        Map<String, Object> parametros = Map.of(
+            "ids", existentes,
+            "estado", TIMELINE_ESTADO,
+            "asignacion", TIMELINE_ASIGNACION,
+            "devolucion", TIMELINE_DEVOLUCION,
+            "asignado", idsEstado("Asignado"),
+            "disponible", idsEstado("Disponible"),
+            "tiposReasignacion", idsTiposReasignacion()
+        );
+
+        Map<Long, Integer> ultimoOrden = new HashMap<>();
+        namedJdbcTemplate.query(
+            "SELECT activo_id, MAX(orden) AS orden FROM activo_timeline WHERE activo_id IN (:ids) GROUP BY activo_id",
+            parametros,
+            rs -> {
+                ultimoOrden.put(rs.getLong("activo_id"), rs.getInt("orden"));
+            }
+        );
+
+        // Los pasos a "Asignado" (los cubre la asignacion) y Disponible -> Disponible no generan fila:
+        // se descartan aqui para no releerlos en cada agregado
+        Map<Long, List<FilaTimeline>> nuevas = new LinkedHashMap<>();
+        namedJdbcTemplate.query(
+            "SELECT h.historial_id, h.activo_id, h.fecha_cambio, h.estado_anterior_id, h.estado_nuevo_id, " +
+            "h.motivo, h.observaciones, p.per_id, p.per_nom_1, p.per_ape_1 " +
+            "FROM activo_historial_estados h " +
+            "LEFT JOIN usuario u ON u.usu_id = h.usuario_id " +
+            "LEFT JOIN persona p ON p.per_id = u.per_id " +
+            "WHERE h.activo_id IN (:ids) AND h.estado_nuevo_id IS NOT NULL " +
+            "AND NOT (h.estado_anterior_id IS NOT NULL AND h.estado_nuevo_id IN (:asignado)) " +
+            "AND NOT (h.estado_anterior_id IN (:disponible) AND h.estado_nuevo_id IN (:disponible)) " +
+            "AND NOT EXISTS (SELECT 1 FROM activo_timeline t " +
+            "    WHERE t.activo_id = h.activo_id AND t.fuente = :estado AND t.fuente_id = h.historial_id)",
+            parametros,
+            rs -> {
+                EventoHistorialActivoDTO evento = construirEventoEstado(rs);
+                if (evento != null) {
+                    nuevas.computeIfAbsent(rs.getLong("activo_id"), clave -> new ArrayList<>())
+                        .add(new FilaTimeline(TIMELINE_ESTADO, rs.getLong("historial_id"), evento));
+                }
+            }
+        );
+
+        // Solo se cargan las asignaciones con eventos faltantes y, en una reasignacion, la anterior del grupo
+        Map<Long, PendienteAsignacion> pendientes = new HashMap<>();
+        namedJdbcTemplate.query(SQL_ASIGNACIONES_PENDIENTES, parametros, rs -> {
+            pendientes.put(rs.getLong("asignacion_id"), new PendienteAsignacion(
+                rs.getBoolean("falta_asignacion"),
+                rs.getBoolean("falta_devolucion") && !rs.getBoolean("reemplazada")
+            ));
+        });
+        if (!pendientes.isEmpty()) {
+            Map<Long, List<UsuarioAsignacion>> asignacionesPorActivo = new LinkedHashMap<>();
+            for (UsuarioAsignacion asignacion
+                    : usuarioAsignacionRepository.findByAsignacionIdsWithUserDetails(pendientes.keySet())) {
+                asignacionesPorActivo.computeIfAbsent(asignacion.getActivo().getActivoId(), clave -> new ArrayList<>())
+                    .add(asignacion);
             }
+            asignacionesPorActivo.forEach((activoId, asignaciones) -> agregarEventosDeAsignaciones(
+                asignaciones,
+                pendientes,
+                nuevas.computeIfAbsent(activoId, clave -> new ArrayList<>())
+            ));
+        }
 
-            if ("Dado de baja".equalsIgnoreCase(estadoNuevo)) {
-                dto.setTipoEvento("BAJA");
-                dto.setTitulo("Baja del activo");
-                dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
-                dto.setPrioridadOrden(70);
-                eventos.add(dto);
-                continue;
+        List<FilaTimeline> filas = new ArrayList<>();
+        nuevas.forEach((activoId, eventos) -> {
+            eventos.sort(ORDEN_CRONOLOGICO);
+            int orden = ultimoOrden.getOrDefault(activoId, -1);
+            for (FilaTimeline fila : eventos) {
+                fila.activoId = activoId;
+                fila.orden = ++orden;
+                filas.add(fila);
             }
+        });
+        if (filas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO activo_timeline " +
+            "(activo_id, orden, fecha, tipo_evento, titulo, descripcion, estado_anterior, estado_nuevo, " +
+            "usuario_anterior, usuario_nuevo, usuario_ejecutor, motivo, observacion, solicitud_id, prioridad_orden, " +
+            "fuente, fuente_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            filas,
+            filas.size(),
+            (ps, fila) -> {
+                EventoHistorialActivoDTO evento = fila.evento;
+                ps.setLong(1, fila.activoId);
+                ps.setInt(2, fila.orden);
+                ps.setTimestamp(3, evento.getFecha() != null ? Timestamp.valueOf(evento.getFecha()) : null);
+                ps.setString(4, evento.getTipoEvento());
+                ps.setString(5, evento.getTitulo());
+                ps.setString(6, evento.getDescripcion());
+                ps.setString(7, evento.getEstadoAnterior());
+                ps.setString(8, evento.getEstadoNuevo());
+                ps.setString(9, evento.getUsuarioAnterior());
+                ps.setString(10, evento.getUsuarioNuevo());
+                ps.setString(11, evento.getUsuarioEjecutor());
+                ps.setString(12, evento.getMotivo());
+                ps.setString(13, evento.getObservacion());
+                ps.setObject(14, evento.getSolicitudId(), Types.INTEGER);
+                ps.setObject(15, evento.getPrioridadOrden(), Types.INTEGER);
+                ps.setString(16, fila.fuente);
+                ps.setLong(17, fila.fuenteId);
+            }
+        );
+    }
 
-            dto.setTipoEvento("CAMBIO_ESTADO");
-            dto.setTitulo("Cambio de estado");
-            dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
-            dto.setPrioridadOrden(40);
-            eventos.add(dto);
+    /** Activos a completar cuando confirme la transaccion en curso */
+    private final class TimelinePendiente implements TransactionSynchronization {
+        private final Set<Long> activoIds = new HashSet<>();
+
+        @Override
+        public void afterCommit() {
+            agregarEventosNuevos(activoIds);
         }
     }
 
-    private void agregarEventosDeAsignaciones(Activo activo, List<EventoHistorialActivoDTO> eventos) {
-        List<UsuarioAsignacion> asignaciones = usuarioAsignacionRepository.findByActivoIdWithUserDetails(activo.getActivoId());
-        Map<Long, List<UsuarioAsignacion>> reasignacionesPorSolicitud = new HashMap<>();
-        Set<Long> idsOrigenReasignacion = new HashSet<>();
-        Set<Long> idsNuevaReasignacion = new HashSet<>();
+    /** Evento a agregar y fila que lo origino (cambio de estado o asignacion) */
+    private static final class FilaTimeline {
+        private final String fuente;
+        private final Long fuenteId;
+        private final EventoHistorialActivoDTO evento;
+        private Long activoId;
+        private int orden;
+
+        private FilaTimeline(String fuente, Long fuenteId, EventoHistorialActivoDTO evento) {
+            this.fuente = fuente;
+            this.fuenteId = fuenteId;
+            this.evento = evento;
+        }
+    }
 
-        for (UsuarioAsignacion asignacion : asignaciones) {
-            if (asignacion == null || asignacion.getAsignacionId() == null) {
-                continue;
+    /** Eventos que le faltan en el timeline a una asignacion cargada para el agregado */
+    private static final class PendienteAsignacion {
+        private final boolean faltaAsignacion;
+        private final boolean faltaDevolucion;
+
+        private PendienteAsignacion(boolean faltaAsignacion, boolean faltaDevolucion) {
+            this.faltaAsignacion = faltaAsignacion;
+            this.faltaDevolucion = faltaDevolucion;
+        }
+    }
+
+    /** Ids del catalogo con ese nombre de estado; -1 si no esta, para que el IN siga siendo valido */
+    private List<Long> idsEstado(String nombre) {
+        List<Long> ids = catalogoCacheService.obtenerEstadosActivo().stream()
+            .filter(estado -> nombre.equalsIgnoreCase(estado.getEstadoNom()))
+            .map(EstadoActivo::getEstadoId)
+            .toList();
+        return ids.isEmpty() ? List.of(-1L) : ids;
+    }
+
+    private List<Long> idsTiposReasignacion() {
+        List<Long> ids = catalogoCacheService.obtenerTiposSolicitud().stream()
+            .filter(tipo -> esTipoSolicitud(tipo.getSoliTipoNom(), "reasignacion"))
+            .map(SoliTipos::getSoliTipoId)
+            .toList();
+        return ids.isEmpty() ? List.of(-1L) : ids;
+    }
+
+    // ==================== API POR CURSOR ====================
+
+    /**
+     * Historial crudo del activo para /api/activos/{id}/historial, del mas reciente al mas antiguo.
+     * Mezcla (k-way merge) tres fuentes ordenadas por (fecha DESC, fuente, id DESC): cambios de estado,
+     * asignaciones y devoluciones. Cada fuente se lee por keyset en tramos de a lo sumo
+     * {@code limite + 1} filas, por lo que la memoria no depende del largo del historial.
+     * El total solo se cuenta en la primera pagina (sin cursor); las siguientes devuelven
+     * {@link #TOTAL_NO_CALCULADO} para que su costo tampoco dependa del largo del historial.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<EventoHistorialActivoDTO> obtenerHistorialPorCursor(Long activoId, String cursor, int limite) {
+        PaginacionService.Cursor desde = paginacionService.decodificarCursor(cursor);
+        boolean primeraPagina = desde == PaginacionService.PRIMERA_PAGINA;
+        int tramo = limite + 1;
+
+        PriorityQueue<FuenteHistorial> cola = new PriorityQueue<>(
+            Comparator.comparing((FuenteHistorial fuente) -> fuente.actual.fecha, Comparator.reverseOrder())
+                .thenComparingInt(fuente -> fuente.actual.fuente)
+                .thenComparing(fuente -> fuente.actual.id, Comparator.reverseOrder())
+        );
+        for (FuenteHistorial fuente : List.of(
+                new FuenteHistorial(FUENTE_ESTADOS, activoId, desde, tramo),
+                new FuenteHistorial(FUENTE_ASIGNACIONES, activoId, desde, tramo),
+                new FuenteHistorial(FUENTE_DEVOLUCIONES, activoId, desde, tramo))) {
+            if (fuente.avanzar()) {
+                cola.add(fuente);
             }
+        }
 
-            Solicitudes solicitud = asignacion.getSolicitud();
-            if (solicitud == null || solicitud.getSoliId() == null
-                    || !esTipoSolicitud(solicitud.getTipoSolicitud(), "reasignacion")) {
-                continue;
+        List<ItemHistorial> items = new ArrayList<>();
+        while (items.size() < tramo && !cola.isEmpty()) {
+            FuenteHistorial fuente = cola.poll();
+            items.add(fuente.actual);
+            if (fuente.avanzar()) {
+                cola.add(fuente);
             }
+        }
 
-            reasignacionesPorSolicitud.computeIfAbsent(solicitud.getSoliId(), key -> new ArrayList<>())
-                .add(asignacion);
+        boolean hayMas = items.size() > limite;
+        List<ItemHistorial> contenido = hayMas ? items.subList(0, limite) : items;
+        String siguiente = null;
+        if (hayMas) {
+            ItemHistorial ultimo = contenido.get(contenido.size() - 1);
+            siguiente = paginacionService.codificarCursor(ultimo.fecha, ultimo.fuente, ultimo.id);
         }
+        return new PaginaCursorDTO<>(
+            contenido.stream().map(item -> item.evento).toList(),
+            siguiente,
+            hayMas,
+            primeraPagina ? contarEventosCrudos(activoId) : TOTAL_NO_CALCULADO
+        );
+    }
 
-        List<Map.Entry<Long, List<UsuarioAsignacion>>> grupos = new ArrayList<>(reasignacionesPorSolicitud.entrySet());
-        grupos.sort(Comparator.comparing(
-            entry -> fechaGrupoReasignacion(entry.getValue()),
-            Comparator.nullsLast(Comparator.naturalOrder())
-        ));
+    private long contarEventosCrudos(Long activoId) {
+        Long total = jdbcTemplate.queryForObject(
+            "SELECT (SELECT COUNT(*) FROM activo_historial_estados WHERE activo_id = ?) " +
+            "     + (SELECT COUNT(*) FROM usuario_asignaciones WHERE activo_id = ?) " +
+            "     + (SELECT COUNT(*) FROM usuario_asignaciones WHERE activo_id = ? AND devolucion_fecha IS NOT NULL)",
+            Long.class,
+            activoId,
+            activoId,
+            activoId
+        );
+        return total != null ? total : 0;
+    }
 
-        for (Map.Entry<Long, List<UsuarioAsignacion>> entrada : grupos) {
-            List<UsuarioAsignacion> grupo = entrada.getValue();
-            if (grupo == null || grupo.size() < 2) {
-                continue;
-            }
+    /**
+     * Condicion "posterior al cursor" para una fuente. A igual fecha el orden es por fuente
+     * ascendente, asi que las fuentes mayores incluyen la fecha del cursor y las menores no.
+     */
+    private String condicionKeyset(int fuente, PaginacionService.Cursor desde, String clave, String id, List<Object> args) {
+        args.add(Timestamp.valueOf(desde.getFecha()));
+        if (fuente == desde.getFuente()) {
+            args.add(desde.getId());
+            return "(" + clave + ", " + id + ") < (?, ?)";
+        }
+        return fuente > desde.getFuente() ? clave + " <= ?" : clave + " < ?";
+    }
 
-            grupo.sort(Comparator.comparing(
-                this::fechaEventoAsignacion,
-                Comparator.nullsLast(Comparator.naturalOrder())
-            ));
+    private List<ItemHistorial> leerFuente(int fuente, Long activoId, PaginacionService.Cursor desde, int tramo) {
+        List<Object> args = new ArrayList<>();
+        args.add(activoId);
+        String sql;
+        switch (fuente) {
+            case FUENTE_ESTADOS:
+                sql = "SELECT h.historial_id AS id, h.fecha_cambio AS fecha, h.estado_anterior_id, h.estado_nuevo_id, " +
+                      "h.motivo, h.observaciones, u.usu_login, p.per_nom_1, p.per_ape_1 " +
+                      "FROM activo_historial_estados h " +
+                      "LEFT JOIN usuario u ON u.usu_id = h.usuario_id " +
+                      "LEFT JOIN persona p ON p.per_id = u.per_id " +
+                      "WHERE h.activo_id = ? " +
+                      "AND " + condicionKeyset(fuente, desde, "h.fecha_cambio", "h.historial_id", args) + " " +
+                      "ORDER BY h.fecha_cambio DESC, h.historial_id DESC " +
+                      "LIMIT ?";
+                break;
+            case FUENTE_ASIGNACIONES:
+                sql = "SELECT ua.asignacion_id AS id, " + CLAVE_ASIGNACION + " AS fecha, " +
+                      "ua.asignacion_motivo, ua.asignacion_observacion, ua.solicitud_id, " +
+                      "u.usu_login, p.per_nom_1, p.per_ape_1, " +
+                      "ue.usu_login AS ejecutor_login, pe.per_nom_1 AS ejecutor_nom, pe.per_ape_1 AS ejecutor_ape " +
+                      "FROM usuario_asignaciones ua " +
+                      "LEFT JOIN usuario u ON u.usu_id = ua.usu_id " +
+                      "LEFT JOIN persona p ON p.per_id = u.per_id " +
+                      "LEFT JOIN usuario ue ON ue.usu_id = ua.usu_ejecutor_id " +
+                      "LEFT JOIN persona pe ON pe.per_id = ue.per_id " +
+                      "WHERE ua.activo_id = ? " +
+                      "AND " + condicionKeyset(fuente, desde, CLAVE_ASIGNACION, "ua.asignacion_id", args) + " " +
+                      "ORDER BY " + CLAVE_ASIGNACION + " DESC, ua.asignacion_id DESC " +
+                      "LIMIT ?";
+                break;
+            default:
+                sql = "SELECT ua.asignacion_id AS id, " + CLAVE_DEVOLUCION + " AS fecha, " +
+                      "ua.asignacion_motivo, ua.asignacion_observacion, ua.solicitud_id, " +
+                      "u.usu_login, p.per_nom_1, p.per_ape_1, " +
+                      "ue.usu_login AS ejecutor_login, pe.per_nom_1 AS ejecutor_nom, pe.per_ape_1 AS ejecutor_ape " +
+                      "FROM usuario_asignaciones ua " +
+                      "LEFT JOIN usuario u ON u.usu_id = ua.usu_id " +
+                      "LEFT JOIN persona p ON p.per_id = u.per_id " +
+                      "LEFT JOIN usuario ue ON ue.usu_id = ua.usu_ejecutor_id " +
+                      "LEFT JOIN persona pe ON pe.per_id = ue.per_id " +
+                      "WHERE ua.activo_id = ? AND ua.devolucion_fecha IS NOT NULL " +
+                      "AND " + condicionKeyset(fuente, desde, CLAVE_DEVOLUCION, "ua.asignacion_id", args) + " " +
+                      "ORDER BY " + CLAVE_DEVOLUCION + " DESC, ua.asignacion_id DESC " +
+                      "LIMIT ?";
+                break;
+        }
+        args.add(tramo);
 
-            UsuarioAsignacion anterior = grupo.stream()
-                .filter(item -> !Boolean.TRUE.equals(item.getAsignacionActiva()))
-                .min(Comparator.comparing(this::fechaEventoAsignacion, Comparator.nullsLast(Comparator.naturalOrder())))
-                .orElse(null);
-            UsuarioAsignacion nueva = grupo.stream()
-                .filter(item -> Boolean.TRUE.equals(item.getAsignacionActiva()))
-                .max(Comparator.comparing(this::fechaEventoAsignacion, Comparator.nullsLast(Comparator.naturalOrder())))
-                .orElse(null);
-
-            if (anterior == null || nueva == null) {
-                anterior = grupo.get(0);
-                nueva = grupo.get(grupo.size() - 1);
-                if (anterior.getAsignacionId().equals(nueva.getAsignacionId())) {
-                    continue;
+        return jdbcTemplate.query(sql, (rs, i) -> {
+            ItemHistorial item = new ItemHistorial();
+            item.fuente = fuente;
+            item.id = rs.getLong("id");
+            item.fecha = rs.getTimestamp("fecha").toLocalDateTime();
+
+            EventoHistorialActivoDTO dto = new EventoHistorialActivoDTO();
+            dto.setFecha(item.fecha);
+            String usuario = nombreUsuario(rs.getString("usu_login"), rs.getString("per_nom_1"), rs.getString("per_ape_1"));
+            if (fuente == FUENTE_ESTADOS) {
+                String anterior = nombreEstado(rs.getObject("estado_anterior_id", Long.class));
+                String nuevo = nombreEstado(rs.getObject("estado_nuevo_id", Long.class));
+                boolean alta = rs.getObject("estado_anterior_id") == null;
+                dto.setTipoEvento(alta ? "ALTA" : "CAMBIO_ESTADO");
+                dto.setTitulo(alta ? "Alta del activo" : "Cambio de estado");
+                dto.setDescripcion(construirDescripcionEstado(anterior, nuevo));
+                dto.setEstadoAnterior(anterior);
+                dto.setEstadoNuevo(nuevo);
+                dto.setUsuarioEjecutor(usuario);
+                dto.setMotivo(rs.getString("motivo"));
+                dto.setObservacion(rs.getString("observaciones"));
+            } else {
+                boolean asignacion = fuente == FUENTE_ASIGNACIONES;
+                dto.setTipoEvento(asignacion ? "ASIGNACION" : "DEVOLUCION");
+                dto.setTitulo(asignacion ? "Asignacion" : "Devolucion");
+                dto.setDescripcion(asignacion ? "Activo asignado a " + usuario : "Activo devuelto por " + usuario);
+                if (asignacion) {
+                    dto.setUsuarioNuevo(usuario);
+                } else {
+                    dto.setUsuarioAnterior(usuario);
                 }
+                dto.setUsuarioEjecutor(nombreUsuario(
+                    rs.getString("ejecutor_login"), rs.getString("ejecutor_nom"), rs.getString("ejecutor_ape")
+                ));
+                dto.setMotivo(rs.getString("asignacion_motivo"));
+                dto.setObservacion(rs.getString("asignacion_observacion"));
+                dto.setSolicitudId(rs.getObject("solicitud_id", Long.class));
             }
+            item.evento = dto;
+            return item;
+        }, args.toArray());
+    }
 
-            eventos.add(construirEventoReasignacion(anterior, nueva));
-            if (anterior.getAsignacionId() != null) {
-                idsOrigenReasignacion.add(anterior.getAsignacionId());
-            }
-            if (nueva.getAsignacionId() != null) {
-                idsNuevaReasignacion.add(nueva.getAsignacionId());
+    private String nombreEstado(Long estadoId) {
+        return catalogoCacheService.buscarEstadoActivo(estadoId)
+            .map(EstadoActivo::getEstadoNom)
+            .orElse(null);
+    }
+
+    private String nombreUsuario(String login, String nombre, String apellido) {
+        String completo = ((nombre != null ? nombre.trim() : "") + " " + (apellido != null ? apellido.trim() : "")).trim();
+        if (!completo.isEmpty()) {
+            return completo;
+        }
+        return login != null ? login : "No registrado";
+    }
+
+    /** Cursor de una fuente: tramo actual en memoria y keyset para pedir el siguiente */
+    private final class FuenteHistorial {
+        private final int fuente;
+        private final Long activoId;
+        private final int tramo;
+        private PaginacionService.Cursor desde;
+        private List<ItemHistorial> buffer = List.of();
+        private int posicion;
+        private boolean agotada;
+        private ItemHistorial actual;
+
+        private FuenteHistorial(int fuente, Long activoId, PaginacionService.Cursor desde, int tramo) {
+            this.fuente = fuente;
+            this.activoId = activoId;
+            this.desde = desde;
+            this.tramo = tramo;
+        }
+
+        private boolean avanzar() {
+            if (posicion >= buffer.size()) {
+                if (agotada) {
+                    return false;
+                }
+                buffer = leerFuente(fuente, activoId, desde, tramo);
+                posicion = 0;
+                agotada = buffer.size() < tramo;
+                if (buffer.isEmpty()) {
+                    return false;
+                }
+                ItemHistorial ultimo = buffer.get(buffer.size() - 1);
+                desde = new PaginacionService.Cursor(ultimo.fecha, fuente, ultimo.id);
             }
+            actual = buffer.get(posicion++);
+            return true;
+        }
+    }
+
+    private static final class ItemHistorial {
+        private int fuente;
+        private Long id;
+        private LocalDateTime fecha;
+        private EventoHistorialActivoDTO evento;
+    }
+
+    // ==================== CALCULO ====================
+
+    /** Evento de un cambio de estado, o null si no se muestra (el paso a "Asignado" lo cubre la asignacion) */
+    private EventoHistorialActivoDTO construirEventoEstado(ResultSet rs) throws SQLException {
+        Long estadoAnteriorId = rs.getObject("estado_anterior_id", Long.class);
+        String estadoNuevo = nombreEstado(rs.getObject("estado_nuevo_id", Long.class));
+        String estadoAnterior = estadoAnteriorId != null ? nombreEstado(estadoAnteriorId) : null;
+
+        Timestamp fecha = rs.getTimestamp("fecha_cambio");
+        EventoHistorialActivoDTO dto = new EventoHistorialActivoDTO();
+        dto.setFecha(fecha != null ? fecha.toLocalDateTime() : null);
+        dto.setEstadoAnterior(estadoAnterior);
+        dto.setEstadoNuevo(estadoNuevo);
+        dto.setUsuarioEjecutor(rs.getObject("per_id") != null
+            ? rs.getString("per_nom_1") + " " + rs.getString("per_ape_1")
+            : "Sin usuario");
+        dto.setMotivo(rs.getString("motivo"));
+        dto.setObservacion(rs.getString("observaciones"));
+        dto.setPrioridadOrden(10);
+
+        if (estadoAnteriorId == null) {
+            dto.setTipoEvento("ALTA");
+            dto.setTitulo("Alta del activo");
+            dto.setDescripcion("Ingreso inicial al inventario.");
+            dto.setPrioridadOrden(90);
+            return dto;
+        }
+
+        if ("Asignado".equalsIgnoreCase(estadoNuevo)) {
+            return null;
         }
 
+        if ("En mantenimiento".equalsIgnoreCase(estadoNuevo)) {
+            dto.setTipoEvento("MANTENIMIENTO_INICIO");
+            dto.setTitulo("Inicio de mantenimiento");
+            dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
+            dto.setPrioridadOrden(80);
+            return dto;
+        }
+
+        if ("Disponible".equalsIgnoreCase(estadoAnterior)
+                && "Disponible".equalsIgnoreCase(estadoNuevo)) {
+            return null;
+        }
+
+        if ("En mantenimiento".equalsIgnoreCase(estadoAnterior)
+                && "Disponible".equalsIgnoreCase(estadoNuevo)) {
+            dto.setTipoEvento("MANTENIMIENTO_FIN");
+            dto.setTitulo("Fin de mantenimiento");
+            dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
+            dto.setPrioridadOrden(75);
+            return dto;
+        }
+
+        if ("Dado de baja".equalsIgnoreCase(estadoNuevo)) {
+            dto.setTipoEvento("BAJA");
+            dto.setTitulo("Baja del activo");
+            dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
+            dto.setPrioridadOrden(70);
+            return dto;
+        }
+
+        dto.setTipoEvento("CAMBIO_ESTADO");
+        dto.setTitulo("Cambio de estado");
+        dto.setDescripcion(construirDescripcionEstado(estadoAnterior, estadoNuevo));
+        dto.setPrioridadOrden(40);
+        return dto;
+    }
+
+    /**
+     * Eventos de asignacion de un activo que faltan en el timeline. Las asignaciones de una misma
+     * solicitud de reasignacion se leen en orden de alta: la nueva se muestra como reasignacion desde
+     * la anterior (cargada aunque no le falte nada) y la anterior no genera devolucion.
+     */
+    private void agregarEventosDeAsignaciones(List<UsuarioAsignacion> asignaciones,
+                                              Map<Long, PendienteAsignacion> pendientes, List<FilaTimeline> eventos) {
+        Map<Long, List<UsuarioAsignacion>> reasignacionesPorSolicitud = new HashMap<>();
         for (UsuarioAsignacion asignacion : asignaciones) {
-            if (asignacion == null || asignacion.getAsignacionId() == null) {
-                continue;
+            Solicitudes solicitud = asignacion.getSolicitud();
+            if (solicitud != null && solicitud.getSoliId() != null
+                    && esTipoSolicitud(solicitud.getTipoSolicitud(), "reasignacion")) {
+                reasignacionesPorSolicitud.computeIfAbsent(solicitud.getSoliId(), key -> new ArrayList<>())
+                    .add(asignacion);
             }
+        }
 
+        for (UsuarioAsignacion asignacion : asignaciones) {
             Long asignacionId = asignacion.getAsignacionId();
-            if (idsNuevaReasignacion.contains(asignacionId)) {
+            PendienteAsignacion pendiente = pendientes.get(asignacionId);
+            if (pendiente == null) {
                 continue;
             }
 
-            eventos.add(construirEventoAsignacion(asignacion));
-
-            if (!idsOrigenReasignacion.contains(asignacionId) && asignacion.getDevolucionFecha() != null) {
-                eventos.add(construirEventoDevolucion(asignacion));
+            if (pendiente.faltaAsignacion) {
+                List<UsuarioAsignacion> grupo = asignacion.getSolicitud() != null
+                    ? reasignacionesPorSolicitud.getOrDefault(asignacion.getSolicitud().getSoliId(), List.of())
+                    : List.of();
+                UsuarioAsignacion anterior = null;
+                for (UsuarioAsignacion otra : grupo) {
+                    if (otra.getAsignacionId() < asignacionId) {
+                        anterior = otra;
+                    }
+                }
+                eventos.add(new FilaTimeline(TIMELINE_ASIGNACION, asignacionId, anterior != null
+                    ? construirEventoReasignacion(anterior, asignacion)
+                    : construirEventoAsignacion(asignacion)));
+            }
+            if (pendiente.faltaDevolucion) {
+                eventos.add(new FilaTimeline(TIMELINE_DEVOLUCION, asignacionId, construirEventoDevolucion(asignacion)));
             }
         }
     }
@@ -281,18 +868,6 @@ public class HistorialActivoService {
         return fecha != null ? fecha.atTime(LocalTime.NOON) : LocalDateTime.now();
     }
 
-    private LocalDateTime fechaEventoAsignacion(UsuarioAsignacion asignacion) {
-        return obtenerFechaEventoAsignacion(asignacion);
-    }
-
-    private LocalDateTime fechaGrupoReasignacion(List<UsuarioAsignacion> grupo) {
-        return grupo == null ? null : grupo.stream()
-            .map(this::fechaEventoAsignacion)
-            .filter(fecha -> fecha != null)
-            .min(Comparator.naturalOrder())
-            .orElse(null);
-    }
-
     private LocalDateTime fechaEventoDevolucion(UsuarioAsignacion asignacion) {
         if (asignacion.getUpdatedAt() != null) {
             return asignacion.getUpdatedAt();
@@ -300,7 +875,7 @@ public class HistorialActivoService {
         if (asignacion.getDevolucionFecha() != null) {
             return asignacion.getDevolucionFecha().atTime(LocalTime.NOON);
         }
-        return fechaEventoAsignacion(asignacion);
+        return obtenerFechaEventoAsignacion(asignacion);
     }
 
     private Long obtenerSolicitudId(UsuarioAsignacion asignacion) {
@@ -309,7 +884,7 @@ public class HistorialActivoService {
             : null;
     }
 
-    private String nombreUsuario(com.sistema.iTsystem.model.Usuario usuario) {
+    private String nombreUsuario(Usuario usuario) {
         if (usuario == null) {
             return "No registrado";
         }
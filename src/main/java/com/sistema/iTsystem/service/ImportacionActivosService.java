@@ -0,0 +1,609 @@
+package com.sistema.iTsystem.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sistema.iTsystem.dto.activos.ErrorImportacionDTO;
+import com.sistema.iTsystem.dto.activos.ResultadoImportacionDTO;
+import com.sistema.iTsystem.model.CategoriasActivo;
+import com.sistema.iTsystem.model.EstadoActivo;
+import com.sistema.iTsystem.model.Marca;
+import com.sistema.iTsystem.model.Modelo;
+import com.sistema.iTsystem.model.Proveedores;
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.repository.ProveedoresRepository;
+
+/**
+ * Importacion masiva de activos (con su hardware) desde CSV.
+ * El archivo se lee registro a registro (un campo entre comillas puede ocupar varias lineas)
+ * y se procesa por tramos: en memoria solo hay un tramo.
+ * Categoria, marca, modelo y proveedor se resuelven por nombre contra mapas armados al inicio;
+ * la unicidad de codigo y numero de serie se verifica con una consulta por tramo, y cada tramo
+ * inserta activo, hardware_info y el historial inicial con JDBC batch en su propia transaccion.
+ * Si un tramo choca con un codigo o serie cargado en paralelo, se vuelven a marcar los duplicados
+ * y se reintenta sin esas filas; si vuelve a fallar, las filas se insertan de a una. Cualquier otro
+ * error al insertar se informa con el tramo completo como fallido y la importacion continua.
+ */
+@Service
+public class ImportacionActivosService {
+
+    private static final Pattern CODIGO_PATTERN = Pattern.compile("^[A-Z0-9-]{1,10}$");
+    private static final Pattern SERIAL_PATTERN = Pattern.compile("^[A-Z0-9_-]{1,100}$");
+
+    private static final int MAX_ERRORES_INFORMADOS = 1000;
+    /** Tope de un registro CSV: unas comillas sin cerrar no deben leer el resto del archivo en memoria */
+    static final int MAX_CARACTERES_REGISTRO = 64 * 1024;
+    private static final String MOTIVO_IMPORTACION = "Importacion de activos";
+
+    private static final String COL_CODIGO = "codigo";
+    private static final String COL_NOMBRE = "nombre";
+    private static final String COL_DESCRIPCION = "descripcion";
+    private static final String COL_CATEGORIA = "categoria";
+    private static final String COL_MARCA = "marca";
+    private static final String COL_MODELO = "modelo";
+    private static final String COL_SERIE = "serie";
+    private static final String COL_PROVEEDOR = "proveedor";
+    private static final String COL_FECHA_INGRESO = "fecha_ingreso";
+
+    public static class ImportacionInvalidaException extends RuntimeException {
+        public ImportacionInvalidaException(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private ProveedoresRepository proveedoresRepository;
+
+    @Autowired
+    private DashboardContadoresService dashboardContadoresService;
+
+    @Autowired
+    private PaginacionService paginacionService;
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private HardwareEstadisticasService hardwareEstadisticasService;
+
+    @Autowired
+    private HistorialActivoService historialActivoService;
+
+    @Value("${itsystem.importacion.lote:1000}")
+    private int tamanoTramo;
+
+    // ==================== IMPORTACION ====================
+
+    /**
+     * Columnas (encabezado obligatorio, sin importar el orden): codigo, nombre, categoria y,
+     * opcionales, descripcion, marca, modelo, serie, proveedor, fecha_ingreso (aaaa-mm-dd).
+     * Marca, modelo y serie van juntos: o se informan los tres o ninguno.
+     */
+    public ResultadoImportacionDTO importarCsv(InputStream entrada, Usuario usuarioOperador) {
+        if (usuarioOperador == null || usuarioOperador.getUsuId() == null) {
+            throw new RuntimeException("Usuario no encontrado");
+        }
+        long inicio = System.currentTimeMillis();
+        Referencias referencias = cargarReferencias();
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            LectorRegistros registros = new LectorRegistros(lector);
+            String encabezado = registros.siguiente();
+            if (encabezado == null || encabezado.isBlank()) {
+                throw new ImportacionInvalidaException("El archivo esta vacio.");
+            }
+            encabezado = encabezado.replace("\uFEFF", "");
+            char separador = encabezado.indexOf(';') >= 0 && encabezado.indexOf(',') < 0 ? ';' : ',';
+            Map<String, Integer> columnas = leerEncabezado(encabezado, separador);
+
+            List<FilaImportacion> tramo = new ArrayList<>(tamanoTramo);
+            String registro;
+            while ((registro = registros.siguiente()) != null) {
+                if (registro.isBlank()) {
+                    continue;
+                }
+                tramo.add(registros.comillasSinCerrar()
+                    ? filaInvalida(registros.lineaInicial(), "Comillas sin cerrar al final del archivo.")
+                    : interpretar(registros.lineaInicial(), dividir(registro, separador), columnas, referencias));
+                if (tramo.size() >= tamanoTramo) {
+                    procesarTramo(tramo, referencias, usuarioOperador, resultado);
+                    tramo.clear();
+                }
+            }
+            if (!tramo.isEmpty()) {
+                procesarTramo(tramo, referencias, usuarioOperador, resultado);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo", e);
+        } finally {
+            if (resultado.getImportados() > 0) {
+                // Las altas no publican un evento por fila: se recalculan los agregados una vez
+                dashboardContadoresService.reconciliar();
+                paginacionService.invalidar(PaginacionService.GRUPO_ACTIVOS);
+                busquedaService.limpiarCache();
+                hardwareEstadisticasService.invalidar();
+            }
+        }
+
+        long duracion = Math.max(1, System.currentTimeMillis() - inicio);
+        resultado.setDuracionMs(duracion);
+        resultado.setFilasPorSegundo(resultado.getTotal() * 1000.0 / duracion);
+        return resultado;
+    }
+
+    private Map<String, Integer> leerEncabezado(String encabezado, char separador) {
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = dividir(encabezado, separador);
+        for (int i = 0; i < nombres.size(); i++) {
+            String nombre = nombres.get(i).trim().toLowerCase(Locale.ROOT);
+            if ("numero_serie".equals(nombre) || "hw_serial_num".equals(nombre)) {
+                nombre = COL_SERIE;
+            } else if ("activo_codigo".equals(nombre)) {
+                nombre = COL_CODIGO;
+            }
+            columnas.putIfAbsent(nombre, i);
+        }
+        for (String obligatoria : List.of(COL_CODIGO, COL_NOMBRE, COL_CATEGORIA)) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new ImportacionInvalidaException("Falta la columna obligatoria '" + obligatoria + "'.");
+            }
+        }
+        return columnas;
+    }
+
+    private FilaImportacion filaInvalida(long numeroLinea, String error) {
+        FilaImportacion fila = new FilaImportacion();
+        fila.linea = numeroLinea;
+        fila.error = error;
+        return fila;
+    }
+
+    /** Valida lo que no requiere consultar la base; el error queda en la fila */
+    private FilaImportacion interpretar(long numeroLinea, List<String> campos, Map<String, Integer> columnas,
+                                        Referencias referencias) {
+        FilaImportacion fila = new FilaImportacion();
+        fila.linea = numeroLinea;
+        String codigo = campo(campos, columnas, COL_CODIGO);
+        fila.codigo = codigo != null ? codigo.toUpperCase() : null;
+        fila.nombre = campo(campos, columnas, COL_NOMBRE);
+        fila.descripcion = campo(campos, columnas, COL_DESCRIPCION);
+
+        if (fila.codigo == null) {
+            fila.error = "El código del activo es obligatorio.";
+            return fila;
+        }
+        if (!CODIGO_PATTERN.matcher(fila.codigo).matches()) {
+            fila.error = "El código admite hasta 10 caracteres, sin espacios. Use letras, números o guion.";
+            return fila;
+        }
+        if (fila.nombre == null) {
+            fila.error = "El nombre del activo es obligatorio.";
+            return fila;
+        }
+        if (fila.nombre.length() > 150) {
+            fila.error = "El nombre admite hasta 150 caracteres.";
+            return fila;
+        }
+
+        CategoriasActivo categoria = referencias.categorias.get(clave(campo(campos, columnas, COL_CATEGORIA)));
+        if (categoria == null) {
+            fila.error = "Categoría no encontrada.";
+            return fila;
+        }
+        fila.categoriaId = categoria.getCatId();
+
+        String proveedor = campo(campos, columnas, COL_PROVEEDOR);
+        if (proveedor != null) {
+            Proveedores encontrado = referencias.proveedores.get(clave(proveedor));
+            if (encontrado == null) {
+                fila.error = "Proveedor no encontrado.";
+                return fila;
+            }
+            fila.proveedorId = encontrado.getProvId();
+        }
+
+        String fechaIngreso = campo(campos, columnas, COL_FECHA_INGRESO);
+        try {
+            fila.fechaIngreso = fechaIngreso != null ? LocalDate.parse(fechaIngreso).atStartOfDay() : LocalDateTime.now();
+        } catch (DateTimeParseException e) {
+            fila.error = "Fecha de ingreso invalida (use aaaa-mm-dd).";
+            return fila;
+        }
+
+        String marcaNombre = campo(campos, columnas, COL_MARCA);
+        String modeloNombre = campo(campos, columnas, COL_MODELO);
+        String serie = campo(campos, columnas, COL_SERIE);
+        if (marcaNombre == null && modeloNombre == null && serie == null) {
+            return fila;
+        }
+        if (marcaNombre == null || modeloNombre == null || serie == null) {
+            fila.error = "Marca, modelo y número de serie son obligatorios para un activo físico";
+            return fila;
+        }
+        Marca marca = referencias.marcas.get(clave(marcaNombre));
+        if (marca == null) {
+            fila.error = "Marca no encontrada";
+            return fila;
+        }
+        Modelo modelo = referencias.modelos.get(marca.getMarcaId() + "|" + clave(modeloNombre));
+        if (modelo == null) {
+            fila.error = "El modelo seleccionado no pertenece a la marca indicada";
+            return fila;
+        }
+        fila.modeloId = modelo.getModelId();
+        fila.serie = serie.toUpperCase();
+        if (!SERIAL_PATTERN.matcher(fila.serie).matches()) {
+            fila.error = "El número de serie solo admite letras, números, guion medio o bajo.";
+        }
+        return fila;
+    }
+
+    // ==================== TRAMOS ====================
+
+    private void procesarTramo(List<FilaImportacion> tramo, Referencias referencias, Usuario usuarioOperador,
+                               ResultadoImportacionDTO resultado) {
+        marcarDuplicados(tramo);
+        List<FilaImportacion> validas = tramo.stream().filter(fila -> fila.error == null).toList();
+
+        if (!validas.isEmpty()) {
+            try {
+                insertarEnTransaccion(validas, referencias.estadoInicial, usuarioOperador);
+            } catch (DataIntegrityViolationException e) {
+                reintentarSinDuplicados(validas, referencias.estadoInicial, usuarioOperador);
+            } catch (DataAccessException e) {
+                for (FilaImportacion fila : validas) {
+                    fila.error = "No se pudo insertar el tramo: " + e.getMostSpecificCause().getMessage();
+                }
+            }
+        }
+
+        for (FilaImportacion fila : tramo) {
+            resultado.setTotal(resultado.getTotal() + 1);
+            if (fila.error == null) {
+                resultado.setImportados(resultado.getImportados() + 1);
+                continue;
+            }
+            resultado.setFallidos(resultado.getFallidos() + 1);
+            if (resultado.getErrores().size() < MAX_ERRORES_INFORMADOS) {
+                resultado.getErrores().add(new ErrorImportacionDTO(fila.linea, fila.codigo, fila.error));
+            } else {
+                resultado.setErroresOmitidos(resultado.getErroresOmitidos() + 1);
+            }
+        }
+    }
+
+    /**
+     * Otra carga confirmo un codigo o serie del tramo despues de {@link #marcarDuplicados}: se marcan
+     * los que ahora existen y se reintenta con el resto. Si aun asi falla, se inserta fila por fila
+     * para que solo queden como fallidas las que realmente chocan.
+     */
+    private void reintentarSinDuplicados(List<FilaImportacion> filas, EstadoActivo estadoInicial,
+                                         Usuario usuarioOperador) {
+        marcarDuplicados(filas);
+        List<FilaImportacion> restantes = filas.stream().filter(fila -> fila.error == null).toList();
+        if (restantes.isEmpty()) {
+            return;
+        }
+        try {
+            insertarEnTransaccion(restantes, estadoInicial, usuarioOperador);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            // Sigue habiendo un choque que la consulta no ve (por ejemplo, una carga aun sin confirmar)
+        }
+        for (FilaImportacion fila : restantes) {
+            try {
+                insertarEnTransaccion(List.of(fila), estadoInicial, usuarioOperador);
+            } catch (DataAccessException e) {
+                fila.error = "No se pudo insertar la fila: " + e.getMostSpecificCause().getMessage();
+            }
+        }
+    }
+
+    private void insertarEnTransaccion(List<FilaImportacion> filas, EstadoActivo estadoInicial,
+                                       Usuario usuarioOperador) {
+        transactionTemplate.executeWithoutResult(status -> insertar(filas, estadoInicial, usuarioOperador));
+    }
+
+    /** Repetidos dentro del tramo y ya existentes en la base (una consulta por tabla) */
+    private void marcarDuplicados(List<FilaImportacion> tramo) {
+        Set<String> codigos = new HashSet<>();
+        Set<String> series = new HashSet<>();
+        for (FilaImportacion fila : tramo) {
+            if (fila.error != null) {
+                continue;
+            }
+            if (!codigos.add(fila.codigo)) {
+                fila.error = "El código aparece repetido en el archivo.";
+            } else if (fila.serie != null && !series.add(fila.serie)) {
+                fila.error = "El número de serie aparece repetido en el archivo.";
+            }
+        }
+
+        Set<String> codigosExistentes = codigos.isEmpty() ? Set.of() : new HashSet<>(namedJdbcTemplate.queryForList(
+            "SELECT activo_codigo FROM activo WHERE activo_codigo IN (:codigos)",
+            Map.of("codigos", codigos),
+            String.class
+        ));
+        Set<String> seriesExistentes = series.isEmpty() ? Set.of() : new HashSet<>(namedJdbcTemplate.queryForList(
+            "SELECT hw_serial_num FROM hardware_info WHERE hw_serial_num IN (:series)",
+            Map.of("series", series),
+            String.class
+        ));
+
+        for (FilaImportacion fila : tramo) {
+            if (fila.error != null) {
+                continue;
+            }
+            if (codigosExistentes.contains(fila.codigo)) {
+                fila.error = "Ya existe un activo con ese código.";
+            } else if (fila.serie != null && seriesExistentes.contains(fila.serie)) {
+                fila.error = "Ya existe un activo con ese número de serie.";
+            }
+        }
+    }
+
+    private void insertar(List<FilaImportacion> filas, EstadoActivo estadoInicial, Usuario usuarioOperador) {
+        String sql = "INSERT INTO activo " +
+                     "(activo_codigo, prov_id, cat_id, estado_id, activo_nom, activo_descri, " +
+                     "activo_fecha_ingreso, activo_activo) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE)";
+
+        KeyHolder claves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            conexion -> conexion.prepareStatement(sql, new String[] {"activo_id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    FilaImportacion fila = filas.get(i);
+                    ps.setString(1, fila.codigo);
+                    ps.setObject(2, fila.proveedorId, Types.INTEGER);
+                    ps.setLong(3, fila.categoriaId);
+                    ps.setLong(4, estadoInicial.getEstadoId());
+                    ps.setString(5, fila.nombre);
+                    ps.setString(6, fila.descripcion);
+                    ps.setTimestamp(7, Timestamp.valueOf(fila.fechaIngreso));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return filas.size();
+                }
+            },
+            claves
+        );
+
+        List<Map<String, Object>> generadas = claves.getKeyList();
+        for (int i = 0; i < filas.size(); i++) {
+            filas.get(i).activoId = ((Number) generadas.get(i).get("activo_id")).longValue();
+        }
+
+        List<FilaImportacion> conHardware = filas.stream().filter(fila -> fila.serie != null).toList();
+        if (!conHardware.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO hardware_info (activo_id, model_id, hw_serial_num) VALUES (?, ?, ?)",
+                conHardware,
+                conHardware.size(),
+                (ps, fila) -> {
+                    ps.setLong(1, fila.activoId);
+                    ps.setLong(2, fila.modeloId);
+                    ps.setString(3, fila.serie);
+                }
+            );
+        }
+
+        Timestamp fechaCambio = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO activo_historial_estados " +
+            "(activo_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "VALUES (?, NULL, ?, ?, ?, ?, ?)",
+            filas,
+            filas.size(),
+            (ps, fila) -> {
+                ps.setLong(1, fila.activoId);
+                ps.setLong(2, estadoInicial.getEstadoId());
+                ps.setLong(3, usuarioOperador.getUsuId());
+                ps.setTimestamp(4, fechaCambio);
+                ps.setString(5, MOTIVO_IMPORTACION);
+                ps.setString(6, fila.descripcion);
+            }
+        );
+        historialActivoService.programarTimeline(filas.stream().map(fila -> fila.activoId).toList());
+    }
+
+    // ==================== INTERNOS ====================
+
+    private Referencias cargarReferencias() {
+        Referencias referencias = new Referencias();
+        for (CategoriasActivo categoria : catalogoCacheService.obtenerCategoriasActivas()) {
+            referencias.categorias.putIfAbsent(clave(categoria.getCatNom()), categoria);
+        }
+        for (Marca marca : catalogoCacheService.obtenerMarcas()) {
+            referencias.marcas.putIfAbsent(clave(marca.getMarcaNom()), marca);
+        }
+        for (Modelo modelo : catalogoCacheService.obtenerModelos()) {
+            if (modelo.getMarca() != null) {
+                referencias.modelos.putIfAbsent(modelo.getMarca().getMarcaId() + "|" + clave(modelo.getModelNom()), modelo);
+            }
+        }
+        for (Proveedores proveedor : proveedoresRepository.findAll()) {
+            referencias.proveedores.putIfAbsent(clave(proveedor.getProvNom()), proveedor);
+        }
+        referencias.estadoInicial = catalogoCacheService.buscarEstadoActivo("Disponible")
+            .orElseThrow(() -> new ImportacionInvalidaException("No existe estado inicial 'Disponible'"));
+        return referencias;
+    }
+
+    private String campo(List<String> campos, Map<String, Integer> columnas, String nombre) {
+        Integer indice = columnas.get(nombre);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static String clave(String nombre) {
+        return nombre != null ? nombre.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /** Divide un registro CSV respetando comillas dobles ("" dentro de un campo es una comilla) */
+    static List<String> dividir(String linea, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    /**
+     * Lee registros CSV: mientras un campo entre comillas sigue abierto, la linea siguiente
+     * forma parte del mismo registro (el salto se conserva como '\n').
+     */
+    static final class LectorRegistros {
+        private final BufferedReader lector;
+        private long lineasLeidas;
+        private long lineaInicial;
+        private boolean comillasSinCerrar;
+
+        LectorRegistros(BufferedReader lector) {
+            this.lector = lector;
+        }
+
+        /** Siguiente registro, o null al final del archivo */
+        String siguiente() throws IOException {
+            String linea = lector.readLine();
+            if (linea == null) {
+                return null;
+            }
+            lineasLeidas++;
+            lineaInicial = lineasLeidas;
+            comillasSinCerrar = false;
+
+            StringBuilder registro = new StringBuilder(linea);
+            boolean abiertas = comillasImpares(linea);
+            while (abiertas) {
+                linea = lector.readLine();
+                if (linea == null) {
+                    comillasSinCerrar = true;
+                    break;
+                }
+                lineasLeidas++;
+                registro.append('\n').append(linea);
+                if (registro.length() > MAX_CARACTERES_REGISTRO) {
+                    throw new ImportacionInvalidaException("El registro que empieza en la linea " + lineaInicial
+                        + " supera los " + MAX_CARACTERES_REGISTRO + " caracteres (¿comillas sin cerrar?).");
+                }
+                abiertas ^= comillasImpares(linea);
+            }
+            return registro.toString();
+        }
+
+        /** Linea del archivo (desde 1) donde empieza el ultimo registro leido */
+        long lineaInicial() {
+            return lineaInicial;
+        }
+
+        /** El ultimo registro llego al final del archivo con un campo entre comillas abierto */
+        boolean comillasSinCerrar() {
+            return comillasSinCerrar;
+        }
+
+        /** "" dentro de un campo suma dos comillas, asi que solo una cantidad impar cambia el estado */
+        private static boolean comillasImpares(String linea) {
+            int comillas = 0;
+            for (int i = 0; i < linea.length(); i++) {
+                if (linea.charAt(i) == '"') {
+                    comillas++;
+                }
+            }
+            return comillas % 2 != 0;
+        }
+    }
+
+    private static final class Referencias {
+        private final Map<String, CategoriasActivo> categorias = new HashMap<>();
+        private final Map<String, Marca> marcas = new HashMap<>();
+        private final Map<String, Modelo> modelos = new HashMap<>();
+        private final Map<String, Proveedores> proveedores = new HashMap<>();
+        private EstadoActivo estadoInicial;
+    }
+
+    private static final class FilaImportacion {
+        private long linea;
+        private String codigo;
+        private String nombre;
+        private String descripcion;
+        private Long categoriaId;
+        private Long proveedorId;
+        private Long modeloId;
+        private String serie;
+        private LocalDateTime fechaIngreso;
+        private Long activoId;
+        /** null si la fila es valida */
+        private String error;
+    }
+}
@@ -0,0 +1,134 @@
+package com.sistema.iTsystem.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sistema.iTsystem.model.LicenciaAlerta;
+import com.sistema.iTsystem.repository.LicenciaAlertaRepository;
+
+/**
+ * Motor de alertas de licencias. Las alertas (vencida, proxima a vencer, sin cupos) se guardan
+ * en licencia_alertas con severidad y fecha limite: un barrido diario las recalcula todas, porque
+ * el paso del tiempo cambia vencimientos y severidades, y cada alta, edicion o cambio de usos
+ * recalcula solo la licencia afectada. Las pantallas leen la tabla por indice.
+ */
+@Service
+public class LicenciaAlertasService {
+
+    public static final String TIPO_VENCIDA = "VENCIDA";
+    public static final String TIPO_PROXIMA_A_VENCER = "PROXIMA_A_VENCER";
+    public static final String TIPO_SIN_CUPOS = "SIN_CUPOS";
+
+    public static final String SEVERIDAD_ALTA = "ALTA";
+    public static final String SEVERIDAD_MEDIA = "MEDIA";
+    public static final String SEVERIDAD_BAJA = "BAJA";
+
+    /** Una licencia que vence dentro de estos dias sube de severidad BAJA a MEDIA */
+    private static final int DIAS_VENCIMIENTO_INMINENTE = 7;
+
+    private static final String FILTRO_LICENCIA = " AND l.licencia_id = :licenciaId";
+
+    private static final String SQL_INSERTAR =
+        "INSERT INTO licencia_alertas (licencia_id, alerta_tipo, severidad, fecha_limite) " +
+        "SELECT l.licencia_id, '" + TIPO_VENCIDA + "', '" + SEVERIDAD_ALTA + "', l.licencia_fin " +
+        "FROM licencia_info l WHERE l.licencia_fin < :hoy%1$s " +
+        "UNION ALL " +
+        "SELECT l.licencia_id, '" + TIPO_PROXIMA_A_VENCER + "', " +
+        "       CASE WHEN l.licencia_fin <= :inminente THEN '" + SEVERIDAD_MEDIA + "' ELSE '" + SEVERIDAD_BAJA + "' END, " +
+        "       l.licencia_fin " +
+        "FROM licencia_info l WHERE l.licencia_fin BETWEEN :hoy AND :limite%1$s " +
+        "UNION ALL " +
+        "SELECT l.licencia_id, '" + TIPO_SIN_CUPOS + "', '" + SEVERIDAD_MEDIA + "', CAST(NULL AS DATE) " +
+        "FROM licencia_info l WHERE l.licencia_usos >= l.licencia_cupos%1$s " +
+        "ON CONFLICT (licencia_id, alerta_tipo) DO UPDATE " +
+        "SET severidad = EXCLUDED.severidad, fecha_limite = EXCLUDED.fecha_limite";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LicenciaAlertaRepository licenciaAlertaRepository;
+
+    // ==================== CONSULTAS ====================
+
+    public List<LicenciaAlerta> buscar(String tipo) {
+        return licenciaAlertaRepository.findByTipoConLicencia(tipo);
+    }
+
+    public List<LicenciaAlerta> buscar(String tipo, int limite) {
+        return licenciaAlertaRepository.findByTipoConLicencia(tipo, PageRequest.of(0, limite));
+    }
+
+    // ==================== RECALCULO ====================
+
+    /**
+     * Barrido completo. Corre una vez por dia para que la tabla refleje los vencimientos
+     * del dia aunque no haya habido escrituras. Sin la tabla de licencias no hace nada.
+     */
+    @Scheduled(cron = "${itsystem.licencias.alertas.cron:0 5 0 * * *}")
+    public void barrer() {
+        if (!tablaLicenciasExiste()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            namedJdbcTemplate.update("DELETE FROM licencia_alertas", new MapSqlParameterSource());
+            namedJdbcTemplate.update(String.format(SQL_INSERTAR, ""), parametros(null));
+        });
+    }
+
+    /** Al arrancar la tabla puede estar atrasada (primer despliegue o dias sin barrido) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void barrerAlArrancar() {
+        barrer();
+    }
+
+    /** licencia_info no se crea en las migraciones: puede faltar en una base nueva */
+    private boolean tablaLicenciasExiste() {
+        Boolean existe = namedJdbcTemplate.queryForObject(
+            "SELECT to_regclass('public.licencia_info') IS NOT NULL", new MapSqlParameterSource(), Boolean.class
+        );
+        return Boolean.TRUE.equals(existe);
+    }
+
+    /**
+     * Recalcula las alertas de una licencia. Debe llamarse dentro de la transaccion de la
+     * escritura y despues de hacer flush, para que el INSERT ... SELECT vea los datos nuevos.
+     * Si la licencia se elimino, solo borra sus alertas.
+     */
+    @Transactional
+    public void recalcular(Long licenciaId) {
+        if (licenciaId == null) {
+            return;
+        }
+        MapSqlParameterSource parametros = parametros(licenciaId);
+        namedJdbcTemplate.update("DELETE FROM licencia_alertas WHERE licencia_id = :licenciaId", parametros);
+        namedJdbcTemplate.update(String.format(SQL_INSERTAR, FILTRO_LICENCIA), parametros);
+    }
+
+    private MapSqlParameterSource parametros(Long licenciaId) {
+        LocalDate hoy = LocalDate.now();
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+            .addValue("hoy", Date.valueOf(hoy))
+            .addValue("inminente", Date.valueOf(hoy.plusDays(DIAS_VENCIMIENTO_INMINENTE)))
+            .addValue("limite", Date.valueOf(hoy.plusDays(LicenciaEstadisticasService.DIAS_PROXIMAS_A_VENCER)));
+        if (licenciaId != null) {
+            parametros.addValue("licenciaId", licenciaId);
+        }
+        return parametros;
+    }
+}
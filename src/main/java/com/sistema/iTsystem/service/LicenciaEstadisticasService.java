@@ -0,0 +1,57 @@
+package com.sistema.iTsystem.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sistema.iTsystem.dto.estadisticas.LicenciaEstadisticasDTO;
+
+/**
+ * Estadisticas de licencias en una sola consulta: la fila del total trae los contadores
+ * (COUNT(*) FILTER) y las filas por estado el desglose.
+ */
+@Service
+public class LicenciaEstadisticasService extends ProveedorEstadisticas<LicenciaEstadisticasDTO> {
+
+    /** Dias hacia adelante que cuentan como "proxima a vencer" */
+    public static final int DIAS_PROXIMAS_A_VENCER = 30;
+
+    private static final String SQL_ESTADISTICAS =
+        "SELECT GROUPING(e.lic_estado_nom) AS es_total, e.lic_estado_nom, COUNT(*) AS cantidad, " +
+        "COUNT(*) FILTER (WHERE l.licencia_fin < ?) AS vencidas, " +
+        "COUNT(*) FILTER (WHERE l.licencia_fin BETWEEN ? AND ?) AS proximas, " +
+        "COUNT(*) FILTER (WHERE l.licencia_usos >= l.licencia_cupos) AS sin_cupos, " +
+        "COALESCE(SUM(l.licencia_cupos - l.licencia_usos), 0) AS cupos_disponibles, " +
+        "COALESCE(SUM(l.licencia_costo), 0) AS costo_total " +
+        "FROM licencia_info l " +
+        "JOIN licencias_estados e ON e.lic_estado_id = l.licencias_estados_lic_estado_id " +
+        "GROUP BY GROUPING SETS ((e.lic_estado_nom), ()) " +
+        "ORDER BY cantidad DESC";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected LicenciaEstadisticasDTO calcular() {
+        LicenciaEstadisticasDTO estadisticas = new LicenciaEstadisticasDTO();
+        LocalDate hoy = LocalDate.now();
+
+        jdbcTemplate.query(SQL_ESTADISTICAS, rs -> {
+            if (rs.getInt("es_total") == 0) {
+                estadisticas.getPorEstado().add(new Object[]{rs.getString("lic_estado_nom"), rs.getLong("cantidad")});
+                return;
+            }
+            estadisticas.setTotal(rs.getLong("cantidad"));
+            estadisticas.setVencidas(rs.getLong("vencidas"));
+            estadisticas.setProximasAVencer(rs.getLong("proximas"));
+            estadisticas.setSinCupos(rs.getLong("sin_cupos"));
+            estadisticas.setCuposDisponibles(rs.getLong("cupos_disponibles"));
+            estadisticas.setCostoTotal(rs.getBigDecimal("costo_total"));
+        }, Date.valueOf(hoy), Date.valueOf(hoy), Date.valueOf(hoy.plusDays(DIAS_PROXIMAS_A_VENCER)));
+
+        return estadisticas;
+    }
+}
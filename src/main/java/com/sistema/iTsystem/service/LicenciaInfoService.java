@@ -33,6 +33,12 @@ public class LicenciaInfoService {
     @Autowired
     private SoftwareInfoRepository softwareRepository;
 
+    @Autowired
+    private LicenciaEstadisticasService licenciaEstadisticasService;
+
+    @Autowired
+    private LicenciaAlertasService licenciaAlertasService;
+
     // ==================== CRUD BÁSICO ====================
 
     /**
@@ -82,7 +88,10 @@ public class LicenciaInfoService {
             licencia.setLicenciaCupos(1);
         }
         
-        return licenciaRepository.save(licencia);
+        LicenciaInfo guardada = licenciaRepository.saveAndFlush(licencia);
+        licenciaAlertasService.recalcular(guardada.getLicenciaId());
+        licenciaEstadisticasService.invalidar();
+        return guardada;
     }
 
     /**
@@ -106,7 +115,10 @@ public class LicenciaInfoService {
         licenciaExistente.setLicenciaEstado(licenciaActualizada.getLicenciaEstado());
         licenciaExistente.setLicenciaTipo(licenciaActualizada.getLicenciaTipo());
         
-        return licenciaRepository.save(licenciaExistente);
+        LicenciaInfo guardada = licenciaRepository.saveAndFlush(licenciaExistente);
+        licenciaAlertasService.recalcular(guardada.getLicenciaId());
+        licenciaEstadisticasService.invalidar();
+        return guardada;
     }
 
     /**
@@ -127,6 +139,9 @@ public class LicenciaInfoService {
         }
         
         licenciaRepository.delete(licencia);
+        licenciaRepository.flush();
+        licenciaAlertasService.recalcular(id);
+        licenciaEstadisticasService.invalidar();
     }
 
     // ==================== BÚSQUEDAS AVANZADAS ====================
@@ -214,7 +229,9 @@ public class LicenciaInfoService {
         }
         
         licencia.setLicenciaUsos(licencia.getLicenciaUsos() + 1);
-        licenciaRepository.save(licencia);
+        licenciaRepository.saveAndFlush(licencia);
+        licenciaAlertasService.recalcular(licenciaId);
+        licenciaEstadisticasService.invalidar();
         
         return true;
     }
@@ -236,7 +253,9 @@ public class LicenciaInfoService {
         }
         
         licencia.setLicenciaUsos(licencia.getLicenciaUsos() - 1);
-        licenciaRepository.save(licencia);
+        licenciaRepository.saveAndFlush(licencia);
+        licenciaAlertasService.recalcular(licenciaId);
+        licenciaEstadisticasService.invalidar();
         
         return true;
     }
@@ -282,14 +301,14 @@ public class LicenciaInfoService {
      * Contar licencias vencidas
      */
     public long contarVencidas() {
-        return buscarVencidas().size();
+        return licenciaEstadisticasService.obtener().getVencidas();
     }
 
     /**
      * Contar licencias próximas a vencer
      */
     public long contarProximasAVencer() {
-        return buscarProximasAVencer().size();
+        return licenciaEstadisticasService.obtener().getProximasAVencer();
     }
 
     // ==================== VALIDACIONES ====================
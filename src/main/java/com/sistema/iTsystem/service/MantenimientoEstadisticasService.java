@@ -0,0 +1,80 @@
+package com.sistema.iTsystem.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sistema.iTsystem.dto.estadisticas.MantenimientoEstadisticasDTO;
+
+/**
+ * Estadisticas de mantenimientos: contadores, costos y desgloses por tipo y por mes del anio
+ * en curso en una sola consulta (GROUPING SETS), mas el ranking acotado de equipos.
+ */
+@Service
+public class MantenimientoEstadisticasService extends ProveedorEstadisticas<MantenimientoEstadisticasDTO> {
+
+    private static final String SQL_ESTADISTICAS =
+        "SELECT GROUPING(b.mant_tipo_nom) AS sin_tipo, GROUPING(b.mes) AS sin_mes, " +
+        "b.mant_tipo_nom, b.mes, COUNT(*) AS cantidad, " +
+        "COUNT(*) FILTER (WHERE b.mant_fecha_fin IS NULL OR b.mant_fecha_fin >= ?) AS en_curso, " +
+        "COUNT(*) FILTER (WHERE b.mant_costo IS NULL) AS sin_costo, " +
+        "COALESCE(SUM(b.mant_costo), 0) AS costo_total, " +
+        "AVG(b.mant_costo) AS costo_promedio " +
+        "FROM (" +
+        "  SELECT t.mant_tipo_nom, m.mant_fecha_fin, m.mant_costo, " +
+        "         CASE WHEN EXTRACT(YEAR FROM m.mant_fecha_ini) = ? " +
+        "              THEN CAST(EXTRACT(MONTH FROM m.mant_fecha_ini) AS INT) END AS mes " +
+        "  FROM mantenimiento m " +
+        "  JOIN mantenimiento_tipo t ON t.mant_tipo_id = m.mantenimiento_tipo_mant_tipo_id" +
+        ") b " +
+        "GROUP BY GROUPING SETS ((b.mant_tipo_nom), (b.mes), ()) " +
+        "ORDER BY b.mes, cantidad DESC";
+
+    private static final String SQL_POR_HARDWARE =
+        "SELECT h.hw_serial_num, COUNT(*) AS cantidad " +
+        "FROM mantenimiento m " +
+        "JOIN hardware_info h ON h.hw_id = m.hardware_info_hw_id " +
+        "GROUP BY h.hw_serial_num " +
+        "ORDER BY cantidad DESC " +
+        "LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected MantenimientoEstadisticasDTO calcular() {
+        MantenimientoEstadisticasDTO estadisticas = new MantenimientoEstadisticasDTO();
+        LocalDate hoy = LocalDate.now();
+
+        jdbcTemplate.query(SQL_ESTADISTICAS, rs -> {
+            long cantidad = rs.getLong("cantidad");
+            if (rs.getInt("sin_tipo") == 0) {
+                estadisticas.getPorTipo().add(new Object[]{rs.getString("mant_tipo_nom"), cantidad});
+            } else if (rs.getInt("sin_mes") == 0) {
+                // Mantenimientos de otros anios quedan con mes NULL y no se listan
+                int mes = rs.getInt("mes");
+                if (!rs.wasNull()) {
+                    estadisticas.getPorMes().add(new Object[]{mes, cantidad});
+                }
+            } else {
+                BigDecimal promedio = rs.getBigDecimal("costo_promedio");
+                estadisticas.setTotal(cantidad);
+                estadisticas.setEnCurso(rs.getLong("en_curso"));
+                estadisticas.setSinCosto(rs.getLong("sin_costo"));
+                estadisticas.setCostoTotal(rs.getBigDecimal("costo_total"));
+                estadisticas.setCostoPromedio(promedio != null ? promedio.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
+            }
+        }, Date.valueOf(hoy), hoy.getYear());
+
+        jdbcTemplate.query(SQL_POR_HARDWARE, rs -> {
+            estadisticas.getPorHardware().add(new Object[]{rs.getString("hw_serial_num"), rs.getLong("cantidad")});
+        }, LIMITE_LISTAS);
+
+        return estadisticas;
+    }
+}
@@ -2,11 +2,15 @@ package com.sistema.iTsystem.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -52,6 +56,9 @@ public class MantenimientoService {
     @Autowired
     private HardwareInfoRepository hardwareRepository;
 
+    @Autowired
+    private MantenimientoEstadisticasService mantenimientoEstadisticasService;
+
     // ==================== CRUD BÁSICO ====================
 
     /**
@@ -94,7 +101,9 @@ public class MantenimientoService {
             mantenimiento.setMantFechaIni(LocalDate.now());
         }
         
-        return mantenimientoRepository.save(mantenimiento);
+        Mantenimiento guardado = mantenimientoRepository.save(mantenimiento);
+        mantenimientoEstadisticasService.invalidar();
+        return guardado;
     }
 
     /**
@@ -116,7 +125,9 @@ public class MantenimientoService {
         mantenimientoExistente.setMantCosto(mantenimientoActualizado.getMantCosto());
         mantenimientoExistente.setMantenimientoTipo(mantenimientoActualizado.getMantenimientoTipo());
         
-        return mantenimientoRepository.save(mantenimientoExistente);
+        Mantenimiento guardado = mantenimientoRepository.save(mantenimientoExistente);
+        mantenimientoEstadisticasService.invalidar();
+        return guardado;
     }
 
     /**
@@ -130,6 +141,7 @@ public class MantenimientoService {
             ));
         
         mantenimientoRepository.delete(mantenimiento);
+        mantenimientoEstadisticasService.invalidar();
     }
 
     /**
@@ -159,7 +171,9 @@ public class MantenimientoService {
         }
         
         mantenimiento.setMantFechaFin(fechaFin);
-        return mantenimientoRepository.save(mantenimiento);
+        Mantenimiento guardado = mantenimientoRepository.save(mantenimiento);
+        mantenimientoEstadisticasService.invalidar();
+        return guardado;
     }
 
     // ==================== BÚSQUEDAS POR HARDWARE ====================
@@ -200,6 +214,13 @@ public class MantenimientoService {
         return mantenimientoRepository.findMantenimientosEnCurso(LocalDate.now());
     }
 
+    /**
+     * Mantenimientos en curso más recientes, acotados para listas de resumen
+     */
+    public List<Mantenimiento> buscarEnCurso(int limite) {
+        return mantenimientoRepository.findMantenimientosEnCurso(LocalDate.now(), PageRequest.of(0, limite));
+    }
+
     public List<Mantenimiento> buscarFinalizados() {
         return mantenimientoRepository.findMantenimientosFinalizados(LocalDate.now());
     }
@@ -294,9 +315,21 @@ public class MantenimientoService {
     // ==================== VALIDACIONES ====================
 
     public boolean tieneMantenimientosEnCurso(Long hardwareId) {
-        List<Mantenimiento> enCurso = mantenimientoRepository.findMantenimientosEnCurso(LocalDate.now());
-        return enCurso.stream()
-            .anyMatch(m -> m.getHardwareInfo().getHwId().equals(hardwareId));
+        if (hardwareId == null) {
+            return false;
+        }
+        return mantenimientoRepository.existsMantenimientoEnCurso(hardwareId, LocalDate.now());
+    }
+
+    /**
+     * Variante por lote para listados: de los ids recibidos, los que tienen un mantenimiento
+     * en curso. Una sola consulta por pagina en lugar de una por fila.
+     */
+    public Set<Long> obtenerHardwareConMantenimientoEnCurso(Collection<Long> hardwareIds) {
+        if (hardwareIds == null || hardwareIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(mantenimientoRepository.findHardwareIdsConMantenimientoEnCurso(hardwareIds, LocalDate.now()));
     }
 
     private void validarMantenimiento(Mantenimiento mantenimiento) {
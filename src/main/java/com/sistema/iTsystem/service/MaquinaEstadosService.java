@@ -0,0 +1,212 @@
+package com.sistema.iTsystem.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.sistema.iTsystem.model.EstadoActivo;
+import com.sistema.iTsystem.model.SoliEstados;
+
+/**
+ * Reglas de transicion de estados de activos y solicitudes, precompiladas.
+ * Cada flujo asigna a sus estados un indice denso (0..n-1) y guarda por estado de origen
+ * una mascara de bits con los destinos permitidos: validar una transicion es un lookup
+ * del indice y una operacion de bits, sin recorrer listas ni comparar cadenas.
+ * Los ids del catalogo se resuelven a indices una sola vez; si el catalogo se recarga
+ * (nueva instantanea en {@link CatalogoCacheService}) la tabla se recompila sola.
+ */
+@Service
+public class MaquinaEstadosService {
+
+    /** Flujos con reglas propias */
+    public enum Flujo {
+        /** Estados de activo */
+        ACTIVO,
+        /** Cambio de estado manual de solicitudes (pantalla de gestion) */
+        SOLICITUD,
+        /** Flujo operativo de solicitudes (analisis, ejecucion y cierre) */
+        SOLICITUD_FLUJO
+    }
+
+    static final Map<Flujo, Map<String, List<String>>> REGLAS = new HashMap<>();
+
+    static {
+        Map<String, List<String>> activo = new LinkedHashMap<>();
+        activo.put("Disponible", List.of("Asignado", "En mantenimiento", "Dado de baja", "Extraviado"));
+        activo.put("Asignado", List.of("Disponible", "En mantenimiento", "Dado de baja", "Extraviado"));
+        activo.put("En mantenimiento", List.of("Disponible", "Asignado", "Dado de baja"));
+        activo.put("Extraviado", List.of("Disponible", "Dado de baja"));
+        activo.put("Dado de baja", List.of());
+        REGLAS.put(Flujo.ACTIVO, activo);
+
+        Map<String, List<String>> solicitud = new LinkedHashMap<>();
+        solicitud.put("Pendiente", List.of("En análisis", "Rechazada", "Cancelada"));
+        solicitud.put("En análisis", List.of("Aprobada", "Rechazada", "Cancelada"));
+        solicitud.put("Aprobada", List.of("Cerrada"));
+        solicitud.put("Rechazada", List.of());
+        solicitud.put("Cerrada", List.of());
+        solicitud.put("Cancelada", List.of());
+        REGLAS.put(Flujo.SOLICITUD, solicitud);
+
+        Map<String, List<String>> flujo = new LinkedHashMap<>();
+        flujo.put("Pendiente", List.of("En análisis", "Rechazada"));
+        flujo.put("En análisis", List.of("Aprobada", "Rechazada"));
+        flujo.put("Aprobada", List.of("En ejecución", "Resuelta"));
+        flujo.put("En ejecución", List.of("Resuelta"));
+        flujo.put("Resuelta", List.of("Cerrada"));
+        flujo.put("Rechazada", List.of());
+        flujo.put("Cerrada", List.of());
+        REGLAS.put(Flujo.SOLICITUD_FLUJO, flujo);
+    }
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    private volatile Map<Flujo, Tabla> tablas = Map.of();
+
+    // ==================== CONSULTAS ====================
+
+    /** Un estado desconocido no admite transiciones */
+    public boolean puedeTransicionar(Flujo flujo, String desde, String hacia) {
+        Tabla tabla = tabla(flujo);
+        return tabla.permite(tabla.indice(desde), tabla.indice(hacia));
+    }
+
+    public boolean puedeTransicionar(EstadoActivo desde, EstadoActivo hacia) {
+        Tabla tabla = tabla(Flujo.ACTIVO);
+        return tabla.permite(indice(tabla, desde.getEstadoId(), desde.getEstadoNom()),
+            indice(tabla, hacia.getEstadoId(), hacia.getEstadoNom()));
+    }
+
+    /** Estado sin salidas (por ejemplo "Dado de baja"); el nombre se compara sin distinguir mayusculas */
+    public boolean esFinal(Flujo flujo, String estado) {
+        Tabla tabla = tabla(flujo);
+        int indice = tabla.indiceSinMayusculas(estado);
+        return indice >= 0 && tabla.salidas[indice] == 0L;
+    }
+
+    // ==================== COMPILACION ====================
+
+    private int indice(Tabla tabla, Long id, String nombre) {
+        int indice = tabla.indice(id);
+        return indice >= 0 ? indice : tabla.indice(nombre);
+    }
+
+    private Tabla tabla(Flujo flujo) {
+        List<?> catalogo = catalogoCacheService.instantanea(nombreCatalogo(flujo));
+        Tabla tabla = tablas.get(flujo);
+        if (tabla != null && tabla.catalogo == catalogo) {
+            return tabla;
+        }
+        return compilar(flujo, catalogo);
+    }
+
+    private synchronized Tabla compilar(Flujo flujo, List<?> catalogo) {
+        Tabla actual = tablas.get(flujo);
+        if (actual != null && actual.catalogo == catalogo) {
+            return actual;
+        }
+
+        Tabla tabla = switch (flujo) {
+            case ACTIVO -> new Tabla(REGLAS.get(flujo), MaquinaEstadosService.<EstadoActivo>castear(catalogo),
+                EstadoActivo::getEstadoId, EstadoActivo::getEstadoNom);
+            case SOLICITUD, SOLICITUD_FLUJO -> new Tabla(REGLAS.get(flujo), MaquinaEstadosService.<SoliEstados>castear(catalogo),
+                SoliEstados::getSoliEstadoId, SoliEstados::getSoliEstadoNom);
+        };
+
+        Map<Flujo, Tabla> nuevas = new HashMap<>(tablas);
+        nuevas.put(flujo, tabla);
+        tablas = Map.copyOf(nuevas);
+        return tabla;
+    }
+
+    /** La tabla se compara con la instantanea sin medir: el acceso no pasa por las metricas del cache */
+    private String nombreCatalogo(Flujo flujo) {
+        return flujo == Flujo.ACTIVO ? CatalogoCacheService.ESTADOS_ACTIVO : CatalogoCacheService.ESTADOS_SOLICITUD;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> castear(List<?> lista) {
+        return (List<T>) lista;
+    }
+
+    /** Tabla compilada de un flujo; inmutable una vez construida */
+    private static final class Tabla {
+        private final Object catalogo;
+        private final Map<String, Integer> indicePorNombre;
+        private final Map<String, Integer> indicePorNombreMinusculas;
+        private final Map<Long, Integer> indicePorId;
+        /** salidas[i] tiene el bit j encendido si se permite pasar del estado i al j */
+        private final long[] salidas;
+
+        private <T> Tabla(Map<String, List<String>> reglas, List<T> catalogo,
+                          Function<T, Long> id, Function<T, String> nombre) {
+            Map<String, Integer> indices = new LinkedHashMap<>();
+            reglas.forEach((origen, destinos) -> {
+                indices.putIfAbsent(origen, indices.size());
+                destinos.forEach(destino -> indices.putIfAbsent(destino, indices.size()));
+            });
+            if (indices.size() > Long.SIZE) {
+                throw new IllegalStateException("Demasiados estados para una mascara de " + Long.SIZE + " bits");
+            }
+
+            long[] mascaras = new long[indices.size()];
+            reglas.forEach((origen, destinos) -> {
+                for (String destino : destinos) {
+                    mascaras[indices.get(origen)] |= 1L << indices.get(destino);
+                }
+            });
+
+            Map<Long, Integer> ids = new HashMap<>();
+            for (T estado : catalogo) {
+                Integer indice = indices.get(nombre.apply(estado));
+                if (indice != null && id.apply(estado) != null) {
+                    ids.put(id.apply(estado), indice);
+                }
+            }
+
+            this.catalogo = catalogo;
+            Map<String, Integer> minusculas = new HashMap<>();
+            indices.forEach((estado, indice) -> minusculas.putIfAbsent(estado.toLowerCase(Locale.ROOT), indice));
+
+            this.indicePorNombre = Map.copyOf(indices);
+            this.indicePorNombreMinusculas = Map.copyOf(minusculas);
+            this.indicePorId = Map.copyOf(ids);
+            this.salidas = mascaras;
+        }
+
+        private int indice(String nombre) {
+            if (nombre == null) {
+                return -1;
+            }
+            Integer indice = indicePorNombre.get(nombre);
+            return indice != null ? indice : -1;
+        }
+
+        private int indiceSinMayusculas(String nombre) {
+            if (nombre == null) {
+                return -1;
+            }
+            Integer indice = indicePorNombreMinusculas.get(nombre.toLowerCase(Locale.ROOT));
+            return indice != null ? indice : -1;
+        }
+
+        private int indice(Long id) {
+            if (id == null) {
+                return -1;
+            }
+            Integer indice = indicePorId.get(id);
+            return indice != null ? indice : -1;
+        }
+
+        private boolean permite(int desde, int hacia) {
+            return desde >= 0 && hacia >= 0 && (salidas[desde] & (1L << hacia)) != 0L;
+        }
+    }
+}
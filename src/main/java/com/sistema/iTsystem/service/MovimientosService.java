@@ -1,31 +1,58 @@
 package com.sistema.iTsystem.service;
 
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sistema.iTsystem.dto.movimientos.MovimientoLoteItemDTO;
+import com.sistema.iTsystem.dto.movimientos.ResultadoLoteDTO;
+import com.sistema.iTsystem.dto.movimientos.ResultadoMovimientoDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.event.AsignacionCambiadaEvent;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.EstadoActivo;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.model.UsuarioAsignacion;
 import com.sistema.iTsystem.model.Solicitudes;
 import com.sistema.iTsystem.repository.ActivoRepository;
-import com.sistema.iTsystem.repository.EstadoActivoRepository;
 import com.sistema.iTsystem.repository.UsuarioAsignacionRepository;
 import com.sistema.iTsystem.repository.UsuarioRepository;
 
 @Service
 public class MovimientosService {
 
+    public static class AsignacionConcurrenteException extends RuntimeException {
+        public AsignacionConcurrenteException(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    /** Cantidad maxima de filas aceptadas por las operaciones en lote */
+    public static final int MAX_FILAS_LOTE = 500;
+
     @Autowired
-    private ActivoService activoService;
+    private CatalogoCacheService catalogoCacheService;
 
     @Autowired
     private EstadoTransicionService estadoTransicionService;
@@ -37,32 +64,22 @@ public class MovimientosService {
     private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private EstadoActivoRepository estadoActivoRepository;
+    private ActivoRepository activoRepository;
 
     @Autowired
-    private ActivoRepository activoRepository;
+    private JdbcTemplate jdbcTemplate;
 
-    public List<UsuarioAsignacion> obtenerAsignacionesActivas() {
-        return usuarioAsignacionRepository.findAsignacionesActivasConDetalles();
-    }
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
 
-    public List<Activo> obtenerActivosDisponiblesParaAsignar() {
-        Set<Long> activosAsignados = usuarioAsignacionRepository.findAsignacionesActivasConDetalles().stream()
-            .map(UsuarioAsignacion::getActivo)
-            .filter(activo -> activo != null && activo.getActivoId() != null)
-            .map(Activo::getActivoId)
-            .collect(Collectors.toCollection(HashSet::new));
-
-        return activoService.obtenerTodos().stream()
-            .filter(activo -> activo.getEstado() != null)
-            .filter(activo -> "Disponible".equalsIgnoreCase(activo.getEstado().getEstadoNom()))
-            .filter(activo -> Boolean.TRUE.equals(activo.getActivoActivo()))
-            .filter(activo -> !activosAsignados.contains(activo.getActivoId()))
-            .toList();
-    }
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    public List<Usuario> obtenerUsuariosActivos() {
-        return usuarioRepository.findByUsuActivoTrueOrderByUsuLoginAsc();
+    @Autowired
+    private AuditoriaOutboxService auditoriaOutboxService;
+
+    public List<UsuarioAsignacion> obtenerAsignacionesActivas() {
+        return usuarioAsignacionRepository.findAsignacionesActivasConDetalles();
     }
 
     public Optional<UsuarioAsignacion> obtenerAsignacionActiva(Long activoId) {
@@ -130,7 +147,7 @@ public class MovimientosService {
         asignacion.setAsignacionObservacion(observacion);
         asignacion.setAsignacionActiva(true);
 
-        return usuarioAsignacionRepository.save(asignacion);
+        return publicarCambioAsignacion(guardarAsignacionNueva(asignacion));
     }
 
     @Transactional
@@ -162,7 +179,7 @@ public class MovimientosService {
         }
         asignacion.setUsuarioEjecutor(usuarioOperador);
 
-        return usuarioAsignacionRepository.save(asignacion);
+        return publicarCambioAsignacion(usuarioAsignacionRepository.save(asignacion));
     }
 
     @Transactional
@@ -194,7 +211,7 @@ public class MovimientosService {
         }
         asignacion.setAsignacionActiva(false);
         asignacion.setDevolucionFecha(LocalDate.now());
-        return usuarioAsignacionRepository.saveAndFlush(asignacion);
+        return publicarCambioAsignacion(usuarioAsignacionRepository.saveAndFlush(asignacion));
     }
 
     @Transactional
@@ -242,7 +259,7 @@ public class MovimientosService {
         nuevaAsignacion.setAsignacionObservacion(observacion);
         nuevaAsignacion.setAsignacionActiva(true);
 
-        return usuarioAsignacionRepository.save(nuevaAsignacion);
+        return publicarCambioAsignacion(guardarAsignacionNueva(nuevaAsignacion));
     }
 
     @Transactional
@@ -252,8 +269,488 @@ public class MovimientosService {
         estadoTransicionService.registrarCreacion(activo, usuario, motivo, observacion);
     }
 
+    // ==================== OPERACIONES EN LOTE ====================
+
+    /**
+     * Asigna varios activos en una sola transaccion. La validacion se hace con una consulta
+     * por tabla (bloqueando los activos involucrados) y los cambios se aplican con JDBC batch.
+     * Las filas invalidas se informan en el resultado sin abortar el resto del lote.
+     */
+    @Transactional
+    public ResultadoLoteDTO asignarLote(List<MovimientoLoteItemDTO> items, String motivo,
+                                        String observacion, Usuario usuarioOperador) {
+        validarLote(items, usuarioOperador);
+        if (motivo == null || motivo.trim().isEmpty()) {
+            throw new RuntimeException("Debe ingresar un motivo.");
+        }
+
+        EstadoActivo estadoDisponible = obtenerEstado("Disponible");
+        EstadoActivo estadoAsignado = obtenerEstado("Asignado");
+
+        Set<Long> activoIds = new HashSet<>();
+        Set<Long> usuarioIds = new HashSet<>();
+        for (MovimientoLoteItemDTO item : items) {
+            if (item != null && item.getActivoId() != null) {
+                activoIds.add(item.getActivoId());
+            }
+            if (item != null && item.getUsuarioId() != null) {
+                usuarioIds.add(item.getUsuarioId());
+            }
+        }
+
+        Map<Long, FilaActivo> activos = bloquearActivos(activoIds);
+        Map<Long, Boolean> usuarios = buscarUsuarios(usuarioIds);
+
+        LocalDate hoy = LocalDate.now();
+        Set<Long> vistos = new HashSet<>();
+        List<ResultadoMovimientoDTO> filas = new ArrayList<>();
+        List<Pendiente> pendientes = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            MovimientoLoteItemDTO item = items.get(i);
+            ResultadoMovimientoDTO fila = new ResultadoMovimientoDTO(
+                i,
+                item != null ? item.getActivoId() : null,
+                item != null ? item.getUsuarioId() : null,
+                null,
+                false,
+                null
+            );
+            filas.add(fila);
+
+            String error = validarFilaAsignacion(item, activos, usuarios, vistos, estadoDisponible, hoy);
+            if (error != null) {
+                fila.setMensaje(error);
+                continue;
+            }
+            pendientes.add(new Pendiente(fila, activos.get(item.getActivoId())));
+        }
+
+        List<Pendiente> aplicados = cambiarEstadoActivos(pendientes, estadoAsignado);
+        if (!aplicados.isEmpty()) {
+            insertarAsignaciones(aplicados, hoy, motivo, observacion, usuarioOperador);
+            insertarHistorial(aplicados, estadoAsignado, motivo, observacion, usuarioOperador);
+        }
+
+        for (Pendiente pendiente : aplicados) {
+            pendiente.fila.setExitoso(true);
+            pendiente.fila.setMensaje("Activo asignado correctamente.");
+            publicarCambioEstado(pendiente.activo, estadoAsignado);
+        }
+        return ResultadoLoteDTO.de(filas);
+    }
+
+    /**
+     * Devuelve varias asignaciones activas en una sola transaccion, con la misma
+     * estrategia que {@link #asignarLote}: validacion por conjuntos y escritura en batch.
+     */
+    @Transactional
+    public ResultadoLoteDTO devolverLote(List<MovimientoLoteItemDTO> items, String motivo,
+                                         String observacion, Usuario usuarioOperador) {
+        validarLote(items, usuarioOperador);
+
+        EstadoActivo estadoDisponible = obtenerEstado("Disponible");
+
+        Set<Long> asignacionIds = new HashSet<>();
+        for (MovimientoLoteItemDTO item : items) {
+            if (item != null && item.getAsignacionId() != null) {
+                asignacionIds.add(item.getAsignacionId());
+            }
+        }
+
+        Map<Long, FilaActivo> asignaciones = bloquearAsignaciones(asignacionIds);
+
+        LocalDate hoy = LocalDate.now();
+        Set<Long> vistos = new HashSet<>();
+        List<ResultadoMovimientoDTO> filas = new ArrayList<>();
+        List<Pendiente> pendientes = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            MovimientoLoteItemDTO item = items.get(i);
+            Long asignacionId = item != null ? item.getAsignacionId() : null;
+            FilaActivo asignacion = asignacionId != null ? asignaciones.get(asignacionId) : null;
+            ResultadoMovimientoDTO fila = new ResultadoMovimientoDTO(
+                i,
+                asignacion != null ? asignacion.activoId : null,
+                asignacion != null ? asignacion.usuarioId : null,
+                asignacionId,
+                false,
+                null
+            );
+            filas.add(fila);
+
+            String error = validarFilaDevolucion(asignacionId, asignacion, vistos, estadoDisponible, hoy);
+            if (error != null) {
+                fila.setMensaje(error);
+                continue;
+            }
+            pendientes.add(new Pendiente(fila, asignacion));
+        }
+
+        List<Pendiente> aplicados = cambiarEstadoActivos(pendientes, estadoDisponible);
+        if (!aplicados.isEmpty()) {
+            cerrarAsignaciones(aplicados, hoy, motivo, observacion, usuarioOperador);
+            insertarHistorial(aplicados, estadoDisponible, motivo, observacion, usuarioOperador);
+        }
+
+        for (Pendiente pendiente : aplicados) {
+            pendiente.fila.setExitoso(true);
+            pendiente.fila.setMensaje("Activo devuelto correctamente.");
+            publicarCambioEstado(pendiente.activo, estadoDisponible);
+        }
+        return ResultadoLoteDTO.de(filas);
+    }
+
+    private void validarLote(List<MovimientoLoteItemDTO> items, Usuario usuarioOperador) {
+        if (usuarioOperador == null) {
+            throw new RuntimeException("Usuario no encontrado");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("El lote no contiene filas.");
+        }
+        if (items.size() > MAX_FILAS_LOTE) {
+            throw new RuntimeException("El lote no puede superar las " + MAX_FILAS_LOTE + " filas.");
+        }
+    }
+
+    private String validarFilaAsignacion(MovimientoLoteItemDTO item, Map<Long, FilaActivo> activos,
+                                         Map<Long, Boolean> usuarios, Set<Long> vistos,
+                                         EstadoActivo estadoDisponible, LocalDate hoy) {
+        if (item == null || item.getActivoId() == null || item.getUsuarioId() == null) {
+            return "Debe indicar el activo y el usuario.";
+        }
+        if (!vistos.add(item.getActivoId())) {
+            return "El activo aparece repetido en el lote.";
+        }
+
+        FilaActivo activo = activos.get(item.getActivoId());
+        if (activo == null) {
+            return "Activo no encontrado";
+        }
+
+        Boolean usuarioActivo = usuarios.get(item.getUsuarioId());
+        if (usuarioActivo == null) {
+            return "Usuario no encontrado";
+        }
+        if (!usuarioActivo) {
+            return "El usuario seleccionado no está activo.";
+        }
+
+        if (!estadoDisponible.getEstadoId().equals(activo.estadoId)) {
+            return "El activo no está disponible para asignación.";
+        }
+        if (activo.asignado) {
+            return "El activo ya tiene una asignación activa.";
+        }
+        if (activo.fechaIngreso != null && hoy.isBefore(activo.fechaIngreso)) {
+            return "No se puede asignar el activo porque su fecha de ingreso es posterior a la fecha actual.";
+        }
+        return null;
+    }
+
+    private String validarFilaDevolucion(Long asignacionId, FilaActivo asignacion, Set<Long> vistos,
+                                         EstadoActivo estadoDisponible, LocalDate hoy) {
+        if (asignacionId == null) {
+            return "Debe indicar la asignación.";
+        }
+        if (!vistos.add(asignacionId)) {
+            return "La asignación aparece repetida en el lote.";
+        }
+        if (asignacion == null) {
+            return "Asignacion no encontrada";
+        }
+        if (!asignacion.asignado) {
+            return "La asignacion ya fue finalizada";
+        }
+        if (asignacion.fechaAsignacion != null && hoy.isBefore(asignacion.fechaAsignacion)) {
+            return "La fecha de devolución no puede ser anterior a la fecha de asignación.";
+        }
+
+        EstadoActivo estadoActual = catalogoCacheService.buscarEstadoActivo(asignacion.estadoId).orElse(null);
+        if (!estadoTransicionService.esTransicionPermitida(estadoActual, estadoDisponible)) {
+            return "No se puede cambiar de '" + estadoActual.getEstadoNom() + "' a '"
+                + estadoDisponible.getEstadoNom() + "'";
+        }
+        return null;
+    }
+
+    /** Lee y bloquea (FOR UPDATE, en orden de id para evitar interbloqueos) los activos del lote */
+    private Map<Long, FilaActivo> bloquearActivos(Set<Long> activoIds) {
+        Map<Long, FilaActivo> activos = new HashMap<>();
+        if (activoIds.isEmpty()) {
+            return activos;
+        }
+
+        String sql = "SELECT a.activo_id, a.cat_id, a.estado_id, a.activo_fecha_ingreso, " +
+                     "EXISTS (SELECT 1 FROM usuario_asignaciones ua " +
+                     "        WHERE ua.activo_id = a.activo_id AND ua.asignacion_activa) AS asignado " +
+                     "FROM activo a " +
+                     "WHERE a.activo_id IN (:ids) " +
+                     "ORDER BY a.activo_id " +
+                     "FOR UPDATE";
+
+        namedJdbcTemplate.query(sql, Map.of("ids", activoIds), rs -> {
+            FilaActivo fila = new FilaActivo();
+            fila.activoId = rs.getLong("activo_id");
+            fila.categoriaId = rs.getObject("cat_id", Long.class);
+            fila.estadoId = rs.getObject("estado_id", Long.class);
+            Timestamp ingreso = rs.getTimestamp("activo_fecha_ingreso");
+            fila.fechaIngreso = ingreso != null ? ingreso.toLocalDateTime().toLocalDate() : null;
+            fila.asignado = rs.getBoolean("asignado");
+            activos.put(fila.activoId, fila);
+        });
+        return activos;
+    }
+
+    /** Lee y bloquea las asignaciones del lote junto con el estado actual de su activo */
+    private Map<Long, FilaActivo> bloquearAsignaciones(Set<Long> asignacionIds) {
+        Map<Long, FilaActivo> asignaciones = new HashMap<>();
+        if (asignacionIds.isEmpty()) {
+            return asignaciones;
+        }
+
+        String sql = "SELECT ua.asignacion_id, ua.usu_id, ua.asignacion_fecha, ua.asignacion_activa, " +
+                     "a.activo_id, a.cat_id, a.estado_id " +
+                     "FROM usuario_asignaciones ua " +
+                     "JOIN activo a ON a.activo_id = ua.activo_id " +
+                     "WHERE ua.asignacion_id IN (:ids) " +
+                     "ORDER BY a.activo_id, ua.asignacion_id " +
+                     "FOR UPDATE";
+
+        namedJdbcTemplate.query(sql, Map.of("ids", asignacionIds), rs -> {
+            FilaActivo fila = new FilaActivo();
+            fila.asignacionId = rs.getLong("asignacion_id");
+            fila.usuarioId = rs.getObject("usu_id", Long.class);
+            Date fechaAsignacion = rs.getDate("asignacion_fecha");
+            fila.fechaAsignacion = fechaAsignacion != null ? fechaAsignacion.toLocalDate() : null;
+            fila.asignado = rs.getBoolean("asignacion_activa");
+            fila.activoId = rs.getLong("activo_id");
+            fila.categoriaId = rs.getObject("cat_id", Long.class);
+            fila.estadoId = rs.getObject("estado_id", Long.class);
+            asignaciones.put(fila.asignacionId, fila);
+        });
+        return asignaciones;
+    }
+
+    /** usuId -> usuActivo de los usuarios del lote */
+    private Map<Long, Boolean> buscarUsuarios(Set<Long> usuarioIds) {
+        Map<Long, Boolean> usuarios = new HashMap<>();
+        if (usuarioIds.isEmpty()) {
+            return usuarios;
+        }
+        namedJdbcTemplate.query(
+            "SELECT usu_id, usu_activo FROM usuario WHERE usu_id IN (:ids)",
+            Map.of("ids", usuarioIds),
+            rs -> {
+                usuarios.put(rs.getLong("usu_id"), rs.getBoolean("usu_activo"));
+            }
+        );
+        return usuarios;
+    }
+
+    /**
+     * Actualiza el estado con compare-and-set sobre el estado leido. Las filas que no
+     * coinciden se marcan como fallidas y no continuan al resto de las escrituras.
+     */
+    private List<Pendiente> cambiarEstadoActivos(List<Pendiente> pendientes, EstadoActivo nuevoEstado) {
+        if (pendientes.isEmpty()) {
+            return pendientes;
+        }
+
+        int[][] actualizados = jdbcTemplate.batchUpdate(
+            "UPDATE activo SET estado_id = ?, activo_activo = TRUE, updated_at = CURRENT_TIMESTAMP, " +
+            "activo_version = activo_version + 1 " +
+            "WHERE activo_id = ? AND estado_id = ?",
+            pendientes,
+            pendientes.size(),
+            (ps, pendiente) -> {
+                ps.setLong(1, nuevoEstado.getEstadoId());
+                ps.setLong(2, pendiente.activo.activoId);
+                ps.setLong(3, pendiente.activo.estadoId);
+            }
+        );
+
+        List<Pendiente> aplicados = new ArrayList<>();
+        int posicion = 0;
+        for (int[] lote : actualizados) {
+            for (int filasAfectadas : lote) {
+                Pendiente pendiente = pendientes.get(posicion++);
+                if (filasAfectadas == 0) {
+                    pendiente.fila.setMensaje("El activo cambió de estado durante la operación.");
+                } else {
+                    aplicados.add(pendiente);
+                }
+            }
+        }
+        return aplicados;
+    }
+
+    private void insertarAsignaciones(List<Pendiente> aplicados, LocalDate fecha, String motivo,
+                                      String observacion, Usuario usuarioOperador) {
+        String sql = "INSERT INTO usuario_asignaciones " +
+                     "(usu_id, activo_id, usu_ejecutor_id, asignacion_fecha, asignacion_motivo, " +
+                     "asignacion_observacion, asignacion_activa) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, TRUE)";
+
+        KeyHolder claves = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.batchUpdate(
+                conexion -> conexion.prepareStatement(sql, new String[] {"asignacion_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Pendiente pendiente = aplicados.get(i);
+                        ps.setLong(1, pendiente.fila.getUsuarioId());
+                        ps.setLong(2, pendiente.activo.activoId);
+                        ps.setLong(3, usuarioOperador.getUsuId());
+                        ps.setDate(4, Date.valueOf(fecha));
+                        ps.setString(5, motivo);
+                        ps.setString(6, observacion);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return aplicados.size();
+                    }
+                },
+                claves
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw traducirAsignacionDuplicada(e);
+        }
+
+        List<Map<String, Object>> generadas = claves.getKeyList();
+        for (int i = 0; i < aplicados.size() && i < generadas.size(); i++) {
+            Object id = generadas.get(i).get("asignacion_id");
+            if (id instanceof Number numero) {
+                aplicados.get(i).fila.setAsignacionId(numero.longValue());
+            }
+        }
+    }
+
+    private void cerrarAsignaciones(List<Pendiente> aplicados, LocalDate fecha, String motivo,
+                                    String observacion, Usuario usuarioOperador) {
+        String motivoNuevo = motivo != null && !motivo.trim().isEmpty() ? motivo : null;
+        String observacionNueva = observacion != null && !observacion.trim().isEmpty() ? observacion : null;
+
+        jdbcTemplate.batchUpdate(
+            "UPDATE usuario_asignaciones SET asignacion_activa = FALSE, devolucion_fecha = ?, " +
+            "asignacion_motivo = COALESCE(?, asignacion_motivo), " +
+            "asignacion_observacion = COALESCE(?, asignacion_observacion), " +
+            "usu_ejecutor_id = ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE asignacion_id = ?",
+            aplicados,
+            aplicados.size(),
+            (ps, pendiente) -> {
+                ps.setDate(1, Date.valueOf(fecha));
+                ps.setString(2, motivoNuevo);
+                ps.setString(3, observacionNueva);
+                ps.setLong(4, usuarioOperador.getUsuId());
+                ps.setLong(5, pendiente.activo.asignacionId);
+            }
+        );
+    }
+
+    private void insertarHistorial(List<Pendiente> aplicados, EstadoActivo nuevoEstado, String motivo,
+                                   String observacion, Usuario usuarioOperador) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (auditoriaOutboxService.estaHabilitado()) {
+            // Mismo camino que las transiciones individuales: la fila la inserta el drenador
+            auditoriaOutboxService.encolarLote(
+                AuditoriaOutboxService.ORIGEN_ACTIVO,
+                aplicados,
+                pendiente -> pendiente.activo.activoId,
+                pendiente -> pendiente.activo.estadoId,
+                nuevoEstado.getEstadoId(),
+                usuarioOperador.getUsuId(),
+                ahora,
+                motivo,
+                observacion
+            );
+            return;
+        }
+        Timestamp fechaCambio = Timestamp.valueOf(ahora);
+
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO activo_historial_estados " +
+            "(activo_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+            aplicados,
+            aplicados.size(),
+            (ps, pendiente) -> {
+                ps.setLong(1, pendiente.activo.activoId);
+                ps.setLong(2, pendiente.activo.estadoId);
+                ps.setLong(3, nuevoEstado.getEstadoId());
+                ps.setLong(4, usuarioOperador.getUsuId());
+                ps.setTimestamp(5, fechaCambio);
+                ps.setString(6, motivo);
+                ps.setString(7, observacion);
+            }
+        );
+    }
+
+    private void publicarCambioEstado(FilaActivo activo, EstadoActivo nuevoEstado) {
+        eventPublisher.publishEvent(new ActivoEstadoCambiadoEvent(
+            activo.activoId,
+            activo.categoriaId,
+            activo.estadoId,
+            nuevoEstado.getEstadoId()
+        ));
+    }
+
+    private UsuarioAsignacion publicarCambioAsignacion(UsuarioAsignacion asignacion) {
+        eventPublisher.publishEvent(new AsignacionCambiadaEvent(
+            asignacion.getActivo() != null ? asignacion.getActivo().getActivoId() : null,
+            asignacion.getAsignacionId()
+        ));
+        return asignacion;
+    }
+
+    /**
+     * El indice unico ux_activo_asignacion_activa es la ultima barrera ante dos asignaciones
+     * simultaneas del mismo activo; se hace flush para que la violacion se detecte aqui.
+     */
+    private UsuarioAsignacion guardarAsignacionNueva(UsuarioAsignacion asignacion) {
+        try {
+            return usuarioAsignacionRepository.saveAndFlush(asignacion);
+        } catch (DataIntegrityViolationException e) {
+            throw traducirAsignacionDuplicada(e);
+        }
+    }
+
+    static RuntimeException traducirAsignacionDuplicada(DataIntegrityViolationException e) {
+        String detalle = e.getMostSpecificCause().getMessage();
+        if (detalle != null && detalle.contains("ux_activo_asignacion_activa")) {
+            return new AsignacionConcurrenteException("El activo ya tiene una asignación activa.");
+        }
+        return e;
+    }
+
     private EstadoActivo obtenerEstado(String nombre) {
-        return estadoActivoRepository.findByEstadoNom(nombre)
+        return catalogoCacheService.buscarEstadoActivo(nombre)
             .orElseThrow(() -> new RuntimeException("No se encontró el estado " + nombre + "."));
     }
+
+    /** Datos minimos de un activo (y, en devoluciones, de su asignacion) leidos para validar el lote */
+    private static final class FilaActivo {
+        private Long activoId;
+        private Long categoriaId;
+        private Long estadoId;
+        private LocalDate fechaIngreso;
+        private Long asignacionId;
+        private Long usuarioId;
+        private LocalDate fechaAsignacion;
+        /** En asignaciones: tiene asignacion activa. En devoluciones: la asignacion sigue activa */
+        private boolean asignado;
+    }
+
+    private static final class Pendiente {
+        private final ResultadoMovimientoDTO fila;
+        private final FilaActivo activo;
+
+        private Pendiente(ResultadoMovimientoDTO fila, FilaActivo activo) {
+            this.fila = fila;
+            this.activo = activo;
+        }
+    }
 }
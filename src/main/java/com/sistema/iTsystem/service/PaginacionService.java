@@ -0,0 +1,170 @@
+package com.sistema.iTsystem.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.event.SolicitudEstadoCambiadoEvent;
+
+/**
+ * Soporte para la paginacion por keyset (seek) de los listados.
+ * Codifica/decodifica cursores (fecha, id) y cachea los totales por combinacion de filtros,
+ * ya que el conteo exacto cuesta tanto como la propia pagina.
+ */
+@Service
+public class PaginacionService {
+
+    public static final String GRUPO_ACTIVOS = "activos";
+    public static final String GRUPO_SOLICITUDES = "solicitudes";
+
+    private static final int MAX_ENTRADAS_CACHE = 200;
+
+    /** Cursor de la primera pagina: cualquier fila real queda antes en orden descendente */
+    public static final Cursor PRIMERA_PAGINA = new Cursor(LocalDateTime.of(2999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    @Value("${itsystem.paginacion.conteo-ttl-ms:60000}")
+    private long ttlConteoMs;
+
+    private final Map<String, ConteoCacheado> conteos = new ConcurrentHashMap<>();
+
+    // ==================== CURSORES ====================
+
+    public String codificarCursor(LocalDateTime fecha, Long id) {
+        return codificar(fecha + "|" + id);
+    }
+
+    /** Cursor para listados que mezclan varias fuentes ordenadas por (fecha, fuente, id) */
+    public String codificarCursor(LocalDateTime fecha, int fuente, Long id) {
+        return codificar(fecha + "|" + fuente + "|" + id);
+    }
+
+    /** Un cursor vacio o invalido equivale a pedir la primera pagina */
+    public Cursor decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return PRIMERA_PAGINA;
+        }
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] partes = plano.split("\\|");
+            if (partes.length == 3) {
+                return new Cursor(
+                    LocalDateTime.parse(partes[0]),
+                    Integer.parseInt(partes[1]),
+                    Long.parseLong(partes[2])
+                );
+            }
+            return new Cursor(LocalDateTime.parse(partes[0]), Long.parseLong(partes[1]));
+        } catch (RuntimeException e) {
+            return PRIMERA_PAGINA;
+        }
+    }
+
+    private String codificar(String plano) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Arma la pagina a partir de una consulta que trajo {@code limite + 1} filas:
+     * la fila extra solo indica que hay una pagina siguiente.
+     */
+    public <T> PaginaCursorDTO<T> armarPagina(List<T> filas, int limite,
+                                              Function<T, LocalDateTime> fecha,
+                                              Function<T, Long> id,
+                                              long totalAproximado) {
+        boolean hayMas = filas.size() > limite;
+        List<T> contenido = hayMas ? filas.subList(0, limite) : filas;
+        String siguiente = null;
+        if (hayMas) {
+            T ultima = contenido.get(contenido.size() - 1);
+            siguiente = codificarCursor(fecha.apply(ultima), id.apply(ultima));
+        }
+        return new PaginaCursorDTO<>(List.copyOf(contenido), siguiente, hayMas, totalAproximado);
+    }
+
+    // ==================== CONTEOS CACHEADOS ====================
+
+    public long contarConCache(String grupo, String clave, LongSupplier conteo) {
+        long ahora = System.currentTimeMillis();
+        String claveCompleta = grupo + "|" + clave;
+        ConteoCacheado cacheado = conteos.get(claveCompleta);
+        if (cacheado != null && cacheado.expiraEn > ahora) {
+            return cacheado.total;
+        }
+
+        long total = conteo.getAsLong();
+        if (conteos.size() >= MAX_ENTRADAS_CACHE) {
+            conteos.values().removeIf(c -> c.expiraEn <= ahora);
+            if (conteos.size() >= MAX_ENTRADAS_CACHE) {
+                conteos.clear();
+            }
+        }
+        conteos.put(claveCompleta, new ConteoCacheado(total, ahora + ttlConteoMs));
+        return total;
+    }
+
+    public void invalidar(String grupo) {
+        conteos.keySet().removeIf(clave -> clave.startsWith(grupo + "|"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivoEstadoCambiado(ActivoEstadoCambiadoEvent evento) {
+        invalidar(GRUPO_ACTIVOS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSolicitudEstadoCambiado(SolicitudEstadoCambiadoEvent evento) {
+        invalidar(GRUPO_SOLICITUDES);
+    }
+
+    // ==================== TIPOS ====================
+
+    public static final class Cursor {
+        private final LocalDateTime fecha;
+        private final int fuente;
+        private final Long id;
+
+        public Cursor(LocalDateTime fecha, Long id) {
+            this(fecha, 0, id);
+        }
+
+        public Cursor(LocalDateTime fecha, int fuente, Long id) {
+            this.fecha = fecha;
+            this.fuente = fuente;
+            this.id = id;
+        }
+
+        public LocalDateTime getFecha() {
+            return fecha;
+        }
+
+        public int getFuente() {
+            return fuente;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    private static final class ConteoCacheado {
+        private final long total;
+        private final long expiraEn;
+
+        private ConteoCacheado(long total, long expiraEn) {
+            this.total = total;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
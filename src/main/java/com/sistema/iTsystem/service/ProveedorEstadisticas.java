@@ -0,0 +1,92 @@
+package com.sistema.iTsystem.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base de las estadisticas por modulo: cada subclase arma su resultado con una consulta agregada
+ * y aca se cachea con un TTL corto. Las escrituras del modulo llaman a {@link #invalidar()}.
+ */
+public abstract class ProveedorEstadisticas<T> {
+
+    /** Tope de las listas de alertas de las pantallas de estadisticas (el resto, en "ver todas") */
+    public static final int LIMITE_LISTAS = 10;
+
+    @Value("${itsystem.estadisticas.cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    private volatile Instantanea<T> cache;
+
+    /** Se incrementa en cada {@link #limpiar()}; un calculo que la vio cambiar no se publica */
+    private final AtomicLong generacion = new AtomicLong();
+
+    public T obtener() {
+        Instantanea<T> actual = cache;
+        long ahora = System.currentTimeMillis();
+        if (actual != null && actual.expiraEn > ahora) {
+            return actual.valor;
+        }
+
+        long leida = generacion.get();
+        T valor = calcular();
+        publicar(leida, new Instantanea<>(valor, ahora + ttlMs()));
+        return valor;
+    }
+
+    /**
+     * Descarta el cache. Dentro de una transaccion se difiere al commit, para que una lectura
+     * concurrente no vuelva a cachear los datos anteriores a la escritura.
+     */
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    limpiar();
+                }
+            });
+        } else {
+            limpiar();
+        }
+    }
+
+    /** Descarta el cache en el acto (listeners AFTER_COMMIT, donde ya no se pueden registrar sincronizaciones) */
+    public void limpiar() {
+        synchronized (generacion) {
+            generacion.incrementAndGet();
+            cache = null;
+        }
+    }
+
+    protected abstract T calcular();
+
+    /**
+     * Guarda el resultado solo si no hubo un {@link #limpiar()} desde que empezo el calculo:
+     * una lectura que arranco antes del commit de una escritura no debe fijar los datos
+     * anteriores por todo el TTL.
+     */
+    private void publicar(long leida, Instantanea<T> nueva) {
+        synchronized (generacion) {
+            if (generacion.get() == leida) {
+                cache = nueva;
+            }
+        }
+    }
+
+    protected long ttlMs() {
+        return ttlMs;
+    }
+
+    private static final class Instantanea<T> {
+        private final T valor;
+        private final long expiraEn;
+
+        private Instantanea(T valor, long expiraEn) {
+            this.valor = valor;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
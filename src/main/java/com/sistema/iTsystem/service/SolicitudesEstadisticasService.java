@@ -0,0 +1,70 @@
+package com.sistema.iTsystem.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sistema.iTsystem.dto.estadisticas.SolicitudesEstadisticasDTO;
+import com.sistema.iTsystem.event.SolicitudEstadoCambiadoEvent;
+
+/**
+ * Estadisticas de solicitudes: contadores y desgloses por estado y tipo en una sola consulta
+ * (GROUPING SETS), mas el ranking acotado de usuarios. Se invalida con cada alta, cambio de
+ * estado o baja de solicitud.
+ */
+@Service
+public class SolicitudesEstadisticasService extends ProveedorEstadisticas<SolicitudesEstadisticasDTO> {
+
+    private static final String ESTADO_PENDIENTE = "Pendiente";
+
+    private static final String SQL_ESTADISTICAS =
+        "SELECT GROUPING(se.soli_estado_nom) AS sin_estado, GROUPING(st.soli_tipo_nom) AS sin_tipo, " +
+        "se.soli_estado_nom, st.soli_tipo_nom, COUNT(*) AS cantidad, " +
+        "COUNT(*) FILTER (WHERE se.soli_estado_nom = ?) AS pendientes " +
+        "FROM solicitudes s " +
+        "JOIN soli_estados se ON se.soli_estado_id = s.soli_estados_soli_estado_id " +
+        "JOIN soli_tipos st ON st.soli_tipo_id = s.soli_tipos_soli_tipo_id " +
+        "GROUP BY GROUPING SETS ((se.soli_estado_nom), (st.soli_tipo_nom), ()) " +
+        "ORDER BY cantidad DESC";
+
+    private static final String SQL_POR_USUARIO =
+        "SELECT u.usu_login, COUNT(*) AS cantidad " +
+        "FROM solicitudes s " +
+        "JOIN usuario u ON u.usu_id = s.usuario_us_id " +
+        "GROUP BY u.usu_login " +
+        "ORDER BY cantidad DESC " +
+        "LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSolicitudEstadoCambiado(SolicitudEstadoCambiadoEvent evento) {
+        limpiar();
+    }
+
+    @Override
+    protected SolicitudesEstadisticasDTO calcular() {
+        SolicitudesEstadisticasDTO estadisticas = new SolicitudesEstadisticasDTO();
+
+        jdbcTemplate.query(SQL_ESTADISTICAS, rs -> {
+            long cantidad = rs.getLong("cantidad");
+            if (rs.getInt("sin_estado") == 0) {
+                estadisticas.getPorEstado().add(new Object[]{rs.getString("soli_estado_nom"), cantidad});
+            } else if (rs.getInt("sin_tipo") == 0) {
+                estadisticas.getPorTipo().add(new Object[]{rs.getString("soli_tipo_nom"), cantidad});
+            } else {
+                estadisticas.setTotal(cantidad);
+                estadisticas.setPendientes(rs.getLong("pendientes"));
+            }
+        }, ESTADO_PENDIENTE);
+
+        jdbcTemplate.query(SQL_POR_USUARIO, rs -> {
+            estadisticas.getPorUsuario().add(new Object[]{rs.getString("usu_login"), rs.getLong("cantidad")});
+        }, LIMITE_LISTAS);
+
+        return estadisticas;
+    }
+}
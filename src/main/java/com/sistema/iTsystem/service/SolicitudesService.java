@@ -4,22 +4,26 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sistema.iTsystem.dto.activos.ActivoOpcionDTO;
+import com.sistema.iTsystem.dto.activos.ActivoReferenciaCompraDTO;
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
 import com.sistema.iTsystem.dto.solicitudes.SolicitudCambioEstadoDTO;
 import com.sistema.iTsystem.dto.solicitudes.SolicitudFormDTO;
+import com.sistema.iTsystem.dto.usuarios.UsuarioOpcionDTO;
+import com.sistema.iTsystem.event.SolicitudEstadoCambiadoEvent;
 import com.sistema.iTsystem.model.Activo;
 import com.sistema.iTsystem.model.EstadoActivo;
 import com.sistema.iTsystem.model.HardwareInfo;
@@ -32,13 +36,8 @@ import com.sistema.iTsystem.model.Modelo;
 import com.sistema.iTsystem.model.UsuarioAsignacion;
 import com.sistema.iTsystem.model.Usuario;
 import com.sistema.iTsystem.repository.ActivoRepository;
-import com.sistema.iTsystem.repository.EstadoActivoRepository;
 import com.sistema.iTsystem.repository.HardwareInfoRepository;
-import com.sistema.iTsystem.repository.MarcaRepository;
-import com.sistema.iTsystem.repository.ModeloRepository;
 import com.sistema.iTsystem.repository.SolicitudHistorialEstadosRepository;
-import com.sistema.iTsystem.repository.SoliEstadosRepository;
-import com.sistema.iTsystem.repository.SoliTiposRepository;
 import com.sistema.iTsystem.repository.SolicitudesRepository;
 import com.sistema.iTsystem.repository.UsuarioAsignacionRepository;
 import com.sistema.iTsystem.repository.UsuarioRepository;
@@ -73,41 +72,41 @@ public class SolicitudesService {
     @Autowired
     private SolicitudesRepository solicitudesRepository;
     
-    @Autowired
-    private SoliEstadosRepository estadosRepository;
-    
-    @Autowired
-    private SoliTiposRepository tiposRepository;
-    
     @Autowired
     private UsuarioRepository usuarioRepository;
 
     @Autowired
     private SolicitudHistorialEstadosRepository historialEstadosRepository;
 
+    @Autowired
+    private AuditoriaOutboxService auditoriaOutboxService;
+
     @Autowired
     private ActivoRepository activoRepository;
 
     @Autowired
-    private EstadoActivoRepository estadoActivoRepository;
+    private UsuarioAsignacionRepository usuarioAsignacionRepository;
 
     @Autowired
-    private MarcaRepository marcaRepository;
+    private HardwareInfoRepository hardwareInfoRepository;
 
     @Autowired
-    private ModeloRepository modeloRepository;
+    private EstadoTransicionService estadoTransicionService;
 
     @Autowired
-    private UsuarioAsignacionRepository usuarioAsignacionRepository;
+    private MovimientosService movimientosService;
 
     @Autowired
-    private HardwareInfoRepository hardwareInfoRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private EstadoTransicionService estadoTransicionService;
+    private PaginacionService paginacionService;
 
     @Autowired
-    private MovimientosService movimientosService;
+    private CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private MaquinaEstadosService maquinaEstadosService;
 
     private static final Set<String> TIPOS_PERMITIDOS = Set.of(
         "Mantenimiento",
@@ -126,17 +125,6 @@ public class SolicitudesService {
         "Cancelada"
     );
 
-    private static final Map<String, Set<String>> TRANSICIONES_PERMITIDAS = new HashMap<>();
-
-    static {
-        TRANSICIONES_PERMITIDAS.put("Pendiente", Set.of("En análisis", "Rechazada", "Cancelada"));
-        TRANSICIONES_PERMITIDAS.put("En análisis", Set.of("Aprobada", "Rechazada", "Cancelada"));
-        TRANSICIONES_PERMITIDAS.put("Aprobada", Set.of("Cerrada"));
-        TRANSICIONES_PERMITIDAS.put("Rechazada", Set.of());
-        TRANSICIONES_PERMITIDAS.put("Cerrada", Set.of());
-        TRANSICIONES_PERMITIDAS.put("Cancelada", Set.of());
-    }
-
     // ==================== CRUD BÁSICO ====================
 
     /**
@@ -160,18 +148,6 @@ public class SolicitudesService {
         "Cerrada"
     );
 
-    private static final Map<String, Set<String>> TRANSICIONES_FLUJO_PERMITIDAS = new HashMap<>();
-
-    static {
-        TRANSICIONES_FLUJO_PERMITIDAS.put("Pendiente", Set.of("En análisis", "Rechazada"));
-        TRANSICIONES_FLUJO_PERMITIDAS.put("En análisis", Set.of("Aprobada", "Rechazada"));
-        TRANSICIONES_FLUJO_PERMITIDAS.put("Aprobada", Set.of("En ejecución", "Resuelta"));
-        TRANSICIONES_FLUJO_PERMITIDAS.put("En ejecución", Set.of("Resuelta"));
-        TRANSICIONES_FLUJO_PERMITIDAS.put("Resuelta", Set.of("Cerrada"));
-        TRANSICIONES_FLUJO_PERMITIDAS.put("Rechazada", Set.of());
-        TRANSICIONES_FLUJO_PERMITIDAS.put("Cerrada", Set.of());
-    }
-
     public List<Solicitudes> obtenerTodas() {
         return solicitudesRepository.findAll();
     }
@@ -198,7 +174,7 @@ public class SolicitudesService {
     }
 
     public List<SoliEstados> obtenerEstadosPermitidos() {
-        return estadosRepository.findAll().stream()
+        return catalogoCacheService.obtenerEstadosSolicitud().stream()
             .filter(estado -> estado.getSoliEstadoNom() != null
                 && ESTADOS_PERMITIDOS.contains(estado.getSoliEstadoNom()))
             .sorted(Comparator.comparing(SoliEstados::getSoliEstadoNom))
@@ -206,36 +182,19 @@ public class SolicitudesService {
     }
 
     public List<SoliTipos> obtenerTiposPermitidos() {
-        return tiposRepository.findAll().stream()
+        return catalogoCacheService.obtenerTiposSolicitud().stream()
             .filter(tipo -> tipo.getSoliTipoNom() != null
                 && TIPOS_PERMITIDOS.contains(tipo.getSoliTipoNom()))
             .sorted(Comparator.comparing(SoliTipos::getSoliTipoNom))
             .toList();
     }
 
-    public List<Activo> obtenerActivosDisponiblesParaSolicitud() {
-        Set<Long> activosAsignados = usuarioAsignacionRepository.findAsignacionesActivasConDetalles().stream()
-            .map(UsuarioAsignacion::getActivo)
-            .filter(activo -> activo != null && activo.getActivoId() != null)
-            .map(Activo::getActivoId)
-            .collect(Collectors.toSet());
-
-        return activoRepository.findAll().stream()
-            .filter(activo -> Boolean.TRUE.equals(activo.getActivoActivo()))
-            .filter(activo -> activo.getEstado() != null)
-            .filter(activo -> "Disponible".equalsIgnoreCase(activo.getEstado().getEstadoNom()))
-            .filter(activo -> !activosAsignados.contains(activo.getActivoId()))
-            .sorted(Comparator.comparing(activo -> activo.getActivoCodigo() != null ? activo.getActivoCodigo().toLowerCase() : ""))
-            .toList();
+    public List<ActivoOpcionDTO> obtenerActivosDisponiblesParaSolicitud() {
+        return activoRepository.findOpcionesPorEstadoSinAsignacion("Disponible");
     }
 
-    public List<Activo> obtenerActivosParaReferencia() {
-        return activoRepository.findAll().stream()
-            .filter(activo -> Boolean.TRUE.equals(activo.getActivoActivo()))
-            .filter(activo -> activo.getEstado() != null)
-            .filter(activo -> !"Dado de baja".equalsIgnoreCase(activo.getEstado().getEstadoNom()))
-            .sorted(Comparator.comparing(activo -> activo.getActivoCodigo() != null ? activo.getActivoCodigo().toLowerCase() : ""))
-            .toList();
+    public List<ActivoOpcionDTO> obtenerActivosParaReferencia() {
+        return activoRepository.findOpcionesExcluyendoEstado("Dado de baja");
     }
 
     public List<Activo> obtenerActivosAsignadosConAsignacionActiva() {
@@ -248,14 +207,11 @@ public class SolicitudesService {
             .toList();
     }
 
-    public List<Usuario> obtenerUsuariosActivos() {
-        return usuarioRepository.findAll().stream()
-            .filter(usuario -> Boolean.TRUE.equals(usuario.getUsuActivo()))
-            .sorted(Comparator.comparing(usuario -> usuario.getUsuLogin() != null ? usuario.getUsuLogin().toLowerCase() : ""))
-            .toList();
+    public List<UsuarioOpcionDTO> obtenerUsuariosActivos() {
+        return usuarioRepository.findOpcionesActivas();
     }
 
-    public List<Usuario> obtenerUsuariosDestinatariosDisponibles() {
+    public List<UsuarioOpcionDTO> obtenerUsuariosDestinatariosDisponibles() {
         return obtenerUsuariosActivos();
     }
 
@@ -272,22 +228,16 @@ public class SolicitudesService {
             .orElse(null);
     }
 
-    public List<Usuario> obtenerResponsablesDisponibles() {
+    public List<UsuarioOpcionDTO> obtenerResponsablesDisponibles() {
         return obtenerUsuariosActivos();
     }
 
-    public List<Activo> obtenerActivosReferenciales() {
-        return activoRepository.findAll().stream()
-            .filter(activo -> Boolean.TRUE.equals(activo.getActivoActivo()))
-            .sorted(Comparator.comparing(activo -> activo.getActivoCodigo() != null ? activo.getActivoCodigo().toLowerCase() : ""))
-            .toList();
+    public List<ActivoOpcionDTO> obtenerActivosReferenciales() {
+        return activoRepository.findOpcionesVigentes();
     }
 
-    public List<Activo> obtenerActivosReferencialesConDatosTecnicos() {
-        return obtenerActivosReferenciales().stream()
-            .filter(activo -> activo != null && activo.getActivoId() != null)
-            .filter(activo -> hardwareInfoRepository.findByActivo_ActivoId(activo.getActivoId()).isPresent())
-            .toList();
+    public List<ActivoReferenciaCompraDTO> obtenerActivosReferencialesConDatosTecnicos() {
+        return activoRepository.findOpcionesConHardware();
     }
 
     private void aplicarCamposEspecificosPorTipoV2(Solicitudes solicitud, SolicitudFormDTO form, SoliTipos tipo, Usuario usuarioAutenticado) {
@@ -390,14 +340,14 @@ public class SolicitudesService {
     }
 
     public List<SoliTipos> obtenerTiposFlujo() {
-        return tiposRepository.findAll().stream()
+        return catalogoCacheService.obtenerTiposSolicitud().stream()
             .filter(tipo -> tipo.getSoliTipoNom() != null && TIPOS_FLUJO_PERMITIDOS.contains(tipo.getSoliTipoNom()))
             .sorted(Comparator.comparing(SoliTipos::getSoliTipoNom))
             .toList();
     }
 
     public List<SoliEstados> obtenerEstadosFlujo() {
-        return estadosRepository.findAll().stream()
+        return catalogoCacheService.obtenerEstadosSolicitud().stream()
             .filter(estado -> estado.getSoliEstadoNom() != null && ESTADOS_FLUJO_PERMITIDOS.contains(estado.getSoliEstadoNom()))
             .sorted(Comparator.comparing(SoliEstados::getSoliEstadoNom))
             .toList();
@@ -674,10 +624,12 @@ public class SolicitudesService {
                                               Usuario usuarioAutenticado, String observacion) {
         String estadoActual = solicitud.getEstadoSolicitud();
         validarTransicionFlujo(estadoActual, nuevoEstadoNombre);
+        SoliEstados estadoAnterior = solicitud.getSoliEstado();
         SoliEstados nuevoEstado = obtenerEstadoObligatorio(nuevoEstadoNombre);
         solicitud.setSoliEstado(nuevoEstado);
         solicitudesRepository.save(solicitud);
         registrarHistorial(solicitud, estadoActual, nuevoEstado, usuarioAutenticado, observacion);
+        publicarCambioEstado(solicitud, estadoAnterior, nuevoEstado);
         return solicitud;
     }
 
@@ -691,14 +643,13 @@ public class SolicitudesService {
             }
             return;
         }
-        Set<String> permitidos = TRANSICIONES_FLUJO_PERMITIDAS.getOrDefault(estadoActual, Set.of());
-        if (!permitidos.contains(estadoNuevo)) {
+        if (!maquinaEstadosService.puedeTransicionar(MaquinaEstadosService.Flujo.SOLICITUD_FLUJO, estadoActual, estadoNuevo)) {
             throw new SolicitudInvalidaException("La transición de estado solicitada no está permitida.");
         }
     }
 
     private Long obtenerEstadoActivoId(String nombreEstado) {
-        return estadoActivoRepository.findByEstadoNom(nombreEstado)
+        return catalogoCacheService.buscarEstadoActivo(nombreEstado)
             .map(EstadoActivo::getEstadoId)
             .orElseThrow(() -> new SolicitudInvalidaException("Estado de activo '" + nombreEstado + "' no encontrado."));
     }
@@ -713,14 +664,14 @@ public class SolicitudesService {
     }
 
     public List<Marca> obtenerMarcasActivas() {
-        return marcaRepository.findAll().stream()
+        return catalogoCacheService.obtenerMarcas().stream()
             .filter(marca -> Boolean.TRUE.equals(marca.getMarcaActiva()))
             .sorted(Comparator.comparing(marca -> marca.getMarcaNom() != null ? marca.getMarcaNom().toLowerCase() : ""))
             .toList();
     }
 
     public List<Modelo> obtenerModelosActivos() {
-        return modeloRepository.findAll().stream()
+        return catalogoCacheService.obtenerModelos().stream()
             .filter(modelo -> Boolean.TRUE.equals(modelo.getModelActivo()))
             .sorted(Comparator.comparing(modelo -> modelo.getModelNom() != null ? modelo.getModelNom().toLowerCase() : ""))
             .toList();
@@ -731,7 +682,7 @@ public class SolicitudesService {
             return null;
         }
 
-        return estadosRepository.findBySoliEstadoNom(nombre)
+        return catalogoCacheService.buscarEstadoSolicitud(nombre)
             .map(SoliEstados::getSoliEstadoId)
             .orElse(null);
     }
@@ -741,7 +692,7 @@ public class SolicitudesService {
             return null;
         }
 
-        return tiposRepository.findBySoliTipoNom(nombre)
+        return catalogoCacheService.buscarTipoSolicitud(nombre)
             .map(SoliTipos::getSoliTipoId)
             .orElse(null);
     }
@@ -754,7 +705,8 @@ public class SolicitudesService {
                                               Long solicitanteId, Long responsableId,
                                               LocalDate fechaDesde, LocalDate fechaHasta,
                                               Usuario usuarioActual, Pageable pageable) {
-        String textoNormalizado = texto != null ? texto.trim() : "";
+        // soli_busqueda se guarda en minusculas: el texto se normaliza igual para usar el indice trigram
+        String textoNormalizado = texto != null ? texto.trim().toLowerCase() : "";
         Long tipoFiltrado = tipoId != null ? tipoId : -1L;
         Long estadoFiltrado = estadoId != null ? estadoId : -1L;
         Long solicitanteFiltrado = solicitanteId != null ? solicitanteId : -1L;
@@ -776,6 +728,43 @@ public class SolicitudesService {
         );
     }
 
+    /**
+     * Mismos filtros que buscarConFiltros, paginado por keyset sobre (createdAt, soliId).
+     * El total es aproximado: se cachea por combinacion de filtros.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<Solicitudes> buscarConFiltrosPorCursor(String texto, Long tipoId, Long estadoId,
+                                                                  Long solicitanteId, Long responsableId,
+                                                                  LocalDate fechaDesde, LocalDate fechaHasta,
+                                                                  String cursor, int limite) {
+        String textoNormalizado = texto != null ? texto.trim().toLowerCase() : "";
+        Long tipoFiltrado = tipoId != null ? tipoId : -1L;
+        Long estadoFiltrado = estadoId != null ? estadoId : -1L;
+        Long solicitanteFiltrado = solicitanteId != null ? solicitanteId : -1L;
+        Long responsableFiltrado = responsableId != null ? responsableId : -1L;
+        LocalDateTime desde = fechaDesde != null ? fechaDesde.atStartOfDay() : LocalDateTime.of(1900, 1, 1, 0, 0);
+        LocalDateTime hasta = fechaHasta != null ? fechaHasta.atTime(LocalTime.MAX) : LocalDateTime.of(2999, 12, 31, 23, 59, 59);
+        PaginacionService.Cursor posicion = paginacionService.decodificarCursor(cursor);
+
+        List<Solicitudes> filas = solicitudesRepository.findWithFiltersDespuesDe(
+            textoNormalizado, tipoFiltrado, estadoFiltrado, solicitanteFiltrado, responsableFiltrado,
+            desde, hasta, -1L, -1L,
+            posicion.getFecha(), posicion.getId(),
+            PageRequest.of(0, limite + 1)
+        );
+        long total = paginacionService.contarConCache(
+            PaginacionService.GRUPO_SOLICITUDES,
+            String.join("|", textoNormalizado, String.valueOf(tipoFiltrado), String.valueOf(estadoFiltrado),
+                String.valueOf(solicitanteFiltrado), String.valueOf(responsableFiltrado),
+                String.valueOf(desde), String.valueOf(hasta)),
+            () -> solicitudesRepository.countWithFilters(
+                textoNormalizado, tipoFiltrado, estadoFiltrado, solicitanteFiltrado, responsableFiltrado,
+                desde, hasta, -1L, -1L)
+        );
+
+        return paginacionService.armarPagina(filas, limite, Solicitudes::getCreatedAt, Solicitudes::getSoliId, total);
+    }
+
     @Transactional
     public Solicitudes crearDesdeFormulario(SolicitudFormDTO form, Usuario usuarioAutenticado) {
         SolicitudFormDTO formulario = form != null ? form : new SolicitudFormDTO();
@@ -793,6 +782,7 @@ public class SolicitudesService {
         solicitud = solicitudesRepository.save(solicitud);
 
         registrarHistorial(solicitud, null, solicitud.getSoliEstado(), usuarioAutenticado, "Creación de solicitud");
+        publicarCambioEstado(solicitud, null, solicitud.getSoliEstado());
         return solicitud;
     }
 
@@ -839,12 +829,14 @@ public class SolicitudesService {
             responsable = validarResponsable(dto.getResponsableId());
         }
 
+        SoliEstados estadoAnterior = solicitud.getSoliEstado();
         solicitud.setSoliEstado(nuevoEstado);
         solicitud.setResponsable(responsable);
         solicitudesRepository.save(solicitud);
 
         registrarHistorial(solicitud, nombreEstadoActual, nuevoEstado, usuarioAutenticado,
             dto.getObservacion() != null ? dto.getObservacion() : "Cambio de estado");
+        publicarCambioEstado(solicitud, estadoAnterior, nuevoEstado);
         return solicitud;
     }
 
@@ -895,14 +887,16 @@ public class SolicitudesService {
         
         // Asignar estado "Pendiente" por defecto
         if (solicitud.getSoliEstado() == null) {
-            SoliEstados estadoPendiente = estadosRepository.findBySoliEstadoNom("Pendiente")
+            SoliEstados estadoPendiente = catalogoCacheService.buscarEstadoSolicitud("Pendiente")
                 .orElseThrow(() -> new SolicitudInvalidaException(
                     "Estado 'Pendiente' no encontrado en la base de datos"
                 ));
             solicitud.setSoliEstado(estadoPendiente);
         }
         
-        return solicitudesRepository.save(solicitud);
+        Solicitudes guardada = solicitudesRepository.save(solicitud);
+        publicarCambioEstado(guardada, null, guardada.getSoliEstado());
+        return guardada;
     }
 
     /**
@@ -936,6 +930,7 @@ public class SolicitudesService {
             ));
         
         solicitudesRepository.delete(solicitud);
+        publicarCambioEstado(solicitud, solicitud.getSoliEstado(), null);
     }
 
     // ==================== GESTIÓN DE ESTADOS ====================
@@ -950,12 +945,14 @@ public class SolicitudesService {
                 "Solicitud con ID " + solicitudId + " no encontrada"
             ));
         
-        SoliEstados nuevoEstado = estadosRepository.findById(nuevoEstadoId)
+        SoliEstados nuevoEstado = catalogoCacheService.buscarEstadoSolicitud(nuevoEstadoId)
             .orElseThrow(() -> new SolicitudInvalidaException(
                 "Estado con ID " + nuevoEstadoId + " no encontrado"
             ));
         
+        SoliEstados estadoAnterior = solicitud.getSoliEstado();
         solicitud.setSoliEstado(nuevoEstado);
+        publicarCambioEstado(solicitud, estadoAnterior, nuevoEstado);
         return solicitudesRepository.save(solicitud);
     }
 
@@ -976,12 +973,14 @@ public class SolicitudesService {
             );
         }
         
-        SoliEstados estadoAprobada = estadosRepository.findBySoliEstadoNom("Aprobada")
+        SoliEstados estadoAprobada = catalogoCacheService.buscarEstadoSolicitud("Aprobada")
             .orElseThrow(() -> new SolicitudInvalidaException(
                 "Estado 'Aprobada' no encontrado"
             ));
         
+        SoliEstados estadoAnterior = solicitud.getSoliEstado();
         solicitud.setSoliEstado(estadoAprobada);
+        publicarCambioEstado(solicitud, estadoAnterior, estadoAprobada);
         return solicitudesRepository.save(solicitud);
     }
 
@@ -1002,12 +1001,14 @@ public class SolicitudesService {
             );
         }
         
-        SoliEstados estadoRechazada = estadosRepository.findBySoliEstadoNom("Rechazada")
+        SoliEstados estadoRechazada = catalogoCacheService.buscarEstadoSolicitud("Rechazada")
             .orElseThrow(() -> new SolicitudInvalidaException(
                 "Estado 'Rechazada' no encontrado"
             ));
         
+        SoliEstados estadoAnterior = solicitud.getSoliEstado();
         solicitud.setSoliEstado(estadoRechazada);
+        publicarCambioEstado(solicitud, estadoAnterior, estadoRechazada);
         
         // Agregar motivo de rechazo a la descripción
         if (motivo != null && !motivo.trim().isEmpty()) {
@@ -1036,12 +1037,14 @@ public class SolicitudesService {
             );
         }
         
-        SoliEstados estadoCompletada = estadosRepository.findBySoliEstadoNom("Completada")
+        SoliEstados estadoCompletada = catalogoCacheService.buscarEstadoSolicitud("Completada")
             .orElseThrow(() -> new SolicitudInvalidaException(
                 "Estado 'Completada' no encontrado"
             ));
         
+        SoliEstados estadoAnterior = solicitud.getSoliEstado();
         solicitud.setSoliEstado(estadoCompletada);
+        publicarCambioEstado(solicitud, estadoAnterior, estadoCompletada);
         return solicitudesRepository.save(solicitud);
     }
 
@@ -1312,7 +1315,7 @@ public class SolicitudesService {
         if (marcaId == null) {
             return null;
         }
-        return marcaRepository.findById(marcaId)
+        return catalogoCacheService.buscarMarca(marcaId)
             .orElseThrow(() -> new SolicitudInvalidaException("La marca seleccionada no existe."));
     }
 
@@ -1320,7 +1323,7 @@ public class SolicitudesService {
         if (modelId == null) {
             return null;
         }
-        Modelo modelo = modeloRepository.findById(modelId)
+        Modelo modelo = catalogoCacheService.buscarModelo(modelId)
             .orElseThrow(() -> new SolicitudInvalidaException("El modelo seleccionado no existe."));
         if (marca != null && (modelo.getMarca() == null || !modelo.getMarca().getMarcaId().equals(marca.getMarcaId()))) {
             throw new SolicitudInvalidaException("El modelo seleccionado no pertenece a la marca indicada.");
@@ -1380,18 +1383,18 @@ public class SolicitudesService {
     }
 
     private SoliTipos obtenerTipoObligatorio(Long tipoId) {
-        return tiposRepository.findById(tipoId)
+        return catalogoCacheService.buscarTipoSolicitud(tipoId)
             .filter(tipo -> tipo.getSoliTipoNom() != null && TIPOS_PERMITIDOS.contains(tipo.getSoliTipoNom()))
             .orElseThrow(() -> new SolicitudInvalidaException("El tipo seleccionado no está permitido."));
     }
 
     private SoliEstados obtenerEstadoObligatorio(String nombre) {
-        return estadosRepository.findBySoliEstadoNom(nombre)
+        return catalogoCacheService.buscarEstadoSolicitud(nombre)
             .orElseThrow(() -> new SolicitudInvalidaException("Estado '" + nombre + "' no encontrado."));
     }
 
     private SoliEstados obtenerEstadoPorId(Long estadoId) {
-        return estadosRepository.findById(estadoId)
+        return catalogoCacheService.buscarEstadoSolicitud(estadoId)
             .orElseThrow(() -> new SolicitudInvalidaException("Estado con ID " + estadoId + " no encontrado."));
     }
 
@@ -1447,8 +1450,7 @@ public class SolicitudesService {
             return;
         }
 
-        Set<String> permitidos = TRANSICIONES_PERMITIDAS.getOrDefault(estadoActual, Set.of());
-        if (!permitidos.contains(estadoNuevo)) {
+        if (!maquinaEstadosService.puedeTransicionar(MaquinaEstadosService.Flujo.SOLICITUD, estadoActual, estadoNuevo)) {
             throw new SolicitudInvalidaException("La transición de estado solicitada no está permitida.");
         }
     }
@@ -1498,14 +1500,37 @@ public class SolicitudesService {
         return dto;
     }
 
+    private void publicarCambioEstado(Solicitudes solicitud, SoliEstados estadoAnterior, SoliEstados estadoNuevo) {
+        Long anteriorId = estadoAnterior != null ? estadoAnterior.getSoliEstadoId() : null;
+        Long nuevoId = estadoNuevo != null ? estadoNuevo.getSoliEstadoId() : null;
+        if (anteriorId != null && anteriorId.equals(nuevoId)) {
+            return;
+        }
+        eventPublisher.publishEvent(new SolicitudEstadoCambiadoEvent(solicitud.getSoliId(), anteriorId, nuevoId));
+    }
+
     private void registrarHistorial(Solicitudes solicitud, String estadoAnteriorNombre, SoliEstados estadoNuevo,
                                     Usuario usuario, String observacion) {
         SolicitudHistorialEstados historial = new SolicitudHistorialEstados();
         historial.setSolicitud(solicitud);
-        historial.setEstadoAnterior(estadoAnteriorNombre != null ? estadosRepository.findBySoliEstadoNom(estadoAnteriorNombre).orElse(null) : null);
+        historial.setEstadoAnterior(estadoAnteriorNombre != null ? catalogoCacheService.buscarEstadoSolicitud(estadoAnteriorNombre).orElse(null) : null);
         historial.setEstadoNuevo(estadoNuevo);
         historial.setUsuario(usuario);
         historial.setObservaciones(observacion);
+
+        if (auditoriaOutboxService.estaHabilitado()) {
+            auditoriaOutboxService.encolar(
+                AuditoriaOutboxService.ORIGEN_SOLICITUD,
+                solicitud.getSoliId(),
+                historial.getEstadoAnterior() != null ? historial.getEstadoAnterior().getSoliEstadoId() : null,
+                estadoNuevo.getSoliEstadoId(),
+                usuario.getUsuId(),
+                LocalDateTime.now(),
+                null,
+                observacion
+            );
+            return;
+        }
         historialEstadosRepository.save(historial);
     }
 
@@ -1540,14 +1565,14 @@ public class SolicitudesService {
      * Obtener todos los estados de solicitudes
      */
     public List<SoliEstados> obtenerTodosEstados() {
-        return estadosRepository.findAll();
+        return catalogoCacheService.obtenerEstadosSolicitud();
     }
 
     /**
      * Obtener todos los tipos de solicitudes
      */
     public List<SoliTipos> obtenerTodosTipos() {
-        return tiposRepository.findAll();
+        return catalogoCacheService.obtenerTiposSolicitud();
     }
 
     /**
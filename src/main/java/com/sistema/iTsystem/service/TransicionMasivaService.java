@@ -0,0 +1,461 @@
+package com.sistema.iTsystem.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sistema.iTsystem.dto.activos.FalloTransicionMasivaDTO;
+import com.sistema.iTsystem.dto.activos.TransicionMasivaProgresoDTO;
+import com.sistema.iTsystem.event.ActivoEstadoCambiadoEvent;
+import com.sistema.iTsystem.model.EstadoActivo;
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.service.EstadoTransicionService.OperacionEstado;
+import com.sistema.iTsystem.service.EstadoTransicionService.TransicionInvalidaException;
+
+/**
+ * Cambios de estado masivos (bajas anuales, envio a mantenimiento) sobre listas de codigos.
+ * El pedido se guarda con una fila por codigo y un proceso programado lo aplica por tramos:
+ * cada tramo valida con una sola consulta, cambia los estados con un UPDATE por conjunto
+ * (compare-and-set sobre el estado leido) e inserta el historial en batch, todo en una transaccion.
+ * Con el outbox de auditoria habilitado el historial se encola como en las transiciones individuales.
+ * Como cada fila guarda su resultado, un trabajo interrumpido retoma desde las filas pendientes.
+ */
+@Service
+public class TransicionMasivaService {
+
+    public static final String ESTADO_EN_CURSO = "EN_CURSO";
+    public static final String ESTADO_COMPLETADO = "COMPLETADO";
+    public static final String ESTADO_FALLIDO = "FALLIDO";
+
+    private static final String ITEM_PENDIENTE = "PENDIENTE";
+    private static final String ITEM_APLICADO = "APLICADO";
+    private static final String ITEM_FALLIDO = "FALLIDO";
+
+    /** Cantidad maxima de codigos por trabajo */
+    public static final int MAX_CODIGOS = 20000;
+
+    private static final int MAX_FALLOS_INFORMADOS = 200;
+
+    public static class TrabajoNoEncontradoException extends RuntimeException {
+        public TrabajoNoEncontradoException(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private MaquinaEstadosService maquinaEstadosService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AuditoriaOutboxService auditoriaOutboxService;
+
+    @Value("${itsystem.transiciones-masivas.lote:500}")
+    private int tamanoTramo;
+
+    // ==================== ALTA ====================
+
+    /** Registra el trabajo; el procesamiento arranca en la proxima pasada del proceso programado */
+    @Transactional
+    public Long crear(String operacionClave, List<String> codigos, String motivo,
+                      String observaciones, Usuario usuarioOperador) {
+        if (usuarioOperador == null || usuarioOperador.getUsuId() == null) {
+            throw new RuntimeException("Usuario no encontrado");
+        }
+        OperacionEstado operacion = OperacionEstado.desdeClave(operacionClave);
+        if (operacion.esBaja() && !usuarioOperador.esAdministrador()) {
+            throw new TransicionInvalidaException("Esta accion requiere privilegios de Administrador");
+        }
+        if (motivo == null || motivo.trim().isEmpty()) {
+            throw new TransicionInvalidaException("El motivo es obligatorio");
+        }
+        if (codigos == null || codigos.isEmpty()) {
+            throw new TransicionInvalidaException("El lote no contiene codigos.");
+        }
+        if (codigos.size() > MAX_CODIGOS) {
+            throw new TransicionInvalidaException("El lote no puede superar los " + MAX_CODIGOS + " codigos.");
+        }
+        obtenerEstadoDestino(operacion);
+
+        KeyHolder clave = new GeneratedKeyHolder();
+        jdbcTemplate.update(conexion -> {
+            PreparedStatement ps = conexion.prepareStatement(
+                "INSERT INTO transicion_masiva (operacion, motivo, observaciones, usuario_id, total) " +
+                "VALUES (?, ?, ?, ?, ?)",
+                new String[] {"trans_id"}
+            );
+            ps.setString(1, operacion.getClave());
+            ps.setString(2, motivo.trim());
+            ps.setString(3, observaciones);
+            ps.setLong(4, usuarioOperador.getUsuId());
+            ps.setInt(5, codigos.size());
+            return ps;
+        }, clave);
+        Long trabajoId = clave.getKey().longValue();
+
+        List<Object[]> items = new ArrayList<>();
+        Set<String> vistos = new HashSet<>();
+        int fallidos = 0;
+        for (String codigo : codigos) {
+            // Misma normalizacion que el alta (ActivoService): repetidos con otra capitalizacion se detectan aca
+            String normalizado = codigo != null ? codigo.trim().toUpperCase() : "";
+            if (normalizado.isEmpty()) {
+                items.add(new Object[] {trabajoId, "", ITEM_FALLIDO, "Codigo vacio."});
+                fallidos++;
+            } else if (!vistos.add(normalizado)) {
+                items.add(new Object[] {trabajoId, normalizado, ITEM_FALLIDO, "El activo aparece repetido en el lote."});
+                fallidos++;
+            } else {
+                items.add(new Object[] {trabajoId, normalizado, ITEM_PENDIENTE, null});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO transicion_masiva_item (trans_id, activo_codigo, item_estado, mensaje) VALUES (?, ?, ?, ?)",
+            items
+        );
+        if (fallidos > 0) {
+            jdbcTemplate.update("UPDATE transicion_masiva SET fallidos = ? WHERE trans_id = ?", fallidos, trabajoId);
+        }
+        return trabajoId;
+    }
+
+    /**
+     * Extrae los codigos de un CSV: se toma la primera columna de cada linea
+     * (separada por coma o punto y coma) y se ignora un encabezado "codigo".
+     */
+    public List<String> leerCodigosCsv(String csv) {
+        List<String> codigos = new ArrayList<>();
+        if (csv == null) {
+            return codigos;
+        }
+        for (String linea : csv.split("\\r?\\n")) {
+            linea = linea.trim();
+            if (linea.isEmpty()) {
+                continue;
+            }
+            String primera = linea.split("[,;]", 2)[0].trim();
+            if (primera.length() >= 2 && primera.startsWith("\"") && primera.endsWith("\"")) {
+                primera = primera.substring(1, primera.length() - 1).trim();
+            }
+            if (codigos.isEmpty() && ("codigo".equalsIgnoreCase(primera) || "activo_codigo".equalsIgnoreCase(primera))) {
+                continue;
+            }
+            codigos.add(primera);
+        }
+        return codigos;
+    }
+
+    // ==================== PROGRESO ====================
+
+    public TransicionMasivaProgresoDTO obtenerProgreso(Long trabajoId) {
+        List<TransicionMasivaProgresoDTO> filas = jdbcTemplate.query(
+            "SELECT trans_id, operacion, trans_estado, trans_error, total, exitosos, fallidos, created_at, updated_at " +
+            "FROM transicion_masiva WHERE trans_id = ?",
+            (rs, i) -> {
+                TransicionMasivaProgresoDTO dto = new TransicionMasivaProgresoDTO();
+                dto.setTrabajoId(rs.getLong("trans_id"));
+                dto.setOperacion(rs.getString("operacion"));
+                dto.setEstado(rs.getString("trans_estado"));
+                dto.setError(rs.getString("trans_error"));
+                dto.setTotal(rs.getInt("total"));
+                dto.setExitosos(rs.getInt("exitosos"));
+                dto.setFallidos(rs.getInt("fallidos"));
+                dto.setPendientes(Math.max(0, dto.getTotal() - dto.getExitosos() - dto.getFallidos()));
+                Timestamp creado = rs.getTimestamp("created_at");
+                Timestamp actualizado = rs.getTimestamp("updated_at");
+                dto.setCreado(creado != null ? creado.toLocalDateTime() : null);
+                dto.setActualizado(actualizado != null ? actualizado.toLocalDateTime() : null);
+                return dto;
+            },
+            trabajoId
+        );
+        if (filas.isEmpty()) {
+            throw new TrabajoNoEncontradoException("Trabajo " + trabajoId + " no encontrado");
+        }
+
+        TransicionMasivaProgresoDTO progreso = filas.get(0);
+        progreso.setFallos(jdbcTemplate.query(
+            "SELECT activo_codigo, mensaje FROM transicion_masiva_item " +
+            "WHERE trans_id = ? AND item_estado = ? " +
+            "ORDER BY item_id " +
+            "LIMIT ?",
+            (rs, i) -> new FalloTransicionMasivaDTO(rs.getString("activo_codigo"), rs.getString("mensaje")),
+            trabajoId,
+            ITEM_FALLIDO,
+            MAX_FALLOS_INFORMADOS
+        ));
+        return progreso;
+    }
+
+    // ==================== PROCESAMIENTO ====================
+
+    /**
+     * Un tramo por trabajo en cada pasada: un trabajo grande avanza de a un tramo por intervalo
+     * y no retiene el hilo del planificador hasta terminar.
+     * Tambien retoma los trabajos que quedaron a medias tras un reinicio. Si un tramo falla, el trabajo
+     * queda FALLIDO con el motivo y la pasada sigue con los demas.
+     */
+    @Scheduled(fixedDelayString = "${itsystem.transiciones-masivas.intervalo-ms:2000}")
+    public void procesarPendientes() {
+        List<Long> trabajos = jdbcTemplate.queryForList(
+            "SELECT trans_id FROM transicion_masiva WHERE trans_estado = ? ORDER BY trans_id",
+            Long.class,
+            ESTADO_EN_CURSO
+        );
+        for (Long trabajoId : trabajos) {
+            try {
+                transactionTemplate.execute(status -> procesarTramo(trabajoId));
+            } catch (RuntimeException e) {
+                marcarFallido(trabajoId, e);
+            }
+        }
+    }
+
+    /** El tramo ya se revirtio: las filas siguen PENDIENTE y el trabajo deja de tomarse */
+    private void marcarFallido(Long trabajoId, RuntimeException error) {
+        jdbcTemplate.update(
+            "UPDATE transicion_masiva SET trans_estado = ?, trans_error = ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE trans_id = ? AND trans_estado = ?",
+            ESTADO_FALLIDO,
+            error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName(),
+            trabajoId,
+            ESTADO_EN_CURSO
+        );
+    }
+
+    private int procesarTramo(Long trabajoId) {
+        Trabajo trabajo = jdbcTemplate.queryForObject(
+            "SELECT operacion, motivo, observaciones, usuario_id FROM transicion_masiva WHERE trans_id = ?",
+            (rs, i) -> new Trabajo(
+                OperacionEstado.desdeClave(rs.getString("operacion")),
+                rs.getString("motivo"),
+                rs.getString("observaciones"),
+                rs.getLong("usuario_id")
+            ),
+            trabajoId
+        );
+
+        // Otra instancia puede estar procesando el mismo trabajo: cada una toma filas distintas
+        List<Item> items = jdbcTemplate.query(
+            "SELECT i.item_id, i.activo_codigo, a.activo_id, a.cat_id, a.estado_id " +
+            "FROM transicion_masiva_item i " +
+            // Igual que findParaTransicionPorCodigo; usa el indice sobre LOWER(activo_codigo) de V12
+            "LEFT JOIN activo a ON LOWER(a.activo_codigo) = LOWER(i.activo_codigo) " +
+            "WHERE i.trans_id = ? AND i.item_estado = ? " +
+            "ORDER BY i.item_id " +
+            "LIMIT ? " +
+            "FOR UPDATE OF i SKIP LOCKED",
+            (rs, i) -> {
+                Item item = new Item();
+                item.itemId = rs.getLong("item_id");
+                item.activoId = rs.getObject("activo_id", Long.class);
+                item.categoriaId = rs.getObject("cat_id", Long.class);
+                item.estadoId = rs.getObject("estado_id", Long.class);
+                return item;
+            },
+            trabajoId,
+            ITEM_PENDIENTE,
+            tamanoTramo
+        );
+        if (items.isEmpty()) {
+            jdbcTemplate.update(
+                "UPDATE transicion_masiva SET trans_estado = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE trans_id = ? AND trans_estado = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM transicion_masiva_item i WHERE i.trans_id = ? AND i.item_estado = ?)",
+                ESTADO_COMPLETADO, trabajoId, ESTADO_EN_CURSO, trabajoId, ITEM_PENDIENTE
+            );
+            return 0;
+        }
+
+        EstadoActivo estadoDestino = obtenerEstadoDestino(trabajo.operacion);
+        List<Item> validos = new ArrayList<>();
+        for (Item item : items) {
+            item.mensaje = validar(item, trabajo.operacion, estadoDestino);
+            if (item.mensaje == null) {
+                validos.add(item);
+            }
+        }
+
+        Set<Long> aplicados = cambiarEstados(validos, trabajo.operacion, estadoDestino);
+        List<Item> exitosos = new ArrayList<>();
+        for (Item item : validos) {
+            if (aplicados.contains(item.activoId)) {
+                exitosos.add(item);
+            } else {
+                item.mensaje = "El activo cambió de estado durante la operación.";
+            }
+        }
+
+        insertarHistorial(exitosos, estadoDestino, trabajo);
+        jdbcTemplate.batchUpdate(
+            "UPDATE transicion_masiva_item SET item_estado = ?, mensaje = ? WHERE item_id = ?",
+            items,
+            items.size(),
+            (ps, item) -> {
+                ps.setString(1, item.mensaje == null ? ITEM_APLICADO : ITEM_FALLIDO);
+                ps.setString(2, item.mensaje);
+                ps.setLong(3, item.itemId);
+            }
+        );
+        jdbcTemplate.update(
+            "UPDATE transicion_masiva SET exitosos = exitosos + ?, fallidos = fallidos + ?, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE trans_id = ?",
+            exitosos.size(),
+            items.size() - exitosos.size(),
+            trabajoId
+        );
+
+        for (Item item : exitosos) {
+            eventPublisher.publishEvent(new ActivoEstadoCambiadoEvent(
+                item.activoId,
+                item.categoriaId,
+                item.estadoId,
+                estadoDestino.getEstadoId()
+            ));
+        }
+        return items.size();
+    }
+
+    private String validar(Item item, OperacionEstado operacion, EstadoActivo estadoDestino) {
+        if (item.activoId == null) {
+            return "Activo no encontrado";
+        }
+        EstadoActivo estadoActual = catalogoCacheService.buscarEstadoActivo(item.estadoId).orElse(null);
+        if (estadoActual == null) {
+            return "El activo no tiene un estado actual definido";
+        }
+        if (!operacion.admiteOrigen(estadoActual.getEstadoNom())
+                || !maquinaEstadosService.puedeTransicionar(estadoActual, estadoDestino)) {
+            return "No se puede pasar de '" + estadoActual.getEstadoNom() + "' a '" + estadoDestino.getEstadoNom() + "'";
+        }
+        return null;
+    }
+
+    /**
+     * Un solo UPDATE para todo el tramo; solo cambia los activos que siguen en el estado leido
+     * y devuelve sus ids.
+     */
+    private Set<Long> cambiarEstados(List<Item> items, OperacionEstado operacion, EstadoActivo estadoDestino) {
+        Set<Long> aplicados = new HashSet<>();
+        if (items.isEmpty()) {
+            return aplicados;
+        }
+
+        boolean esBaja = operacion.esBaja();
+        List<Object> argumentos = new ArrayList<>();
+        argumentos.add(estadoDestino.getEstadoId());
+        argumentos.add(!esBaja);
+        argumentos.add(esBaja ? Timestamp.valueOf(LocalDateTime.now()) : null);
+        for (Item item : items) {
+            argumentos.add(item.activoId);
+            argumentos.add(item.estadoId);
+        }
+
+        jdbcTemplate.query(
+            "UPDATE activo a SET estado_id = ?, activo_activo = ?, activo_fecha_egreso = ?::timestamp, " +
+            "updated_at = CURRENT_TIMESTAMP, activo_version = a.activo_version + 1 " +
+            "FROM (VALUES " + String.join(", ", Collections.nCopies(items.size(), "(?::int, ?::int)")) + ") " +
+            "AS v (activo_id, estado_id) " +
+            "WHERE a.activo_id = v.activo_id AND a.estado_id = v.estado_id " +
+            "RETURNING a.activo_id",
+            rs -> {
+                aplicados.add(rs.getLong("activo_id"));
+            },
+            argumentos.toArray()
+        );
+        return aplicados;
+    }
+
+    private void insertarHistorial(List<Item> items, EstadoActivo estadoDestino, Trabajo trabajo) {
+        if (items.isEmpty()) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        if (auditoriaOutboxService.estaHabilitado()) {
+            auditoriaOutboxService.encolarLote(
+                AuditoriaOutboxService.ORIGEN_ACTIVO,
+                items,
+                item -> item.activoId,
+                item -> item.estadoId,
+                estadoDestino.getEstadoId(),
+                trabajo.usuarioId,
+                ahora,
+                trabajo.motivo,
+                trabajo.observaciones
+            );
+            return;
+        }
+        Timestamp fechaCambio = Timestamp.valueOf(ahora);
+
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO activo_historial_estados " +
+            "(activo_id, estado_anterior_id, estado_nuevo_id, usuario_id, fecha_cambio, motivo, observaciones) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+            items,
+            items.size(),
+            (ps, item) -> {
+                ps.setLong(1, item.activoId);
+                ps.setLong(2, item.estadoId);
+                ps.setLong(3, estadoDestino.getEstadoId());
+                ps.setLong(4, trabajo.usuarioId);
+                ps.setTimestamp(5, fechaCambio);
+                ps.setString(6, trabajo.motivo);
+                ps.setString(7, trabajo.observaciones);
+            }
+        );
+    }
+
+    private EstadoActivo obtenerEstadoDestino(OperacionEstado operacion) {
+        return catalogoCacheService.buscarEstadoActivo(operacion.getEstadoDestino())
+            .orElseThrow(() -> new TransicionInvalidaException("Estado '" + operacion.getEstadoDestino() + "' no encontrado"));
+    }
+
+    private static final class Trabajo {
+        private final OperacionEstado operacion;
+        private final String motivo;
+        private final String observaciones;
+        private final Long usuarioId;
+
+        private Trabajo(OperacionEstado operacion, String motivo, String observaciones, Long usuarioId) {
+            this.operacion = operacion;
+            this.motivo = motivo;
+            this.observaciones = observaciones;
+            this.usuarioId = usuarioId;
+        }
+    }
+
+    private static final class Item {
+        private Long itemId;
+        private Long activoId;
+        private Long categoriaId;
+        private Long estadoId;
+        /** null mientras la fila sea valida; al final, null = aplicada */
+        private String mensaje;
+    }
+}
@@ -0,0 +1,18 @@
+-- Indices por prefijo para la busqueda typeahead (/api/buscar).
+-- text_pattern_ops permite resolver LOWER(col) LIKE 'abc%' con el indice
+-- independientemente del collation de la base.
+
+CREATE INDEX IF NOT EXISTS idx_activo_codigo_prefijo
+ON activo (LOWER(activo_codigo) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_activo_nom_prefijo
+ON activo (LOWER(activo_nom) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_usuario_login_prefijo
+ON usuario (LOWER(usu_login) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_persona_nom_prefijo
+ON persona (LOWER(per_nom_1) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_persona_ape_prefijo
+ON persona (LOWER(per_ape_1) text_pattern_ops);
@@ -0,0 +1,122 @@
+-- Documento de busqueda para solicitudes con indice trigram.
+-- Reemplaza el LIKE '%texto%' sobre diez columnas y seis joins por un unico
+-- LIKE sobre soli_busqueda, resuelto por un indice GIN gin_trgm_ops.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE solicitudes
+    ADD COLUMN IF NOT EXISTS soli_busqueda TEXT;
+
+-- Arma el documento (en minusculas) a partir de una fila de solicitudes
+CREATE OR REPLACE FUNCTION solicitudes_documento_busqueda(s solicitudes)
+RETURNS TEXT
+LANGUAGE sql
+STABLE
+AS $$
+    SELECT LOWER(CONCAT_WS(' | ',
+        s.soli_descri,
+        s.soli_motivo,
+        (SELECT u.usu_login || ' | ' || p.per_nom_1 || ' ' || p.per_ape_1
+         FROM usuario u JOIN persona p ON p.per_id = u.per_id
+         WHERE u.usu_id = s.usuario_us_id),
+        (SELECT u.usu_login || ' | ' || p.per_nom_1 || ' ' || p.per_ape_1
+         FROM usuario u JOIN persona p ON p.per_id = u.per_id
+         WHERE u.usu_id = s.usu_responsable_id),
+        (SELECT u.usu_login || ' | ' || p.per_nom_1 || ' ' || p.per_ape_1
+         FROM usuario u JOIN persona p ON p.per_id = u.per_id
+         WHERE u.usu_id = s.usu_destino_id),
+        (SELECT a.activo_codigo FROM activo a WHERE a.activo_id = s.activo_id)
+    ));
+$$;
+
+CREATE OR REPLACE FUNCTION trg_solicitudes_busqueda()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.soli_busqueda := solicitudes_documento_busqueda(NEW);
+    RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS solicitudes_busqueda_actualizar ON solicitudes;
+CREATE TRIGGER solicitudes_busqueda_actualizar
+BEFORE INSERT OR UPDATE OF soli_descri, soli_motivo, usuario_us_id, usu_responsable_id, usu_destino_id, activo_id
+ON solicitudes
+FOR EACH ROW
+EXECUTE FUNCTION trg_solicitudes_busqueda();
+
+-- Cambios en login, nombres o codigo de activo se propagan a las solicitudes que los referencian
+CREATE OR REPLACE FUNCTION trg_solicitudes_busqueda_usuario()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE solicitudes s
+    SET soli_busqueda = solicitudes_documento_busqueda(s)
+    WHERE s.usuario_us_id = NEW.usu_id
+       OR s.usu_responsable_id = NEW.usu_id
+       OR s.usu_destino_id = NEW.usu_id;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS usuario_busqueda_solicitudes ON usuario;
+CREATE TRIGGER usuario_busqueda_solicitudes
+AFTER UPDATE OF usu_login, per_id ON usuario
+FOR EACH ROW
+WHEN (OLD.usu_login IS DISTINCT FROM NEW.usu_login OR OLD.per_id IS DISTINCT FROM NEW.per_id)
+EXECUTE FUNCTION trg_solicitudes_busqueda_usuario();
+
+CREATE OR REPLACE FUNCTION trg_solicitudes_busqueda_persona()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE solicitudes s
+    SET soli_busqueda = solicitudes_documento_busqueda(s)
+    FROM usuario u
+    WHERE u.per_id = NEW.per_id
+      AND (s.usuario_us_id = u.usu_id
+           OR s.usu_responsable_id = u.usu_id
+           OR s.usu_destino_id = u.usu_id);
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS persona_busqueda_solicitudes ON persona;
+CREATE TRIGGER persona_busqueda_solicitudes
+AFTER UPDATE OF per_nom_1, per_ape_1 ON persona
+FOR EACH ROW
+WHEN (OLD.per_nom_1 IS DISTINCT FROM NEW.per_nom_1 OR OLD.per_ape_1 IS DISTINCT FROM NEW.per_ape_1)
+EXECUTE FUNCTION trg_solicitudes_busqueda_persona();
+
+CREATE OR REPLACE FUNCTION trg_solicitudes_busqueda_activo()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE solicitudes s
+    SET soli_busqueda = solicitudes_documento_busqueda(s)
+    WHERE s.activo_id = NEW.activo_id;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS activo_busqueda_solicitudes ON activo;
+CREATE TRIGGER activo_busqueda_solicitudes
+AFTER UPDATE OF activo_codigo ON activo
+FOR EACH ROW
+WHEN (OLD.activo_codigo IS DISTINCT FROM NEW.activo_codigo)
+EXECUTE FUNCTION trg_solicitudes_busqueda_activo();
+
+-- Carga inicial del documento para las solicitudes existentes
+UPDATE solicitudes s
+SET soli_busqueda = solicitudes_documento_busqueda(s);
+
+CREATE INDEX IF NOT EXISTS idx_solicitudes_busqueda_trgm
+ON solicitudes USING gin (soli_busqueda gin_trgm_ops);
+
+-- Orden del listado (mas recientes primero)
+CREATE INDEX IF NOT EXISTS idx_solicitudes_created_at
+ON solicitudes (created_at DESC, soli_id DESC);
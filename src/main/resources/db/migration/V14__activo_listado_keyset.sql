@@ -0,0 +1,12 @@
+-- Paginacion por keyset del listado de activos sobre (activo_fecha_ingreso, activo_id).
+-- La columna debe ser NOT NULL para que el cursor no omita filas.
+
+UPDATE activo
+SET activo_fecha_ingreso = COALESCE(created_at, CURRENT_TIMESTAMP)
+WHERE activo_fecha_ingreso IS NULL;
+
+ALTER TABLE activo
+    ALTER COLUMN activo_fecha_ingreso SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_activo_fecha_ingreso_keyset
+ON activo (activo_fecha_ingreso DESC, activo_id DESC);
@@ -0,0 +1,46 @@
+-- Los historiales pasan de IDENTITY a secuencias con incremento 50 para que Hibernate
+-- pueda agrupar los INSERT en batch (optimizador pooled-lo, allocationSize = 50).
+-- Con pooled-lo el valor de la secuencia es el inicio del bloque, por lo que los INSERT
+-- que usan el DEFAULT de la columna (JDBC, scripts) no chocan con los bloques reservados.
+
+DO $$
+DECLARE
+    anterior TEXT;
+BEGIN
+    anterior := pg_get_serial_sequence('activo_historial_estados', 'historial_id');
+
+    CREATE SEQUENCE IF NOT EXISTS activo_historial_estados_seq INCREMENT BY 50;
+    PERFORM setval(
+        'activo_historial_estados_seq',
+        COALESCE((SELECT MAX(historial_id) FROM activo_historial_estados), 0) + 1,
+        false
+    );
+    ALTER TABLE activo_historial_estados
+        ALTER COLUMN historial_id SET DEFAULT nextval('activo_historial_estados_seq');
+    ALTER SEQUENCE activo_historial_estados_seq OWNED BY activo_historial_estados.historial_id;
+
+    IF anterior IS NOT NULL AND anterior <> 'public.activo_historial_estados_seq' THEN
+        EXECUTE 'DROP SEQUENCE IF EXISTS ' || anterior;
+    END IF;
+END $$;
+
+DO $$
+DECLARE
+    anterior TEXT;
+BEGIN
+    anterior := pg_get_serial_sequence('solicitud_historial_estados', 'historial_id');
+
+    CREATE SEQUENCE IF NOT EXISTS solicitud_historial_estados_seq INCREMENT BY 50;
+    PERFORM setval(
+        'solicitud_historial_estados_seq',
+        COALESCE((SELECT MAX(historial_id) FROM solicitud_historial_estados), 0) + 1,
+        false
+    );
+    ALTER TABLE solicitud_historial_estados
+        ALTER COLUMN historial_id SET DEFAULT nextval('solicitud_historial_estados_seq');
+    ALTER SEQUENCE solicitud_historial_estados_seq OWNED BY solicitud_historial_estados.historial_id;
+
+    IF anterior IS NOT NULL AND anterior <> 'public.solicitud_historial_estados_seq' THEN
+        EXECUTE 'DROP SEQUENCE IF EXISTS ' || anterior;
+    END IF;
+END $$;
@@ -0,0 +1,16 @@
+-- Outbox de auditoria (itsystem.auditoria.outbox.habilitado).
+-- Las transiciones insertan aqui una fila compacta y el drenador la mueve a
+-- activo_historial_estados / solicitud_historial_estados. Sin claves foraneas
+-- para no tomar locks sobre las tablas referenciadas en la transaccion de negocio.
+
+CREATE TABLE IF NOT EXISTS historial_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    origen VARCHAR(20) NOT NULL,
+    entidad_id INT NOT NULL,
+    estado_anterior_id INT,
+    estado_nuevo_id INT NOT NULL,
+    usuario_id INT NOT NULL,
+    fecha_cambio TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    motivo TEXT,
+    observaciones TEXT
+);
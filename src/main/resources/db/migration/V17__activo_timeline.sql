@@ -0,0 +1,26 @@
+-- Timeline operativo materializado por activo (HistorialActivoService).
+-- Se recalcula por activo al confirmarse una transicion o una asignacion;
+-- "orden" es la posicion del evento (0 = mas reciente), de modo que cada
+-- pagina es un rango del indice (activo_id, orden).
+
+CREATE TABLE IF NOT EXISTS activo_timeline (
+    timeline_id BIGSERIAL PRIMARY KEY,
+    activo_id INT NOT NULL REFERENCES activo(activo_id) ON DELETE CASCADE,
+    orden INT NOT NULL,
+    fecha TIMESTAMP,
+    tipo_evento VARCHAR(30) NOT NULL,
+    titulo VARCHAR(100),
+    descripcion TEXT,
+    estado_anterior VARCHAR(50),
+    estado_nuevo VARCHAR(50),
+    usuario_anterior VARCHAR(150),
+    usuario_nuevo VARCHAR(150),
+    usuario_ejecutor VARCHAR(150),
+    motivo TEXT,
+    observacion TEXT,
+    solicitud_id INT,
+    prioridad_orden INT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_activo_timeline_activo_orden
+ON activo_timeline (activo_id, orden);
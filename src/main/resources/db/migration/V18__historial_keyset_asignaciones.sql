@@ -0,0 +1,10 @@
+-- Keyset del historial por activo (/api/activos/{id}/historial).
+-- Los cambios de estado usan idx_activo_historial_activo_fecha; las asignaciones
+-- y devoluciones se ordenan por las mismas expresiones que HistorialActivoService.
+
+CREATE INDEX IF NOT EXISTS idx_usuario_asignaciones_activo_alta
+ON usuario_asignaciones (activo_id, (COALESCE(created_at, asignacion_fecha::timestamp)) DESC, asignacion_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_usuario_asignaciones_activo_devolucion
+ON usuario_asignaciones (activo_id, (COALESCE(updated_at, devolucion_fecha::timestamp)) DESC, asignacion_id DESC)
+WHERE devolucion_fecha IS NOT NULL;
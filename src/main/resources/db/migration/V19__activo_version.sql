@@ -0,0 +1,6 @@
+-- Bloqueo optimista de activo (Activo.activoVersion).
+-- Las ediciones via JPA comparan esta columna; los cambios de estado
+-- (EstadoTransicionService y los lotes de MovimientosService) la incrementan
+-- junto con el compare-and-set sobre estado_id.
+
+ALTER TABLE activo ADD COLUMN IF NOT EXISTS activo_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,32 @@
+-- Cambios de estado masivos (TransicionMasivaService).
+-- Cada codigo es una fila con su propio resultado: el procesamiento toma tramos
+-- de filas PENDIENTE y, si se interrumpe, retoma desde las que quedaron pendientes.
+
+CREATE TABLE IF NOT EXISTS transicion_masiva (
+    trans_id BIGSERIAL PRIMARY KEY,
+    operacion VARCHAR(30) NOT NULL,
+    motivo TEXT NOT NULL,
+    observaciones TEXT,
+    usuario_id INT NOT NULL REFERENCES usuario(usu_id),
+    trans_estado VARCHAR(20) NOT NULL DEFAULT 'EN_CURSO',
+    total INT NOT NULL DEFAULT 0,
+    exitosos INT NOT NULL DEFAULT 0,
+    fallidos INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS transicion_masiva_item (
+    item_id BIGSERIAL PRIMARY KEY,
+    trans_id BIGINT NOT NULL REFERENCES transicion_masiva(trans_id) ON DELETE CASCADE,
+    activo_codigo VARCHAR(50) NOT NULL,
+    item_estado VARCHAR(20) NOT NULL DEFAULT 'PENDIENTE',
+    mensaje TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_transicion_masiva_item_trabajo
+ON transicion_masiva_item (trans_id, item_id);
+
+CREATE INDEX IF NOT EXISTS idx_transicion_masiva_en_curso
+ON transicion_masiva (trans_id)
+WHERE trans_estado = 'EN_CURSO';
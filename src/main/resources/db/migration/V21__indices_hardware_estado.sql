@@ -0,0 +1,11 @@
+-- Consultas de hardware por estado, categoria y modelo resueltas en SQL (join por activo.estado_id).
+-- El indice compuesto cubre el filtro por estado solo y por estado + categoria.
+
+CREATE INDEX IF NOT EXISTS idx_activo_estado_categoria
+ON activo (estado_id, cat_id);
+
+CREATE INDEX IF NOT EXISTS idx_activo_categoria
+ON activo (cat_id);
+
+CREATE INDEX IF NOT EXISTS idx_hardware_info_modelo
+ON hardware_info (model_id);
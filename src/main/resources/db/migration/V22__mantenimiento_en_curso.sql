@@ -0,0 +1,15 @@
+-- Consulta de mantenimiento en curso por hardware (EXISTS por hw_id y variante por lote).
+-- "En curso" es mant_fecha_fin IS NULL OR mant_fecha_fin >= hoy. CURRENT_DATE no puede ir en el
+-- predicado de un indice parcial, asi que se cubre con dos indices: uno parcial sobre los abiertos
+-- sin fecha de fin y otro sobre la fecha de fin para el tramo con fecha futura.
+-- La tabla no se crea en estas migraciones; los indices solo se agregan si existe.
+
+DO $$
+BEGIN
+    IF to_regclass('public.mantenimiento') IS NOT NULL THEN
+        EXECUTE 'CREATE INDEX IF NOT EXISTS idx_mantenimiento_abierto_hw '
+             || 'ON mantenimiento (hardware_info_hw_id) WHERE mant_fecha_fin IS NULL';
+        EXECUTE 'CREATE INDEX IF NOT EXISTS idx_mantenimiento_fin_hw '
+             || 'ON mantenimiento (mant_fecha_fin, hardware_info_hw_id) WHERE mant_fecha_fin IS NOT NULL';
+    END IF;
+END $$;
@@ -0,0 +1,26 @@
+-- Alertas de licencias precalculadas (LicenciaAlertasService): vencidas, proximas a vencer y sin cupos.
+-- Se recalculan en un barrido diario y por licencia en cada alta, edicion o cambio de usos;
+-- las pantallas de alertas leen esta tabla por indice en lugar de recorrer licencia_info.
+
+CREATE TABLE IF NOT EXISTS licencia_alertas (
+    alerta_id BIGSERIAL PRIMARY KEY,
+    licencia_id BIGINT NOT NULL,
+    alerta_tipo VARCHAR(20) NOT NULL,
+    severidad VARCHAR(10) NOT NULL,
+    fecha_limite DATE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ux_licencia_alertas_licencia_tipo UNIQUE (licencia_id, alerta_tipo)
+);
+
+CREATE INDEX IF NOT EXISTS idx_licencia_alertas_tipo_fecha
+ON licencia_alertas (alerta_tipo, fecha_limite, licencia_id);
+
+-- licencia_info no se crea en estas migraciones: la FK solo se agrega si la tabla existe
+DO $$
+BEGIN
+    IF to_regclass('public.licencia_info') IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_licencia_alertas_licencia') THEN
+        EXECUTE 'ALTER TABLE licencia_alertas ADD CONSTRAINT fk_licencia_alertas_licencia '
+             || 'FOREIGN KEY (licencia_id) REFERENCES licencia_info(licencia_id) ON DELETE CASCADE';
+    END IF;
+END $$;
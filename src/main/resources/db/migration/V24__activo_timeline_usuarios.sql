@@ -0,0 +1,7 @@
+-- Los nombres de usuario del timeline combinan per_nom_1 y per_ape_1 (hasta 100 caracteres
+-- cada uno) y no entran en VARCHAR(150). V17 ya aplicada no se modifica: se amplian aqui.
+
+ALTER TABLE activo_timeline
+    ALTER COLUMN usuario_anterior TYPE VARCHAR(255),
+    ALTER COLUMN usuario_nuevo TYPE VARCHAR(255),
+    ALTER COLUMN usuario_ejecutor TYPE VARCHAR(255);
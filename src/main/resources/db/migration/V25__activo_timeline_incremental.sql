@@ -0,0 +1,14 @@
+-- activo_timeline pasa a agregarse de forma incremental (HistorialActivoService):
+-- "orden" crece con cada evento agregado (0 = el mas antiguo) y cada fila guarda su
+-- fila de origen (fuente = ESTADO / ASIGNACION / DEVOLUCION, fuente_id = historial_id o
+-- asignacion_id) para agregar solo los eventos nuevos sin recalcular el activo.
+-- Las filas previas no tienen origen: se descartan y el arranque completa los activos sin timeline.
+
+DELETE FROM activo_timeline;
+
+ALTER TABLE activo_timeline
+    ADD COLUMN IF NOT EXISTS fuente VARCHAR(20) NOT NULL,
+    ADD COLUMN IF NOT EXISTS fuente_id BIGINT NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_activo_timeline_fuente
+ON activo_timeline (activo_id, fuente, fuente_id);
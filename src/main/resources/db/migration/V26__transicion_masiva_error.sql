@@ -0,0 +1,3 @@
+-- Motivo por el que un cambio de estado masivo quedo FALLIDO (el resto de los trabajos sigue).
+
+ALTER TABLE transicion_masiva ADD COLUMN IF NOT EXISTS trans_error TEXT;
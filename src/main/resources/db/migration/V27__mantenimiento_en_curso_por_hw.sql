@@ -0,0 +1,12 @@
+-- El indice del tramo con fecha de fin (V22) iba por (mant_fecha_fin, hardware_info_hw_id): el EXISTS
+-- por hardware recorria todos los mantenimientos con fecha futura del sistema y despues filtraba por hw_id.
+-- Con hw_id primero, las dos ramas del OR (sin fecha de fin y fecha de fin >= hoy) buscan directo por hardware.
+
+DO $$
+BEGIN
+    IF to_regclass('public.mantenimiento') IS NOT NULL THEN
+        EXECUTE 'DROP INDEX IF EXISTS idx_mantenimiento_fin_hw';
+        EXECUTE 'CREATE INDEX IF NOT EXISTS idx_mantenimiento_hw_fin '
+             || 'ON mantenimiento (hardware_info_hw_id, mant_fecha_fin) WHERE mant_fecha_fin IS NOT NULL';
+    END IF;
+END $$;
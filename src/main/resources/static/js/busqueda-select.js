@@ -0,0 +1,85 @@
+(function () {
+    'use strict';
+
+    const RETARDO_MS = 250;
+
+    function textoOpcion(tipo, item) {
+        if (tipo === 'usuarios') {
+            const nombre = (item.nombre || '').trim();
+            return nombre ? nombre + ' (' + item.login + ')' : item.login;
+        }
+        return item.codigo + ' - ' + item.nombre;
+    }
+
+    function reemplazarOpciones(select, tipo, items) {
+        const seleccionado = select.value;
+        const conservadas = Array.from(select.options)
+            .filter(option => option.value === '' || option.value === seleccionado);
+
+        select.innerHTML = '';
+        conservadas.forEach(option => select.appendChild(option));
+
+        items.forEach(item => {
+            const valor = String(item.id);
+            if (valor === seleccionado) {
+                return;
+            }
+            const option = document.createElement('option');
+            option.value = valor;
+            option.textContent = textoOpcion(tipo, item);
+            select.appendChild(option);
+        });
+    }
+
+    async function buscar(select, tipo, texto) {
+        const url = new URL(select.dataset.busquedaUrl, window.location.origin);
+        url.searchParams.set('q', texto);
+
+        try {
+            const respuesta = await fetch(url, { headers: { 'Accept': 'application/json' } });
+            if (!respuesta.ok) {
+                return;
+            }
+            reemplazarOpciones(select, tipo, await respuesta.json());
+        } catch (error) {
+            console.error('No se pudieron cargar las opciones', error);
+        }
+    }
+
+    function inicializar(select) {
+        const tipo = select.dataset.busqueda;
+        const entrada = document.createElement('input');
+        entrada.type = 'search';
+        entrada.className = 'form-control form-control-sm mb-1';
+        entrada.placeholder = 'Buscar por código, nombre o usuario...';
+        entrada.autocomplete = 'off';
+        entrada.disabled = select.disabled;
+        select.parentNode.insertBefore(entrada, select);
+
+        // Los bloques dinámicos habilitan/deshabilitan el select; la búsqueda lo acompaña
+        new MutationObserver(() => { entrada.disabled = select.disabled; })
+            .observe(select, { attributes: true, attributeFilter: ['disabled'] });
+
+        let cargado = false;
+        const cargarInicial = () => {
+            if (!cargado) {
+                cargado = true;
+                buscar(select, tipo, '');
+            }
+        };
+
+        let temporizador = null;
+        entrada.addEventListener('input', () => {
+            cargado = true;
+            clearTimeout(temporizador);
+            temporizador = setTimeout(() => buscar(select, tipo, entrada.value), RETARDO_MS);
+        });
+        entrada.addEventListener('focus', cargarInicial);
+        select.addEventListener('focus', cargarInicial);
+        select.addEventListener('mousedown', cargarInicial);
+    }
+
+    document.addEventListener('DOMContentLoaded', () => {
+        document.querySelectorAll('select[data-busqueda]').forEach(inicializar);
+    });
+})();
@@ -372,7 +372,159 @@
         charts.set('solicitudesEstadoChart', grafico);
     }
 
+    function escaparHtml(valor) {
+        return String(valor === null || valor === undefined ? '' : valor)
+            .replace(/&/g, '&amp;')
+            .replace(/</g, '&lt;')
+            .replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;')
+            .replace(/'/g, '&#39;');
+    }
+
+    function formatearPorcentaje(valor) {
+        return Number(valor || 0).toFixed(1);
+    }
+
+    function formatearFecha(valor) {
+        if (!valor) {
+            return '-';
+        }
+        const fecha = new Date(valor);
+        if (Number.isNaN(fecha.getTime())) {
+            return '-';
+        }
+        const dosDigitos = (n) => String(n).padStart(2, '0');
+        return `${dosDigitos(fecha.getDate())}/${dosDigitos(fecha.getMonth() + 1)}/${fecha.getFullYear()} `
+            + `${dosDigitos(fecha.getHours())}:${dosDigitos(fecha.getMinutes())}`;
+    }
+
+    function actualizarTexto(selector, texto) {
+        document.querySelectorAll(selector).forEach((elemento) => {
+            elemento.textContent = texto;
+        });
+    }
+
+    function actualizarTarjetas(items) {
+        (items || []).forEach((item) => {
+            actualizarTexto(`[data-dashboard-kpi="${item.codigo}"]`, item.cantidad);
+        });
+    }
+
+    function actualizarLeyendaEstados(items) {
+        (items || []).forEach((item) => {
+            actualizarTexto(`[data-dashboard-estado-activo="${item.codigo}"]`,
+                `${item.cantidad} activos · ${formatearPorcentaje(item.porcentaje)}%`);
+        });
+    }
+
+    function actualizarAtencion(items) {
+        (items || []).forEach((item) => {
+            document.querySelectorAll(`[data-dashboard-atencion="${item.codigo}"]`).forEach((elemento) => {
+                const meta = elemento.querySelector('.dashboard-attention-meta');
+                const cantidad = elemento.querySelector('.dashboard-attention-count');
+                if (meta) {
+                    meta.textContent = `${item.cantidad} solicitudes · ${formatearPorcentaje(item.porcentaje)}%`;
+                }
+                if (cantidad) {
+                    cantidad.textContent = item.cantidad;
+                }
+            });
+        });
+    }
+
+    function actualizarIndicadores(items) {
+        (items || []).forEach((item) => {
+            actualizarTexto(`[data-dashboard-indicador="${item.codigo}"]`, item.cantidad);
+        });
+    }
+
+    function actualizarSolicitudesRecientes(items) {
+        const cuerpo = document.getElementById('dashboardSolicitudesRecientes');
+        if (!cuerpo) {
+            return;
+        }
+
+        const lista = Array.isArray(items) ? items : [];
+        if (!lista.length) {
+            cuerpo.innerHTML = '<tr><td colspan="7" class="dashboard-empty-state dashboard-empty-state--table">No hay solicitudes registradas.</td></tr>';
+            return;
+        }
+
+        const iconoExistente = document.querySelector('.dashboard-view-btn-icon');
+        const icono = iconoExistente ? iconoExistente.getAttribute('src') : '/iconos/botones/ver_icon_button.svg';
+        cuerpo.innerHTML = lista.map((solicitud) => `
+            <tr>
+                <td class="fw-semibold">${escaparHtml(solicitud.id)}</td>
+                <td>${escaparHtml(formatearFecha(solicitud.fecha))}</td>
+                <td>${escaparHtml(solicitud.tipo)}</td>
+                <td>${escaparHtml(solicitud.solicitante)}</td>
+                <td>${escaparHtml(solicitud.responsable || 'Sin responsable')}</td>
+                <td><span class="badge rounded-pill ${escaparHtml(solicitud.badgeClase)}">${escaparHtml(solicitud.estado)}</span></td>
+                <td class="text-end">
+                    <a class="btn btn-sm btn-outline-primary dashboard-view-btn" href="${escaparHtml(solicitud.url)}">
+                        <img src="${escaparHtml(icono)}" class="dashboard-view-btn-icon" alt="">
+                        <span>Ver</span>
+                    </a>
+                </td>
+            </tr>`).join('');
+    }
+
+    function aplicarCambios(cambios) {
+        if (!cambios) {
+            return;
+        }
+
+        Object.assign(dashboard, cambios);
+
+        if ('totalActivos' in cambios) {
+            actualizarTexto('[data-dashboard-total="activos"]', cambios.totalActivos);
+        }
+        if ('totalSolicitudes' in cambios) {
+            actualizarTexto('[data-dashboard-total="solicitudes"]', cambios.totalSolicitudes);
+        }
+        if ('tarjetas' in cambios) {
+            actualizarTarjetas(cambios.tarjetas);
+        }
+        if ('activosPorEstado' in cambios) {
+            actualizarLeyendaEstados(cambios.activosPorEstado);
+            crearGraficoActivosEstado();
+        }
+        if ('activosPorCategoria' in cambios) {
+            crearGraficoActivosCategoria();
+        }
+        if ('solicitudesPorEstado' in cambios) {
+            crearGraficoSolicitudesEstado();
+        }
+        if ('solicitudesAtencion' in cambios) {
+            actualizarAtencion(cambios.solicitudesAtencion);
+        }
+        if ('indicadoresSecundarios' in cambios) {
+            actualizarIndicadores(cambios.indicadoresSecundarios);
+        }
+        if ('solicitudesRecientes' in cambios) {
+            actualizarSolicitudesRecientes(cambios.solicitudesRecientes);
+        }
+    }
+
+    function conectarStream() {
+        if (typeof EventSource === 'undefined' || !dashboard.streamUrl) {
+            return;
+        }
+
+        const fuente = new EventSource(dashboard.streamUrl);
+        fuente.addEventListener('dashboard', (evento) => {
+            try {
+                aplicarCambios(JSON.parse(evento.data));
+            } catch (e) {
+                // Un mensaje mal formado no debe cortar la conexion
+            }
+        });
+        window.addEventListener('beforeunload', () => fuente.close());
+    }
+
     function inicializarDashboard() {
+        conectarStream();
+
         if (typeof Chart === 'undefined') {
             return;
         }
@@ -0,0 +1,182 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sistema.iTsystem.dto.paginacion.PaginaCursorDTO;
+import com.sistema.iTsystem.model.Activo;
+import com.sistema.iTsystem.repository.ActivoRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Sentencias por pantalla de activos con los grafos de entidad de Activo: listados, ficha,
+ * cambio de estado y API de referencia. Cada carga recorre lo que muestra su pantalla; si un
+ * grafo deja afuera una asociacion usada, la carga diferida suma sentencias y el test falla.
+ */
+@SpringBootTest(properties = SentenciasHibernate.PROPIEDAD_ESTADISTICAS)
+class ActivoSentenciasTest {
+
+    private static final int LIMITE = 20;
+
+    @Autowired
+    private ActivoService activoService;
+
+    @Autowired
+    private ActivoRepository activoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActivosDePrueba activos;
+    private SentenciasHibernate sentencias;
+    private String marcador;
+
+    @BeforeEach
+    void preparar() {
+        activos = new ActivosDePrueba(jdbcTemplate);
+        sentencias = new SentenciasHibernate(entityManagerFactory, transactionManager);
+        marcador = "Grafo " + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void limpiar() {
+        activos.limpiar();
+    }
+
+    @Test
+    void elListadoPorCursorEsUnaSentenciaSinImportarCuantasFilasTrae() {
+        crearMarcados(2, true);
+        crearMarcados(1, false);
+        // La primera pagina cuenta el total y lo deja en cache
+        activoService.buscarConFiltrosPorCursor(marcador, null, null, null, null, LIMITE);
+
+        long conPocos = sentencias.contar(() -> recorrer(
+            activoService.buscarConFiltrosPorCursor(marcador, null, null, null, null, LIMITE), 3));
+
+        crearMarcados(6, true);
+        crearMarcados(4, false);
+        long conMas = sentencias.contar(() -> recorrer(
+            activoService.buscarConFiltrosPorCursor(marcador, null, null, null, null, LIMITE), 13));
+
+        assertThat(conPocos).isEqualTo(1);
+        assertThat(conMas).isEqualTo(conPocos);
+    }
+
+    @Test
+    void elListadoPaginadoEsLaConsultaMasElConteo() {
+        crearMarcados(4, true);
+        crearMarcados(4, false);
+
+        long cantidad = sentencias.contar(() -> {
+            Page<Activo> pagina = activoService.buscarConFiltros(marcador, null, null, null, PageRequest.of(0, 5));
+            assertThat(pagina.getTotalElements()).isEqualTo(8);
+            recorrer(pagina.getContent());
+        });
+
+        assertThat(cantidad).isEqualTo(2);
+    }
+
+    @Test
+    void laFichaDelActivoEsUnaSentencia() {
+        Long conHardware = crearMarcados(1, true).get(0);
+        Long sinHardware = crearMarcados(1, false).get(0);
+
+        for (Long activoId : List.of(conHardware, sinHardware)) {
+            String codigo = codigo(activoId);
+            long cantidad = sentencias.contar(() -> {
+                Activo activo = activoService.buscarPorCodigo(codigo).orElseThrow();
+                assertThat(activo.getProveedor()).isNull();
+                assertThat(activo.getCategoria().getCatNom()).isNotNull();
+                assertThat(activo.getEstado().getEstadoNom()).isEqualTo("Disponible");
+                assertThat(activo.getHardwareInfo() != null).isEqualTo(activoId.equals(conHardware));
+                if (activo.getHardwareInfo() != null) {
+                    assertThat(activo.getHardwareInfo().getHwSerialNum()).isEqualTo(codigo);
+                }
+            });
+            assertThat(cantidad).as("activo %s", codigo).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void laCargaParaCambiarDeEstadoEsUnaSentencia() {
+        for (Long activoId : List.of(crearMarcados(1, true).get(0), crearMarcados(1, false).get(0))) {
+            String codigo = codigo(activoId);
+
+            long porId = sentencias.contar(() -> assertThat(
+                activoRepository.findParaTransicion(activoId).orElseThrow().getEstado().getEstadoNom())
+                .isEqualTo("Disponible"));
+            long porCodigo = sentencias.contar(() -> assertThat(
+                activoRepository.findParaTransicionPorCodigo(codigo.toLowerCase()).orElseThrow().getEstado().getEstadoNom())
+                .isEqualTo("Disponible"));
+
+            assertThat(porId).as("activo %s por id", codigo).isEqualTo(1);
+            assertThat(porCodigo).as("activo %s por codigo", codigo).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void laReferenciaEsUnaSentencia() {
+        for (Long activoId : List.of(crearMarcados(1, true).get(0), crearMarcados(1, false).get(0))) {
+            long cantidad = sentencias.contar(() -> {
+                Activo activo = activoRepository.findParaReferencia(activoId).orElseThrow();
+                assertThat(activo.getCategoria().getCatNom()).isNotNull();
+                assertThat(activo.getEstado().getEstadoNom()).isNotNull();
+            });
+            assertThat(cantidad).as("activo %s", activoId).isEqualTo(1);
+        }
+    }
+
+    /** Activos "Disponible" con el marcador en el nombre, para filtrarlos en los listados */
+    private List<Long> crearMarcados(int cantidad, boolean conHardware) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Long activoId = activos.crear("Disponible");
+            jdbcTemplate.update("UPDATE activo SET activo_nom = ? WHERE activo_id = ?", marcador + " " + i, activoId);
+            if (conHardware) {
+                activos.crearHardware(activoId);
+            }
+            ids.add(activoId);
+        }
+        return ids;
+    }
+
+    private String codigo(Long activoId) {
+        return jdbcTemplate.queryForObject("SELECT activo_codigo FROM activo WHERE activo_id = ?", String.class, activoId);
+    }
+
+    private static void recorrer(PaginaCursorDTO<Activo> pagina, int esperadas) {
+        assertThat(pagina.getContenido()).hasSize(esperadas);
+        recorrer(pagina.getContenido());
+    }
+
+    /** Lo que muestra cada fila de los listados */
+    private static void recorrer(List<Activo> filas) {
+        for (Activo activo : filas) {
+            assertThat(activo.getCategoria().getCatNom()).isNotNull();
+            assertThat(activo.getEstado().getEstadoNom()).isNotNull();
+            if (activo.getHardwareInfo() != null) {
+                assertThat(activo.getHardwareInfo().getHwSerialNum()).isNotNull();
+            }
+        }
+    }
+}
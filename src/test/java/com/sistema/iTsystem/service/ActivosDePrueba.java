@@ -0,0 +1,113 @@
+package com.sistema.iTsystem.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Activos de prueba insertados con JDBC sobre la base configurada y borrados al terminar
+ * cada test, con todo lo que las operaciones probadas escriben para ellos.
+ */
+class ActivosDePrueba {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Long> creados = new ArrayList<>();
+    private final List<String> codigos = new ArrayList<>();
+
+    ActivosDePrueba(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Codigo unico que cumple el formato de ActivoService (hasta 10 caracteres A-Z, 0-9 y guion) */
+    String nuevoCodigo() {
+        String codigo = "T" + UUID.randomUUID().toString().replace("-", "").substring(0, 9).toUpperCase();
+        codigos.add(codigo);
+        return codigo;
+    }
+
+    Long crear(String estado) {
+        return crear(nuevoCodigo(), estado);
+    }
+
+    Long crear(String codigo, String estado) {
+        Long activoId = jdbcTemplate.queryForObject(
+            "INSERT INTO activo (activo_codigo, cat_id, estado_id, activo_nom) " +
+            "VALUES (?, (SELECT MIN(cat_id) FROM categorias_activo), " +
+            "(SELECT estado_id FROM estado_activo WHERE estado_nom = ?), 'Activo de prueba') " +
+            "RETURNING activo_id",
+            Long.class, codigo, estado
+        );
+        registrar(activoId);
+        return activoId;
+    }
+
+    /** Hardware con el primer modelo del catalogo; la serie es el codigo del activo */
+    Long crearHardware(Long activoId) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO hardware_info (activo_id, model_id, hw_serial_num) " +
+            "SELECT a.activo_id, (SELECT MIN(model_id) FROM modelo), a.activo_codigo FROM activo a " +
+            "WHERE a.activo_id = ? RETURNING hw_id",
+            Long.class, activoId
+        );
+    }
+
+    /** Para activos creados por el codigo probado (importaciones, altas) */
+    void registrar(Long activoId) {
+        creados.add(activoId);
+    }
+
+    Long estadoId(String nombre) {
+        return jdbcTemplate.queryForObject(
+            "SELECT estado_id FROM estado_activo WHERE estado_nom = ?", Long.class, nombre);
+    }
+
+    String estado(Long activoId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT e.estado_nom FROM activo a JOIN estado_activo e ON e.estado_id = a.estado_id " +
+            "WHERE a.activo_id = ?", String.class, activoId);
+    }
+
+    long version(Long activoId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT activo_version FROM activo WHERE activo_id = ?", Long.class, activoId);
+    }
+
+    long filasHistorial(Long activoId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM activo_historial_estados WHERE activo_id = ?", Long.class, activoId);
+    }
+
+    long filasOutbox(Long activoId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM historial_outbox WHERE origen = ? AND entidad_id = ?",
+            Long.class, AuditoriaOutboxService.ORIGEN_ACTIVO, activoId);
+    }
+
+    long asignacionesActivas(Long activoId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM usuario_asignaciones WHERE activo_id = ? AND asignacion_activa = TRUE",
+            Long.class, activoId);
+    }
+
+    void limpiar() {
+        if (!codigos.isEmpty()) {
+            List<Long> porCodigo = new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "SELECT activo_id FROM activo WHERE activo_codigo IN (:codigos)",
+                Map.of("codigos", codigos), Long.class);
+            porCodigo.stream().filter(id -> !creados.contains(id)).forEach(creados::add);
+        }
+        for (Long activoId : creados) {
+            jdbcTemplate.update("DELETE FROM historial_outbox WHERE origen = ? AND entidad_id = ?",
+                AuditoriaOutboxService.ORIGEN_ACTIVO, activoId);
+            jdbcTemplate.update("DELETE FROM activo_historial_estados WHERE activo_id = ?", activoId);
+            jdbcTemplate.update("DELETE FROM usuario_asignaciones WHERE activo_id = ?", activoId);
+            jdbcTemplate.update("DELETE FROM activo WHERE activo_id = ?", activoId);
+        }
+        creados.clear();
+        codigos.clear();
+    }
+}
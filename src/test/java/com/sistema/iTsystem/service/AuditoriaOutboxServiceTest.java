@@ -0,0 +1,171 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+
+/**
+ * Entrega exactamente una vez del outbox de auditoria contra la base configurada.
+ * El drenado programado queda con un intervalo de una hora: cada pasada la lanza el test.
+ */
+@SpringBootTest(properties = {
+    "itsystem.auditoria.outbox.habilitado=true",
+    "itsystem.auditoria.outbox.drenado-ms=3600000"
+})
+class AuditoriaOutboxServiceTest {
+
+    private static final long ESPERA_SEGUNDOS = 30;
+
+    @Autowired
+    private AuditoriaOutboxService auditoriaOutboxService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActivosDePrueba activos;
+    private Usuario operador;
+
+    @BeforeEach
+    void preparar() {
+        activos = new ActivosDePrueba(jdbcTemplate);
+        operador = usuarioRepository.findByUsuLogin("admin").orElseThrow();
+    }
+
+    @AfterEach
+    void limpiar() {
+        activos.limpiar();
+    }
+
+    @Test
+    void unLoteQueFallaAlInsertarNoBorraElOutbox() {
+        List<Long> ids = encolarParaActivosNuevos(3);
+        // Sin claves foraneas en el outbox: la fila se acepta y el INSERT al historial falla a mitad del lote
+        Long usuarioInexistente = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(usu_id), 0) + 1000 FROM usuario", Long.class);
+        Long envenenada = encolar(ids.get(0), usuarioInexistente);
+
+        assertThatThrownBy(() -> auditoriaOutboxService.drenar()).isInstanceOf(DataAccessException.class);
+
+        // El INSERT y el DELETE van en la misma transaccion: nada paso al historial y nada se perdio
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isZero();
+            assertThat(activos.filasOutbox(id)).isEqualTo(id.equals(ids.get(0)) ? 2 : 1);
+        });
+
+        jdbcTemplate.update("DELETE FROM historial_outbox WHERE outbox_id = ?", envenenada);
+        auditoriaOutboxService.drenar();
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isEqualTo(1);
+            assertThat(activos.filasOutbox(id)).isZero();
+        });
+    }
+
+    @Test
+    void unLoteInterrumpidoAntesDeConfirmarSeVuelveAEntregarUnaVez() {
+        List<Long> ids = encolarParaActivosNuevos(3);
+
+        // El drenador se cae despues de insertar y borrar, antes del commit
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditoriaOutboxService.drenar();
+            assertThat(ids).allSatisfy(id -> assertThat(activos.filasOutbox(id)).isZero());
+            status.setRollbackOnly();
+        });
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isZero();
+            assertThat(activos.filasOutbox(id)).isEqualTo(1);
+        });
+
+        auditoriaOutboxService.drenar();
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isEqualTo(1);
+            assertThat(activos.filasOutbox(id)).isZero();
+        });
+    }
+
+    @Test
+    void dosDrenadoresNoTomanLaMismaFila() throws Exception {
+        List<Long> tomadas = encolarParaActivosNuevos(3);
+
+        CountDownLatch primeroDreno = new CountDownLatch(1);
+        CountDownLatch liberarPrimero = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // El primer drenador toma las filas y no confirma: quedan bloqueadas
+            Future<?> primero = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                auditoriaOutboxService.drenar();
+                primeroDreno.countDown();
+                esperar(liberarPrimero);
+            }));
+            assertThat(primeroDreno.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+            List<Long> libres = encolarParaActivosNuevos(2);
+
+            // El segundo saltea las filas bloqueadas (sin esperarlas) y entrega solo las libres
+            executor.submit(() -> auditoriaOutboxService.drenar()).get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+            assertThat(libres).allSatisfy(id -> assertThat(activos.filasHistorial(id)).isEqualTo(1));
+            assertThat(tomadas).allSatisfy(id -> assertThat(activos.filasHistorial(id)).isZero());
+
+            liberarPrimero.countDown();
+            primero.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+        } finally {
+            liberarPrimero.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(tomadas).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isEqualTo(1);
+            assertThat(activos.filasOutbox(id)).isZero();
+        });
+    }
+
+    private List<Long> encolarParaActivosNuevos(int cantidad) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Long activoId = activos.crear("Disponible");
+            encolar(activoId, operador.getUsuId());
+            ids.add(activoId);
+        }
+        return ids;
+    }
+
+    private Long encolar(Long activoId, Long usuarioId) {
+        auditoriaOutboxService.encolar(AuditoriaOutboxService.ORIGEN_ACTIVO, activoId, null,
+            activos.estadoId("Disponible"), usuarioId, LocalDateTime.now(), "Prueba outbox", null);
+        return jdbcTemplate.queryForObject(
+            "SELECT MAX(outbox_id) FROM historial_outbox WHERE origen = ? AND entidad_id = ?",
+            Long.class, AuditoriaOutboxService.ORIGEN_ACTIVO, activoId);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
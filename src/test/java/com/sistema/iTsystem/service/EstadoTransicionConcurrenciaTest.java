@@ -0,0 +1,184 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+
+/**
+ * Bloqueo optimista y compare-and-set de estado (EstadoTransicionService, MovimientosService)
+ * contra la base configurada: de varias operaciones simultaneas sobre el mismo activo
+ * gana exactamente una y queda una sola fila de historial.
+ */
+@SpringBootTest(properties = "itsystem.auditoria.outbox.habilitado=false")
+class EstadoTransicionConcurrenciaTest {
+
+    private static final int HILOS = 8;
+    private static final long ESPERA_SEGUNDOS = 30;
+
+    @Autowired
+    private EstadoTransicionService estadoTransicionService;
+
+    @Autowired
+    private MovimientosService movimientosService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActivosDePrueba activos;
+    private Usuario operador;
+
+    @BeforeEach
+    void preparar() {
+        activos = new ActivosDePrueba(jdbcTemplate);
+        operador = usuarioRepository.findByUsuLogin("admin").orElseThrow();
+    }
+
+    @AfterEach
+    void limpiar() {
+        activos.limpiar();
+    }
+
+    @Test
+    void deVariasTransicionesSimultaneasGanaUnaSola() throws Exception {
+        Long activoId = activos.crear("Disponible");
+        Long enMantenimiento = activos.estadoId("En mantenimiento");
+        long versionInicial = activos.version(activoId);
+
+        List<Throwable> errores = ejecutarEnParalelo(() ->
+            estadoTransicionService.cambiarEstado(activoId, enMantenimiento, "Prueba concurrente", null, operador));
+
+        assertThat(errores).hasSize(HILOS - 1);
+        // Los perdedores leyeron el estado anterior (compare-and-set sin filas) o ya vieron el nuevo
+        assertThat(errores).allSatisfy(error -> assertThat(error).isInstanceOfAny(
+            EstadoTransicionService.TransicionConcurrenteException.class,
+            EstadoTransicionService.TransicionInvalidaException.class));
+        assertThat(activos.estado(activoId)).isEqualTo("En mantenimiento");
+        assertThat(activos.filasHistorial(activoId)).isEqualTo(1);
+        assertThat(activos.version(activoId)).isEqualTo(versionInicial + 1);
+    }
+
+    @Test
+    void elCompareAndSetSinFilasLanzaTransicionConcurrente() throws Exception {
+        Long activoId = activos.crear("Disponible");
+        Long enMantenimiento = activos.estadoId("En mantenimiento");
+        Long asignado = activos.estadoId("Asignado");
+        long versionInicial = activos.version(activoId);
+
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        CountDownLatch primeroActualizo = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // El primero actualiza y no confirma hasta que el UPDATE del segundo queda esperando la fila
+            Future<?> primero = executor.submit(() -> transaccion.executeWithoutResult(status -> {
+                estadoTransicionService.cambiarEstado(activoId, enMantenimiento, "Primero", null, operador);
+                primeroActualizo.countDown();
+                esperarUpdateBloqueado();
+            }));
+            assertThat(primeroActualizo.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+
+            // El segundo todavia lee "Disponible", valida Disponible -> Asignado y su UPDATE no encuentra la fila
+            assertThatThrownBy(() ->
+                estadoTransicionService.cambiarEstado(activoId, asignado, "Segundo", null, operador))
+                .isInstanceOf(EstadoTransicionService.TransicionConcurrenteException.class);
+            primero.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(activos.estado(activoId)).isEqualTo("En mantenimiento");
+        assertThat(activos.filasHistorial(activoId)).isEqualTo(1);
+        assertThat(activos.version(activoId)).isEqualTo(versionInicial + 1);
+    }
+
+    @Test
+    void deVariasAsignacionesSimultaneasQuedaUnaActiva() throws Exception {
+        Long activoId = activos.crear("Disponible");
+        Long usuarioId = operador.getUsuId();
+        long versionInicial = activos.version(activoId);
+
+        List<Throwable> errores = ejecutarEnParalelo(() ->
+            movimientosService.asignarActivo(activoId, usuarioId, "Prueba concurrente", null, operador));
+
+        assertThat(errores).hasSize(HILOS - 1);
+        assertThat(activos.estado(activoId)).isEqualTo("Asignado");
+        assertThat(activos.asignacionesActivas(activoId)).isEqualTo(1);
+        assertThat(activos.filasHistorial(activoId)).isEqualTo(1);
+        assertThat(activos.version(activoId)).isEqualTo(versionInicial + 1);
+    }
+
+    /** Lanza la operacion en HILOS hilos a la vez; devuelve los errores de los que no ganaron */
+    private List<Throwable> ejecutarEnParalelo(Callable<?> operacion) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CyclicBarrier largada = new CyclicBarrier(HILOS);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                futuros.add(executor.submit(() -> {
+                    largada.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+                    return operacion.call();
+                }));
+            }
+
+            List<Throwable> errores = new ArrayList<>();
+            for (Future<?> futuro : futuros) {
+                try {
+                    futuro.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    errores.add(e.getCause());
+                }
+            }
+            return errores;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void esperarUpdateBloqueado() {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(ESPERA_SEGUNDOS);
+        while (System.nanoTime() < limite) {
+            Integer bloqueados = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_stat_activity " +
+                "WHERE wait_event_type = 'Lock' AND query ILIKE 'update activo%'",
+                Integer.class);
+            if (bloqueados != null && bloqueados > 0) {
+                return;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        fail("El segundo UPDATE no llego a esperar el lock de la fila");
+    }
+}
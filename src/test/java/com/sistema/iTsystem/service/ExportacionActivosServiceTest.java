@@ -0,0 +1,169 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ExportacionActivosServiceTest {
+
+    private static final String ENCABEZADO_CSV = "id,codigo,nombre,descripcion,categoria,estado,proveedor," +
+        "fecha_ingreso,fecha_egreso,marca,modelo,serie,usuario_asignado,nombre_asignado,departamento,fecha_asignacion";
+
+    private static final int FILAS_VOLUMEN = 1_000_000;
+    /** Crecimiento de heap admitido al exportar FILAS_VOLUMEN filas (el CSV completo pesa unos 100 MB) */
+    private static final long MAX_CRECIMIENTO_HEAP = 32L * 1024 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExportacionActivosService exportacionActivosService;
+
+    @BeforeEach
+    void preparar() {
+        exportacionActivosService = new ExportacionActivosService();
+        ReflectionTestUtils.setField(exportacionActivosService, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void elCsvCitaLosCamposConSeparadoresComillasOSaltos() {
+        Map<String, Object> completa = fila(1L, "A-1", "Notebook, 14\"");
+        completa.put("activo_descri", "Primera linea\nsegunda");
+        completa.put("cat_nom", "Computo");
+        completa.put("estado_nom", "Asignado");
+        completa.put("prov_nom", "Proveedor\rSA");
+        completa.put("activo_fecha_ingreso", Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 0, 0)));
+        completa.put("marca_nom", "Lenovo");
+        completa.put("model_nom", "T14");
+        completa.put("hw_serial_num", "SN-1");
+        completa.put("usu_login", "jperez");
+        completa.put("per_nom_1", "Juan");
+        completa.put("per_ape_1", "Perez");
+        completa.put("dept_nom", "Sistemas");
+        completa.put("asignacion_fecha", Date.valueOf(LocalDate.of(2025, 3, 2)));
+        Map<String, Object> minima = fila(2L, "A-2", "Monitor");
+
+        String csv = exportar(ExportacionActivosService.FORMATO_CSV, List.of(completa, minima));
+
+        assertThat(csv).isEqualTo(
+            ENCABEZADO_CSV + "\r\n" +
+            "1,A-1,\"Notebook, 14\"\"\",\"Primera linea\nsegunda\",Computo,Asignado,\"Proveedor\rSA\"," +
+            "2025-03-01T00:00,,Lenovo,T14,SN-1,jperez,Juan Perez,Sistemas,2025-03-02\r\n" +
+            "2,A-2,Monitor,,,,,,,,,,,,,\r\n");
+    }
+
+    @Test
+    void elCsvSinFilasSoloTieneElEncabezado() {
+        assertThat(exportar(ExportacionActivosService.FORMATO_CSV, List.of())).isEqualTo(ENCABEZADO_CSV + "\r\n");
+    }
+
+    @Test
+    void jsonlEscribeUnObjetoPorLinea() throws Exception {
+        Map<String, Object> conSaltos = fila(7L, "A-7", "Monitor \"24\"");
+        conSaltos.put("activo_descri", "Linea 1\nLinea 2");
+        conSaltos.put("per_ape_1", "Gomez");
+        Map<String, Object> simple = fila(8L, "A-8", "Teclado");
+
+        String jsonl = exportar(ExportacionActivosService.FORMATO_JSONL, List.of(conSaltos, simple));
+
+        assertThat(jsonl).endsWith("\n");
+        String[] lineas = jsonl.split("\n");
+        assertThat(lineas).hasSize(2);
+
+        JsonNode primera = objectMapper.readTree(lineas[0]);
+        assertThat(primera.get("id").isNumber()).isTrue();
+        assertThat(primera.get("id").asLong()).isEqualTo(7L);
+        assertThat(primera.get("nombre").asText()).isEqualTo("Monitor \"24\"");
+        assertThat(primera.get("descripcion").asText()).isEqualTo("Linea 1\nLinea 2");
+        assertThat(primera.get("nombre_asignado").asText()).isEqualTo("Gomez");
+        assertThat(primera.get("proveedor").isNull()).isTrue();
+        assertThat(primera.size()).isEqualTo(16);
+
+        JsonNode segunda = objectMapper.readTree(lineas[1]);
+        assertThat(segunda.get("codigo").asText()).isEqualTo("A-8");
+        assertThat(segunda.get("nombre_asignado").isNull()).isTrue();
+    }
+
+    @Test
+    void exportaUnMillonDeFilasSinRetenerlasEnMemoria() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long base = memoria.getHeapMemoryUsage().getUsed();
+        long[] maximo = {0};
+
+        ResultSet rs = ResultSetEnMemoria.generado(FILAS_VOLUMEN, i -> {
+            if (i > 0 && i % 200_000 == 0) {
+                System.gc();
+                maximo[0] = Math.max(maximo[0], memoria.getHeapMemoryUsage().getUsed() - base);
+            }
+            Map<String, Object> fila = fila((long) i + 1, "A" + i, "Activo de volumen " + i);
+            fila.put("activo_descri", "Descripcion, con coma " + i);
+            fila.put("cat_nom", "Computo");
+            fila.put("estado_nom", "Disponible");
+            return fila;
+        });
+        ContadorLineas salida = new ContadorLineas();
+
+        exportacionActivosService.escribir(ExportacionActivosService.FORMATO_CSV, salida,
+            manejador -> ResultSetEnMemoria.recorrer(rs, manejador));
+
+        assertThat(salida.lineas).isEqualTo(FILAS_VOLUMEN + 1);
+        assertThat(salida.bytes).isGreaterThan(MAX_CRECIMIENTO_HEAP * 2);
+        assertThat(maximo[0]).isLessThan(MAX_CRECIMIENTO_HEAP);
+    }
+
+    private String exportar(String formato, List<Map<String, Object>> filas) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ResultSet rs = ResultSetEnMemoria.de(filas);
+        exportacionActivosService.escribir(formato, salida, manejador -> ResultSetEnMemoria.recorrer(rs, manejador));
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> fila(Long id, String codigo, String nombre) {
+        Map<String, Object> fila = new HashMap<>();
+        fila.put("activo_id", id);
+        fila.put("activo_codigo", codigo);
+        fila.put("activo_nom", nombre);
+        return fila;
+    }
+
+    /** Descarta lo escrito; solo cuenta bytes y saltos de linea */
+    private static final class ContadorLineas extends OutputStream {
+        private long bytes;
+        private long lineas;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lineas++;
+            }
+        }
+
+        @Override
+        public void write(byte[] datos, int desde, int largo) {
+            bytes += largo;
+            for (int i = desde; i < desde + largo; i++) {
+                if (datos[i] == '\n') {
+                    lineas++;
+                }
+            }
+        }
+    }
+}
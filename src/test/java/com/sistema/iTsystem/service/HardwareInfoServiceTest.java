@@ -0,0 +1,125 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sistema.iTsystem.model.Activo;
+import com.sistema.iTsystem.model.HardwareInfo;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Las busquedas de hardware por estado y proveedor, y el conteo por marca, son una sola
+ * sentencia con todo lo que muestran las pantallas, sin importar cuantos equipos haya.
+ */
+@SpringBootTest(properties = SentenciasHibernate.PROPIEDAD_ESTADISTICAS)
+class HardwareInfoServiceTest {
+
+    @Autowired
+    private HardwareInfoService hardwareInfoService;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActivosDePrueba activos;
+    private SentenciasHibernate sentencias;
+
+    @BeforeEach
+    void preparar() {
+        activos = new ActivosDePrueba(jdbcTemplate);
+        sentencias = new SentenciasHibernate(entityManagerFactory, transactionManager);
+        // El estado se resuelve contra el catalogo en memoria; se carga antes de medir
+        catalogoCacheService.obtenerEstadosActivo();
+    }
+
+    @AfterEach
+    void limpiar() {
+        activos.limpiar();
+    }
+
+    @Test
+    void cadaBusquedaPorEstadoEsUnaSentencia() {
+        List<Long> hardware = crearConHardware("Disponible", 2);
+        crearConHardware("En mantenimiento", 1);
+        crearConHardware("Dado de baja", 1);
+
+        assertThat(sentenciasAlRecorrer(hardwareInfoService::buscarDisponibles, hardware)).isEqualTo(1);
+
+        hardware.addAll(crearConHardware("Disponible", 3));
+        assertThat(sentenciasAlRecorrer(hardwareInfoService::buscarDisponibles, hardware)).isEqualTo(1);
+
+        assertThat(sentenciasAlRecorrer(hardwareInfoService::buscarEnUso, List.of())).isEqualTo(1);
+        assertThat(sentenciasAlRecorrer(hardwareInfoService::buscarEnMantenimiento, List.of())).isEqualTo(1);
+        assertThat(sentenciasAlRecorrer(hardwareInfoService::buscarDadosDeBaja, List.of())).isEqualTo(1);
+        assertThat(sentenciasAlRecorrer(hardwareInfoService::buscarFueraDeServicio, List.of())).isEqualTo(1);
+    }
+
+    @Test
+    void laBusquedaPorProveedorEsUnaSentencia() {
+        Long proveedorId = jdbcTemplate.queryForObject("SELECT MIN(prov_id) FROM proveedores", Long.class);
+        List<Long> hardware = crearConHardware("Disponible", 2);
+        hardware.addAll(crearConHardware("En mantenimiento", 2));
+        for (Long hwId : hardware) {
+            jdbcTemplate.update(
+                "UPDATE activo SET prov_id = ? WHERE activo_id = (SELECT activo_id FROM hardware_info WHERE hw_id = ?)",
+                proveedorId, hwId);
+        }
+
+        assertThat(sentenciasAlRecorrer(() -> hardwareInfoService.buscarPorProveedor(proveedorId), hardware))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void elConteoPorMarcaEsUnaSentencia() {
+        crearConHardware("Disponible", 3);
+
+        long cantidad = sentencias.contar(() -> assertThat(hardwareInfoService.contarPorTipo()).isNotEmpty());
+
+        assertThat(cantidad).isEqualTo(1);
+    }
+
+    private List<Long> crearConHardware(String estado, int cantidad) {
+        List<Long> hardware = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            hardware.add(activos.crearHardware(activos.crear(estado)));
+        }
+        return hardware;
+    }
+
+    /** Recorre lo que muestran los listados de hardware y verifica que vengan los equipos esperados */
+    private long sentenciasAlRecorrer(Supplier<List<HardwareInfo>> busqueda, List<Long> esperados) {
+        return sentencias.contar(() -> {
+            List<HardwareInfo> resultado = busqueda.get();
+            for (HardwareInfo hardware : resultado) {
+                Activo activo = hardware.getActivo();
+                assertThat(activo.getEstado().getEstadoNom()).isNotNull();
+                assertThat(activo.getCategoria().getCatNom()).isNotNull();
+                if (activo.getProveedor() != null) {
+                    assertThat(activo.getProveedor().getProvNom()).isNotNull();
+                }
+                assertThat(hardware.getModelo().getMarca().getMarcaNom()).isNotNull();
+            }
+            assertThat(resultado).extracting(HardwareInfo::getHwId).containsAll(esperados);
+        });
+    }
+}
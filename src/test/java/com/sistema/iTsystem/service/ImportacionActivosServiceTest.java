@@ -0,0 +1,113 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sistema.iTsystem.service.ImportacionActivosService.LectorRegistros;
+
+class ImportacionActivosServiceTest {
+
+    @Test
+    void divideCamposSimples() {
+        assertThat(ImportacionActivosService.dividir("A1,Notebook,Computo", ','))
+            .containsExactly("A1", "Notebook", "Computo");
+        assertThat(ImportacionActivosService.dividir("A1;Notebook;Computo", ';'))
+            .containsExactly("A1", "Notebook", "Computo");
+    }
+
+    @Test
+    void conservaLosCamposVacios() {
+        assertThat(ImportacionActivosService.dividir("A1,,Computo,", ','))
+            .containsExactly("A1", "", "Computo", "");
+    }
+
+    @Test
+    void respetaElSeparadorYLasComillasDentroDeComillas() {
+        assertThat(ImportacionActivosService.dividir("A1,\"Notebook, 14\"\"\",Computo", ','))
+            .containsExactly("A1", "Notebook, 14\"", "Computo");
+    }
+
+    @Test
+    void unCampoEntreComillasPuedeOcuparVariasLineas() throws IOException {
+        LectorRegistros lector = lector(
+            "codigo,nombre,descripcion\n" +
+            "A1,Notebook,\"Primera linea\n" +
+            "segunda, con coma\n" +
+            "tercera\"\n" +
+            "A2,Monitor,Sin saltos\n");
+
+        assertThat(lector.siguiente()).isEqualTo("codigo,nombre,descripcion");
+        assertThat(lector.lineaInicial()).isEqualTo(1);
+
+        String registro = lector.siguiente();
+        assertThat(lector.lineaInicial()).isEqualTo(2);
+        assertThat(lector.comillasSinCerrar()).isFalse();
+        assertThat(ImportacionActivosService.dividir(registro, ','))
+            .containsExactly("A1", "Notebook", "Primera linea\nsegunda, con coma\ntercera");
+
+        assertThat(ImportacionActivosService.dividir(lector.siguiente(), ','))
+            .containsExactly("A2", "Monitor", "Sin saltos");
+        assertThat(lector.lineaInicial()).isEqualTo(5);
+        assertThat(lector.siguiente()).isNull();
+    }
+
+    @Test
+    void lasComillasEscapadasNoAbrenUnRegistroMultilinea() throws IOException {
+        List<String> registros = leerTodos(lector(
+            "A1,\"Monitor 24\"\"\",Video\n" +
+            "A2,Teclado,Perifericos\n"));
+
+        assertThat(registros).containsExactly("A1,\"Monitor 24\"\"\",Video", "A2,Teclado,Perifericos");
+    }
+
+    @Test
+    void informaLasComillasSinCerrarAlFinalDelArchivo() throws IOException {
+        LectorRegistros lector = lector(
+            "A1,Notebook,Computo\n" +
+            "A2,\"Monitor,Video\n" +
+            "A3,Teclado,Perifericos\n");
+
+        lector.siguiente();
+        assertThat(lector.comillasSinCerrar()).isFalse();
+
+        assertThat(lector.siguiente()).isEqualTo("A2,\"Monitor,Video\nA3,Teclado,Perifericos");
+        assertThat(lector.lineaInicial()).isEqualTo(2);
+        assertThat(lector.comillasSinCerrar()).isTrue();
+        assertThat(lector.siguiente()).isNull();
+    }
+
+    @Test
+    void rechazaUnRegistroQueSuperaElTope() {
+        StringBuilder contenido = new StringBuilder("A1,\"abierto\n");
+        String linea = "x".repeat(1000) + "\n";
+        while (contenido.length() <= ImportacionActivosService.MAX_CARACTERES_REGISTRO) {
+            contenido.append(linea);
+        }
+        LectorRegistros lector = lector(contenido.toString());
+
+        assertThatThrownBy(lector::siguiente)
+            .isInstanceOf(ImportacionActivosService.ImportacionInvalidaException.class)
+            .hasMessageContaining("linea 1");
+    }
+
+    private static LectorRegistros lector(String contenido) {
+        return new LectorRegistros(new BufferedReader(new StringReader(contenido)));
+    }
+
+    private static List<String> leerTodos(LectorRegistros lector) throws IOException {
+        List<String> registros = new ArrayList<>();
+        String registro;
+        while ((registro = lector.siguiente()) != null) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+}
@@ -0,0 +1,170 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sistema.iTsystem.model.EstadoActivo;
+import com.sistema.iTsystem.model.SoliEstados;
+import com.sistema.iTsystem.service.MaquinaEstadosService.Flujo;
+
+class MaquinaEstadosServiceTest {
+
+    private CatalogoCacheService catalogoCacheService;
+    private MaquinaEstadosService maquinaEstadosService;
+    private List<EstadoActivo> estadosActivo;
+
+    @BeforeEach
+    void preparar() {
+        estadosActivo = estadosActivo(nombres(Flujo.ACTIVO), 1L);
+        Set<String> nombresSolicitud = nombres(Flujo.SOLICITUD);
+        nombresSolicitud.addAll(nombres(Flujo.SOLICITUD_FLUJO));
+
+        catalogoCacheService = mock(CatalogoCacheService.class);
+        doReturn(estadosActivo).when(catalogoCacheService).instantanea(CatalogoCacheService.ESTADOS_ACTIVO);
+        doReturn(estadosSolicitud(nombresSolicitud)).when(catalogoCacheService)
+            .instantanea(CatalogoCacheService.ESTADOS_SOLICITUD);
+
+        maquinaEstadosService = new MaquinaEstadosService();
+        ReflectionTestUtils.setField(maquinaEstadosService, "catalogoCacheService", catalogoCacheService);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Flujo.class)
+    void respetaCadaTransicionDeLasReglasYRechazaLasDemas(Flujo flujo) {
+        Map<String, List<String>> reglas = MaquinaEstadosService.REGLAS.get(flujo);
+
+        for (String desde : nombres(flujo)) {
+            for (String hacia : nombres(flujo)) {
+                boolean permitida = reglas.getOrDefault(desde, List.of()).contains(hacia);
+                assertThat(maquinaEstadosService.puedeTransicionar(flujo, desde, hacia))
+                    .as("%s: %s -> %s", flujo, desde, hacia)
+                    .isEqualTo(permitida);
+            }
+        }
+    }
+
+    @Test
+    void resuelveLosEstadosDeActivoPorId() {
+        Map<String, List<String>> reglas = MaquinaEstadosService.REGLAS.get(Flujo.ACTIVO);
+
+        for (EstadoActivo desde : estadosActivo) {
+            for (EstadoActivo hacia : estadosActivo) {
+                // Sin nombre, la tabla solo puede resolverlos por id
+                EstadoActivo soloIdDesde = estadoActivo(desde.getEstadoId(), null);
+                EstadoActivo soloIdHacia = estadoActivo(hacia.getEstadoId(), null);
+                boolean permitida = reglas.getOrDefault(desde.getEstadoNom(), List.of()).contains(hacia.getEstadoNom());
+                assertThat(maquinaEstadosService.puedeTransicionar(soloIdDesde, soloIdHacia))
+                    .as("%s -> %s", desde.getEstadoNom(), hacia.getEstadoNom())
+                    .isEqualTo(permitida);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Flujo.class)
+    void sonFinalesLosEstadosSinSalidas(Flujo flujo) {
+        Map<String, List<String>> reglas = MaquinaEstadosService.REGLAS.get(flujo);
+
+        for (String estado : nombres(flujo)) {
+            assertThat(maquinaEstadosService.esFinal(flujo, estado))
+                .as("%s: %s", flujo, estado)
+                .isEqualTo(reglas.getOrDefault(estado, List.of()).isEmpty());
+        }
+    }
+
+    @Test
+    void esFinalNoDistingueMayusculas() {
+        assertThat(maquinaEstadosService.esFinal(Flujo.ACTIVO, "DADO DE BAJA")).isTrue();
+        assertThat(maquinaEstadosService.esFinal(Flujo.ACTIVO, "dado de baja")).isTrue();
+        assertThat(maquinaEstadosService.esFinal(Flujo.ACTIVO, "disponible")).isFalse();
+    }
+
+    @Test
+    void unEstadoDesconocidoNoAdmiteTransiciones() {
+        assertThat(maquinaEstadosService.puedeTransicionar(Flujo.ACTIVO, "Prestado", "Disponible")).isFalse();
+        assertThat(maquinaEstadosService.puedeTransicionar(Flujo.ACTIVO, "Disponible", "Prestado")).isFalse();
+        assertThat(maquinaEstadosService.puedeTransicionar(Flujo.ACTIVO, null, "Disponible")).isFalse();
+        assertThat(maquinaEstadosService.esFinal(Flujo.ACTIVO, "Prestado")).isFalse();
+        assertThat(maquinaEstadosService.esFinal(Flujo.ACTIVO, null)).isFalse();
+    }
+
+    @Test
+    void recompilaLaTablaCuandoCambiaLaInstantaneaDelCatalogo() {
+        EstadoActivo disponible = estadoActivo(100L, null);
+        EstadoActivo asignado = estadoActivo(101L, null);
+        assertThat(maquinaEstadosService.puedeTransicionar(disponible, asignado)).isFalse();
+
+        // El catalogo se recargo con otros ids: la tabla compilada con la instantanea anterior se descarta
+        List<EstadoActivo> recargados = estadosActivo(nombres(Flujo.ACTIVO), 100L);
+        doReturn(recargados).when(catalogoCacheService).instantanea(CatalogoCacheService.ESTADOS_ACTIVO);
+
+        assertThat(recargados.get(0).getEstadoNom()).isEqualTo("Disponible");
+        assertThat(recargados.get(1).getEstadoNom()).isEqualTo("Asignado");
+        assertThat(maquinaEstadosService.puedeTransicionar(disponible, asignado)).isTrue();
+    }
+
+    @Test
+    void noPasaPorLasConsultasMedidasDelCatalogo() {
+        for (Flujo flujo : Flujo.values()) {
+            maquinaEstadosService.puedeTransicionar(flujo, "Pendiente", "En análisis");
+            maquinaEstadosService.esFinal(flujo, "Cerrada");
+        }
+        maquinaEstadosService.puedeTransicionar(estadosActivo.get(0), estadosActivo.get(1));
+
+        verify(catalogoCacheService, never()).obtenerEstadosActivo();
+        verify(catalogoCacheService, never()).obtenerEstadosSolicitud();
+    }
+
+    /** Estados mencionados por las reglas del flujo, en orden de aparicion */
+    private static Set<String> nombres(Flujo flujo) {
+        Set<String> nombres = new LinkedHashSet<>();
+        MaquinaEstadosService.REGLAS.get(flujo).forEach((origen, destinos) -> {
+            nombres.add(origen);
+            nombres.addAll(destinos);
+        });
+        return nombres;
+    }
+
+    private static List<EstadoActivo> estadosActivo(Set<String> nombres, long primerId) {
+        List<EstadoActivo> estados = new ArrayList<>();
+        long id = primerId;
+        for (String nombre : nombres) {
+            estados.add(estadoActivo(id++, nombre));
+        }
+        return estados;
+    }
+
+    private static EstadoActivo estadoActivo(Long id, String nombre) {
+        EstadoActivo estado = new EstadoActivo();
+        estado.setEstadoId(id);
+        estado.setEstadoNom(nombre);
+        return estado;
+    }
+
+    private static List<SoliEstados> estadosSolicitud(Set<String> nombres) {
+        List<SoliEstados> estados = new ArrayList<>();
+        long id = 1L;
+        for (String nombre : nombres) {
+            SoliEstados estado = new SoliEstados();
+            estado.setSoliEstadoId(id++);
+            estado.setSoliEstadoNom(nombre);
+            estados.add(estado);
+        }
+        return estados;
+    }
+}
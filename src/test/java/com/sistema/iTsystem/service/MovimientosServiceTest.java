@@ -0,0 +1,29 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class MovimientosServiceTest {
+
+    @Test
+    void traduceLaViolacionDelIndiceDeAsignacionActiva() {
+        DataIntegrityViolationException violacion = new DataIntegrityViolationException("insert", new SQLException(
+            "ERROR: duplicate key value violates unique constraint \"ux_activo_asignacion_activa\""));
+
+        assertThat(MovimientosService.traducirAsignacionDuplicada(violacion))
+            .isInstanceOf(MovimientosService.AsignacionConcurrenteException.class)
+            .hasMessage("El activo ya tiene una asignación activa.");
+    }
+
+    @Test
+    void dejaPasarOtrasViolacionesDeIntegridad() {
+        DataIntegrityViolationException violacion = new DataIntegrityViolationException("insert", new SQLException(
+            "ERROR: insert or update on table \"usuario_asignaciones\" violates foreign key constraint"));
+
+        assertThat(MovimientosService.traducirAsignacionDuplicada(violacion)).isSameAs(violacion);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sistema.iTsystem.service;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * ResultSet de solo avance que arma cada fila al pedirla, con los getters por nombre de columna
+ * que usan los servicios JDBC. Sirve para recorrer millones de filas sin tenerlas en memoria.
+ */
+final class ResultSetEnMemoria {
+
+    private final int total;
+    private final IntFunction<Map<String, Object>> filas;
+    private int actual = -1;
+    private Map<String, Object> fila;
+
+    private ResultSetEnMemoria(int total, IntFunction<Map<String, Object>> filas) {
+        this.total = total;
+        this.filas = filas;
+    }
+
+    static ResultSet de(List<Map<String, Object>> filas) {
+        return generado(filas.size(), filas::get);
+    }
+
+    static ResultSet generado(int total, IntFunction<Map<String, Object>> filas) {
+        ResultSetEnMemoria datos = new ResultSetEnMemoria(total, filas);
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, metodo, argumentos) -> datos.invocar(metodo.getName(), argumentos)
+        );
+    }
+
+    /** Recorre el ResultSet como lo hace JdbcTemplate.query con un RowCallbackHandler */
+    static void recorrer(ResultSet rs, RowCallbackHandler manejador) {
+        try {
+            while (rs.next()) {
+                manejador.processRow(rs);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object invocar(String metodo, Object[] argumentos) throws SQLException {
+        switch (metodo) {
+            case "next":
+                if (actual + 1 >= total) {
+                    fila = null;
+                    return false;
+                }
+                fila = filas.apply(++actual);
+                return true;
+            case "close":
+                return null;
+            case "getString":
+                return (String) valor(argumentos);
+            case "getLong": {
+                Object valor = valor(argumentos);
+                return valor != null ? ((Number) valor).longValue() : 0L;
+            }
+            case "getInt": {
+                Object valor = valor(argumentos);
+                return valor != null ? ((Number) valor).intValue() : 0;
+            }
+            case "getTimestamp":
+            case "getDate":
+            case "getObject":
+                return valor(argumentos);
+            default:
+                throw new UnsupportedOperationException("ResultSet en memoria: " + metodo);
+        }
+    }
+
+    private Object valor(Object[] argumentos) throws SQLException {
+        if (fila == null) {
+            throw new SQLException("No hay fila actual");
+        }
+        return fila.get((String) argumentos[0]);
+    }
+}
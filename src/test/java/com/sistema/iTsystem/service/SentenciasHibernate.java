@@ -0,0 +1,33 @@
+package com.sistema.iTsystem.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cuenta las sentencias JDBC que prepara Hibernate durante una operacion (requiere
+ * hibernate.generate_statistics). La operacion corre en una transaccion de solo lectura:
+ * una asociacion que no se trajo con la consulta se carga ahi mismo y suma sentencias.
+ */
+class SentenciasHibernate {
+
+    static final String PROPIEDAD_ESTADISTICAS = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    private final Statistics estadisticas;
+    private final TransactionTemplate soloLectura;
+
+    SentenciasHibernate(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.soloLectura = new TransactionTemplate(transactionManager);
+        this.soloLectura.setReadOnly(true);
+    }
+
+    long contar(Runnable operacion) {
+        estadisticas.clear();
+        soloLectura.executeWithoutResult(status -> operacion.run());
+        return estadisticas.getPrepareStatementCount();
+    }
+}
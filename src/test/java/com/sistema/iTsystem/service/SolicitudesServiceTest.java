@@ -0,0 +1,85 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sistema.iTsystem.dto.activos.ActivoReferenciaCompraDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = SentenciasHibernate.PROPIEDAD_ESTADISTICAS)
+class SolicitudesServiceTest {
+
+    @Autowired
+    private SolicitudesService solicitudesService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActivosDePrueba activos;
+    private SentenciasHibernate sentencias;
+
+    @BeforeEach
+    void preparar() {
+        activos = new ActivosDePrueba(jdbcTemplate);
+        sentencias = new SentenciasHibernate(entityManagerFactory, transactionManager);
+    }
+
+    @AfterEach
+    void limpiar() {
+        activos.limpiar();
+    }
+
+    @Test
+    void losActivosReferencialesDeCompraSonUnaSentenciaSinImportarCuantosHaya() {
+        List<Long> conHardware = new ArrayList<>();
+        conHardware.add(crearConHardware());
+        Long sinHardware = activos.crear("Disponible");
+
+        long conPocos = contarReferenciales(conHardware, sinHardware);
+
+        for (int i = 0; i < 10; i++) {
+            conHardware.add(crearConHardware());
+        }
+        long conMas = contarReferenciales(conHardware, sinHardware);
+
+        assertThat(conPocos).isEqualTo(1);
+        assertThat(conMas).isEqualTo(conPocos);
+    }
+
+    private Long crearConHardware() {
+        Long activoId = activos.crear("Disponible");
+        activos.crearHardware(activoId);
+        return activoId;
+    }
+
+    /** Solo aparecen los activos con hardware, con marca y modelo ya resueltos */
+    private long contarReferenciales(List<Long> conHardware, Long sinHardware) {
+        return sentencias.contar(() -> {
+            List<ActivoReferenciaCompraDTO> referenciales = solicitudesService.obtenerActivosReferencialesConDatosTecnicos();
+            List<Long> ids = referenciales.stream().map(ActivoReferenciaCompraDTO::getId).toList();
+            assertThat(ids).containsAll(conHardware).doesNotContain(sinHardware);
+            assertThat(referenciales).filteredOn(referencia -> conHardware.contains(referencia.getId()))
+                .allSatisfy(referencia -> {
+                    assertThat(referencia.getMarca()).isNotNull();
+                    assertThat(referencia.getModelo()).isNotNull();
+                });
+        });
+    }
+}
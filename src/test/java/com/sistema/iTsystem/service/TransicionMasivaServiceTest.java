@@ -0,0 +1,156 @@
+package com.sistema.iTsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sistema.iTsystem.dto.activos.TransicionMasivaProgresoDTO;
+import com.sistema.iTsystem.model.Usuario;
+import com.sistema.iTsystem.repository.UsuarioRepository;
+
+/**
+ * Trabajos de cambio de estado masivo contra la base configurada. Los procesos programados
+ * quedan con un intervalo de una hora: cada pasada la lanza el test.
+ */
+@SpringBootTest(properties = {
+    "itsystem.transiciones-masivas.lote=2",
+    "itsystem.transiciones-masivas.intervalo-ms=3600000",
+    "itsystem.auditoria.outbox.habilitado=false",
+    "itsystem.auditoria.outbox.drenado-ms=3600000"
+})
+class TransicionMasivaServiceTest {
+
+    private static final int MAX_PASADAS = 10;
+
+    @Autowired
+    private TransicionMasivaService transicionMasivaService;
+
+    @Autowired
+    private AuditoriaOutboxService auditoriaOutboxService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActivosDePrueba activos;
+    private Usuario operador;
+    private final List<Long> trabajos = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        activos = new ActivosDePrueba(jdbcTemplate);
+        operador = usuarioRepository.findByUsuLogin("admin").orElseThrow();
+    }
+
+    @AfterEach
+    void limpiar() {
+        ReflectionTestUtils.setField(auditoriaOutboxService, "habilitado", false);
+        for (Long trabajoId : trabajos) {
+            jdbcTemplate.update("DELETE FROM transicion_masiva WHERE trans_id = ?", trabajoId);
+        }
+        activos.limpiar();
+    }
+
+    @Test
+    void retomaDesdeLasFilasPendientesTrasUnTramoInterrumpido() {
+        List<String> codigos = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String codigo = activos.nuevoCodigo();
+            codigos.add(codigo);
+            ids.add(activos.crear(codigo, "Disponible"));
+        }
+        List<Long> versiones = ids.stream().map(activos::version).toList();
+        Long trabajoId = crearTrabajo(codigos);
+
+        transicionMasivaService.procesarPendientes();
+        assertThat(progreso(trabajoId).getExitosos()).isEqualTo(2);
+
+        // El segundo tramo se aplica pero su transaccion no confirma, como si el proceso se cayera
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transicionMasivaService.procesarPendientes();
+            status.setRollbackOnly();
+        });
+        TransicionMasivaProgresoDTO interrumpido = progreso(trabajoId);
+        assertThat(interrumpido.getEstado()).isEqualTo(TransicionMasivaService.ESTADO_EN_CURSO);
+        assertThat(interrumpido.getExitosos()).isEqualTo(2);
+        assertThat(interrumpido.getPendientes()).isEqualTo(3);
+        assertThat(ids.subList(2, 5)).allSatisfy(id -> {
+            assertThat(activos.estado(id)).isEqualTo("Disponible");
+            assertThat(activos.filasHistorial(id)).isZero();
+        });
+
+        TransicionMasivaProgresoDTO terminado = procesarHastaTerminar(trabajoId);
+        assertThat(terminado.getEstado()).isEqualTo(TransicionMasivaService.ESTADO_COMPLETADO);
+        assertThat(terminado.getExitosos()).isEqualTo(5);
+        assertThat(terminado.getFallidos()).isZero();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            assertThat(activos.estado(id)).isEqualTo("En mantenimiento");
+            assertThat(activos.filasHistorial(id)).isEqualTo(1);
+            assertThat(activos.version(id)).isEqualTo(versiones.get(i) + 1);
+        }
+    }
+
+    @Test
+    void conElOutboxHabilitadoElHistorialSeEncola() {
+        List<String> codigos = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String codigo = activos.nuevoCodigo();
+            codigos.add(codigo);
+            ids.add(activos.crear(codigo, "Disponible"));
+        }
+        ReflectionTestUtils.setField(auditoriaOutboxService, "habilitado", true);
+        Long trabajoId = crearTrabajo(codigos);
+
+        assertThat(procesarHastaTerminar(trabajoId).getExitosos()).isEqualTo(3);
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isZero();
+            assertThat(activos.filasOutbox(id)).isEqualTo(1);
+        });
+
+        auditoriaOutboxService.drenar();
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(activos.filasHistorial(id)).isEqualTo(1);
+            assertThat(activos.filasOutbox(id)).isZero();
+        });
+    }
+
+    private Long crearTrabajo(List<String> codigos) {
+        Long trabajoId = transicionMasivaService.crear("mantenimiento", codigos, "Prueba masiva", null, operador);
+        trabajos.add(trabajoId);
+        return trabajoId;
+    }
+
+    private TransicionMasivaProgresoDTO progreso(Long trabajoId) {
+        return transicionMasivaService.obtenerProgreso(trabajoId);
+    }
+
+    private TransicionMasivaProgresoDTO procesarHastaTerminar(Long trabajoId) {
+        for (int i = 0; i < MAX_PASADAS; i++) {
+            transicionMasivaService.procesarPendientes();
+            TransicionMasivaProgresoDTO actual = progreso(trabajoId);
+            if (!TransicionMasivaService.ESTADO_EN_CURSO.equals(actual.getEstado())) {
+                return actual;
+            }
+        }
+        return progreso(trabajoId);
+    }
+}